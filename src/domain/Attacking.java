@@ -4,23 +4,91 @@ package domain;
 /**
  * Represents an abstract class for attacking plants in a game.
  * This class extends the Plant class and introduces an attack power attribute.
+ * Once placed, the plant attacks every {@code getTime} seconds through a timer on the board's
+ * shared {@link TimingWheel}.
  */
 public abstract class Attacking extends Plant {
-    private int attackPower;
+    private final WheelTimer attackTimer;
 
+    /**
+     * Constructs an Attacking object of the specified type, whose attack power and time
+     * between attacks are those of the type.
+     *
+     * @param type the type of the attacking plant.
+     */
+    public Attacking(EntityType type) {
+        super(type);
+        this.attackTimer = new WheelTimer(this, this::atack);
+    }
+
+    /**
+     * Retrieves the attack power of the plant.
+     *
+     * @return the damage dealt by each attack of the plant.
+     */
+    public int getAttackPower() {
+        return getType().getDamage();
+    }
+
+    /**
+     * Retrieves the time between two attacks of the plant.
+     *
+     * @return the time in seconds between two attacks.
+     */
+    public double getTime() {
+        return getType().getActionTime();
+    }
+
+    /**
+     * Starts attacking once the plant has been placed on the board. The first attack happens
+     * {@code getTime} seconds after the plant is placed.
+     *
+     * @param board the board on which the plant has been placed.
+     */
+    @Override
+    public void onPlaced(Board board) {
+        int period = GameLoop.toTicks(getTime());
+        board.getTimers().scheduleAtFixedRate(attackTimer, period, period);
+    }
 
     /**
-     * Constructs an Attacking object with specified hit points, cost, attack power, and time.
+     * Stops attacking once the plant has been removed from the board.
      *
-     * @param hitPoints the hit points of the attacking plant.
-     * @param cost the cost of deploying the attacking plant.
-     * @param attackPower the attack power of the attacking plant.
-     * @param time the time associated with the attacking action.
+     * @param board the board from which the plant has been removed.
      */
-    public Attacking(int hitPoints, int cost, int attackPower, double time) {
-        super(hitPoints, cost);
-        this.attackPower = attackPower;
+    @Override
+    public void onRemoved(Board board) {
+        attackTimer.cancel();
     }
 
+    /**
+     * Fires a pea with the attack power of the plant along its row, if the plant is on a
+     * board and there is a zombie ahead of it.
+     *
+     * @return true if a pea was fired, false otherwise.
+     */
+    protected boolean shootPea() {
+        Board board = getBoard();
+        return board != null && board.getProjectiles().fire(getRow(), getCol(), getAttackPower());
+    }
+
+    /**
+     * Performs one attack of the plant. Invoked every time the attack timer of the plant
+     * expires.
+     */
     public abstract void atack();
+
+    @Override
+    void writeState(SnapshotWriter out) {
+        out.writeDeadline(attackTimer);
+    }
+
+    @Override
+    void readState(SnapshotReader in, Board board) {
+        int remaining = in.readDelay();
+        attackTimer.cancel();
+        if (remaining > 0) {
+            board.getTimers().scheduleAtFixedRate(attackTimer, remaining, GameLoop.toTicks(getTime()));
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Autosaver class saves a game in the background every few seconds while it is played.
+ *
+ * Every save takes a {@link GameImage} of the game, which only locks the board while the rows
+ * changed since the previous save are encoded, and then encodes and writes the image on its own
+ * thread, so neither the game loop nor the event dispatch thread ever wait for the disk. The
+ * file is written next to its destination and then moved over it, so a crash in the middle of
+ * a save never leaves a damaged file behind. Saves are skipped while the game is paused.
+ */
+public class Autosaver {
+    private final GameRules rules;
+    private final File file;
+    private final int intervalSeconds;
+    private final ScheduledExecutorService writer;
+    private ScheduledFuture<?> task;
+    private volatile long lastTick;
+    private volatile int saves;
+    private volatile POOBvsZOMBIESException lastError;
+
+    /**
+     * Constructs a new Autosaver for a game. The game is not saved until {@code start} is called.
+     *
+     * @param rules the game manager of the game to save.
+     * @param file the file where the game is saved.
+     * @param intervalSeconds the number of seconds between two saves.
+     * @throws POOBvsZOMBIESException if the interval is not positive.
+     */
+    public Autosaver(GameRules rules, File file, int intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.rules = rules;
+        this.file = file;
+        this.intervalSeconds = intervalSeconds;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastTick = -1;
+    }
+
+    /**
+     * Starts saving the game every {@code intervalSeconds} seconds. Has no effect if the
+     * autosaver is already running.
+     */
+    public synchronized void start() {
+        if (task == null) {
+            task = writer.scheduleWithFixedDelay(this::save, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops saving the game. A save already in progress is completed.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Saves the game right away and waits until it is written, even if the game did not advance
+     * since the last save. Used when a match starts, so that its journal always has a snapshot
+     * to be recovered from.
+     *
+     * @throws POOBvsZOMBIESException if the game cannot be saved.
+     */
+    public void saveNow() throws POOBvsZOMBIESException {
+        try {
+            writer.submit(() -> {
+                lastTick = -1;
+                save();
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new POOBvsZOMBIESException("Error al guardar el archivo: " + e.getCause().getMessage());
+        }
+        POOBvsZOMBIESException error = lastError;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Stops saving the game and releases the thread of the autosaver, waiting for a save in
+     * progress to be written. The autosaver cannot be started again afterwards.
+     */
+    public void shutdown() {
+        stop();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Determines whether the autosaver is saving the game periodically.
+     *
+     * @return true if the autosaver is running, false otherwise.
+     */
+    public synchronized boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * Captures the game and writes it to the file, unless the game did not advance since
+     * the last save. Errors are kept to be reported by {@code getLastError}, since there is
+     * nobody to throw them to on the thread of the autosaver.
+     */
+    private void save() {
+        try {
+            GameImage image = GameSnapshot.capture(rules);
+            if (image.getTick() == lastTick) {
+                return;
+            }
+            write(GameSnapshot.encode(image));
+            lastTick = image.getTick();
+            saves++;
+            lastError = null;
+        } catch (POOBvsZOMBIESException e) {
+            lastError = e;
+        }
+    }
+
+    /**
+     * Writes an encoded game to a temporary file, forces it to disk and moves it over the
+     * destination file.
+     *
+     * @param data the encoded game.
+     * @throws POOBvsZOMBIESException if the file cannot be written.
+     */
+    private void write(byte[] data) throws POOBvsZOMBIESException {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(temp, data);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al guardar el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the file where the game is saved.
+     *
+     * @return the autosave file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the number of saves written so far.
+     *
+     * @return the number of saves.
+     */
+    public int getSaves() {
+        return saves;
+    }
+
+    /**
+     * Retrieves the error of the last save, if it failed.
+     *
+     * @return the error of the last save, or null if it succeeded.
+     */
+    public POOBvsZOMBIESException getLastError() {
+        return lastError;
+    }
+}
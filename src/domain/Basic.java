@@ -3,7 +3,7 @@ package domain;
 public class Basic extends Movement{
 
     public Basic() {
-        super(100, 100, 100,10,10);
+        super(EntityRegistry.BASIC);
     }
 
     /**
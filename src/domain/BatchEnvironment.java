@@ -0,0 +1,415 @@
+package domain;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The BatchEnvironment class steps many independent plant-side games at once behind a reset and
+ * step interface, for training agents on millions of game steps. Every game is played on its own
+ * packed {@link Board}; on each step the agent places at most one plant per board, a scripted
+ * opponent may send a zombie down a random row and every board advances a fixed number of ticks.
+ *
+ * The observations, rewards and done flags of all the boards live in arrays allocated once, when
+ * the environment is created, and are overwritten by every step. The observation of a board is a
+ * run of {@code getObservationSize()} integers: {@link PackedBoard#CELL_FEATURES} values per cell,
+ * row after row, then one flag per row telling whether its lawn mower is still available, and
+ * finally the sun points of the game. Boards whose game ends are reset by the same step, so the
+ * observation returned along with a done flag already belongs to the next game.
+ *
+ * Steps are split among the threads of a fork-join pool in chunks of contiguous boards. The
+ * chunk tasks are created once and reinitialized on every step, and the boards, their random
+ * generators and their sun listeners are reused across games, so stepping allocates nothing.
+ */
+public class BatchEnvironment {
+    public static final int NO_ACTION = 0;
+    public static final int DEFAULT_TICKS_PER_STEP = GameLoop.TICKS_PER_SECOND;
+    public static final int DEFAULT_MAX_STEPS = 600;
+    public static final int INITIAL_SUN = 50;
+    public static final double SPAWN_CHANCE = 0.1;
+    public static final double MOWER_PENALTY = 1;
+    public static final double LOSS_PENALTY = 10;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int boardCount;
+    private final int rows;
+    private final int columns;
+    private final int ticksPerStep;
+    private final int maxSteps;
+    private final int observationSize;
+    private final Board[] boards;
+    private final int[] sun;
+    private final int[] steps;
+    private final long[] randomStates;
+    private final int[] observations;
+    private final double[] rewards;
+    private final boolean[] dones;
+    private final int[] plantCosts;
+    private final int[] plantHitPoints;
+    private final int[] zombieTypes;
+    private final int[] zombieHitPoints;
+    private final ForkJoinPool pool;
+    private final BatchStepTask root;
+    private final BatchStepTask[] chunks;
+    private int[] actions;
+
+    /**
+     * Constructs a new BatchEnvironment of boards with the default dimensions, stepping one
+     * second of game per step on the common fork-join pool.
+     *
+     * @param boards the number of games played at once.
+     * @param seed the seed of the scripted opponents.
+     * @throws POOBvsZOMBIESException if the number of boards is not positive.
+     */
+    public BatchEnvironment(int boards, long seed) {
+        this(boards, Board.DEFAULT_ROWS, Board.DEFAULT_COLUMNS, DEFAULT_TICKS_PER_STEP, DEFAULT_MAX_STEPS,
+                seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new BatchEnvironment.
+     *
+     * @param boards the number of games played at once.
+     * @param rows the number of rows of every board.
+     * @param columns the number of columns of every board.
+     * @param ticksPerStep the number of game ticks simulated by every step.
+     * @param maxSteps the number of steps after which a game still going on is ended.
+     * @param seed the seed of the scripted opponents.
+     * @param pool the pool whose threads step the boards.
+     * @throws POOBvsZOMBIESException if the number of boards, the dimensions, the ticks per step
+     *                                or the maximum number of steps are not positive.
+     */
+    public BatchEnvironment(int boards, int rows, int columns, int ticksPerStep, int maxSteps, long seed,
+                            ForkJoinPool pool) {
+        if (boards <= 0 || rows <= 0 || columns <= 0 || ticksPerStep <= 0 || maxSteps <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.boardCount = boards;
+        this.rows = rows;
+        this.columns = columns;
+        this.ticksPerStep = ticksPerStep;
+        this.maxSteps = maxSteps;
+        this.observationSize = rows * columns * PackedBoard.CELL_FEATURES + rows + 1;
+        this.pool = pool;
+
+        plantCosts = new int[EntityRegistry.plantCount()];
+        plantHitPoints = new int[EntityRegistry.plantCount()];
+        for (int i = 0; i < plantCosts.length; i++) {
+            plantCosts[i] = EntityRegistry.plant(i).getCost();
+            plantHitPoints[i] = EntityRegistry.plant(i).getHitPoints();
+        }
+        int moving = 0;
+        int[] types = new int[EntityRegistry.zombieCount()];
+        for (int i = 0; i < types.length; i++) {
+            if (EntityRegistry.zombie(i).createZombie() instanceof Movement) {
+                types[moving++] = i;
+            }
+        }
+        zombieTypes = Arrays.copyOf(types, moving);
+        zombieHitPoints = new int[moving];
+        for (int i = 0; i < moving; i++) {
+            zombieHitPoints[i] = EntityRegistry.zombie(zombieTypes[i]).getHitPoints();
+        }
+
+        this.boards = new Board[boards];
+        sun = new int[boards];
+        steps = new int[boards];
+        randomStates = new long[boards];
+        observations = new int[boards * observationSize];
+        rewards = new double[boards];
+        dones = new boolean[boards];
+        for (int b = 0; b < boards; b++) {
+            int index = b;
+            this.boards[b] = new Board(rows, columns, 0, 0, true);
+            this.boards[b].setSunListener(amount -> sun[index] += amount);
+            randomStates[b] = seed + b * 0x9E3779B97F4A7C15L;
+        }
+
+        int count = Math.min(boards, Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD));
+        chunks = new BatchStepTask[count];
+        for (int c = 0; c < count; c++) {
+            chunks[c] = new BatchStepTask(this, (int) ((long) boards * c / count), (int) ((long) boards * (c + 1) / count), null);
+        }
+        root = new BatchStepTask(this, 0, boards, chunks);
+        reset();
+    }
+
+    /**
+     * Starts a new game on every board.
+     *
+     * @return the observations of the boards, the same array returned by
+     *         {@code getObservations()}.
+     */
+    public int[] reset() {
+        for (int b = 0; b < boardCount; b++) {
+            resetBoard(b);
+            observe(b);
+        }
+        Arrays.fill(rewards, 0);
+        Arrays.fill(dones, false);
+        return observations;
+    }
+
+    /**
+     * Plays one step on every board. Each board first takes its action, then the scripted
+     * opponent may send a zombie, then the board advances {@code ticksPerStep} ticks. The
+     * observations, rewards and done flags of every board are overwritten, and the boards whose
+     * game ended are reset.
+     *
+     * @param actions the action of every board: {@code NO_ACTION}, or an action code from
+     *                {@code plantAction} to place a plant if the cell is empty and the sun
+     *                points are enough to pay for it.
+     * @throws POOBvsZOMBIESException if there is not one action per board.
+     */
+    public void step(int[] actions) {
+        if (actions.length != boardCount) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.actions = actions;
+        root.reinitialize();
+        for (BatchStepTask chunk : chunks) {
+            chunk.reinitialize();
+        }
+        pool.invoke(root);
+        this.actions = null;
+    }
+
+    /**
+     * Plays one step on the boards of a range.
+     *
+     * @param from the index of the first board.
+     * @param to the index after the last board.
+     */
+    void stepRange(int from, int to) {
+        for (int b = from; b < to; b++) {
+            stepBoard(b, actions[b]);
+        }
+    }
+
+    /**
+     * Plays one step on a board and records its observation, reward and done flag.
+     *
+     * @param b the index of the board.
+     * @param action the action taken on the board.
+     */
+    private void stepBoard(int b, int action) {
+        Board board = boards[b];
+        PackedBoard packed = board.getPackedBoard();
+        if (action > NO_ACTION && action < getActionCount()) {
+            int code = action - 1;
+            int col = code % columns;
+            int row = code / columns % rows;
+            int type = code / columns / rows;
+            if (sun[b] >= plantCosts[type] && packed.placePlant(type + 1, plantHitPoints[type], row, col)) {
+                sun[b] -= plantCosts[type];
+            }
+        }
+        if (zombieTypes.length > 0 && nextDouble(b) < SPAWN_CHANCE) {
+            int row = nextInt(b, rows);
+            int kind = nextInt(b, zombieTypes.length);
+            packed.placeZombie(zombieTypes[kind] + 1, zombieHitPoints[kind], row, columns - 1);
+        }
+
+        long defeated = packed.getDefeatedZombies();
+        int mowers = countLawnMowers(board);
+        for (int t = 0; t < ticksPerStep && !board.isHouseReached(); t++) {
+            board.tick();
+        }
+        double reward = packed.getDefeatedZombies() - defeated
+                - MOWER_PENALTY * (mowers - countLawnMowers(board));
+        boolean lost = board.isHouseReached();
+        if (lost) {
+            reward -= LOSS_PENALTY;
+        }
+        rewards[b] = reward;
+        dones[b] = lost || ++steps[b] >= maxSteps;
+        if (dones[b]) {
+            resetBoard(b);
+        }
+        observe(b);
+    }
+
+    /**
+     * Starts a new game on a board.
+     *
+     * @param b the index of the board.
+     */
+    private void resetBoard(int b) {
+        boards[b].resetPacked();
+        sun[b] = INITIAL_SUN;
+        steps[b] = 0;
+    }
+
+    /**
+     * Writes the observation of a board into the shared observation array.
+     *
+     * @param b the index of the board.
+     */
+    private void observe(int b) {
+        Board board = boards[b];
+        int offset = board.getPackedBoard().observe(observations, b * observationSize);
+        for (int i = 0; i < rows; i++) {
+            observations[offset++] = board.hasLawnMower(i) ? 1 : 0;
+        }
+        observations[offset] = sun[b];
+    }
+
+    /**
+     * Counts the lawn mowers of a board that have not been used yet.
+     *
+     * @param board the board.
+     * @return the number of available lawn mowers.
+     */
+    private int countLawnMowers(Board board) {
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            if (board.hasLawnMower(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Draws the next pseudo-random value of a board with the SplitMix64 generator, which keeps
+     * its whole state in one long so the generators of all the boards fit in one array.
+     *
+     * @param b the index of the board.
+     * @return a pseudo-random long.
+     */
+    private long nextLong(int b) {
+        long z = randomStates[b] += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Draws a pseudo-random double of a board, uniformly between 0 inclusive and 1 exclusive.
+     *
+     * @param b the index of the board.
+     * @return a pseudo-random double.
+     */
+    private double nextDouble(int b) {
+        return (nextLong(b) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Draws a pseudo-random int of a board, uniformly between 0 inclusive and a bound exclusive.
+     *
+     * @param b the index of the board.
+     * @param bound the upper bound.
+     * @return a pseudo-random int.
+     */
+    private int nextInt(int b, int bound) {
+        return (int) ((nextLong(b) >>> 33) * bound >>> 31);
+    }
+
+    /**
+     * Builds the action code that places a plant.
+     *
+     * @param type the type of the plant.
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the action code.
+     */
+    public int plantAction(EntityType type, int row, int col) {
+        return 1 + (type.getId() * rows + row) * columns + col;
+    }
+
+    /**
+     * Retrieves the number of valid action codes, {@code NO_ACTION} included.
+     *
+     * @return the number of actions of a board.
+     */
+    public int getActionCount() {
+        return plantCosts.length * rows * columns + 1;
+    }
+
+    /**
+     * Retrieves the number of boards stepped at once.
+     *
+     * @return the number of boards.
+     */
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Retrieves the number of integers of the observation of one board.
+     *
+     * @return the size of an observation.
+     */
+    public int getObservationSize() {
+        return observationSize;
+    }
+
+    /**
+     * Retrieves the observations of every board, one after another. The array is shared and
+     * overwritten by every step.
+     *
+     * @return the observations.
+     */
+    public int[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * Retrieves the reward earned by every board on the last step: one point per zombie
+     * defeated, minus {@code MOWER_PENALTY} per lawn mower used and {@code LOSS_PENALTY} if a
+     * zombie entered the house. The array is shared and overwritten by every step.
+     *
+     * @return the rewards.
+     */
+    public double[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * Retrieves whether the game of every board ended on the last step, lost or out of steps.
+     * The array is shared and overwritten by every step.
+     *
+     * @return the done flags.
+     */
+    public boolean[] getDones() {
+        return dones;
+    }
+}
+
+/**
+ * Steps a range of the boards of a {@link BatchEnvironment}, or forks the chunks splitting its
+ * boards. The tasks are reinitialized and run again on every step.
+ */
+class BatchStepTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final BatchEnvironment environment;
+    private final int from;
+    private final int to;
+    private final BatchStepTask[] chunks;
+
+    /**
+     * Constructs a new BatchStepTask.
+     *
+     * @param environment the environment whose boards are stepped.
+     * @param from the index of the first board of the task.
+     * @param to the index after the last board of the task.
+     * @param chunks the tasks splitting the range, or null to step the range directly.
+     */
+    BatchStepTask(BatchEnvironment environment, int from, int to, BatchStepTask[] chunks) {
+        this.environment = environment;
+        this.from = from;
+        this.to = to;
+        this.chunks = chunks;
+    }
+
+    @Override
+    protected void compute() {
+        if (chunks != null) {
+            invokeAll(chunks);
+        } else {
+            environment.stepRange(from, to);
+        }
+    }
+}
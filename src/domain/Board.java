@@ -1,20 +1,53 @@
 package domain;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
  * Represents the game board in a tower-defense style game such as Plants vs. Zombies.
  * The board consists of a grid of cells where plants and zombies are placed and interact.
+ *
+ * By default the board keeps one {@link Cell} object per position holding the plant and zombie
+ * objects. For large simulations it can instead be backed by a {@link PackedBoard}, which keeps
+ * the state in primitive arrays; in that case this class acts as a facade over the packed
+ * storage and the cells and characters it returns are detached views.
+ *
+ * Zombies spawned with {@code addZombie(EntityType, int, int)} come from the {@link ZombiePool}
+ * of the board and go back to it when they are removed, so endless waves reuse the same objects.
+ *
+ * Every change of the characters or lawn mowers of the board also updates its
+ * {@link ZobristHash} in constant time, so the hash of the board can be read at any moment
+ * without visiting the grid.
+ *
+ * {@code fork()} turns the board into an immutable {@link PersistentBoard} for searches and
+ * rollbacks. Forks share their rows with each other: only the rows changed since the previous
+ * fork are read again.
  */
 public class Board {
-    private final int ROWS = 5;
-    private static final int COLUMNS = 10;
-    private static Cell[][] cells;
-    private static boolean[] lawnMower;
+    public static final int DEFAULT_ROWS = 5;
+    public static final int DEFAULT_COLUMNS = 10;
+
+    private final int rows;
+    private final int columns;
+    private final Cell[][] cells;
+    private long[] lawnMowers;
     private int sunPoints;
     private int brainPoints;
-    private List<Zombies> zombies;
+    private final TimingWheel timers;
+    private final PackedBoard packed;
+    private final LaneIndex<Zombies> zombieLanes;
+    private final LaneIndex<Plant> plantLanes;
+    private final Occupancy plantBits;
+    private final Occupancy zombieBits;
+    private final ZombiePool zombiePool;
+    private final ProjectileLanes projectiles;
+    private final ZobristHash hash;
+    private IntConsumer sunListener;
+    private final long[] dirtyRows;
+    private final byte[][] rowImages;
+    private final long[] forkDirtyRows;
+    private final BoardRow[] forkRows;
+    private boolean houseReached;
 
     /**
      * Constructs a new Board with the specified initial sun points and brain points.
@@ -25,17 +58,72 @@ public class Board {
      * @param initialBrainPoints the initial number of brain points available for the game.
      */
     public Board(int initialSunPoints, int initialBrainPoints) {
+        this(initialSunPoints, initialBrainPoints, false);
+    }
+
+    /**
+     * Constructs a new Board with the specified initial sun points and brain points,
+     * choosing the storage engine of the board.
+     *
+     * @param initialSunPoints the initial number of sun points available for the game.
+     * @param initialBrainPoints the initial number of brain points available for the game.
+     * @param packedStorage true to keep the board state in primitive arrays through a
+     *                      {@link PackedBoard}, false to keep one object per cell and character.
+     */
+    public Board(int initialSunPoints, int initialBrainPoints, boolean packedStorage) {
+        this(DEFAULT_ROWS, DEFAULT_COLUMNS, initialSunPoints, initialBrainPoints, packedStorage);
+    }
+
+    /**
+     * Constructs a new Board of the given dimensions with the specified initial sun points and
+     * brain points, choosing the storage engine of the board. Every row has its own lawn mower.
+     *
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @param initialSunPoints the initial number of sun points available for the game.
+     * @param initialBrainPoints the initial number of brain points available for the game.
+     * @param packedStorage true to keep the board state in primitive arrays through a
+     *                      {@link PackedBoard}, false to keep one object per cell and character.
+     * @throws POOBvsZOMBIESException if the board has no rows or no columns.
+     */
+    public Board(int rows, int columns, int initialSunPoints, int initialBrainPoints, boolean packedStorage) {
+        if (rows <= 0 || columns <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.rows = rows;
+        this.columns = columns;
         this.sunPoints = initialSunPoints;
         this.brainPoints = initialBrainPoints;
-        cells = new Cell[ROWS][COLUMNS];
-        lawnMower = new boolean[ROWS];
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = 0; j < COLUMNS; j++) {
+        cells = new Cell[rows][columns];
+        lawnMowers = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
                 cells[i][j] = new Cell(i, j);
             }
-            lawnMower[i] = true;
+            lawnMowers[i >>> 6] |= 1L << i;
         }
-        zombies = new ArrayList<>();
+        timers = new TimingWheel();
+        zombieLanes = new LaneIndex<>(rows);
+        plantLanes = new LaneIndex<>(rows);
+        packed = packedStorage ? new PackedBoard(this, rows, columns) : null;
+        plantBits = packed != null ? packed.getPlantOccupancy() : new Occupancy(rows, columns);
+        zombieBits = packed != null ? packed.getZombieOccupancy() : new Occupancy(rows, columns);
+        dirtyRows = new long[(rows + 63) >>> 6];
+        rowImages = new byte[rows][];
+        forkDirtyRows = new long[(rows + 63) >>> 6];
+        forkRows = new BoardRow[rows];
+        zombiePool = new ZombiePool();
+        projectiles = new ProjectileLanes(zombieLanes, rows, columns);
+        hash = new ZobristHash(rows, columns);
+    }
+
+    /**
+     * Determines whether the board state is kept in primitive arrays.
+     *
+     * @return true if the board is backed by a {@link PackedBoard}, false otherwise.
+     */
+    public boolean isPacked() {
+        return packed != null;
     }
 
     /**
@@ -44,7 +132,7 @@ public class Board {
      * @return the total number of rows available on the board.
      */
     public int getRows() {
-        return ROWS;
+        return rows;
     }
 
     /**
@@ -53,7 +141,35 @@ public class Board {
      * @return the total number of columns available on the board.
      */
     public int getColumns() {
-        return COLUMNS;
+        return columns;
+    }
+
+    /**
+     * Retrieves the timing wheel shared by every timer of the characters on this board.
+     *
+     * @return the timing wheel of the board.
+     */
+    public TimingWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Retrieves the peas flying over this board.
+     *
+     * @return the projectile lanes of the board.
+     */
+    public ProjectileLanes getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * Retrieves the Zobrist hash of this board, kept up to date by every change of its
+     * characters and lawn mowers.
+     *
+     * @return the hash of the board.
+     */
+    public ZobristHash getZobristHash() {
+        return hash;
     }
 
     /**
@@ -65,6 +181,33 @@ public class Board {
         return sunPoints;
     }
 
+    /**
+     * Sets the listener that receives the sun produced by the plants of this board.
+     * Game managers register themselves here so that plants never reference a manager
+     * or a user interface directly.
+     *
+     * @param sunListener the listener receiving every amount of sun produced, or null to
+     *                    accumulate the sun in the board's own sun points.
+     */
+    public void setSunListener(IntConsumer sunListener) {
+        this.sunListener = sunListener;
+    }
+
+    /**
+     * Adds sun produced by a plant of this board to the game's resources. The sun is
+     * forwarded to the registered listener or, if there is none, added to the board's
+     * own sun points.
+     *
+     * @param amount the amount of sun produced.
+     */
+    public void collectSun(int amount) {
+        if (sunListener != null) {
+            sunListener.accept(amount);
+        } else {
+            sunPoints += amount;
+        }
+    }
+
     /**
      * Retrieves the current number of brain points available in the game.
      *
@@ -85,8 +228,18 @@ public class Board {
      * @return true if the plant was successfully placed, false otherwise.
      */
     public boolean placePlant(Plant plant, int row, int col) {
-        if (isValidPosition(row, col) && cells[row][col].isEmpty() ) {
+        if (packed != null) {
+            return isValidPosition(row, col) && packed.placePlant(plant, row, col);
+        }
+        if (isEmpty(row, col)) {
             cells[row][col].setPlant(plant);
+            plantBits.set(row, col);
+            plant.setPosition(row, col);
+            plant.setBoard(this);
+            hash.toggle(plant, true, row, col);
+            markDirty(row);
+            plantLanes.add(plant);
+            plant.onPlaced(this);
             return true;
         }
         return false;
@@ -102,8 +255,18 @@ public class Board {
      * @return true if the zombie was successfully placed, false otherwise.
      */
     public boolean placeZombie(Zombies zombie, int row, int col) {
-        if (isValidPosition(row, col) && cells[row][col].isEmpty()) {
+        if (packed != null) {
+            return isValidPosition(row, col) && packed.placeZombie(zombie, row, col);
+        }
+        if (isEmpty(row, col)) {
             cells[row][col].setZombie(zombie);
+            zombieBits.set(row, col);
+            zombie.setPosition(row, col);
+            zombie.setBoard(this);
+            hash.toggle(zombie, false, row, col);
+            markDirty(row);
+            zombieLanes.add(zombie);
+            zombie.onPlaced(this);
             return true;
         }
         return false;
@@ -111,45 +274,351 @@ public class Board {
 
 
     /**
-     * Moves all zombies on the board that are capable of movement. Iterates through each
-     * cell starting from the rightmost column towards the left in each row, checking for
-     * the presence of zombies in each cell. If a zombie is found and it is an instance
-     * of the Movement class, the zombie's move behavior is invoked.
+     * Moves all zombies on the board that are capable of movement. Walks the zombies of
+     * each row through the lane index, from the leftmost one towards the right, so only
+     * the actual occupants are visited. If a zombie is an instance of the Movement class,
+     * the zombie's move behavior is invoked. Walking the row in this order guarantees that
+     * a zombie that has just moved is not visited again in the same pass.
      *
      * The move behavior allows the zombie to move to an adjacent cell or commence attack
      * on a nearby plant if one is present. Zombies move leftward in their respective rows,
      * following the movement rules defined in the Movement class.
      */
     public void moveZombies() {
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = COLUMNS - 1; j > 0; j--) {
-                if (cells[i][j].hasZombie()) {
-                    Zombies zombie = cells[i][j].getZombie();
-                    if (zombie instanceof Movement) {
-                        ((Movement) zombie).move(this, i, j);
-                    }
+        if (packed != null) {
+            return;
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int k = 0; k < zombieLanes.size(i); k++) {
+                Zombies zombie = zombieLanes.get(i, k);
+                if (zombie instanceof Movement) {
+                    ((Movement) zombie).move(this, i, zombie.getCol());
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances the board by one simulation tick: fires every timer of the board's timing
+     * wheel that expires on this tick, such as zombie movement and attack cooldowns, shots or
+     * sun generation, moves the peas in flight and resolves their hits, removes the characters
+     * that were defeated during the tick and finally checks whether any zombie reached the house.
+     *
+     * This method is invoked by the {@code GameLoop}; it is the single place where the
+     * board state evolves over time.
+     */
+    public void tick() {
+        if (packed != null) {
+            packed.tick();
+        } else {
+            timers.advance();
+            projectiles.advance();
+            removeDefeated();
+        }
+        checkHouse();
+    }
+
+    /**
+     * Checks the first column of every row. A zombie standing there triggers the lawn mower
+     * of its row; if the lawn mower was already used, the zombie has reached the house.
+     */
+    private void checkHouse() {
+        for (int i = 0; i < rows; i++) {
+            if (zombieBits.get(i, 0)) {
+                if (hasLawnMower(i)) {
+                    handlePodadora(i);
+                } else {
+                    houseReached = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores whether a zombie has entered the house, as recorded in a saved game.
+     *
+     * @param houseReached true if the house had been reached.
+     */
+    void setHouseReached(boolean houseReached) {
+        this.houseReached = houseReached;
+    }
+
+    /**
+     * Restores the lawn mower of a row, as recorded in a saved game.
+     *
+     * @param row the row index.
+     * @param present true if the lawn mower of the row had not been used yet.
+     */
+    void restoreLawnMower(int row, boolean present) {
+        if (present != hasLawnMower(row)) {
+            hash.toggleLawnMower(row);
+        }
+        if (present) {
+            lawnMowers[row >>> 6] |= 1L << row;
+        } else {
+            lawnMowers[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    /**
+     * Marks a row as changed since its last saved image, so that it is encoded again on
+     * the next capture.
+     *
+     * @param row the row index.
+     */
+    void markDirty(int row) {
+        dirtyRows[row >>> 6] |= 1L << row;
+        forkDirtyRows[row >>> 6] |= 1L << row;
+    }
+
+    /**
+     * Records that the hit points of a character placed on this board changed, updating its
+     * hash and marking its row as changed.
+     *
+     * @param character the damaged or healed character.
+     * @param before the hit points of the character before the change.
+     */
+    void hitPointsChanged(Character character, int before) {
+        hash.changeHitPoints(character, character instanceof Plant, before);
+        markDirty(character.getRow());
+    }
+
+    /**
+     * Captures the encoded image of every row for a saved game. Rows are copy-on-write: only
+     * the rows changed since the previous capture are encoded again, the others share the
+     * image captured before. Images are never modified once captured, so the returned array
+     * can be handed to another thread while the game goes on.
+     *
+     * @return the encoded image of every row.
+     */
+    byte[][] captureRows() {
+        for (int i = 0; i < rows; i++) {
+            if (rowImages[i] == null || (dirtyRows[i >>> 6] & (1L << i)) != 0) {
+                rowImages[i] = GameSnapshot.encodeRow(this, i);
+            }
+        }
+        Arrays.fill(dirtyRows, 0L);
+        return rowImages.clone();
+    }
+
+    /**
+     * Creates an immutable copy of the characters, lawn mowers and resources of the board. Once
+     * a game manager collects the sun of the board, the resources of the board no longer change,
+     * so boards played by a manager should be forked through {@code GameRules.fork}.
+     *
+     * @return the persistent copy of the board.
+     * @throws POOBvsZOMBIESException if a character of the board has no registered type.
+     */
+    public PersistentBoard fork() {
+        return fork(getSunPoints(), brainPoints);
+    }
+
+    /**
+     * Creates an immutable copy of the characters and lawn mowers of the board, holding the given
+     * resources. The rows not changed since the previous fork are shared with it, so forking a
+     * board where little happened costs little more than copying one reference per row. A packed
+     * board does not track its changed rows and reads every row again.
+     *
+     * @param sunPoints the sun points of the copy.
+     * @param brainPoints the brain points of the copy.
+     * @return the persistent copy of the board.
+     * @throws POOBvsZOMBIESException if a character of the board has no registered type.
+     */
+    public PersistentBoard fork(int sunPoints, int brainPoints) {
+        for (int i = 0; i < rows; i++) {
+            if (forkRows[i] == null || packed != null || (forkDirtyRows[i >>> 6] & (1L << i)) != 0) {
+                forkRows[i] = BoardRow.of(this, i);
+            }
+        }
+        Arrays.fill(forkDirtyRows, 0L);
+        return new PersistentBoard(columns, forkRows.clone(), lawnMowers.clone(), sunPoints, brainPoints);
+    }
+
+    /**
+     * Retrieves the index of the plants of every row, ordered by column.
+     *
+     * @return the plant lane index, or null if the board is packed.
+     */
+    LaneIndex<Plant> getPlantLanes() {
+        return packed == null ? plantLanes : null;
+    }
+
+    /**
+     * Retrieves the index of the zombies of every row, ordered by column.
+     *
+     * @return the zombie lane index, or null if the board is packed.
+     */
+    LaneIndex<Zombies> getZombieLanes() {
+        return packed == null ? zombieLanes : null;
+    }
+
+    /**
+     * Retrieves the primitive storage of the board.
+     *
+     * @return the packed storage, or null if the board is not packed.
+     */
+    PackedBoard getPackedBoard() {
+        return packed;
+    }
+
+    /**
+     * Brings a packed board back to the state it had when it was created: every plant and
+     * zombie is removed, every lawn mower is restored and the house is no longer reached.
+     * Nothing is allocated, so the same board can be reused for any number of games.
+     */
+    void resetPacked() {
+        packed.clear();
+        for (int i = 0; i < rows; i++) {
+            restoreLawnMower(i, true);
+        }
+        houseReached = false;
+    }
+
+    /**
+     * Determines whether a zombie has entered the house through a row whose lawn mower
+     * had already been used, which means the zombies have won.
+     *
+     * @return true if the house has been reached, false otherwise.
+     */
+    public boolean isHouseReached() {
+        return houseReached;
+    }
+
+    /**
+     * Moves the zombie in the given row from one column to another, provided the destination
+     * is a valid empty cell. The source cell is left empty. A move past another zombie of the
+     * row takes the zombie out of its lane index and adds it again, so the lane stays ordered.
+     *
+     * @param row the row index of the zombie.
+     * @param fromCol the column index where the zombie currently is.
+     * @param toCol the column index where the zombie should be moved.
+     * @return true if the zombie was moved, false otherwise.
+     */
+    public boolean moveZombie(int row, int fromCol, int toCol) {
+        if (packed != null) {
+            return isValidPosition(row, fromCol) && isValidPosition(row, toCol) && packed.moveZombie(row, fromCol, toCol);
+        }
+        if (hasZombie(row, fromCol) && isEmpty(row, toCol)) {
+            Zombies zombie = cells[row][fromCol].getZombie();
+            boolean overtakes = overtakes(zombie, row, fromCol, toCol);
+            if (overtakes) {
+                zombieLanes.remove(zombie);
+            }
+            cells[row][toCol].setZombie(zombie);
+            cells[row][fromCol].setZombie(null);
+            zombieBits.clear(row, fromCol);
+            zombieBits.set(row, toCol);
+            hash.toggle(zombie, false, row, fromCol);
+            hash.toggle(zombie, false, row, toCol);
+            zombie.setPosition(row, toCol);
+            if (overtakes) {
+                zombieLanes.add(zombie);
+            }
+            markDirty(row);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether moving a zombie to an empty cell of its row takes it past another
+     * zombie of the row, which would break the order of its lane index.
+     *
+     * @param zombie the zombie to move.
+     * @param row the row index of the zombie.
+     * @param fromCol the column index where the zombie currently is.
+     * @param toCol the column index where the zombie should be moved.
+     * @return true if another zombie stands between both columns, false otherwise.
+     */
+    private boolean overtakes(Zombies zombie, int row, int fromCol, int toCol) {
+        if (toCol < fromCol) {
+            Zombies left = zombieLanes.firstLeftOf(row, fromCol);
+            return left != null && left.getCol() > toCol;
+        }
+        return zombieLanes.firstLeftOf(row, toCol) != zombie;
+    }
+
+    /**
+     * Removes every plant and zombie whose hit points have been depleted from the board.
+     * Only the occupants recorded in the lane indexes are visited. Removed characters
+     * cancel their timers.
+     */
+    private void removeDefeated() {
+        for (int i = 0; i < rows; i++) {
+            for (int k = plantLanes.size(i) - 1; k >= 0; k--) {
+                Plant plant = plantLanes.get(i, k);
+                if (!plant.isAlive()) {
+                    releasePlant(i, plant.getCol());
+                }
+            }
+            for (int k = zombieLanes.size(i) - 1; k >= 0; k--) {
+                Zombies zombie = zombieLanes.get(i, k);
+                if (!zombie.isAlive()) {
+                    releaseZombie(i, zombie.getCol());
                 }
             }
         }
     }
 
+    /**
+     * Removes the plant of the specified cell and notifies it so it can cancel its timers.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     */
+    private void releasePlant(int row, int col) {
+        Plant plant = cells[row][col].getPlant();
+        cells[row][col].removePlant();
+        plantBits.clear(row, col);
+        plantLanes.remove(plant);
+        hash.toggle(plant, true, row, col);
+        markDirty(row);
+        plant.setBoard(null);
+        plant.setPosition(-1, -1);
+        plant.onRemoved(this);
+    }
+
+    /**
+     * Removes the zombie of the specified cell and notifies it so it can cancel its timers.
+     * A zombie taken from the pool of the board goes back to it.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     */
+    private void releaseZombie(int row, int col) {
+        Zombies zombie = cells[row][col].getZombie();
+        cells[row][col].setZombie(null);
+        zombieBits.clear(row, col);
+        zombieLanes.remove(zombie);
+        hash.toggle(zombie, false, row, col);
+        markDirty(row);
+        zombie.setBoard(null);
+        zombie.setPosition(-1, -1);
+        zombie.onRemoved(this);
+        zombiePool.release(zombie);
+    }
+
     /**
      * Handles the activation of the lawn mower for the specified row.
      * If the lawn mower in the given row is active, it clears all zombies in that row
      * and deactivates the lawn mower. Otherwise, it returns the state of the lawn mower.
+     * The sweep only visits the zombies recorded in the lane index of the row.
      *
      * @param row the index of the row in the game board to handle the lawn mower activation.
      * @return false if the lawn mower was activated and zombies were cleared,
      *         true if the lawn mower was already inactive.
      */
-    public static boolean handlePodadora(int row) {
-        if (lawnMower[row]) {
-            for (int j = 0; j < COLUMNS; j++) {
-                if (cells[row][j].hasZombie()) {
-                    cells[row][j].removeZombie();
+    public boolean handlePodadora(int row) {
+        if (hasLawnMower(row)) {
+            if (packed != null) {
+                packed.clearLane(row);
+            } else {
+                for (int k = zombieLanes.size(row) - 1; k >= 0; k--) {
+                    releaseZombie(row, zombieLanes.get(row, k).getCol());
                 }
             }
-            lawnMower[row] = false;
+            lawnMowers[row >>> 6] &= ~(1L << row);
+            hash.toggleLawnMower(row);
             return false;
         } else {
             return true;
@@ -157,13 +626,13 @@ public class Board {
     }
     /**
      * Determines if any lawn mower has been activated during the game.
-     * Iterates through a predefined number of rows, invoking the handlePodadora
+     * Iterates through every row of the board, invoking the handlePodadora
      * method for each row to check if the lawn mower was triggered.
      *
      * @return true if any lawn mower was activated, false otherwise.
      */
-    public static boolean winner(){
-        for (int h = 0; h < 5; h++){
+    public boolean winner(){
+        for (int h = 0; h < rows; h++){
             if (handlePodadora(h)) {
                 return true;
             }
@@ -171,7 +640,98 @@ public class Board {
         return false;
     }
 
+    /**
+     * Determines whether the lawn mower of the given row is still available.
+     *
+     * @param row the row index.
+     * @return true if the lawn mower of the row has not been used yet, false otherwise.
+     */
+    public boolean hasLawnMower(int row) {
+        return (lawnMowers[row >>> 6] & (1L << row)) != 0;
+    }
 
+    /**
+     * Finds the plant closest to the left of the given column in the given row. The column
+     * is found with a single bit operation on the plant occupancy of the row.
+     *
+     * @param row the row index.
+     * @param col the column index; only plants in strictly smaller columns are considered.
+     * @return the nearest plant to the left, or null if there is none.
+     */
+    public Plant getFirstPlantLeftOf(int row, int col) {
+        int plantCol = plantBits.nearestLeftOf(row, col);
+        return plantCol >= 0 ? getPlantAt(row, plantCol) : null;
+    }
+
+    /**
+     * Counts the zombies currently placed in the given row.
+     *
+     * @param row the row index.
+     * @return the number of zombies in the row.
+     */
+    public int countZombies(int row) {
+        return zombieBits.count(row);
+    }
+
+    /**
+     * Determines whether there is any zombie in the given row.
+     *
+     * @param row the row index.
+     * @return true if at least one zombie is placed in the row, false otherwise.
+     */
+    public boolean hasZombieInRow(int row) {
+        return zombieBits.any(row);
+    }
+
+    /**
+     * Determines whether the given row holds neither plants nor zombies.
+     *
+     * @param row the row index.
+     * @return true if the whole lane is free, false otherwise.
+     */
+    public boolean isLaneFree(int row) {
+        return !plantBits.any(row) && !zombieBits.any(row);
+    }
+
+    /**
+     * Determines whether the specified cell holds a plant.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the position is valid and holds a plant, false otherwise.
+     */
+    public boolean hasPlant(int row, int col) {
+        return isValidPosition(row, col) && plantBits.get(row, col);
+    }
+
+    /**
+     * Determines whether the specified cell holds a zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the position is valid and holds a zombie, false otherwise.
+     */
+    public boolean hasZombie(int row, int col) {
+        return isValidPosition(row, col) && zombieBits.get(row, col);
+    }
+
+    /**
+     * Retrieves the plant occupancy bitboard of the board.
+     *
+     * @return the bitboard with one bit set per cell holding a plant.
+     */
+    public Occupancy getPlantOccupancy() {
+        return plantBits;
+    }
+
+    /**
+     * Retrieves the zombie occupancy bitboard of the board.
+     *
+     * @return the bitboard with one bit set per cell holding a zombie.
+     */
+    public Occupancy getZombieOccupancy() {
+        return zombieBits;
+    }
 
     /**
      * Determines if the specified position on the board is valid.
@@ -182,43 +742,30 @@ public class Board {
      * @param col the column index of the position to validate.
      * @return true if the position is within the valid range of the board, false otherwise.
      */
-    private boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < ROWS && col >= 0 && col < COLUMNS;
+    public boolean isValidPosition(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
     }
 
     /**
-     * Determines the name of the given plant based on its type.
-     * The method identifies the specific subclass of the provided Plant object
-     * and returns the corresponding plant name. If the plant type is not
-     * recognized, it throws an exception.
+     * Determines the name of the given plant shown to the player, such as "Wall-nut".
      *
      * @param plant the Plant object for which the name needs to be determined.
-     *              Must be an instance of a known plant type.
-     * @return the name of the plant as a String, based on its type.
-     *         For example, "Sunflower" for Sunflower, "Peashooter" for Peashooter, etc.
+     *              Must be an instance of a registered plant type.
+     * @return the display name of the type of the plant.
      * @throws POOBvsZOMBIESException if the plant type is not recognized.
      */
     private String getPlantName(Plant plant) {
-        if (plant instanceof Sunflower) {
-            return "Sunflower";
-        } else if (plant instanceof Peashooter) {
-            return "Peashooter";
-        } else if (plant instanceof WallNut) {
-            return "Wall-nut";
-        } else if (plant instanceof PotatoMine) {
-            return "Potato Mine";
-        } else if (plant instanceof ECIPlant) {
-            return "ECI Plant";
-        } else {
+        EntityType type = plant.getType();
+        if (type == null || !type.isPlant()) {
             throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
         }
+        return type.getDisplayName();
     }
 
     /**
      * Retrieves a specific plant object by its name. The method takes the name
-     * of a plant as input and returns a corresponding Plant object instance.
-     * If the plant name does not match any of the predefined plant types,
-     * an exception is thrown.
+     * of a plant as input and returns a corresponding Plant object instance,
+     * created by the type registered under that name in {@link EntityRegistry}.
      *
      * @param plantName the name of the plant to retrieve. Must be one of the
      *                  predefined plant names: "Sunflower", "Peashooter", "WallNut",
@@ -227,28 +774,13 @@ public class Board {
      * @throws POOBvsZOMBIESException if the provided plant name is not recognized.
      */
     public Plant getPlantByName(String plantName) {
-        switch (plantName) {
-            case "Sunflower":
-                return new Sunflower();
-            case "Peashooter":
-                return new Peashooter();
-            case "WallNut":
-                return new WallNut();
-            case "PotatoMine":
-                return new PotatoMine();
-            case "ECIPlant":
-                return new ECIPlant();
-            case "Evolve":
-                return new Evolve();
-            default:
-                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
-        }
+        return EntityRegistry.plantByName(plantName).createPlant();
     }
 
     /**
      * Retrieves a specific type of zombie based on its name. The method returns a new instance
-     * of a zombie class corresponding to the provided name. If the name does not match any
-     * predefined zombie type, an exception is thrown.
+     * of a zombie class corresponding to the provided name, created by the type registered
+     * under that name in {@link EntityRegistry}.
      *
      * @param zombieName the name of the zombie to retrieve. Valid names are: "Basic", "Conehead",
      *                   "Buckethead", "Brainstein", "ECIZombie".
@@ -256,20 +788,7 @@ public class Board {
      * @throws POOBvsZOMBIESException if the specified name does not match any known zombie type.
      */
     public Zombies getZombieByName(String zombieName) {
-        switch (zombieName) {
-            case "Basic":
-                return new Basic();
-            case "Conehead":
-                return new Conehead();
-            case "Buckethead":
-                return new Buckethead();
-            case "Brainstein":
-                return new Brainstein();
-            case "ECIZombie":
-                return new ECIZombie();
-            default:
-                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
-        }
+        return EntityRegistry.zombieByName(zombieName).createZombie();
     }
 
 
@@ -282,26 +801,34 @@ public class Board {
      * @return the Cell object at the specified row and column.
      */
     public Cell getCell(int row, int i) {
+        if (packed != null) {
+            return packed.getCell(row, i);
+        }
         return cells[row][i];
     }
 
     /**
-     * Removes a zombie from the specified cell on the board if a zombie is present.
+     * Removes a zombie from the specified cell on the board if a zombie is present and it has
+     * been defeated. A zombie spawned from the pool of the board goes back to the pool, to be
+     * reused by a later spawn of its type.
      *
      * @param row the row index of the cell from which the zombie should be removed.
      * @param col the column index of the cell from which the zombie should be removed.
      */
     public void removeZombie(int row, int col) {
-        if (cells[row][col].hasZombie()) {
-            cells[row][col].removeZombie();
+        if (packed != null) {
+            packed.removeZombie(row, col);
+            return;
+        }
+        if (cells[row][col].hasZombie() && !cells[row][col].getZombie().isAlive()) {
+            releaseZombie(row, col);
         }
     }
 
 
     /**
      * Adds a zombie to the specified position on the board if the position is valid
-     * and the cell is empty. Updates the board state by adding the zombie to the cell
-     * and the internal list of zombies.
+     * and the cell is empty. Updates the board state by adding the zombie to the cell.
      *
      * @param zombie the Zombies object to be added to the board.
      * @param row the row index where the zombie will be placed.
@@ -309,14 +836,57 @@ public class Board {
      * @return true if the zombie was successfully added to the board, false otherwise.
      */
     public boolean addZombie(Zombies zombie, int row, int col) {
+        if (packed != null) {
+            return isValidPosition(row, col) && packed.placeZombie(zombie, row, col);
+        }
         if (isValidPosition(row, col) && isEmpty(row, col)) {
             cells[row][col].setZombie(zombie);
-            zombies.add(zombie);
+            zombieBits.set(row, col);
+            zombie.setPosition(row, col);
+            zombie.setBoard(this);
+            hash.toggle(zombie, false, row, col);
+            markDirty(row);
+            zombieLanes.add(zombie);
+            zombie.onPlaced(this);
             return true;
         }
         return false;
     }
 
+    /**
+     * Spawns a zombie of the specified type at the given position if the position is valid
+     * and the cell is empty. The zombie is taken from the pool of the board, reusing one that
+     * was removed before when there is any, and goes back to the pool when it is removed.
+     * A packed board only copies the type and hit points of the zombie, so the zombie goes
+     * back to the pool right away, as it does when it cannot be placed.
+     *
+     * @param type the type of the zombie to spawn.
+     * @param row the row index where the zombie will be placed.
+     * @param col the column index where the zombie will be placed.
+     * @return true if the zombie was spawned, false if the cell was not available.
+     * @throws POOBvsZOMBIESException if the type is not a type of zombie.
+     */
+    public boolean addZombie(EntityType type, int row, int col) {
+        if (!isEmpty(row, col)) {
+            return false;
+        }
+        Zombies zombie = zombiePool.acquire(type);
+        boolean placed = addZombie(zombie, row, col);
+        if (!placed || packed != null) {
+            zombiePool.release(zombie);
+        }
+        return placed;
+    }
+
+    /**
+     * Retrieves the pool of the zombies spawned on this board, with its hit rate.
+     *
+     * @return the zombie pool of the board.
+     */
+    public ZombiePool getZombiePool() {
+        return zombiePool;
+    }
+
     /**
      * Determines if the specified cell on the board is empty.
      * A cell is considered empty if it is within valid board boundaries
@@ -330,7 +900,7 @@ public class Board {
         if (!isValidPosition(row, col)) {
             return false;
         }
-        return cells[row][col].isEmpty();
+        return !plantBits.get(row, col) && !zombieBits.get(row, col);
     }
 
     /**
@@ -341,6 +911,9 @@ public class Board {
      * @return the Plant object located at the specified row and column, or null if no plant is present.
      */
     public Plant getPlantAt(int row, int col) {
+        if (packed != null) {
+            return packed.getPlantAt(row, col);
+        }
         return cells[row][col].getPlant();
     }
 
@@ -353,8 +926,11 @@ public class Board {
      * @return true if the plant was successfully removed, false otherwise.
      */
     public boolean removePlantWithShovel(int row, int col) {
-        if (isValidPosition(row, col) && cells[row][col].hasPlant()) {
-            cells[row][col].removePlant();
+        if (packed != null) {
+            return isValidPosition(row, col) && packed.removePlant(row, col);
+        }
+        if (hasPlant(row, col)) {
+            releasePlant(row, col);
             return true;
         }
         return false;
@@ -0,0 +1,87 @@
+package domain;
+
+/**
+ * One row of a {@link PersistentBoard}: the type, stored one above its registered id so that 0
+ * marks an empty slot, and the hit points of the plant and zombie of every column. A row is
+ * never modified once it belongs to a board; changes are made on a copy.
+ */
+class BoardRow {
+    static final short NONE = 0;
+
+    final short[] plantTypes;
+    final int[] plantHp;
+    final short[] zombieTypes;
+    final int[] zombieHp;
+
+    /**
+     * Constructs a new empty BoardRow.
+     *
+     * @param columns the number of columns of the row.
+     */
+    BoardRow(int columns) {
+        plantTypes = new short[columns];
+        plantHp = new int[columns];
+        zombieTypes = new short[columns];
+        zombieHp = new int[columns];
+    }
+
+    /**
+     * Constructs a BoardRow holding a copy of another one.
+     *
+     * @param other the row to copy.
+     */
+    private BoardRow(BoardRow other) {
+        plantTypes = other.plantTypes.clone();
+        plantHp = other.plantHp.clone();
+        zombieTypes = other.zombieTypes.clone();
+        zombieHp = other.zombieHp.clone();
+    }
+
+    /**
+     * Creates a copy of this row that can be changed before it is handed to a board.
+     *
+     * @return the copy.
+     */
+    BoardRow copy() {
+        return new BoardRow(this);
+    }
+
+    /**
+     * Reads a row of a playable board.
+     *
+     * @param board the board.
+     * @param row the row index.
+     * @return the row holding the types and hit points of the characters of the board.
+     * @throws POOBvsZOMBIESException if a character of the row has no registered type.
+     */
+    static BoardRow of(Board board, int row) {
+        BoardRow lane = new BoardRow(board.getColumns());
+        for (int j = 0; j < board.getColumns(); j++) {
+            Plant plant = board.getPlantAt(row, j);
+            if (plant != null) {
+                lane.plantTypes[j] = typeOf(plant);
+                lane.plantHp[j] = plant.getHitPoints();
+            }
+            Zombies zombie = board.getCell(row, j).getZombie();
+            if (zombie != null) {
+                lane.zombieTypes[j] = typeOf(zombie);
+                lane.zombieHp[j] = zombie.getHitPoints();
+            }
+        }
+        return lane;
+    }
+
+    /**
+     * Finds the stored type of a character.
+     *
+     * @param character the character.
+     * @return its registered id plus one.
+     * @throws POOBvsZOMBIESException if the character has no registered type.
+     */
+    private static short typeOf(Character character) {
+        if (character.getType() == null) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        return (short) (character.getType().getId() + 1);
+    }
+}
@@ -15,7 +15,7 @@ public class Brainstein extends Generate{
      * inherited from the Generate class.
      */
     public Brainstein(){
-        super(300,50,25,1);
+        super(EntityRegistry.BRAINSTEIN);
 
     }
 
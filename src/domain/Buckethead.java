@@ -30,7 +30,7 @@ public class Buckethead extends Movement{
      * highly durable and effective attacker within the game.
      */
     public Buckethead() {
-        super(800, 100, 200,10,10);
+        super(EntityRegistry.BUCKETHEAD);
     }
 
 
@@ -45,6 +45,11 @@ public class Buckethead extends Movement{
      */
     @Override
     public void attack(Plant plant) {
-
+        if (plant != null && plant.isAlive()) {
+            plant.setHitPoints(this.getDamage());
+            if (!plant.isAlive()) {
+                this.setMoving(true);
+            }
+        }
     }
 }
@@ -7,6 +7,23 @@ package domain;
  */
 public abstract class Character {
     private int hitPoints;
+    private int row;
+    private int col;
+    private Board board;
+    private final EntityType type;
+
+    /**
+     * Constructs a new character of a registered type, starting with the hit points of
+     * the type. The constant stats of the character are read from its type.
+     *
+     * @param type the type of the character.
+     */
+    public Character(EntityType type) {
+        this.type = type;
+        this.hitPoints = type.getHitPoints();
+        this.row = -1;
+        this.col = -1;
+    }
 
     /**
      * Constructs a new character with the specified initial hit points.
@@ -18,7 +35,10 @@ public abstract class Character {
      *                  should be a positive integer.
      */
     public Character(int hitPoints) {
+        this.type = null;
         this.hitPoints = hitPoints;
+        this.row = -1;
+        this.col = -1;
     }
 
     /**
@@ -40,7 +60,9 @@ public abstract class Character {
      *               It should be a non-negative integer.
      */
     public void setHitPoints(int damage) {
+        int before = hitPoints;
         this.hitPoints = hitPoints - damage;
+        hitPointsChanged(before);
     }
 
     /**
@@ -53,6 +75,160 @@ public abstract class Character {
         return hitPoints > 0;
     }
 
+    /**
+     * Retrieves the row index of the cell where the character is placed.
+     *
+     * @return the row of the character, or -1 if it is not on a board.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Retrieves the column index of the cell where the character is placed.
+     *
+     * @return the column of the character, or -1 if it is not on a board.
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Retrieves the registered type of the character.
+     *
+     * @return the type of the character, or null if it was not created from a registered
+     *         type, as for the zombies imported from a wave file.
+     */
+    public EntityType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the name recorded in command logs for the character: the name of its registered
+     * type, shared by every character of the type, or the name of its class if it has no type.
+     *
+     * @return the name of the type of the character.
+     */
+    String getTypeName() {
+        EntityType registered = getType();
+        return registered != null ? registered.getName() : getClass().getSimpleName();
+    }
+
+    /**
+     * Updates the position of the character. This method is invoked by the board every
+     * time the character is placed or moved.
+     *
+     * @param row the new row index of the character.
+     * @param col the new column index of the character.
+     */
+    void setPosition(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    /**
+     * Invoked by the board once the character has been placed on it. The default
+     * implementation does nothing; characters with timed behavior, such as moving zombies
+     * or sun-producing plants, override this method to arm their timers on the board's
+     * shared {@link TimingWheel}.
+     *
+     * @param board the board on which the character has been placed.
+     */
+    public void onPlaced(Board board) {
+    }
+
+    /**
+     * Invoked by the board once the character has been removed from it. The default
+     * implementation does nothing; characters that armed timers in {@code onPlaced}
+     * override this method to cancel them.
+     *
+     * @param board the board from which the character has been removed.
+     */
+    public void onRemoved(Board board) {
+    }
+
+    /**
+     * Restores the hit points of the character to the value recorded in a saved game.
+     *
+     * @param hitPoints the hit points of the character.
+     */
+    void restoreHitPoints(int hitPoints) {
+        int before = this.hitPoints;
+        this.hitPoints = hitPoints;
+        hitPointsChanged(before);
+    }
+
+    /**
+     * Resets the character to the state of a new character of its type, so that a pool can
+     * hand it out again once it has been removed from the board. Subclasses with state of
+     * their own reset it too.
+     */
+    void recycle() {
+        if (type != null) {
+            this.hitPoints = type.getHitPoints();
+        }
+        this.row = -1;
+        this.col = -1;
+    }
+
+    /**
+     * Sets the board on which the character is placed. Only the board calls this method.
+     *
+     * @param board the board holding the character, or null once it has been removed.
+     */
+    void setBoard(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Retrieves the board on which the character is placed.
+     *
+     * @return the board holding the character, or null if it is not on a board.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Tells the board holding the character that its row changed, so the next saved image of
+     * the board encodes the row again.
+     */
+    void markDirty() {
+        if (board != null && row >= 0) {
+            board.markDirty(row);
+        }
+    }
+
+    /**
+     * Tells the board holding the character that its hit points changed, so it can update
+     * its hash and encode the row again in the next saved image.
+     *
+     * @param before the hit points of the character before the change.
+     */
+    private void hitPointsChanged(int before) {
+        if (board != null && row >= 0) {
+            board.hitPointsChanged(this, before);
+        }
+    }
+
+    /**
+     * Writes the state specific to this kind of character, such as its pending timers, to a
+     * saved game. Characters without such state write nothing.
+     *
+     * @param out the writer of the saved game.
+     */
+    void writeState(SnapshotWriter out) {
+    }
+
+    /**
+     * Reads the state written by {@code writeState} once the character has been placed again
+     * on a board, replacing the timers armed by {@code onPlaced}.
+     *
+     * @param in the reader of the saved game.
+     * @param board the board on which the character has been placed.
+     */
+    void readState(SnapshotReader in, Board board) {
+    }
 
     /**
      *
@@ -0,0 +1,267 @@
+package domain;
+
+import java.util.Random;
+
+/**
+ * The Command class represents one player input of a match: planting, sending a zombie, removing
+ * a plant with the shovel or collecting sun or brains, together with the tick at which it is
+ * applied. Commands let a whole match be described as data, so it can be played without any user
+ * interface, recorded in a {@link CommandLog} and replayed.
+ */
+public class Command {
+    public static final int PLANT = 0;
+    public static final int ZOMBIE = 1;
+    public static final int SHOVEL = 2;
+    public static final int SUN = 3;
+    public static final int BRAIN = 4;
+
+    private final long tick;
+    private final int type;
+    private final String name;
+    private final int row;
+    private final int col;
+    private final int amount;
+
+    /**
+     * Constructs a new Command that targets a cell of the board.
+     *
+     * @param tick the tick at which the command is applied.
+     * @param type the kind of command: {@code PLANT}, {@code ZOMBIE} or {@code SHOVEL}.
+     * @param name the name of the plant or zombie, or null for the shovel.
+     * @param row the row index targeted by the command.
+     * @param col the column index targeted by the command.
+     * @throws POOBvsZOMBIESException if the tick is negative or the type is unknown.
+     */
+    public Command(long tick, int type, String name, int row, int col) {
+        this(tick, type, name, row, col, 0);
+    }
+
+    /**
+     * Constructs a new Command.
+     *
+     * @param tick the tick at which the command is applied.
+     * @param type the kind of command: {@code PLANT}, {@code ZOMBIE}, {@code SHOVEL},
+     *             {@code SUN} or {@code BRAIN}.
+     * @param name the name of the plant or zombie, or null for the other commands.
+     * @param row the row index targeted by the command.
+     * @param col the column index targeted by the command.
+     * @param amount the amount of sun or brains collected.
+     * @throws POOBvsZOMBIESException if the tick is negative or the type is unknown.
+     */
+    public Command(long tick, int type, String name, int row, int col, int amount) {
+        if (tick < 0 || type < PLANT || type > BRAIN) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.tick = tick;
+        this.type = type;
+        this.name = name;
+        this.row = row;
+        this.col = col;
+        this.amount = amount;
+    }
+
+    /**
+     * Creates a command that places a plant.
+     *
+     * @param tick the tick at which the plant is placed.
+     * @param plantName the name of the plant, as accepted by {@code Board.getPlantByName}.
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @return the new command.
+     */
+    public static Command plant(long tick, String plantName, int row, int col) {
+        return new Command(tick, PLANT, plantName, row, col);
+    }
+
+    /**
+     * Creates a command that sends a zombie into a row from the last column of the board.
+     *
+     * @param tick the tick at which the zombie enters the board.
+     * @param zombieName the name of the zombie, as accepted by {@code Board.getZombieByName}.
+     * @param row the row index of the zombie, or a negative value to pick a random row.
+     * @return the new command.
+     */
+    public static Command zombie(long tick, String zombieName, int row) {
+        return new Command(tick, ZOMBIE, zombieName, row, -1);
+    }
+
+    /**
+     * Creates a command that places a zombie at the given cell.
+     *
+     * @param tick the tick at which the zombie is placed.
+     * @param zombieName the name of the zombie, as accepted by {@code Board.getZombieByName}.
+     * @param row the row index of the zombie.
+     * @param col the column index of the zombie.
+     * @return the new command.
+     */
+    public static Command zombie(long tick, String zombieName, int row, int col) {
+        return new Command(tick, ZOMBIE, zombieName, row, col);
+    }
+
+    /**
+     * Creates a command that removes a plant with the shovel.
+     *
+     * @param tick the tick at which the plant is removed.
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @return the new command.
+     */
+    public static Command shovel(long tick, int row, int col) {
+        return new Command(tick, SHOVEL, null, row, col);
+    }
+
+    /**
+     * Creates a command that collects sun points.
+     *
+     * @param tick the tick at which the sun is collected.
+     * @param amount the amount of sun points collected.
+     * @return the new command.
+     */
+    public static Command sun(long tick, int amount) {
+        return new Command(tick, SUN, null, -1, -1, amount);
+    }
+
+    /**
+     * Creates a command that collects brain points.
+     *
+     * @param tick the tick at which the brains are collected.
+     * @param amount the amount of brain points collected.
+     * @return the new command.
+     */
+    public static Command brain(long tick, int amount) {
+        return new Command(tick, BRAIN, null, -1, -1, amount);
+    }
+
+    /**
+     * Creates a Command from the text produced by its {@code toString} method: the tick,
+     * the type, the name or {@code -}, the row, the column and the amount, separated by spaces.
+     *
+     * @param data the text describing the command.
+     * @return the command described by the text.
+     * @throws POOBvsZOMBIESException if the text does not describe a valid command.
+     */
+    public static Command fromString(String data) {
+        String[] parts = data.trim().split(" ");
+        if (parts.length != 6) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        try {
+            return new Command(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+                    parts[2].equals("-") ? null : parts[2], Integer.parseInt(parts[3]),
+                    Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+        } catch (NumberFormatException e) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+    }
+
+    /**
+     * Retrieves the tick at which the command is applied.
+     *
+     * @return the tick of the command.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Retrieves the kind of command.
+     *
+     * @return {@code PLANT}, {@code ZOMBIE} or {@code SHOVEL}.
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the name of the plant or zombie of the command.
+     *
+     * @return the name of the character, or null for the shovel.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the row targeted by the command.
+     *
+     * @return the row index, negative for a zombie sent to a random row.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Retrieves the column targeted by the command.
+     *
+     * @return the column index, or -1 for a zombie that enters from the last column.
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Retrieves the amount of sun or brains collected by the command.
+     *
+     * @return the amount collected, or 0 for the other commands.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Applies the command to a match. Commands that cannot be applied, for lack of resources,
+     * because the target cell is occupied or because it lies outside the board, are ignored as
+     * the user interface would.
+     *
+     * @param rules the rules of the match the command is applied to.
+     * @param random the generator used to pick the row of zombies sent to a random row.
+     * @return true if the command changed the match, false otherwise.
+     * @throws POOBvsZOMBIESException if the name of the plant or zombie is not recognized.
+     */
+    public boolean applyTo(GameRules rules, Random random) {
+        Board board = rules.getBoard();
+        switch (type) {
+            case PLANT:
+                return board.isValidPosition(row, col) && rules.placePlant(board.getPlantByName(name), row, col);
+            case ZOMBIE:
+                int lane = row < 0 ? random.nextInt(board.getRows()) : row;
+                int column = col < 0 ? board.getColumns() - 1 : col;
+                return board.isValidPosition(lane, column) && placeZombie(rules, board, lane, column);
+            case SHOVEL:
+                return board.isValidPosition(row, col) && rules.removePlant(row, col);
+            case SUN:
+                rules.collectSun(amount);
+                return true;
+            case BRAIN:
+                rules.collectBrain(amount);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Places the zombie of the command with a zombie taken from the pool of the board, which
+     * is given back if the zombie cannot be placed or the board keeps no zombie objects.
+     *
+     * @param rules the rules of the match the command is applied to.
+     * @param board the board of the match.
+     * @param lane the row where the zombie is placed.
+     * @param column the column where the zombie is placed.
+     * @return true if the zombie was placed, false otherwise.
+     */
+    private boolean placeZombie(GameRules rules, Board board, int lane, int column) {
+        ZombiePool pool = board.getZombiePool();
+        Zombies zombie = pool.acquire(EntityRegistry.zombieByName(name));
+        boolean placed = rules.placeZombie(zombie, lane, column);
+        if (!placed || board.isPacked()) {
+            pool.release(zombie);
+        }
+        return placed;
+    }
+
+    @Override
+    public String toString() {
+        return tick + " " + type + " " + (name == null ? "-" : name) + " " + row + " " + col + " " + amount;
+    }
+}
@@ -0,0 +1,228 @@
+package domain;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CommandLog class is the append-only record of a match: the configuration the match was
+ * created with, including the seed of its random choices, followed by every command applied to
+ * it, stamped with the tick at which it was applied.
+ *
+ * The simulation itself is deterministic, so replaying the commands of a log on a new match
+ * with the same configuration reproduces the original match exactly, as fast as the game loop
+ * can tick. Logs can be saved as text files to reproduce bugs and to rerun real matches as
+ * performance benchmarks.
+ */
+public class CommandLog {
+    private final int rows;
+    private final int columns;
+    private final int sunPoints;
+    private final int brainPoints;
+    private final int gameTime;
+    private final long seed;
+    private final List<Command> commands;
+    private long base;
+    private Journal journal;
+
+    /**
+     * Constructs a new empty CommandLog for a match with the given configuration.
+     *
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @param sunPoints the initial sun points of the match.
+     * @param brainPoints the initial brain points of the match.
+     * @param gameTime the duration of the match in seconds.
+     * @param seed the seed of the random choices of the match.
+     */
+    public CommandLog(int rows, int columns, int sunPoints, int brainPoints, int gameTime, long seed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.sunPoints = sunPoints;
+        this.brainPoints = brainPoints;
+        this.gameTime = gameTime;
+        this.seed = seed;
+        this.commands = new ArrayList<>();
+    }
+
+    /**
+     * Appends a command to the log. Commands must be appended in the order in which they
+     * were applied.
+     *
+     * @param command the command applied to the match.
+     */
+    public synchronized void append(Command command) {
+        commands.add(command);
+        if (journal != null) {
+            journal.append(getSequence(), command);
+        }
+    }
+
+    /**
+     * Sets the journal to which every command appended from now on is also written, so that
+     * the match can be recovered after a crash.
+     *
+     * @param journal the write-ahead journal of the match, or null to stop journaling.
+     */
+    public synchronized void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Retrieves the number of commands applied to the match since it started, including the
+     * commands applied before it was saved when the match was restored from a snapshot.
+     *
+     * @return the sequence number of the last command applied to the match.
+     */
+    public synchronized long getSequence() {
+        return base + commands.size();
+    }
+
+    /**
+     * Sets the number of commands applied to a restored match before it was saved. Only the
+     * snapshot that restores the match calls this method, before any command is appended.
+     *
+     * @param sequence the sequence number of the last command applied before the save.
+     */
+    synchronized void restoreSequence(long sequence) {
+        this.base = sequence - commands.size();
+    }
+
+    /**
+     * Retrieves the number of commands in the log.
+     *
+     * @return the number of commands recorded.
+     */
+    public synchronized int size() {
+        return commands.size();
+    }
+
+    /**
+     * Retrieves a copy of the commands recorded so far, in the order in which they were applied.
+     *
+     * @return an unmodifiable list of the recorded commands.
+     */
+    public synchronized List<Command> getCommands() {
+        return Collections.unmodifiableList(new ArrayList<>(commands));
+    }
+
+    /**
+     * Replays the log on a new match and plays it until its time is over or a zombie reaches
+     * the house, as fast as possible.
+     *
+     * @param rules a game manager created with the configuration of this log, such as the one
+     *              returned by {@code GameManager.fromLog}, on which no command was applied yet.
+     * @return the result of the replayed match.
+     */
+    public MatchResult replay(GameRules rules) {
+        HeadlessMatch match = new HeadlessMatch(rules, gameTime, seed);
+        match.addInputs(getCommands());
+        return match.run();
+    }
+
+    /**
+     * Saves the log to the specified file as text: a first line with the configuration of
+     * the match followed by one line per command.
+     *
+     * @param file the destination file.
+     * @throws POOBvsZOMBIESException if an error occurs while writing the file.
+     */
+    public void save(File file) throws POOBvsZOMBIESException {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
+            bw.write(rows + " " + columns + " " + sunPoints + " " + brainPoints + " " + gameTime + " " + seed + "\n");
+            for (Command command : getCommands()) {
+                bw.write(command.toString() + "\n");
+            }
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al guardar el registro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a log saved with {@code save}.
+     *
+     * @param file the file to read.
+     * @return the log stored in the file.
+     * @throws POOBvsZOMBIESException if an error occurs while reading the file or its format
+     *                                is not valid.
+     */
+    public static CommandLog open(File file) throws POOBvsZOMBIESException {
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String header = br.readLine();
+            if (header == null) {
+                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+            }
+            String[] parts = header.trim().split(" ");
+            if (parts.length != 6) {
+                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+            }
+            CommandLog log = new CommandLog(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]),
+                    Long.parseLong(parts[5]));
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) {
+                    log.append(Command.fromString(line));
+                }
+            }
+            return log;
+        } catch (IOException | NumberFormatException e) {
+            throw new POOBvsZOMBIESException("Error al abrir el registro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the number of rows of the board of the logged match.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns of the board of the logged match.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Retrieves the initial sun points of the logged match.
+     *
+     * @return the initial sun points.
+     */
+    public int getSunPoints() {
+        return sunPoints;
+    }
+
+    /**
+     * Retrieves the initial brain points of the logged match.
+     *
+     * @return the initial brain points.
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Retrieves the duration of the logged match.
+     *
+     * @return the duration in seconds.
+     */
+    public int getGameTime() {
+        return gameTime;
+    }
+
+    /**
+     * Retrieves the seed of the random choices of the logged match.
+     *
+     * @return the seed of the match.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -15,7 +15,7 @@ public class Conehead extends Movement{
      * frequency, and movement speed, and sets its brain cost.
      */
     public Conehead() {
-        super(380, 100, 150,10,10);
+        super(EntityRegistry.CONEHEAD);
     }
 
     /**
@@ -29,6 +29,11 @@ public class Conehead extends Movement{
      */
     @Override
     public void attack(Plant plant) {
-
+        if (plant != null && plant.isAlive()) {
+            plant.setHitPoints(this.getDamage());
+            if (!plant.isAlive()) {
+                this.setMoving(true);
+            }
+        }
     }
 }
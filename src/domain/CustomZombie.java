@@ -0,0 +1,35 @@
+package domain;
+
+/**
+ * Represents a custom zombie entity in the game. This class extends the abstract
+ * Zombies class, enabling the creation of specific zombie types with configurable
+ * attributes such as name, hit points, and cost in brains.
+ */
+class CustomZombie extends Zombies {
+    private final int costBrains;
+
+    /**
+     * Constructs a new CustomZombie object with specified attributes.
+     *
+     * @param name       the name of the zombie. This provides a unique identifier or description
+     *                   for the specific zombie type.
+     * @param hitPoints  the initial health points of the zombie. Determines how much damage
+     *                   the zombie can withstand before being eliminated.
+     * @param costBrains the cost in brains required to create this zombie. Represents the
+     *                   resource cost associated with spawning the zombie.
+     */
+    public CustomZombie(String name, int hitPoints, int costBrains) {
+        super(hitPoints);
+        this.costBrains = costBrains;
+    }
+
+    /**
+     * Retrieves the cost in brains given to this zombie when it was created.
+     *
+     * @return the cost in brains for this zombie.
+     */
+    @Override
+    public int getCostBrains() {
+        return costBrains;
+    }
+}
@@ -13,7 +13,7 @@ public abstract class Defensive extends Plant {
      * @param hitPoints the initial amount of hit points for the defensive plant.
      * @param cost the sun cost required to deploy the defensive plant.
      */
-    public Defensive(int hitPoints, int cost) {
-        super(hitPoints, cost);;
+    public Defensive(EntityType type) {
+        super(type);
     }
 }
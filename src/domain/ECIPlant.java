@@ -7,7 +7,7 @@ package domain;
  */
 public class ECIPlant extends Support{
 
-    private int maxSolesGenerados = 3;
+    static final int MAX_SOLES_GENERADOS = 3;
     private int solesGenerados = 0;
 
     /**
@@ -19,7 +19,7 @@ public class ECIPlant extends Support{
      * of 20 seconds for sun generation.
      */
     public ECIPlant() {
-        super(150,75,50,20);
+        super(EntityRegistry.ECI_PLANT);
 
     }
 
@@ -27,13 +27,17 @@ public class ECIPlant extends Support{
     /**
      * Generates a large sun if the maximum allowed number of suns has not
      * yet been reached. This method updates the internal counter
-     * and prints a message indicating that a sun has been generated.
-     * The maximum number of suns is determined by the `maxSolesGenerados` field.
+     * of generated suns.
+     * The maximum number of suns is determined by the `MAX_SOLES_GENERADOS` field;
+     * once it is reached, the sun timer of the plant is cancelled.
      */
     public void generateSun() {
-        if (solesGenerados < maxSolesGenerados) {
-            System.out.println("Generando un sol grande...");
+        if (solesGenerados < MAX_SOLES_GENERADOS) {
             solesGenerados++;
+            super.generateSun();
+        }
+        if (solesGenerados >= MAX_SOLES_GENERADOS) {
+            stopGeneratingSun();
         }
     }
 
@@ -45,7 +49,7 @@ public class ECIPlant extends Support{
      *                    is zero, the method will attempt to generate a new sun.
      */
     public void checkAndGenerateSunWhenOutOfSuns(int currentSuns) {
-        if (currentSuns == 0 && solesGenerados < maxSolesGenerados) {
+        if (currentSuns == 0 && solesGenerados < MAX_SOLES_GENERADOS) {
             generateSun();
         }
     }
@@ -57,4 +61,16 @@ public class ECIPlant extends Support{
     public int getSolesGenerados() {
         return solesGenerados;
     }
+
+    @Override
+    void writeState(SnapshotWriter out) {
+        super.writeState(out);
+        out.writeVarint(solesGenerados);
+    }
+
+    @Override
+    void readState(SnapshotReader in, Board board) {
+        super.readState(in, board);
+        solesGenerados = in.readInt();
+    }
 }
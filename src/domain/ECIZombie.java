@@ -15,7 +15,7 @@ public class ECIZombie extends Movement {
      * These values are passed to the superclass constructor of the Movement class.
      */
     public ECIZombie() {
-        super(200, 50, 250,10,10);
+        super(EntityRegistry.ECI_ZOMBIE);
     }
 
     /**
@@ -0,0 +1,142 @@
+package domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The EntityRegistry class holds every type of plant and zombie of the game. Types are found by
+ * id with an array access, by name with a single hash lookup when a menu or a command names
+ * them, and from a character through the type it carries, without any chain of
+ * {@code instanceof} tests.
+ *
+ * The stats of every type are listed here, in the order hit points, cost, damage, resources
+ * produced, seconds between actions and seconds per cell. The ids are also the type numbers
+ * written in saved games, so new types must be added at the end of their list.
+ */
+public class EntityRegistry {
+    public static final EntityType SUNFLOWER = new EntityType(0, true, "Sunflower", "Sunflower",
+            "Plantas/gif/Sunflower.gif", Sunflower.class, Sunflower::new,
+            300, 50, 0, 25, 20, 0);
+    public static final EntityType PEASHOOTER = new EntityType(1, true, "Peashooter", "Peashooter",
+            "Plantas/gif/Peashooter.gif", Peashooter.class, Peashooter::new,
+            300, 100, 20, 0, 1.5, 0);
+    public static final EntityType WALL_NUT = new EntityType(2, true, "WallNut", "Wall-nut",
+            "Plantas/gif/Wall-nut.gif", WallNut.class, WallNut::new,
+            4000, 50, 0, 0, 0, 0);
+    public static final EntityType POTATO_MINE = new EntityType(3, true, "PotatoMine", "Potato Mine",
+            "Plantas/gif/PotatoMine.gif", PotatoMine.class, PotatoMine::new,
+            100, 25, 0, 0, 14, 0);
+    public static final EntityType ECI_PLANT = new EntityType(4, true, "ECIPlant", "ECI Plant",
+            "Plantas/gif/ECIPlant.gif", ECIPlant.class, ECIPlant::new,
+            150, 75, 0, 50, 20, 0);
+    public static final EntityType EVOLVE = new EntityType(5, true, "Evolve", "Evolve",
+            "Plantas/gif/Evolve.gif", Evolve.class, Evolve::new,
+            500, 200, 20, 0, 20, 0);
+
+    public static final EntityType BASIC = new EntityType(0, false, "Basic", "Basic",
+            "Zombies/Basic.gif", Basic.class, Basic::new,
+            100, 100, 100, 0, 10, 10);
+    public static final EntityType CONEHEAD = new EntityType(1, false, "Conehead", "Conehead",
+            "Zombies/Conehead.gif", Conehead.class, Conehead::new,
+            380, 150, 100, 0, 10, 10);
+    public static final EntityType BUCKETHEAD = new EntityType(2, false, "Buckethead", "Buckethead",
+            "Zombies/Buckethead.gif", Buckethead.class, Buckethead::new,
+            800, 200, 100, 0, 10, 10);
+    public static final EntityType BRAINSTEIN = new EntityType(3, false, "Brainstein", "Brainstein",
+            "Zombies/Brainstein.gif", Brainstein.class, Brainstein::new,
+            300, 25, 50, 1, 0, 0);
+    public static final EntityType ECI_ZOMBIE = new EntityType(4, false, "ECIZombie", "ECI Zombie",
+            "Zombies/ECIZombie.gif", ECIZombie.class, ECIZombie::new,
+            200, 250, 50, 0, 10, 10);
+
+    private static final EntityType[] PLANTS = {SUNFLOWER, PEASHOOTER, WALL_NUT, POTATO_MINE, ECI_PLANT, EVOLVE};
+    private static final EntityType[] ZOMBIES = {BASIC, CONEHEAD, BUCKETHEAD, BRAINSTEIN, ECI_ZOMBIE};
+
+    private static final Map<String, EntityType> PLANTS_BY_NAME = new HashMap<>();
+    private static final Map<String, EntityType> ZOMBIES_BY_NAME = new HashMap<>();
+
+    static {
+        for (EntityType plant : PLANTS) {
+            PLANTS_BY_NAME.put(plant.getName(), plant);
+        }
+        for (EntityType zombie : ZOMBIES) {
+            ZOMBIES_BY_NAME.put(zombie.getName(), zombie);
+        }
+    }
+
+    /**
+     * Retrieves the number of types of plants.
+     *
+     * @return the number of plant types, whose ids go from 0 to this number minus one.
+     */
+    public static int plantCount() {
+        return PLANTS.length;
+    }
+
+    /**
+     * Retrieves the number of types of zombies.
+     *
+     * @return the number of zombie types, whose ids go from 0 to this number minus one.
+     */
+    public static int zombieCount() {
+        return ZOMBIES.length;
+    }
+
+    /**
+     * Retrieves the type of plant with the specified id.
+     *
+     * @param id the id of the type.
+     * @return the type of plant.
+     * @throws POOBvsZOMBIESException if there is no type of plant with that id.
+     */
+    public static EntityType plant(int id) {
+        if (id < 0 || id >= PLANTS.length) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
+        }
+        return PLANTS[id];
+    }
+
+    /**
+     * Retrieves the type of zombie with the specified id.
+     *
+     * @param id the id of the type.
+     * @return the type of zombie.
+     * @throws POOBvsZOMBIESException if there is no type of zombie with that id.
+     */
+    public static EntityType zombie(int id) {
+        if (id < 0 || id >= ZOMBIES.length) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        return ZOMBIES[id];
+    }
+
+    /**
+     * Retrieves the type of plant with the specified name, such as "WallNut".
+     *
+     * @param name the name of the type.
+     * @return the type of plant.
+     * @throws POOBvsZOMBIESException if there is no type of plant with that name.
+     */
+    public static EntityType plantByName(String name) {
+        EntityType type = PLANTS_BY_NAME.get(name);
+        if (type == null) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
+        }
+        return type;
+    }
+
+    /**
+     * Retrieves the type of zombie with the specified name, such as "Conehead".
+     *
+     * @param name the name of the type.
+     * @return the type of zombie.
+     * @throws POOBvsZOMBIESException if there is no type of zombie with that name.
+     */
+    public static EntityType zombieByName(String name) {
+        EntityType type = ZOMBIES_BY_NAME.get(name);
+        if (type == null) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,216 @@
+package domain;
+
+import java.util.function.Supplier;
+
+/**
+ * The EntityType class describes one type of plant or zombie of the game: its small integer id,
+ * the name used by the menus and the commands, the name shown to the player, the key of its
+ * sprite and the stats shared by every character of the type.
+ *
+ * Every type is created once by {@link EntityRegistry}. Placing, saving and drawing a character
+ * only need its id, so the hot paths index arrays by id instead of comparing names or classes.
+ * Types are also the flyweights of their characters: costs, damage and timings are read from
+ * the type, so a character only holds its own mutable state, such as its hit points, its
+ * position and its timers.
+ */
+public class EntityType {
+    private final int id;
+    private final boolean plant;
+    private final String name;
+    private final String displayName;
+    private final String spriteKey;
+    private final Class<? extends Character> characterClass;
+    private final Supplier<? extends Character> factory;
+    private final int hitPoints;
+    private final int cost;
+    private final int damage;
+    private final int resourceValue;
+    private final double actionTime;
+    private final double moveTime;
+
+    /**
+     * Constructs a new EntityType. Only {@link EntityRegistry} creates types.
+     *
+     * @param id the id of the type, starting at 0 among the plants or among the zombies.
+     * @param plant true for a type of plant, false for a type of zombie.
+     * @param name the name of the type, as used by the menus and the commands.
+     * @param displayName the name of the type shown to the player.
+     * @param spriteKey the path of the sprite of the type, relative to the images folder.
+     * @param characterClass the class of the characters of the type.
+     * @param factory the function creating a new character of the type.
+     * @param hitPoints the hit points of a new character of the type.
+     * @param cost the cost of a character, in suns for a plant and in brains for a zombie.
+     * @param damage the damage dealt by an attack of a character, or 0 if it does not attack.
+     * @param resourceValue the suns or brains produced each time, or 0 if it produces none.
+     * @param actionTime the time in seconds between two actions of a character, such as
+     *                   producing sun, shooting, attacking or arming, or 0 if it has none.
+     * @param moveTime the time in seconds a zombie takes to advance one cell, or 0.
+     */
+    EntityType(int id, boolean plant, String name, String displayName, String spriteKey,
+               Class<? extends Character> characterClass, Supplier<? extends Character> factory,
+               int hitPoints, int cost, int damage, int resourceValue, double actionTime, double moveTime) {
+        this.id = id;
+        this.plant = plant;
+        this.name = name;
+        this.displayName = displayName;
+        this.spriteKey = spriteKey;
+        this.characterClass = characterClass;
+        this.factory = factory;
+        this.hitPoints = hitPoints;
+        this.cost = cost;
+        this.damage = damage;
+        this.resourceValue = resourceValue;
+        this.actionTime = actionTime;
+        this.moveTime = moveTime;
+    }
+
+    /**
+     * Retrieves the id of the type. Plants and zombies are numbered separately, both from 0.
+     *
+     * @return the id of the type.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Determines whether the type is a type of plant.
+     *
+     * @return true for a plant, false for a zombie.
+     */
+    public boolean isPlant() {
+        return plant;
+    }
+
+    /**
+     * Retrieves the name of the type, as used by the menus and the commands, for example
+     * "WallNut".
+     *
+     * @return the name of the type.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the name of the type shown to the player, for example "Wall-nut".
+     *
+     * @return the display name of the type.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Retrieves the path of the sprite of the type, relative to the images folder of the
+     * presentation, for example "Plantas/gif/Wall-nut.gif".
+     *
+     * @return the sprite key of the type.
+     */
+    public String getSpriteKey() {
+        return spriteKey;
+    }
+
+    /**
+     * Retrieves the class of the characters of the type.
+     *
+     * @return the character class.
+     */
+    public Class<? extends Character> getCharacterClass() {
+        return characterClass;
+    }
+
+    /**
+     * Retrieves the hit points of a new character of the type.
+     *
+     * @return the initial hit points.
+     */
+    public int getHitPoints() {
+        return hitPoints;
+    }
+
+    /**
+     * Retrieves the cost of a character of the type, in suns for a plant and in brains
+     * for a zombie.
+     *
+     * @return the cost of the type.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Retrieves the damage dealt by an attack of a character of the type: the attack power of
+     * a plant or the damage of a zombie.
+     *
+     * @return the damage of the type, or 0 if it does not attack.
+     */
+    public int getDamage() {
+        return damage;
+    }
+
+    /**
+     * Retrieves the resources produced each time by a character of the type: suns for a plant
+     * and brains for a zombie.
+     *
+     * @return the resources produced, or 0 if the type produces none.
+     */
+    public int getResourceValue() {
+        return resourceValue;
+    }
+
+    /**
+     * Retrieves the time between two actions of a character of the type, such as producing
+     * sun, shooting, attacking a plant or arming.
+     *
+     * @return the time in seconds, or 0 if the type has no timed action.
+     */
+    public double getActionTime() {
+        return actionTime;
+    }
+
+    /**
+     * Retrieves the time a zombie of the type takes to advance one cell.
+     *
+     * @return the time in seconds, or 0 if the type does not move.
+     */
+    public double getMoveTime() {
+        return moveTime;
+    }
+
+    /**
+     * Creates a new plant of the type.
+     *
+     * @return a new plant.
+     * @throws POOBvsZOMBIESException if the type is a type of zombie.
+     */
+    public Plant createPlant() {
+        if (!plant) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
+        }
+        return (Plant) factory.get();
+    }
+
+    /**
+     * Creates a new zombie of the type.
+     *
+     * @return a new zombie.
+     * @throws POOBvsZOMBIESException if the type is a type of plant.
+     */
+    public Zombies createZombie() {
+        if (plant) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        return (Zombies) factory.get();
+    }
+
+    /**
+     * Returns the name of the type.
+     *
+     * @return the name of the type.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
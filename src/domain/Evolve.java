@@ -20,7 +20,7 @@ public class Evolve extends Attacking{
      * designed to deal significant damage and sustain a notable level of durability in-game.
      */
     public Evolve() {
-        super(500, 200, 20, 20);
+        super(EntityRegistry.EVOLVE);
     }
 
     /**
@@ -34,6 +34,6 @@ public class Evolve extends Attacking{
      */
     @Override
     public void atack() {
-
+        shootPea();
     }
 }
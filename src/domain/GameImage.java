@@ -0,0 +1,242 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameImage class is an immutable picture of a game taken at one tick: the resources and
+ * duration of the match, the lawn mowers, the encoded image of every row of the board and the
+ * encoded peas flying over it.
+ *
+ * Images are taken with {@code GameSnapshot.capture} while the board is locked, which only
+ * encodes the rows that changed since the previous image and shares the others, so taking one
+ * barely pauses the game loop. Peas move on every tick, so they are kept apart from the rows
+ * and encoded again for every image; a flying pea does not make its row change. The image can then be encoded and written to disk on another
+ * thread while the game goes on.
+ */
+public class GameImage {
+    private final int mode;
+    private final int rows;
+    private final int columns;
+    private final int sunPoints;
+    private final int brainPoints;
+    private final int gameTime;
+    private final long loopTick;
+    private final long wheelTick;
+    private final long seed;
+    private final long randomDraws;
+    private final long sequence;
+    private final boolean[] lawnMowers;
+    private final boolean houseReached;
+    private final byte[][] rowImages;
+    private final byte[] peaImage;
+    private final Zombies[] zombies;
+    private final WaveReader wave;
+
+    /**
+     * Constructs a new GameImage. Only {@code GameSnapshot.capture} creates images, and it hands
+     * over arrays that are never modified afterwards.
+     *
+     * @param mode the index of the mode of the game.
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @param sunPoints the sun points of the game.
+     * @param brainPoints the brain points of the game.
+     * @param gameTime the duration of the game in seconds.
+     * @param loopTick the tick of the game loop.
+     * @param wheelTick the tick of the timing wheel of the board.
+     * @param seed the seed of the random choices of the machine, or 0 for the other modes.
+     * @param randomDraws the number of random choices made by the machine so far.
+     * @param sequence the number of commands applied to the game so far.
+     * @param lawnMowers whether each row still has its lawn mower.
+     * @param houseReached true if a zombie already reached the house.
+     * @param rowImages the encoded image of every row.
+     * @param peaImage the encoded peas of every row.
+     * @param zombies the zombies listed by the game manager.
+     * @param wave a reader of the zombies of the wave of the game manager not requested yet, or null.
+     */
+    GameImage(int mode, int rows, int columns, int sunPoints, int brainPoints, int gameTime,
+              long loopTick, long wheelTick, long seed, long randomDraws, long sequence, boolean[] lawnMowers,
+              boolean houseReached, byte[][] rowImages, byte[] peaImage, Zombies[] zombies, WaveReader wave) {
+        this.mode = mode;
+        this.rows = rows;
+        this.columns = columns;
+        this.sunPoints = sunPoints;
+        this.brainPoints = brainPoints;
+        this.gameTime = gameTime;
+        this.loopTick = loopTick;
+        this.wheelTick = wheelTick;
+        this.seed = seed;
+        this.randomDraws = randomDraws;
+        this.sequence = sequence;
+        this.lawnMowers = lawnMowers;
+        this.houseReached = houseReached;
+        this.rowImages = rowImages;
+        this.peaImage = peaImage;
+        this.zombies = zombies;
+        this.wave = wave;
+    }
+
+    /**
+     * Retrieves the index of the mode of the game.
+     *
+     * @return the mode of the game.
+     */
+    int getMode() {
+        return mode;
+    }
+
+    /**
+     * Retrieves the number of rows of the board.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns of the board.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Retrieves the sun points of the game when the image was taken.
+     *
+     * @return the sun points.
+     */
+    public int getSunPoints() {
+        return sunPoints;
+    }
+
+    /**
+     * Retrieves the brain points of the game when the image was taken.
+     *
+     * @return the brain points.
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Retrieves the duration of the game.
+     *
+     * @return the game time in seconds.
+     */
+    public int getGameTime() {
+        return gameTime;
+    }
+
+    /**
+     * Retrieves the tick of the game loop when the image was taken.
+     *
+     * @return the tick of the game.
+     */
+    public long getTick() {
+        return loopTick;
+    }
+
+    /**
+     * Retrieves the tick of the timing wheel of the board, against which the deadlines of the
+     * timers in the row images are measured.
+     *
+     * @return the tick of the timing wheel.
+     */
+    long getWheelTick() {
+        return wheelTick;
+    }
+
+    /**
+     * Retrieves the seed of the random choices of the machine.
+     *
+     * @return the seed, or 0 for the modes without a machine placing zombies.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Retrieves the number of random choices made by the machine so far.
+     *
+     * @return the number of random draws.
+     */
+    long getRandomDraws() {
+        return randomDraws;
+    }
+
+    /**
+     * Retrieves the number of commands applied to the game when the image was taken. Commands
+     * of a {@link Journal} with a greater sequence number were applied after the image.
+     *
+     * @return the sequence number of the last command in the image.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Determines whether a row still had its lawn mower.
+     *
+     * @param row the row index.
+     * @return true if the lawn mower of the row was available.
+     */
+    public boolean hasLawnMower(int row) {
+        return lawnMowers[row];
+    }
+
+    /**
+     * Determines whether a zombie had reached the house.
+     *
+     * @return true if the house was reached.
+     */
+    public boolean isHouseReached() {
+        return houseReached;
+    }
+
+    /**
+     * Retrieves the encoded image of a row. The returned array must not be modified, since
+     * it may be shared with other images.
+     *
+     * @param row the row index.
+     * @return the encoded plants and zombies of the row.
+     */
+    byte[] getRowImage(int row) {
+        return rowImages[row];
+    }
+
+    /**
+     * Retrieves the encoded position and damage of the peas of every row. The returned array
+     * must not be modified.
+     *
+     * @return the encoded peas.
+     */
+    byte[] getPeaImage() {
+        return peaImage;
+    }
+
+    /**
+     * Retrieves the zombies listed by the game manager, as text, followed by the zombies of its
+     * wave that were not requested yet. The text is built on every call, on the calling thread,
+     * so the board does not need to be locked while the wave is read.
+     *
+     * @return the listed zombies.
+     * @throws POOBvsZOMBIESException if an entry of the wave is not valid.
+     */
+    String[] getZombieList() {
+        List<String> list = new ArrayList<>(zombies.length);
+        for (Zombies zombie : zombies) {
+            list.add(zombie.toString());
+        }
+        if (wave != null) {
+            WaveReader rest = wave.copy(false);
+            while (rest.next()) {
+                list.add(rest.create().toString());
+            }
+        }
+        return list.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,136 @@
+package domain;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameLoop class drives the whole simulation of a board from a single fixed-timestep clock.
+ * Every tick advances the board's shared {@link TimingWheel} once, so movement, attack cooldowns
+ * and sun generation are expressed in ticks instead of one timer thread per entity.
+ *
+ * The loop can either be driven manually with {@code tick} and {@code advance}, which is fully
+ * deterministic, or in real time with {@code start}, which uses one scheduler thread for the
+ * whole board.
+ */
+public class GameLoop {
+    public static final int TICKS_PER_SECOND = 20;
+    public static final long TICK_MILLIS = 1000 / TICKS_PER_SECOND;
+
+    private final Board board;
+    private long tick;
+    private ScheduledExecutorService clock;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Constructs a new GameLoop that advances the given board.
+     *
+     * @param board the board whose plants and zombies are advanced on every tick.
+     */
+    public GameLoop(Board board) {
+        this.board = board;
+        this.tick = 0;
+    }
+
+    /**
+     * Converts a duration in seconds to the number of ticks it spans.
+     * Any positive duration lasts at least one tick.
+     *
+     * @param seconds the duration in seconds.
+     * @return the number of ticks equivalent to the given duration.
+     */
+    public static int toTicks(double seconds) {
+        return Math.max(1, (int) Math.round(seconds * TICKS_PER_SECOND));
+    }
+
+    /**
+     * Advances the simulation by exactly one tick. The board is locked while it is being
+     * updated so that placements made from other threads never observe a half-updated state.
+     */
+    public void tick() {
+        synchronized (board) {
+            tick++;
+            board.tick();
+        }
+    }
+
+    /**
+     * Advances the simulation by the given number of ticks as fast as possible.
+     *
+     * @param ticks the number of ticks to advance.
+     */
+    public void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Starts advancing the simulation in real time, one tick every {@code TICK_MILLIS}
+     * milliseconds, on a single daemon thread. Calling this method while the loop is
+     * already running has no effect.
+     */
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-loop");
+            thread.setDaemon(true);
+            return thread;
+        });
+        task = clock.scheduleAtFixedRate(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops advancing the simulation in real time. The board keeps its current state and
+     * the loop can be started again later.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        if (clock != null) {
+            clock.shutdown();
+            clock = null;
+        }
+    }
+
+    /**
+     * Determines whether the loop is currently advancing the simulation in real time.
+     *
+     * @return true if the loop has been started and not stopped, false otherwise.
+     */
+    public synchronized boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * Retrieves the number of ticks simulated since the loop was created.
+     *
+     * @return the current tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Restores the number of ticks simulated, as recorded in a saved game.
+     *
+     * @param tick the tick count of the loop.
+     */
+    void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Retrieves the board advanced by this loop.
+     *
+     * @return the board driven by this loop.
+     */
+    public Board getBoard() {
+        return board;
+    }
+}
@@ -1,23 +1,26 @@
 package domain;
 
-import presentation.Game;
-
 import java.io.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The GameManager class is responsible for managing the game's state, resources, and interactions
  * in the Player vs Player mode.
- * It is implemented as a singleton, allowing only one instance to be used throughout the game.
+ * Every instance manages its own board and resources, so several games can be played in the
+ * same process; the window that displays a game keeps a reference to its manager.
  */
-public class GameManager {
+public class GameManager implements GameRules {
     private Board board;
     private int sunPoints;
     private int brainPoints;
     private List<Zombies> zombies;
-    private static GameManager instance;
-    private Game game;
+    private WaveReader wave;
+    private boolean waveReady;
+    private GameView game;
     private int gameTime;
+    private GameLoop gameLoop;
+    private final CommandLog log;
 
 
     /**
@@ -28,41 +31,58 @@ public class GameManager {
      * @param initialTime the initial game time in seconds
      */
     public GameManager(int initialSunPoints, int initialBrainPoints,int initialTime ) {
-        board = new Board(initialSunPoints, initialBrainPoints);
-        this.sunPoints = initialSunPoints;
-        this.brainPoints = initialBrainPoints;
-        this.gameTime = initialTime;
+        this(Board.DEFAULT_ROWS, Board.DEFAULT_COLUMNS, initialSunPoints, initialBrainPoints, initialTime);
     }
 
     /**
-     * Sets the current game instance for the GameManager.
+     * Constructs a GameManager instance playing on a board of the given dimensions.
      *
-     * @param game the Game object to be set as the current game
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param initialSunPoints the initial amount of sun points available for the game
+     * @param initialBrainPoints the initial amount of brain points available for the game
+     * @param initialTime the initial game time in seconds
+     * @throws POOBvsZOMBIESException if the board has no rows or no columns
      */
-    public void setGame(Game game) {
-        this.game = game;
+    public GameManager(int rows, int columns, int initialSunPoints, int initialBrainPoints, int initialTime) {
+        this(rows, columns, initialSunPoints, initialBrainPoints, initialTime, false);
     }
 
-
     /**
-     * Returns the singleton instance of the GameManager. If the instance does not already
-     * exist, it initializes a new GameManager with default values for sun points, brain points,
-     * and game time.
+     * Constructs a GameManager instance playing on a board of the given dimensions, choosing the
+     * storage engine of the board.
      *
-     * @return the single instance of GameManager
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param initialSunPoints the initial amount of sun points available for the game
+     * @param initialBrainPoints the initial amount of brain points available for the game
+     * @param initialTime the initial game time in seconds
+     * @param packedStorage true to keep the board in primitive arrays through a {@link PackedBoard}
+     * @throws POOBvsZOMBIESException if the board has no rows or no columns
      */
-    public static GameManager getInstance() {
-        if (instance == null) {
-            int defaultSunPoints = 100;
-            int defaultBrainPoints = 50;
-            int defaultGameTime = 300;
+    public GameManager(int rows, int columns, int initialSunPoints, int initialBrainPoints, int initialTime,
+                       boolean packedStorage) {
+        board = new Board(rows, columns, initialSunPoints, initialBrainPoints, packedStorage);
+        this.sunPoints = initialSunPoints;
+        this.brainPoints = initialBrainPoints;
+        this.gameTime = initialTime;
+        this.zombies = new ArrayList<>();
+        this.gameLoop = new GameLoop(board);
+        this.log = new CommandLog(rows, columns, initialSunPoints, initialBrainPoints, initialTime, 0);
+        board.setSunListener(this::receiveSun);
+    }
 
-            instance = new GameManager(defaultSunPoints, defaultBrainPoints, defaultGameTime);
-        }
-        return instance;
+    /**
+     * Sets the current game view for the GameManager.
+     *
+     * @param game the view to be notified when the resources change, or null to run without a view
+     */
+    public void setGame(GameView game) {
+        this.game = game;
     }
 
 
+
     /**
      * Sets the game time to the specified value.
      *
@@ -85,17 +105,17 @@ public class GameManager {
      * @return true if the plant was successfully placed, false otherwise
      */
     public boolean placePlant(Plant plant, int row, int col) {
-        if (sunPoints >= plant.getSunCost()) {
-            if (board.placePlant(plant, row, col)) {
-                sunPoints -= plant.getSunCost();
-                if (game != null) {
-                    game.updateSunPointsLabel(sunPoints);
-                }
-                return true;
+        synchronized (board) {
+            if (sunPoints < plant.getSunCost() || !board.placePlant(plant, row, col)) {
+                return false;
             }
-            return false;
+            log.append(Command.plant(gameLoop.getTick(), plant.getTypeName(), row, col));
+            sunPoints -= plant.getSunCost();
+            if (game != null) {
+                game.updateSunPointsLabel(sunPoints);
+            }
+            return true;
         }
-        return false;
     }
 
     /**
@@ -111,33 +131,51 @@ public class GameManager {
      *         or if the placement on the board was unsuccessful
      */
     public boolean placeZombie(Zombies zombie, int row, int col) {
-        if (brainPoints >= zombie.getCostBrains()) {
-            if (board.placeZombie(zombie, row, col)) {
-                brainPoints -= zombie.getCostBrains();
-                if (game != null) {
-                    game.updateBrainPointsLabel(brainPoints);
-                }
-                return true;
+        synchronized (board) {
+            if (brainPoints < zombie.getCostBrains() || !board.placeZombie(zombie, row, col)) {
+                return false;
             }
-            return false;
+            log.append(Command.zombie(gameLoop.getTick(), zombie.getTypeName(), row, col));
+            brainPoints -= zombie.getCostBrains();
+            if (game != null) {
+                game.updateBrainPointsLabel(brainPoints);
+            }
+            return true;
         }
-        return false;
     }
 
     /**
-     * Updates the game state by moving zombies on the board and checking for game victory conditions.
+     * Updates the game state by advancing the simulation and checking for game victory conditions.
      * <ul>
-     * <li>Calls the {@code moveZombies} method on the game board to advance the position of zombies.</li>
+     * <li>Advances the game loop by one tick, which moves zombies, runs attack cooldowns and generates sun.</li>
      * <li>If there are no zombies remaining on the board, the player wins the game.</li>
      * </ul>
      */
     public void updateGame() {
-        board.moveZombies();
+        gameLoop.tick();
         if (zombies.isEmpty()) {
             //¡Ganaste! No quedan zombis
         }
     }
 
+    /**
+     * Returns the board on which this game is played.
+     *
+     * @return the board of this game
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the game loop that drives the simulation of this game's board.
+     *
+     * @return the game loop of this game
+     */
+    public GameLoop getGameLoop() {
+        return gameLoop;
+    }
+
     /**
      * Returns the current amount of sun points available in the game.
      *
@@ -149,15 +187,32 @@ public class GameManager {
 
 
     /**
-     * Increases the total amount of sun points by the specified amount.
-     * This method also updates the sun points label in the current game interface.
+     * Increases the total amount of sun points by the specified amount and records it in the
+     * command log. This method also updates the sun points label in the current game interface.
      *
      * @param amount the number of sun points to be added
      */
     public void collectSun(int amount) {
-        sunPoints += amount;
-        if (game != null) {
-            game.updateSunPointsLabel(sunPoints);
+        synchronized (board) {
+            log.append(Command.sun(gameLoop.getTick(), amount));
+            receiveSun(amount);
+        }
+    }
+
+    /**
+     * Adds the sun produced by the plants of the board. This sun is a consequence of the
+     * simulation, so it is not recorded in the command log. It is called by the game loop
+     * while it holds the board, and takes the board itself when called from elsewhere, so the
+     * sun is never counted at the same time as a plant is paid for.
+     *
+     * @param amount the number of sun points produced
+     */
+    private void receiveSun(int amount) {
+        synchronized (board) {
+            sunPoints += amount;
+            if (game != null) {
+                game.updateSunPointsLabel(sunPoints);
+            }
         }
     }
 
@@ -170,21 +225,64 @@ public class GameManager {
         return brainPoints;
     }
 
+    /**
+     * Returns the current amount of brain points available in the game.
+     *
+     * @return the number of brain points
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Returns the Zobrist hash of the whole game state, computed in constant time from the
+     * hash kept by the board.
+     *
+     * @return the hash of the board, the resources and the current tick.
+     */
+    public long getStateHash() {
+        return board.getZobristHash().withResources(sunPoints, brainPoints, gameLoop.getTick());
+    }
+
 
     /**
-     * Increases the total amount of brain points by the specified amount.
-     * This method also updates the sun points label in the current game interface, if a game is present.
+     * Increases the total amount of brain points by the specified amount and records it in the
+     * command log. This method also updates the brain points label in the current game interface,
+     * if a game is present.
      *
      * @param amount the number of brain points to be added
      */
     public void collectBrain(int amount) {
-        brainPoints += amount;
-        if (game != null) {
-            game.updateSunPointsLabel(sunPoints);
+        synchronized (board) {
+            log.append(Command.brain(gameLoop.getTick(), amount));
+            brainPoints += amount;
+            if (game != null) {
+                game.updateBrainPointsLabel(brainPoints);
+            }
         }
     }
 
 
+    /**
+     * Returns the log where every command applied to this game is recorded.
+     *
+     * @return the command log of this game
+     */
+    public CommandLog getCommandLog() {
+        return log;
+    }
+
+    /**
+     * Creates a new game with the configuration recorded in a command log, ready to replay it.
+     *
+     * @param log the command log of the game to reproduce
+     * @return a new game manager on which no command was applied yet
+     */
+    public static GameManager fromLog(CommandLog log) {
+        return new GameManager(log.getRows(), log.getColumns(), log.getSunPoints(), log.getBrainPoints(),
+                log.getGameTime());
+    }
+
     /**
      * Returns the current game time in seconds.
      *
@@ -195,36 +293,115 @@ public class GameManager {
     }
 
     /**
-     * Saves the current game state to the specified file. The game state is serialized
-     * and written to the file.
+     * Saves the current game state to the specified file in the binary format of
+     * {@link GameSnapshot}: resources, board, plants and zombies with their pending timers.
      *
      * @param file the destination file to which the game state will be saved
-     * @throws POOBvsZOMBIESException if an error occurs during the file writing or serialization process
+     * @throws POOBvsZOMBIESException if an error occurs while encoding the game or writing the file
      */
     public void save(File file) throws POOBvsZOMBIESException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
-            oos.writeObject(this);
-        } catch (IOException e) {
-            throw new POOBvsZOMBIESException("Error al guardar el archivo: " + e.getMessage());
-        }
+        GameSnapshot.save(this, file);
     }
 
     /**
-     * Opens a saved game state from the specified file and loads it into the game manager.
-     * The method also updates the singleton instance of the game manager.
+     * Opens a saved game state from the specified file and loads it into a new game manager.
      *
      * @param file the file from which the game state will be loaded
      * @return the GameManager instance loaded from the specified file
-     * @throws POOBvsZOMBIESException if an error occurs while reading the file or deserializing the object
+     * @throws POOBvsZOMBIESException if an error occurs while reading the file, or if it is not a valid
+     *                                save of a game played under these rules
      */
     public static GameManager open(File file) throws POOBvsZOMBIESException {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            GameManager gameManager = (GameManager) ois.readObject();
-            instance = gameManager; // Actualizar la instancia singleton
-            return gameManager;
-        } catch (IOException | ClassNotFoundException e) {
-            throw new POOBvsZOMBIESException("Error al abrir el archivo: " + e.getMessage());
+        GameRules rules = GameSnapshot.open(file);
+        if (!(rules instanceof GameManager)) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return (GameManager) rules;
+    }
+
+    /**
+     * Recovers a game after a crash from its last saved state and the journal of the commands
+     * applied after that save.
+     *
+     * @param file the file of the last saved state of the game
+     * @param journal the file of the write-ahead journal of the game
+     * @return the GameManager instance holding the recovered game
+     * @throws POOBvsZOMBIESException if an error occurs while reading the files, or if they do not
+     *                                hold a game played under these rules
+     */
+    public static GameManager recover(File file, File journal) throws POOBvsZOMBIESException {
+        GameRules rules = Journal.recover(file, journal);
+        if (!(rules instanceof GameManager)) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return (GameManager) rules;
+    }
+
+    /**
+     * Returns the zombies imported into this game. The zombies of a wave imported with
+     * {@code aimportWave} that were not requested yet are read first.
+     *
+     * @return the live list of imported zombies
+     */
+    List<Zombies> getZombieList() {
+        while (hasWaveZombies()) {
+            nextWaveZombie();
+        }
+        return zombies;
+    }
+
+    /**
+     * Returns the zombies imported into this game so far, without reading the rest of the wave
+     * imported with {@code aimportWave}. Only references are copied, so the caller may hold the
+     * lock of the board.
+     *
+     * @return the zombies created so far
+     */
+    Zombies[] getImportedZombies() {
+        return zombies.toArray(new Zombies[0]);
+    }
+
+    /**
+     * Copies the reader of the wave imported with {@code aimportWave} at its current position,
+     * so that the zombies not requested yet can be read without disturbing this game.
+     *
+     * @return a reader of the zombies not requested yet, or null if there are none
+     */
+    WaveReader copyWave() {
+        return wave == null ? null : wave.copy(waveReady);
+    }
+
+    /**
+     * Determines whether the wave imported with {@code aimportWave} still has zombies that
+     * were not requested yet.
+     *
+     * @return true if there are zombies left in the wave, false otherwise
+     */
+    public boolean hasWaveZombies() {
+        if (wave != null && !waveReady) {
+            waveReady = wave.next();
+            if (!waveReady) {
+                wave = null;
+            }
+        }
+        return wave != null;
+    }
+
+    /**
+     * Creates the next zombie of the wave imported with {@code aimportWave} and adds it to the
+     * imported zombies of this game.
+     *
+     * @return the next zombie of the wave
+     * @throws POOBvsZOMBIESException if there are no zombies left in the wave
+     */
+    public Zombies nextWaveZombie() {
+        if (!hasWaveZombies()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
         }
+        waveReady = false;
+        Zombies zombie = wave.create();
+        zombies.add(zombie);
+        return zombie;
     }
 
     /**
@@ -234,27 +411,32 @@ public class GameManager {
      * a new instance of the GameManager class.
      *
      * @param file The file containing the game state to be imported.
+     * @return the GameManager instance initialized with the imported data.
      * @throws POOBvsZOMBIESException If an error occurs during file reading or data parsing,
      *         such as invalid format or input/output issues.
      */
-    public static void aimport(File file) throws POOBvsZOMBIESException {
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            int sunPoints = Integer.parseInt(br.readLine());
-            int brainPoints = Integer.parseInt(br.readLine());
-            int gameTime = Integer.parseInt(br.readLine());
-
-            GameManager gameManager = new GameManager(sunPoints, brainPoints, gameTime);
-
-            String zombieLine;
-            while ((zombieLine = br.readLine()) != null) {
-                Zombies zombie = Zombies.fromString(zombieLine);
-                gameManager.zombies.add(zombie);
-            }
+    public static GameManager aimport(File file) throws POOBvsZOMBIESException {
+        GameManager gameManager = aimportWave(file);
+        gameManager.getZombieList();
+        return gameManager;
+    }
 
-            instance = gameManager;
-        } catch (IOException | NumberFormatException e) {
-            throw new POOBvsZOMBIESException("Error al importar el archivo: " + e.getMessage());
-        }
+    /**
+     * Imports a game from a wave file like {@code aimport}, but streams its zombies instead of
+     * creating them all up front: the file is parsed in place, memory-mapped when it is large,
+     * and each zombie is only created when it is requested with {@code nextWaveZombie}. Wave
+     * files with hundreds of thousands of zombies are imported at once this way.
+     *
+     * @param file The wave file to be imported.
+     * @return the GameManager instance initialized with the header of the wave.
+     * @throws POOBvsZOMBIESException If an error occurs while reading the file or its header
+     *         is not valid. Errors in the lines of the zombies are reported when they are read.
+     */
+    public static GameManager aimportWave(File file) throws POOBvsZOMBIESException {
+        WaveReader reader = new WaveReader(file);
+        GameManager gameManager = new GameManager(reader.getSunPoints(), reader.getBrainPoints(), reader.getGameTime());
+        gameManager.wave = reader;
+        return gameManager;
     }
 
 
@@ -265,25 +447,45 @@ public class GameManager {
      * @param file The file to which the game state will be exported.
      * @throws POOBvsZOMBIESException If an error occurs during file writing, such as an I/O exception.
      */
-    public static void export(File file) throws POOBvsZOMBIESException {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
-            bw.write(instance.sunPoints + "\n");
-            bw.write(instance.brainPoints + "\n");
-            bw.write(instance.gameTime + "\n");
+    public void export(File file) throws POOBvsZOMBIESException {
+        export(file, false);
+    }
 
-            for (Zombies zombie : instance.zombies) {
-                bw.write(zombie.toString() + "\n");
+    /**
+     * Exports the current game state to a specified file, as text or in the compact binary format
+     * of {@link WaveWriter}. Both formats can be imported with {@code aimport} and {@code aimportWave}.
+     *
+     * @param file The file to which the game state will be exported.
+     * @param binary true to write the binary format, false to write text.
+     * @throws POOBvsZOMBIESException If an error occurs during file writing, such as an I/O exception.
+     */
+    public void export(File file, boolean binary) throws POOBvsZOMBIESException {
+        WaveWriter writer = new WaveWriter(file, binary, sunPoints, brainPoints, gameTime);
+        try {
+            for (Zombies zombie : getZombieList()) {
+                writer.write(zombie);
             }
-        } catch (IOException e) {
-            throw new POOBvsZOMBIESException("Error al exportar el archivo: " + e.getMessage());
+        } finally {
+            writer.close();
         }
     }
+
+    /**
+     * Removes the plant at the specified position with the shovel.
+     *
+     * @param row the row index of the plant
+     * @param col the column index of the plant
+     * @return true if there was a plant and it was removed, false if the position is not valid
+     *         or holds no plant
+     */
     public boolean removePlant(int row, int col) {
-        Plant plant = board.getPlantAt(row, col);
-        if (plant != null) {
-            board.removePlantWithShovel(row, col);
-            return true;
+        synchronized (board) {
+            if (board.isValidPosition(row, col) && board.getPlantAt(row, col) != null) {
+                board.removePlantWithShovel(row, col);
+                log.append(Command.shovel(gameLoop.getTick(), row, col));
+                return true;
+            }
+            return false;
         }
-        return false;
     }
 }
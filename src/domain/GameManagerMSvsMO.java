@@ -2,7 +2,37 @@ package domain;
 
 /**
  * The GameManager class is responsible for managing the game's state, resources, and interactions
- *  * in the Machine vs Machine (PlantsStrategic and ZombiesOriginal) mode.
+ * in the Machine vs Machine (PlantsStrategic and ZombiesOriginal) mode.
+ * Both sides are played by bots whose moves are submitted as commands, for instance through a
+ * {@link GameSession}; the zombies follow the same rules as in the
+ * Player vs Machine (ZombiesOriginal) mode and do not cost brain points.
  */
-public class GameManagerMSvsMO {
+public class GameManagerMSvsMO extends GameManagerPvsMO {
+
+    /**
+     * Constructs a new game manager for the Machine vs Machine (PlantsStrategic and ZombiesOriginal) mode.
+     *
+     * @param initialSunPoints the initial amount of sun points available for the plants
+     * @param initialBrainPoints the initial amount of brain points available for the zombies
+     * @param initialTime the initial game time in seconds
+     */
+    public GameManagerMSvsMO(int initialSunPoints, int initialBrainPoints, int initialTime) {
+        super(initialSunPoints, initialBrainPoints, initialTime);
+    }
+
+    /**
+     * Constructs a new game manager for this mode playing on a board of the given dimensions,
+     * with seeded random choices.
+     *
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param initialSunPoints the initial amount of sun points available for the plants
+     * @param initialBrainPoints the initial amount of brain points available for the zombies
+     * @param initialTime the initial game time in seconds
+     * @param seed the seed of the game's random choices
+     */
+    public GameManagerMSvsMO(int rows, int columns, int initialSunPoints, int initialBrainPoints, int initialTime,
+                             long seed) {
+        super(rows, columns, initialSunPoints, initialBrainPoints, initialTime, seed);
+    }
 }
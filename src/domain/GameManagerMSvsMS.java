@@ -3,6 +3,43 @@ package domain;
 /**
  * The GameManager class is responsible for managing the game's state, resources, and interactions
  * in the Machine vs Machine (PlantsStrategic and ZombiesStrategic) mode.
+ * Both sides are played by bots whose moves are submitted as commands, for instance through a
+ * {@link GameSession}; both sides pay for their characters as in the
+ * Player vs Player mode.
  */
-public class GameManagerMSvsMS {
+public class GameManagerMSvsMS extends GameManager {
+    private final StrategicZombies zombiePlayer = new StrategicZombies(this);
+
+    /**
+     * Constructs a new game manager for the Machine vs Machine (PlantsStrategic and ZombiesStrategic) mode.
+     *
+     * @param initialSunPoints the initial amount of sun points available for the plants
+     * @param initialBrainPoints the initial amount of brain points available for the zombies
+     * @param initialTime the initial game time in seconds
+     */
+    public GameManagerMSvsMS(int initialSunPoints, int initialBrainPoints, int initialTime) {
+        super(initialSunPoints, initialBrainPoints, initialTime);
+    }
+
+    /**
+     * Constructs a new game manager for this mode playing on a board of the given dimensions.
+     *
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param initialSunPoints the initial amount of sun points available for the plants
+     * @param initialBrainPoints the initial amount of brain points available for the zombies
+     * @param initialTime the initial game time in seconds
+     */
+    public GameManagerMSvsMS(int rows, int columns, int initialSunPoints, int initialBrainPoints, int initialTime) {
+        super(rows, columns, initialSunPoints, initialBrainPoints, initialTime);
+    }
+
+    /**
+     * Retrieves the machine strategic zombie player of this game.
+     *
+     * @return the zombie player.
+     */
+    public StrategicZombies getZombiePlayer() {
+        return zombiePlayer;
+    }
 }
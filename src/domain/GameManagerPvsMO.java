@@ -1,10 +1,9 @@
 package domain;
 
-
-import presentation.GamePvsMO;
-
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * GameManagerPvsMO is responsible for managing the game's core functionality
@@ -12,15 +11,19 @@ import java.util.List;
  * state, including board management, sun and brain points tracking, game time,
  * and the placement and movement of plants and zombies.
  */
-public class GameManagerPvsMO {
+public class GameManagerPvsMO implements GameRules {
 
     private Board board;
-    private static int sunPoints;
+    private int sunPoints;
     private int brainPoints;
     private List<Zombies> zombies;
-    private static GameManagerPvsMO instance;
-    private static GamePvsMO game;
+    private GameView game;
     private int gameTime;
+    private GameLoop gameLoop;
+    private final Random random;
+    private final long seed;
+    private long randomDraws;
+    private final CommandLog log;
 
     /**
      * Creates a new instance of the GameManagerPvsMO class to manage game functionality
@@ -31,37 +34,55 @@ public class GameManagerPvsMO {
      * @param initialTime the initial game time in seconds
      */
     public GameManagerPvsMO(int initialSunPoints, int initialBrainPoints, int initialTime ) {
-        board = new Board(initialSunPoints, initialBrainPoints);
-        this.sunPoints = initialSunPoints;
-        this.brainPoints = initialBrainPoints;
-        this.gameTime = initialTime;
-        this.zombies = new ArrayList<>();    }
+        this(initialSunPoints, initialBrainPoints, initialTime, new Random().nextLong());
+    }
 
     /**
-     * Sets the game instance for the Player versus Multiplayer Online (PvMO) mode.
+     * Creates a new instance of the GameManagerPvsMO class whose random choices, such as the
+     * column where the machine places its zombies, are drawn from a generator with the given
+     * seed, so that a match can be reproduced.
      *
-     * @param game the GamePvsMO instance to be associated with this GameManagerPvsMO
+     * @param initialSunPoints the initial amount of sun points available to the player
+     * @param initialBrainPoints the initial amount of brain points for zombie-related tasks
+     * @param initialTime the initial game time in seconds
+     * @param seed the seed of the game's random choices
      */
-    public void setGame(GamePvsMO game) {
-        this.game = game;
+    public GameManagerPvsMO(int initialSunPoints, int initialBrainPoints, int initialTime, long seed) {
+        this(Board.DEFAULT_ROWS, Board.DEFAULT_COLUMNS, initialSunPoints, initialBrainPoints, initialTime, seed);
     }
 
     /**
-     * Retrieves the singleton instance of the GameManagerPvsMO class. If the instance does not
-     * already exist, it creates a new instance with default values for sun points, brain points,
-     * and game time.
+     * Creates a new instance of the GameManagerPvsMO class playing on a board of the given
+     * dimensions, with seeded random choices.
      *
-     * @return the singleton instance of the GameManagerPvsMO class.
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param initialSunPoints the initial amount of sun points available to the player
+     * @param initialBrainPoints the initial amount of brain points for zombie-related tasks
+     * @param initialTime the initial game time in seconds
+     * @param seed the seed of the game's random choices
+     * @throws POOBvsZOMBIESException if the board has no rows or no columns
      */
-    public static GameManagerPvsMO getInstance() {
-        if (instance == null) {
-            int defaultSunPoints = 100;
-            int defaultBrainPoints = 50;
-            int defaultGameTime = 300;
+    public GameManagerPvsMO(int rows, int columns, int initialSunPoints, int initialBrainPoints,
+                            int initialTime, long seed) {
+        this.random = new Random(seed);
+        this.seed = seed;
+        board = new Board(rows, columns, initialSunPoints, initialBrainPoints, false);
+        this.sunPoints = initialSunPoints;
+        this.brainPoints = initialBrainPoints;
+        this.gameTime = initialTime;
+        this.gameLoop = new GameLoop(board);
+        this.log = new CommandLog(rows, columns, initialSunPoints, initialBrainPoints, initialTime, seed);
+        board.setSunListener(this::receiveSun);
+        this.zombies = new ArrayList<>();    }
 
-            instance = new GameManagerPvsMO(defaultSunPoints, defaultBrainPoints, defaultGameTime);
-        }
-        return instance;
+    /**
+     * Sets the game view for the Player versus Multiplayer Online (PvMO) mode.
+     *
+     * @param game the view to be associated with this GameManagerPvsMO, or null to run without a view
+     */
+    public void setGame(GameView game) {
+        this.game = game;
     }
 
     /**
@@ -75,17 +96,17 @@ public class GameManagerPvsMO {
     }
 
     public boolean placePlant(Plant plant, int row, int col) {
-        if (sunPoints >= plant.getSunCost()) {
-            if (board.placePlant(plant, row, col)) {
-                sunPoints -= plant.getSunCost();
-                if (game != null) {
-                    game.updateSunPointsLabel(sunPoints);
-                }
-                return true;
+        synchronized (board) {
+            if (sunPoints < plant.getSunCost() || !board.placePlant(plant, row, col)) {
+                return false;
             }
-            return false;
+            log.append(Command.plant(gameLoop.getTick(), plant.getTypeName(), row, col));
+            sunPoints -= plant.getSunCost();
+            if (game != null) {
+                game.updateSunPointsLabel(sunPoints);
+            }
+            return true;
         }
-        return false;
     }
 
     /**
@@ -93,31 +114,74 @@ public class GameManagerPvsMO {
      * If the target position is occupied, the method will make multiple attempts to
      * find an empty position. The placement is limited to a maximum number of attempts.
      * If a valid position is found, the zombie is added to the board and stored in the zombies list.
+     * The column is drawn from the game's seeded generator and the resulting placement is recorded
+     * in the command log, so a replay does not depend on the generator. The search and the draws
+     * are made while holding the board, so the game loop cannot fill the chosen cell before the
+     * zombie is placed.
      *
      * @param zombie the zombie object to be placed on the board.
+     * @return true if the zombie was placed, false if no empty column was found.
      */
-    public void placeZombie(Zombies zombie) {
-        int row = board.getRows() - 1;
-        int maxAttempts = 10;
-        int attempts = 0;
-        int col;
-        do {
-            col = (int) (Math.random() * board.getColumns());
-            attempts++;
-        } while (!board.isEmpty(row, col) && attempts < maxAttempts);
-
-        if (board.isEmpty(row, col)) {
-            board.placeZombie(zombie, row, col);
-            zombies.add(zombie);
+    public boolean placeZombie(Zombies zombie) {
+        synchronized (board) {
+            int row = board.getRows() - 1;
+            int maxAttempts = 10;
+            int attempts = 0;
+            int col;
+            do {
+                col = random.nextInt(board.getColumns());
+                randomDraws++;
+                attempts++;
+            } while (!board.isEmpty(row, col) && attempts < maxAttempts);
+            return board.isEmpty(row, col) && placeZombie(zombie, row, col);
         }
     }
 
     /**
-     * Updates the game state by executing zombie movements and checking for the presence
+     * Places a zombie of the machine at the specified position of the board. Zombies of the
+     * machine do not cost brain points.
+     *
+     * @param zombie the zombie to be placed
+     * @param row the row index where the zombie should be placed
+     * @param col the column index where the zombie should be placed
+     * @return true if the zombie was placed, false if the cell was not available
+     */
+    public boolean placeZombie(Zombies zombie, int row, int col) {
+        synchronized (board) {
+            if (board.placeZombie(zombie, row, col)) {
+                zombies.add(zombie);
+                log.append(Command.zombie(gameLoop.getTick(), zombie.getTypeName(), row, col));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes the plant at the specified position with the shovel.
+     *
+     * @param row the row index of the plant
+     * @param col the column index of the plant
+     * @return true if there was a plant and it was removed, false if the position is not valid
+     *         or holds no plant
+     */
+    public boolean removePlant(int row, int col) {
+        synchronized (board) {
+            if (board.isValidPosition(row, col) && board.getPlantAt(row, col) != null) {
+                board.removePlantWithShovel(row, col);
+                log.append(Command.shovel(gameLoop.getTick(), row, col));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Updates the game state by advancing the simulation and checking for the presence
      * of remaining zombies. This method is responsible for one primary operation:
      *
-     * - Calls the moveZombies method on the game board, which advances zombies based
-     *   on their movement logic and interaction rules.
+     * - Advances the game loop by one tick, which moves zombies, runs attack cooldowns
+     *   and generates sun based on their tick counters.
      *
      * After the zombie movements are resolved, it checks whether the list of zombies
      * in the game is empty:
@@ -126,12 +190,30 @@ public class GameManagerPvsMO {
      *   Further actions on this condition would depend on the specific game rules.
      */
     public void updateGame () {
-        board.moveZombies();
+        gameLoop.tick();
         if (zombies.isEmpty()) {
             //No quedan zombis
         }
     }
 
+    /**
+     * Returns the board on which this game is played.
+     *
+     * @return the board of this game.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Retrieves the game loop that drives the simulation of this game's board.
+     *
+     * @return the game loop of this game.
+     */
+    public GameLoop getGameLoop () {
+        return gameLoop;
+    }
+
     /**
      * Retrieves the current amount of sun points available in the game.
      *
@@ -142,15 +224,154 @@ public class GameManagerPvsMO {
     }
 
     /**
-     * Collects a specified amount of sun points and updates the game's sun points label if a game instance exists.
+     * Retrieves the current amount of brain points available in the game.
+     *
+     * @return the number of brain points currently available.
+     */
+    public int getBrainPoints () {
+        return brainPoints;
+    }
+
+    /**
+     * Returns the Zobrist hash of the whole game state, computed in constant time from the
+     * hash kept by the board.
+     *
+     * @return the hash of the board, the resources and the current tick.
+     */
+    public long getStateHash() {
+        return board.getZobristHash().withResources(sunPoints, brainPoints, gameLoop.getTick());
+    }
+
+    /**
+     * Collects a specified amount of sun points, records it in the command log and updates the
+     * game's sun points label if a game instance exists.
      *
      * @param amount the amount of sun points to be added to the current total.
      */
     public void collectSun ( int amount){
-        sunPoints += amount;
-        if (game != null) {
-            game.updateSunPointsLabel(sunPoints);
+        synchronized (board) {
+            log.append(Command.sun(gameLoop.getTick(), amount));
+            receiveSun(amount);
+        }
+    }
+
+    /**
+     * Adds the sun produced by the plants of the board. This sun is a consequence of the
+     * simulation, so it is not recorded in the command log. It is called by the game loop
+     * while it holds the board, and takes the board itself when called from elsewhere, so the
+     * sun is never counted at the same time as a plant is paid for.
+     *
+     * @param amount the amount of sun points produced.
+     */
+    private void receiveSun(int amount) {
+        synchronized (board) {
+            sunPoints += amount;
+            if (game != null) {
+                game.updateSunPointsLabel(sunPoints);
+            }
+        }
+    }
+
+    /**
+     * Collects a specified amount of brain points and records it in the command log.
+     *
+     * @param amount the amount of brain points to be added to the current total.
+     */
+    public void collectBrain(int amount) {
+        synchronized (board) {
+            log.append(Command.brain(gameLoop.getTick(), amount));
+            brainPoints += amount;
+            if (game != null) {
+                game.updateBrainPointsLabel(brainPoints);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the log where every command applied to this game is recorded, together with
+     * the seed of the game's random choices.
+     *
+     * @return the command log of this game.
+     */
+    public CommandLog getCommandLog() {
+        return log;
+    }
+
+    /**
+     * Retrieves the seed of the game's random choices.
+     *
+     * @return the seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Retrieves how many values have been drawn from the game's random generator.
+     *
+     * @return the number of random draws.
+     */
+    long getRandomDraws() {
+        return randomDraws;
+    }
+
+    /**
+     * Advances the game's random generator as if the given number of values had been drawn,
+     * so that a restored game continues the random sequence of the saved one.
+     *
+     * @param draws the number of random draws to skip.
+     */
+    void skipRandomDraws(long draws) {
+        for (long i = 0; i < draws; i++) {
+            random.nextInt(board.getColumns());
+        }
+        randomDraws += draws;
+    }
+
+    /**
+     * Returns the zombies placed by the machine in this game.
+     *
+     * @return the live list of placed zombies.
+     */
+    List<Zombies> getZombieList() {
+        return zombies;
+    }
+
+    /**
+     * Saves the current game state to the specified file in the binary format of {@link GameSnapshot}.
+     *
+     * @param file the destination file to which the game state will be saved.
+     * @throws POOBvsZOMBIESException if an error occurs while encoding the game or writing the file.
+     */
+    public void save(File file) throws POOBvsZOMBIESException {
+        GameSnapshot.save(this, file);
+    }
+
+    /**
+     * Opens a saved game state from the specified file and loads it into a new game manager.
+     *
+     * @param file the file from which the game state will be loaded.
+     * @return the GameManagerPvsMO instance loaded from the specified file.
+     * @throws POOBvsZOMBIESException if an error occurs while reading the file, or if it is not a valid
+     *                                save of a game played under these rules.
+     */
+    public static GameManagerPvsMO open(File file) throws POOBvsZOMBIESException {
+        GameRules rules = GameSnapshot.open(file);
+        if (!(rules instanceof GameManagerPvsMO)) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
         }
+        return (GameManagerPvsMO) rules;
+    }
+
+    /**
+     * Creates a new game with the configuration recorded in a command log, ready to replay it.
+     *
+     * @param log the command log of the game to reproduce.
+     * @return a new game manager on which no command was applied yet.
+     */
+    public static GameManagerPvsMO fromLog(CommandLog log) {
+        return new GameManagerPvsMO(log.getRows(), log.getColumns(), log.getSunPoints(), log.getBrainPoints(),
+                log.getGameTime(), log.getSeed());
     }
 
     /**
@@ -0,0 +1,117 @@
+package domain;
+
+/**
+ * The GameRules interface is the common view of the game managers of every mode. It exposes the
+ * board and loop of a match and the moves a player can make, so that code driving matches, such
+ * as {@link HeadlessMatch}, works the same whichever mode's rules are being played.
+ */
+public interface GameRules {
+
+    /**
+     * Returns the board on which the match is played.
+     *
+     * @return the board of the match.
+     */
+    Board getBoard();
+
+    /**
+     * Returns the game loop that drives the simulation of the match's board.
+     *
+     * @return the game loop of the match.
+     */
+    GameLoop getGameLoop();
+
+    /**
+     * Attempts to place a plant on the board, paying its cost in sun points.
+     *
+     * @param plant the plant to be placed.
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @return true if the plant was placed, false otherwise.
+     */
+    boolean placePlant(Plant plant, int row, int col);
+
+    /**
+     * Attempts to place a zombie on the board, paying its cost if the mode charges for it.
+     *
+     * @param zombie the zombie to be placed.
+     * @param row the row index of the zombie.
+     * @param col the column index of the zombie.
+     * @return true if the zombie was placed, false otherwise.
+     */
+    boolean placeZombie(Zombies zombie, int row, int col);
+
+    /**
+     * Removes a plant from the board with the shovel.
+     *
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @return true if there was a plant and it was removed, false otherwise.
+     */
+    boolean removePlant(int row, int col);
+
+    /**
+     * Adds sun points collected by the plants player.
+     *
+     * @param amount the amount of sun points collected.
+     */
+    void collectSun(int amount);
+
+    /**
+     * Adds brain points collected by the zombies player.
+     *
+     * @param amount the amount of brain points collected.
+     */
+    void collectBrain(int amount);
+
+    /**
+     * Returns the log where every command applied to the match is recorded.
+     *
+     * @return the command log of the match.
+     */
+    CommandLog getCommandLog();
+
+    /**
+     * Returns the duration of the match, or the time left when a window counts it down.
+     *
+     * @return the game time in seconds.
+     */
+    int getGameTime();
+
+    /**
+     * Returns the current amount of sun points available to the plants player.
+     *
+     * @return the number of sun points.
+     */
+    int getSunPoints();
+
+    /**
+     * Returns the current amount of brain points available to the zombies player.
+     *
+     * @return the number of brain points.
+     */
+    int getBrainPoints();
+
+    /**
+     * Returns the Zobrist hash of the whole game state: the characters and lawn mowers of the
+     * board, the resources of both players and the current tick. Two games in the same state
+     * have the same hash, so it can key transposition tables and detect desynchronized replays.
+     *
+     * @return the hash of the game state.
+     */
+    long getStateHash();
+
+    /**
+     * Creates an immutable copy of the board of the match holding the current resources of both
+     * players, which the board itself does not follow once a manager collects its sun.
+     *
+     * @return the persistent copy of the game state.
+     * @throws POOBvsZOMBIESException if a character of the board has no registered type.
+     */
+    default PersistentBoard fork() {
+        Board board = getBoard();
+        synchronized (board) {
+            return board.fork(getSunPoints(), getBrainPoints());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package domain;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameSession class is one match hosted by a {@link SessionHost}. The host advances the
+ * session one tick at a time on a shared carrier thread; players and bots never touch the board
+ * directly but submit {@link Command}s to the session's inbox, which is drained at the start of
+ * the next tick. Submitting a command never blocks, and the inbox is bounded so a flooding
+ * client cannot make the session grow without limit.
+ *
+ * The session measures how long each of its ticks takes, so the host can report the latency of
+ * every match it runs.
+ */
+public class GameSession {
+    public static final int DEFAULT_INBOX_CAPACITY = 256;
+
+    private final long id;
+    private final GameRules rules;
+    private final long totalTicks;
+    private final Random random;
+    private final ConcurrentLinkedQueue<Command> inbox;
+    private final AtomicInteger pending;
+    private final int inboxCapacity;
+    private volatile boolean finished;
+    private volatile RuntimeException failure;
+    private volatile long steps;
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long totalTickNanos;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Constructs a new GameSession.
+     *
+     * @param id the identifier of the session in its host.
+     * @param rules the game manager of the match.
+     * @param gameTime the duration of the match in seconds.
+     * @param seed the seed of the random choices of the session.
+     * @param inboxCapacity the maximum number of commands waiting in the inbox.
+     * @throws POOBvsZOMBIESException if the duration of the match or the capacity of the
+     *                                inbox is not positive.
+     */
+    public GameSession(long id, GameRules rules, int gameTime, long seed, int inboxCapacity) {
+        if (gameTime <= 0 || inboxCapacity <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.id = id;
+        this.rules = rules;
+        this.totalTicks = (long) gameTime * GameLoop.TICKS_PER_SECOND;
+        this.random = new Random(seed);
+        this.inbox = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.inboxCapacity = inboxCapacity;
+    }
+
+    /**
+     * Submits a command to the session. The command is applied at the start of the next tick,
+     * regardless of the tick it carries. This method never blocks and may be called from any
+     * thread.
+     *
+     * @param command the command to apply.
+     * @return true if the command was accepted, false if the session is over or its inbox is full.
+     */
+    public boolean submit(Command command) {
+        if (finished || pending.incrementAndGet() > inboxCapacity) {
+            pending.decrementAndGet();
+            return false;
+        }
+        inbox.offer(command);
+        return true;
+    }
+
+    /**
+     * Advances the session by one tick: applies every command in the inbox and then ticks
+     * the board. Commands that fail, such as those naming an unknown plant or zombie, are
+     * discarded. The session finishes when its time is over, a zombie reaches the house or
+     * the tick itself fails; a failed tick is kept so the host can report it, instead of
+     * escaping to the carrier thread and stopping the session without notice.
+     */
+    void step() {
+        if (finished) {
+            return;
+        }
+        long start = System.nanoTime();
+        Command command;
+        while ((command = inbox.poll()) != null) {
+            pending.decrementAndGet();
+            try {
+                command.applyTo(rules, random);
+            } catch (RuntimeException e) {
+                // Comando inválido: se descarta
+            }
+        }
+        GameLoop loop = rules.getGameLoop();
+        try {
+            loop.tick();
+        } catch (RuntimeException e) {
+            failure = e;
+            finished = true;
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        if (elapsed > maxTickNanos) {
+            maxTickNanos = elapsed;
+        }
+        totalTickNanos += elapsed;
+        steps++;
+        if (loop.getTick() >= totalTicks || rules.getBoard().isHouseReached()) {
+            finished = true;
+        }
+    }
+
+    /**
+     * Sets the task that advances this session on its host.
+     *
+     * @param task the scheduled task of the session.
+     */
+    void setTask(ScheduledFuture<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * Stops advancing this session. Commands submitted afterwards are rejected.
+     */
+    void cancel() {
+        finished = true;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Retrieves the identifier of the session.
+     *
+     * @return the identifier of the session in its host.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the game manager of the match played in this session.
+     *
+     * @return the rules of the match.
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Determines whether the match of this session is over.
+     *
+     * @return true if the session has finished or was closed, false otherwise.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Retrieves the error that ended the session, if a tick of its match failed.
+     *
+     * @return the error thrown by the failed tick, or null if no tick failed.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Retrieves the number of ticks played by the session.
+     *
+     * @return the number of ticks advanced.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Retrieves how long the last tick of the session took, including its commands.
+     *
+     * @return the duration of the last tick in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Retrieves how long the slowest tick of the session took.
+     *
+     * @return the duration of the slowest tick in nanoseconds.
+     */
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    /**
+     * Retrieves the average duration of the ticks of the session.
+     *
+     * @return the mean duration of a tick in nanoseconds.
+     */
+    public double getMeanTickNanos() {
+        long count = steps;
+        return count == 0 ? 0 : (double) totalTickNanos / count;
+    }
+}
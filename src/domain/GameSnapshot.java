@@ -0,0 +1,404 @@
+package domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The GameSnapshot class reads and writes the binary save format of a game: the resources and
+ * duration of the match, the board with its lawn mowers, every plant and zombie with its hit
+ * points and pending timers, the state of the game manager of its mode and the number of
+ * commands applied so far, which tells a {@link Journal} where the snapshot stands.
+ *
+ * A snapshot starts with the magic bytes {@code PVZS} and a format version, stores every number
+ * as a variable-length quantity and ends with a CRC-32 checksum of everything before it, so
+ * truncated or corrupted files are rejected instead of producing an inconsistent game. Timers
+ * are stored as absolute deadlines and every row is encoded on its own, followed by the peas of
+ * every row, so a snapshot is built from a {@link GameImage} that reuses the encoding of the rows
+ * that did not change.
+ */
+public class GameSnapshot {
+    public static final int VERSION = 4;
+
+    private static final byte[] MAGIC = {'P', 'V', 'Z', 'S'};
+    private static final Class<?>[] MODES = {GameManager.class, GameManagerPvsMO.class, GameManagerMIvsMO.class,
+            GameManagerMSvsMO.class, GameManagerMIvsMS.class, GameManagerMSvsMS.class};
+
+    /**
+     * Takes an immutable image of the current state of a game. The board is locked only while
+     * the rows changed since the previous image are encoded; the other rows share the images
+     * taken before, so a capture can be taken during play at any rate. The imported zombies are
+     * not turned into text and the rest of an imported wave is not read until the image is encoded.
+     *
+     * @param rules the game manager of the game to capture.
+     * @return the image of the game.
+     * @throws POOBvsZOMBIESException if the game cannot be saved, for instance because its
+     *                                board is packed or holds a character of an unknown type.
+     */
+    public static GameImage capture(GameRules rules) {
+        Board board = rules.getBoard();
+        if (board.getPlantLanes() == null) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        int mode = indexOf(MODES, rules.getClass());
+        synchronized (board) {
+            boolean[] lawnMowers = new boolean[board.getRows()];
+            for (int i = 0; i < lawnMowers.length; i++) {
+                lawnMowers[i] = board.hasLawnMower(i);
+            }
+            long seed = 0;
+            long draws = 0;
+            Zombies[] zombies = new Zombies[0];
+            WaveReader wave = null;
+            if (rules instanceof GameManagerPvsMO) {
+                seed = ((GameManagerPvsMO) rules).getSeed();
+                draws = ((GameManagerPvsMO) rules).getRandomDraws();
+            } else {
+                zombies = ((GameManager) rules).getImportedZombies();
+                wave = ((GameManager) rules).copyWave();
+            }
+            return new GameImage(mode, board.getRows(), board.getColumns(), rules.getSunPoints(),
+                    rules.getBrainPoints(), rules.getGameTime(), rules.getGameLoop().getTick(),
+                    board.getTimers().getTick(), seed, draws, rules.getCommandLog().getSequence(),
+                    lawnMowers, board.isHouseReached(), board.captureRows(), encodePeas(board), zombies, wave);
+        }
+    }
+
+    /**
+     * Encodes the current state of a game. The board is locked while the game is captured, so
+     * a snapshot can be taken while the game loop is running.
+     *
+     * @param rules the game manager of the game to encode.
+     * @return the encoded snapshot.
+     * @throws POOBvsZOMBIESException if the game cannot be saved, for instance because its
+     *                                board is packed or holds a character of an unknown type.
+     */
+    public static byte[] encode(GameRules rules) {
+        return encode(capture(rules));
+    }
+
+    /**
+     * Encodes an image of a game. Images are immutable, so this method can run on any thread
+     * without locking the board of the game.
+     *
+     * @param image the image of the game to encode.
+     * @return the encoded snapshot.
+     */
+    public static byte[] encode(GameImage image) {
+        SnapshotWriter out = new SnapshotWriter();
+        for (byte b : MAGIC) {
+            out.writeByte(b);
+        }
+        out.writeVarint(VERSION);
+        out.writeVarint(image.getMode());
+        out.writeVarint(image.getRows());
+        out.writeVarint(image.getColumns());
+        out.writeSigned(image.getSunPoints());
+        out.writeSigned(image.getBrainPoints());
+        out.writeSigned(image.getGameTime());
+        out.writeVarint(image.getTick());
+        out.writeVarint(image.getWheelTick());
+        out.writeVarint(image.getSequence());
+        if (image.getMode() >= 1 && image.getMode() <= 3) {
+            out.writeSigned(image.getSeed());
+            out.writeVarint(image.getRandomDraws());
+        }
+        for (int i = 0; i < image.getRows(); i++) {
+            out.writeBoolean(image.hasLawnMower(i));
+        }
+        out.writeBoolean(image.isHouseReached());
+        for (int i = 0; i < image.getRows(); i++) {
+            out.writeBytes(image.getRowImage(i));
+        }
+        out.writeBytes(image.getPeaImage());
+        String[] zombieList = image.getZombieList();
+        out.writeVarint(zombieList.length);
+        for (String zombie : zombieList) {
+            out.writeString(zombie);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.buffer(), 0, out.size());
+        out.writeFixedInt((int) crc.getValue());
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the plants and zombies of one row of a board, with their type, column, hit
+     * points and state. The caller holds the lock of the board.
+     *
+     * @param board the board holding the row.
+     * @param row the row index.
+     * @return the encoded row.
+     * @throws POOBvsZOMBIESException if the row holds a character of an unknown type.
+     */
+    static byte[] encodeRow(Board board, int row) {
+        SnapshotWriter out = new SnapshotWriter();
+        writeCharacters(out, board.getPlantLanes(), row);
+        writeCharacters(out, board.getZombieLanes(), row);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the position and damage of the peas of every row of a board. The caller holds
+     * the lock of the board.
+     *
+     * @param board the board the peas fly over.
+     * @return the encoded peas.
+     */
+    private static byte[] encodePeas(Board board) {
+        SnapshotWriter out = new SnapshotWriter();
+        ProjectileLanes projectiles = board.getProjectiles();
+        for (int i = 0; i < board.getRows(); i++) {
+            out.writeVarint(projectiles.size(i));
+            for (int j = 0; j < projectiles.size(i); j++) {
+                out.writeVarint(projectiles.getPosition(i, j));
+                out.writeSigned(projectiles.getDamage(i, j));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot into a new game manager of the mode it was saved from. The returned
+     * game is stopped and has no view; its command log starts at the restored state.
+     *
+     * @param data the encoded snapshot.
+     * @return the game manager holding the restored game.
+     * @throws POOBvsZOMBIESException if the data is not a valid snapshot of a supported version.
+     */
+    public static GameRules decode(byte[] data) {
+        if (data.length < MAGIC.length + 4) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        int body = data.length - 4;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, body);
+        int stored = ((data[body] & 0xFF) << 24) | ((data[body + 1] & 0xFF) << 16)
+                | ((data[body + 2] & 0xFF) << 8) | (data[body + 3] & 0xFF);
+        if (stored != (int) crc.getValue()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        SnapshotReader in = new SnapshotReader(data, body);
+        for (byte b : MAGIC) {
+            if (in.readByte() != (b & 0xFF)) {
+                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+            }
+        }
+        if (in.readInt() != VERSION) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        GameRules rules = readGame(in);
+        if (in.position() != body) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return rules;
+    }
+
+    /**
+     * Saves the current state of a game to the specified file.
+     *
+     * @param rules the game manager of the game to save.
+     * @param file the destination file.
+     * @throws POOBvsZOMBIESException if the game cannot be encoded or the file cannot be written.
+     */
+    public static void save(GameRules rules, File file) throws POOBvsZOMBIESException {
+        save(capture(rules), file);
+    }
+
+    /**
+     * Saves an image of a game to the specified file. The board of the game is not locked,
+     * so the image can be written on any thread.
+     *
+     * @param image the image of the game to save.
+     * @param file the destination file.
+     * @throws POOBvsZOMBIESException if the file cannot be written.
+     */
+    public static void save(GameImage image, File file) throws POOBvsZOMBIESException {
+        byte[] data = encode(image);
+        try {
+            Files.write(file.toPath(), data);
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al guardar el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a game saved with {@code save}.
+     *
+     * @param file the file to read.
+     * @return the game manager holding the restored game.
+     * @throws POOBvsZOMBIESException if the file cannot be read or is not a valid snapshot.
+     */
+    public static GameRules open(File file) throws POOBvsZOMBIESException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al abrir el archivo: " + e.getMessage());
+        }
+        return decode(data);
+    }
+
+    /**
+     * Writes the characters of one row of a lane index with their type id, column, hit points
+     * and state.
+     *
+     * @param out the writer of the row.
+     * @param lanes the lane index holding the characters.
+     * @param row the row index.
+     * @throws POOBvsZOMBIESException if a character is not of a registered type.
+     */
+    private static <T extends Character> void writeCharacters(SnapshotWriter out, LaneIndex<T> lanes, int row) {
+        out.writeVarint(lanes.size(row));
+        for (int j = 0; j < lanes.size(row); j++) {
+            T character = lanes.get(row, j);
+            EntityType type = character.getType();
+            if (type == null) {
+                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+            }
+            out.writeVarint(type.getId());
+            out.writeVarint(character.getCol());
+            out.writeSigned(character.getHitPoints());
+            character.writeState(out);
+        }
+    }
+
+    /**
+     * Reads the header fields, the board and the characters of a game into a new manager.
+     *
+     * @param in the reader of the snapshot.
+     * @return the game manager holding the restored game.
+     */
+    private static GameRules readGame(SnapshotReader in) {
+        int mode = in.readInt();
+        int rows = in.readInt();
+        int columns = in.readInt();
+        int sunPoints = (int) in.readSigned();
+        int brainPoints = (int) in.readSigned();
+        int gameTime = (int) in.readSigned();
+        long tick = in.readVarint();
+        in.setTickBase(in.readVarint());
+        long sequence = in.readVarint();
+        if (mode >= MODES.length || rows == 0 || columns == 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        GameRules rules;
+        List<Zombies> zombieList;
+        if (mode == 0 || mode >= 4) {
+            GameManager manager = mode == 0 ? new GameManager(rows, columns, sunPoints, brainPoints, gameTime)
+                    : mode == 4 ? new GameManagerMIvsMS(rows, columns, sunPoints, brainPoints, gameTime)
+                    : new GameManagerMSvsMS(rows, columns, sunPoints, brainPoints, gameTime);
+            zombieList = manager.getZombieList();
+            rules = manager;
+        } else {
+            long seed = in.readSigned();
+            long draws = in.readVarint();
+            GameManagerPvsMO manager = mode == 1 ? new GameManagerPvsMO(rows, columns, sunPoints, brainPoints, gameTime, seed)
+                    : mode == 2 ? new GameManagerMIvsMO(rows, columns, sunPoints, brainPoints, gameTime, seed)
+                    : new GameManagerMSvsMO(rows, columns, sunPoints, brainPoints, gameTime, seed);
+            manager.skipRandomDraws(draws);
+            zombieList = manager.getZombieList();
+            rules = manager;
+        }
+        Board board = rules.getBoard();
+        rules.getGameLoop().setTick(tick);
+        rules.getCommandLog().restoreSequence(sequence);
+        for (int i = 0; i < rows; i++) {
+            board.restoreLawnMower(i, in.readBoolean());
+        }
+        board.setHouseReached(in.readBoolean());
+        for (int i = 0; i < rows; i++) {
+            int plants = in.readInt();
+            for (int j = 0; j < plants; j++) {
+                Plant plant = typeAt(in.readInt(), true).createPlant();
+                placeCharacter(in, board, plant, i, true);
+            }
+            int zombies = in.readInt();
+            for (int j = 0; j < zombies; j++) {
+                Zombies zombie = typeAt(in.readInt(), false).createZombie();
+                placeCharacter(in, board, zombie, i, false);
+                if (rules instanceof GameManagerPvsMO) {
+                    zombieList.add(zombie);
+                }
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            int peas = in.readInt();
+            for (int j = 0; j < peas; j++) {
+                int position = in.readInt();
+                int damage = (int) in.readSigned();
+                if (position >= columns * ProjectileLanes.POSITION_SCALE) {
+                    throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+                }
+                board.getProjectiles().add(i, position, damage);
+            }
+        }
+        int listed = in.readInt();
+        for (int i = 0; i < listed; i++) {
+            try {
+                zombieList.add(Zombies.fromString(in.readString()));
+            } catch (RuntimeException e) {
+                throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Reads the column, hit points and state of a character and places it on the board.
+     *
+     * @param in the reader of the snapshot.
+     * @param board the board being restored.
+     * @param character the character to place.
+     * @param row the row of the character.
+     * @param plant true if the character is a plant, false if it is a zombie.
+     */
+    private static void placeCharacter(SnapshotReader in, Board board, Character character, int row, boolean plant) {
+        int col = in.readInt();
+        int hitPoints = (int) in.readSigned();
+        if (col >= board.getColumns()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        boolean placed = plant ? board.placePlant((Plant) character, row, col)
+                : board.placeZombie((Zombies) character, row, col);
+        if (!placed) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        character.restoreHitPoints(hitPoints);
+        character.readState(in, board);
+    }
+
+    /**
+     * Finds the index of the class of a game manager in the table of modes.
+     *
+     * @param classes the table of classes.
+     * @param type the class to find.
+     * @return the index of the class.
+     * @throws POOBvsZOMBIESException if the class is not in the table.
+     */
+    private static int indexOf(Class<?>[] classes, Class<?> type) {
+        for (int i = 0; i < classes.length; i++) {
+            if (classes[i] == type) {
+                return i;
+            }
+        }
+        throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+    }
+
+    /**
+     * Retrieves a registered type from the id read from the snapshot.
+     *
+     * @param id the id read from the snapshot.
+     * @param plant true for a type of plant, false for a type of zombie.
+     * @return the type with that id.
+     * @throws POOBvsZOMBIESException if the id is out of range.
+     */
+    private static EntityType typeAt(int id, boolean plant) {
+        if (id >= (plant ? EntityRegistry.plantCount() : EntityRegistry.zombieCount())) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return plant ? EntityRegistry.plant(id) : EntityRegistry.zombie(id);
+    }
+}
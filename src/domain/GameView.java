@@ -0,0 +1,29 @@
+package domain;
+
+/**
+ * The GameView interface is the only way the domain layer talks back to a user interface.
+ * Game managers notify their view when the resources change; the rules themselves never depend
+ * on a concrete window, so a match can run without any graphical component.
+ *
+ * Notifications come from the thread that changed the resources, which is usually the game loop
+ * thread and not the thread of the user interface; a Swing view must hand every update over to
+ * the event dispatch thread with {@code SwingUtilities.invokeLater}.
+ */
+public interface GameView {
+
+    /**
+     * Updates the displayed amount of sun points.
+     *
+     * @param sunPoints the new amount of sun points.
+     */
+    void updateSunPointsLabel(int sunPoints);
+
+    /**
+     * Updates the displayed amount of brain points. Views that do not show brain points
+     * can ignore this notification.
+     *
+     * @param brainPoints the new amount of brain points.
+     */
+    default void updateBrainPointsLabel(int brainPoints) {
+    }
+}
@@ -7,19 +7,24 @@ package domain;
  * a new attribute and method specific to brain generation.
  */
 public abstract class Generate extends Zombies{
-    public int BrainValue;
 
     /**
-     * Constructs a new Generate object with the specified attributes.
+     * Constructs a new Generate object of the specified type, whose damage and value of
+     * brains produced are those of the type.
      *
-     * @param hitPointes   the hit points of the generate entity, representing its health.
-     * @param damage       the amount of damage the generate entity can inflict.
-     * @param costBrains   the number of brains required to deploy the entity in the game.
-     * @param brainValue   the value of brains the generate entity can produce.
+     * @param type the type of the generate entity.
      */
-    public Generate(int hitPointes, int damage, int costBrains, int brainValue) {
-        super(hitPointes, costBrains);
-        this.BrainValue = BrainValue;
+    public Generate(EntityType type) {
+        super(type);
+    }
+
+    /**
+     * Retrieves the value of brains the entity produces each time.
+     *
+     * @return the brains produced by the entity.
+     */
+    public int getBrainValue() {
+        return getType().getResourceValue();
     }
 
     /**
@@ -0,0 +1,164 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The HeadlessMatch class plays a whole match without any user interface. The match is described
+ * by its initial resources, its duration, a seed and a script of {@link Command}s; it is advanced
+ * tick by tick through the board's {@link GameLoop} as fast as possible, on the calling thread,
+ * and reports a {@link MatchResult} when it ends.
+ *
+ * Given the same configuration, seed and script, a match always produces the same result, which
+ * makes it suitable for automated tests and balance experiments that play many matches.
+ * A match can be played under the rules of any mode through its {@link GameRules}.
+ *
+ * Besides the final outcome, the match records the tick at which each lane lost its lawn mower
+ * and samples the sun points of the plants player once per second.
+ */
+public class HeadlessMatch {
+    private final GameRules manager;
+    private final int gameTime;
+    private final Random random;
+    private final List<Command> inputs;
+    private int rejectedInputs;
+
+    /**
+     * Constructs a new HeadlessMatch.
+     *
+     * @param initialSunPoints the initial sun points of the plants player.
+     * @param initialBrainPoints the initial brain points of the zombies player.
+     * @param gameTime the duration of the match in seconds; the plants win if the house is
+     *                 still safe when it is over.
+     * @param seed the seed of the random choices made during the match.
+     * @throws POOBvsZOMBIESException if the duration of the match is not positive.
+     */
+    public HeadlessMatch(int initialSunPoints, int initialBrainPoints, int gameTime, long seed) {
+        this(new GameManager(initialSunPoints, initialBrainPoints, gameTime), gameTime, seed);
+    }
+
+    /**
+     * Constructs a new HeadlessMatch played under the rules of the given game manager.
+     *
+     * @param manager the game manager of the match; it must not be driven by a window.
+     * @param gameTime the duration of the match in seconds; the plants win if the house is
+     *                 still safe when it is over.
+     * @param seed the seed of the random choices made by the script, such as the row of the
+     *             zombies sent to a random row.
+     * @throws POOBvsZOMBIESException if the duration of the match is not positive.
+     */
+    public HeadlessMatch(GameRules manager, int gameTime, long seed) {
+        if (gameTime <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.manager = manager;
+        this.gameTime = gameTime;
+        this.random = new Random(seed);
+        this.inputs = new ArrayList<>();
+    }
+
+    /**
+     * Adds a scripted input to the match.
+     *
+     * @param command the command to apply when its tick is reached.
+     */
+    public void addInput(Command command) {
+        inputs.add(command);
+    }
+
+    /**
+     * Adds several scripted inputs to the match.
+     *
+     * @param commands the commands to apply when their ticks are reached.
+     */
+    public void addInputs(List<Command> commands) {
+        inputs.addAll(commands);
+    }
+
+    /**
+     * Plays the match until its time is over or a zombie reaches the house. Commands are
+     * applied at the beginning of their tick, in the order in which they were added when
+     * several share the same tick; commands that cannot be applied, for lack of resources
+     * or because the target cell is occupied, are ignored as the user interface would and
+     * counted by {@link #getRejectedInputs()}.
+     *
+     * @return the result of the match.
+     */
+    public MatchResult run() {
+        List<Command> script = new ArrayList<>(inputs);
+        script.sort(Comparator.comparingLong(Command::getTick));
+        GameLoop loop = manager.getGameLoop();
+        Board board = manager.getBoard();
+        long totalTicks = (long) gameTime * GameLoop.TICKS_PER_SECOND;
+        long[] laneLossTicks = new long[board.getRows()];
+        Arrays.fill(laneLossTicks, -1);
+        int[] sunCurve = new int[gameTime + 1];
+        int samples = 0;
+        int next = 0;
+        rejectedInputs = 0;
+        while (loop.getTick() < totalTicks && !board.isHouseReached()) {
+            if (loop.getTick() % GameLoop.TICKS_PER_SECOND == 0) {
+                sunCurve[samples++] = manager.getSunPoints();
+            }
+            while (next < script.size() && script.get(next).getTick() <= loop.getTick()) {
+                if (!script.get(next++).applyTo(manager, random)) {
+                    rejectedInputs++;
+                }
+            }
+            loop.tick();
+            for (int i = 0; i < laneLossTicks.length; i++) {
+                if (laneLossTicks[i] < 0 && !board.hasLawnMower(i)) {
+                    laneLossTicks[i] = loop.getTick();
+                }
+            }
+        }
+        sunCurve[samples++] = manager.getSunPoints();
+        return result(laneLossTicks, Arrays.copyOf(sunCurve, samples));
+    }
+
+    /**
+     * Retrieves the number of scripted inputs that could not be applied during the last run,
+     * such as zombies that found their cell occupied.
+     *
+     * @return the number of rejected inputs.
+     */
+    public int getRejectedInputs() {
+        return rejectedInputs;
+    }
+
+    /**
+     * Retrieves the game manager holding the state of this match.
+     *
+     * @return the game manager of the match.
+     */
+    public GameRules getManager() {
+        return manager;
+    }
+
+    /**
+     * Builds the result of the match from the current state of the board.
+     *
+     * @param laneLossTicks the tick at which each lane lost its lawn mower, or -1.
+     * @param sunCurve the sun points sampled once per second.
+     * @return the result of the match.
+     */
+    private MatchResult result(long[] laneLossTicks, int[] sunCurve) {
+        Board board = manager.getBoard();
+        int mowersUsed = 0;
+        int zombiesLeft = 0;
+        int plantsLeft = 0;
+        for (int i = 0; i < board.getRows(); i++) {
+            if (!board.hasLawnMower(i)) {
+                mowersUsed++;
+            }
+            zombiesLeft += board.countZombies(i);
+            plantsLeft += board.getPlantOccupancy().count(i);
+        }
+        return new MatchResult(!board.isHouseReached(), manager.getGameLoop().getTick(),
+                manager.getSunPoints(), manager.getBrainPoints(), mowersUsed, zombiesLeft, plantsLeft,
+                laneLossTicks, sunCurve);
+    }
+}
@@ -0,0 +1,45 @@
+package domain;
+
+/**
+ * The IntelligentPlants class is the machine intelligent plant player of the modes where it
+ * plays, such as Machine vs Machine (PlantsIntelligent and ZombiesOriginal). It places and digs
+ * up plants with the sun points of its game, choosing its moves with a {@link PlantSearch}.
+ */
+public class IntelligentPlants {
+    private final GameRules rules;
+    private PlantSearch search;
+
+    /**
+     * Constructs the plant player of a game.
+     *
+     * @param rules the game manager of the game played.
+     */
+    IntelligentPlants(GameRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Sets the search that chooses the moves of this player.
+     *
+     * @param search the search of the plants, or null to use a search with the default depth
+     *               and table size.
+     */
+    public void setSearch(PlantSearch search) {
+        this.search = search;
+    }
+
+    /**
+     * Makes the next move of this player: the search looks ahead for
+     * {@code PlantSearch.DEFAULT_TIME_MILLIS} milliseconds for the best plant to place with the
+     * sun points of the game, or the plant to dig up, and the move is played right away. The
+     * search runs on the calling thread, which must not be the event dispatch thread.
+     *
+     * @return true if a plant was placed or removed, false if the player chose to wait.
+     */
+    public boolean play() {
+        if (search == null) {
+            search = new PlantSearch();
+        }
+        return search.play(rules, PlantSearch.DEFAULT_TIME_MILLIS);
+    }
+}
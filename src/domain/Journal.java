@@ -0,0 +1,254 @@
+package domain;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The Journal class is the write-ahead journal of a match in progress. Every command accepted by
+ * the game manager is appended to it, numbered with its sequence in the {@link CommandLog} of the
+ * match, so that after a crash the match is restored from its most recent saved snapshot followed
+ * by the commands journaled after that snapshot was taken.
+ *
+ * Appending never blocks: commands are queued, and a writer thread waiting on the queue wakes up
+ * when there is work, writes everything queued since its previous write at once and forces it to
+ * disk with a single sync. Commands appended while a sync is in progress form the next batch, so
+ * the cost of a sync is shared by every command of the batch however fast they arrive, and an
+ * idle journal costs nothing. A command is durable once {@code sync} returns.
+ */
+public class Journal {
+    private static final Object END = new Object();
+
+    private final File file;
+    private final FileChannel channel;
+    private final BlockingQueue<Object> queue;
+    private final Thread writer;
+    private long appended;
+    private long durable;
+    private long batches;
+    private boolean closed;
+    private POOBvsZOMBIESException lastError;
+
+    /**
+     * Opens a new empty journal in the specified file, replacing any previous content, and starts
+     * its writer thread.
+     *
+     * @param file the file of the journal.
+     * @throws POOBvsZOMBIESException if the file cannot be opened.
+     */
+    public Journal(File file) throws POOBvsZOMBIESException {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al abrir el diario: " + e.getMessage());
+        }
+        this.queue = new LinkedBlockingQueue<>();
+        this.writer = new Thread(this::writeBatches, "journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Appends a command to the journal without waiting for it to be written.
+     *
+     * @param sequence the number of the command in the log of the match, starting at 1.
+     * @param command the command accepted by the game manager.
+     */
+    public synchronized void append(long sequence, Command command) {
+        if (!closed) {
+            appended++;
+            queue.add(sequence + " " + command + "\n");
+        }
+    }
+
+    /**
+     * Waits until every command appended so far has been written and forced to disk.
+     *
+     * @throws POOBvsZOMBIESException if the journal could not be written.
+     */
+    public synchronized void sync() throws POOBvsZOMBIESException {
+        long target = appended;
+        while (durable < target && lastError == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (lastError != null) {
+            throw lastError;
+        }
+    }
+
+    /**
+     * Writes the commands still queued, forces them to disk and closes the journal. Commands
+     * appended afterwards are ignored. Has no effect if the journal is already closed.
+     *
+     * @throws POOBvsZOMBIESException if the journal could not be written.
+     */
+    public void close() throws POOBvsZOMBIESException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(END);
+        }
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al cerrar el diario: " + e.getMessage());
+        }
+        synchronized (this) {
+            if (lastError != null) {
+                throw lastError;
+            }
+        }
+    }
+
+    /**
+     * Runs on the writer thread: waits for a queued command, then writes it together with every
+     * command queued meanwhile with one write and one sync, until the journal is closed.
+     */
+    private void writeBatches() {
+        List<Object> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean end = false;
+        while (!end) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch);
+            int lines = 0;
+            for (Object line : batch) {
+                if (line == END) {
+                    end = true;
+                } else {
+                    text.append((String) line);
+                    lines++;
+                }
+            }
+            if (lines == 0) {
+                batch.clear();
+                continue;
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                synchronized (this) {
+                    durable += lines;
+                    batches++;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    lastError = new POOBvsZOMBIESException("Error al escribir el diario: " + e.getMessage());
+                    notifyAll();
+                }
+                return;
+            }
+            batch.clear();
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * Retrieves the file of the journal.
+     *
+     * @return the journal file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the number of commands written and forced to disk so far.
+     *
+     * @return the number of durable commands.
+     */
+    public synchronized long getDurable() {
+        return durable;
+    }
+
+    /**
+     * Retrieves the number of syncs made so far. Each sync commits a whole batch of commands,
+     * so this number stays well below the number of commands when they arrive quickly.
+     *
+     * @return the number of batches written.
+     */
+    public synchronized long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Restores a match after a crash: opens its most recent saved snapshot and applies the
+     * commands journaled after the snapshot was taken, each one at the tick it was first
+     * applied at, with the seed recorded in the header of the log of the snapshot. A last line
+     * torn by the crash is ignored.
+     *
+     * @param snapshot the file of the most recent snapshot of the match.
+     * @param journal the file of the journal of the match.
+     * @return the game manager holding the restored match, stopped and without a view.
+     * @throws POOBvsZOMBIESException if the snapshot or the journal cannot be read or are not valid.
+     */
+    public static GameRules recover(File snapshot, File journal) throws POOBvsZOMBIESException {
+        GameRules rules = GameSnapshot.open(snapshot);
+        long sequence = rules.getCommandLog().getSequence();
+        List<Command> tail = new ArrayList<>();
+        if (journal.exists()) {
+            try (BufferedReader br = new BufferedReader(new FileReader(journal, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    int space = line.indexOf(' ');
+                    Command command;
+                    long number;
+                    try {
+                        number = Long.parseLong(line.substring(0, Math.max(space, 0)));
+                        command = Command.fromString(line.substring(space + 1));
+                    } catch (RuntimeException e) {
+                        break;
+                    }
+                    if (number > sequence) {
+                        if (number != sequence + tail.size() + 1) {
+                            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+                        }
+                        tail.add(command);
+                    }
+                }
+            } catch (IOException e) {
+                throw new POOBvsZOMBIESException("Error al abrir el diario: " + e.getMessage());
+            }
+        }
+        Random random = new Random(rules.getCommandLog().getSeed());
+        GameLoop loop = rules.getGameLoop();
+        for (Command command : tail) {
+            while (loop.getTick() < command.getTick()) {
+                loop.tick();
+            }
+            command.applyTo(rules, random);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,136 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * The LaneIndex class keeps, for every row of the board, the characters of one kind ordered
+ * by column. It lets the board visit only the actual occupants of a lane, and find the nearest
+ * occupant to the left of a column with a binary search, instead of scanning every cell.
+ *
+ * Zombies walk into the next empty cell of their own row, so they never overtake each other and
+ * a step never changes the order of a lane; only placements, removals and the rare move past
+ * another zombie, which the board handles as a removal and a placement, reorder entries.
+ *
+ * @param <T> the kind of character stored in the index.
+ */
+public class LaneIndex<T extends Character> {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Object[][] lanes;
+    private final int[] sizes;
+
+    /**
+     * Constructs a new empty LaneIndex for a board with the given number of rows.
+     *
+     * @param rows the number of rows of the board.
+     */
+    public LaneIndex(int rows) {
+        this.lanes = new Object[rows][INITIAL_CAPACITY];
+        this.sizes = new int[rows];
+    }
+
+    /**
+     * Adds the character to the lane of its current row, keeping the lane ordered by column.
+     *
+     * @param character the character to add; its position must already be set.
+     */
+    public void add(T character) {
+        int row = character.getRow();
+        int size = sizes[row];
+        if (size == lanes[row].length) {
+            lanes[row] = Arrays.copyOf(lanes[row], size * 2);
+        }
+        Object[] lane = lanes[row];
+        int index = insertionPoint(row, character.getCol());
+        System.arraycopy(lane, index, lane, index + 1, size - index);
+        lane[index] = character;
+        sizes[row] = size + 1;
+    }
+
+    /**
+     * Removes the character from the lane of its current row.
+     *
+     * @param character the character to remove; its position must still be the indexed one.
+     * @return true if the character was found and removed, false otherwise.
+     */
+    public boolean remove(T character) {
+        int row = character.getRow();
+        Object[] lane = lanes[row];
+        int size = sizes[row];
+        int index = insertionPoint(row, character.getCol());
+        if (index == size || lane[index] != character) {
+            return false;
+        }
+        System.arraycopy(lane, index + 1, lane, index, size - index - 1);
+        lane[--sizes[row]] = null;
+        return true;
+    }
+
+    /**
+     * Retrieves the number of characters in the given row.
+     *
+     * @param row the row index.
+     * @return the number of characters indexed in the row.
+     */
+    public int size(int row) {
+        return sizes[row];
+    }
+
+    /**
+     * Retrieves the character at the given position of a lane, lanes being ordered by
+     * ascending column.
+     *
+     * @param row the row index.
+     * @param index the position in the lane, from 0 to {@code size(row) - 1}.
+     * @return the character at the given position.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int row, int index) {
+        return (T) lanes[row][index];
+    }
+
+    /**
+     * Finds the character of the given row closest to the left of the given column.
+     *
+     * @param row the row index.
+     * @param col the column index; only characters in strictly smaller columns are considered.
+     * @return the nearest character to the left, or null if there is none.
+     */
+    public T firstLeftOf(int row, int col) {
+        int index = insertionPoint(row, col) - 1;
+        return index >= 0 ? get(row, index) : null;
+    }
+
+    /**
+     * Removes every character of the given row from the index.
+     *
+     * @param row the row index.
+     */
+    public void clear(int row) {
+        Arrays.fill(lanes[row], 0, sizes[row], null);
+        sizes[row] = 0;
+    }
+
+    /**
+     * Finds the position of the first character of the row whose column is not smaller than
+     * the given column.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return the insertion point of the column in the lane.
+     */
+    private int insertionPoint(int row, int col) {
+        Object[] lane = lanes[row];
+        int low = 0;
+        int high = sizes[row];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (((Character) lane[mid]).getCol() < col) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
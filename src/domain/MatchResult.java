@@ -0,0 +1,164 @@
+package domain;
+
+/**
+ * The MatchResult class summarizes how a match played by a {@link HeadlessMatch} ended:
+ * which side won, how long the match lasted and what was left on the board, together with
+ * when each lane was lost and how the sun points evolved during the match.
+ */
+public class MatchResult {
+    private final boolean plantsWon;
+    private final long ticks;
+    private final int sunPoints;
+    private final int brainPoints;
+    private final int lawnMowersUsed;
+    private final int zombiesLeft;
+    private final int plantsLeft;
+    private final long[] laneLossTicks;
+    private final int[] sunCurve;
+
+    /**
+     * Constructs a new MatchResult.
+     *
+     * @param plantsWon true if the plants defended the house until the end of the match.
+     * @param ticks the number of ticks the match lasted.
+     * @param sunPoints the sun points left at the end of the match.
+     * @param brainPoints the brain points left at the end of the match.
+     * @param lawnMowersUsed the number of lawn mowers triggered during the match.
+     * @param zombiesLeft the number of zombies on the board at the end of the match.
+     * @param plantsLeft the number of plants on the board at the end of the match.
+     * @param laneLossTicks the tick at which each lane lost its lawn mower, or -1 for the
+     *                      lanes that kept it.
+     * @param sunCurve the sun points sampled at the start of every second of the match,
+     *                 followed by the final sun points.
+     */
+    public MatchResult(boolean plantsWon, long ticks, int sunPoints, int brainPoints,
+                       int lawnMowersUsed, int zombiesLeft, int plantsLeft,
+                       long[] laneLossTicks, int[] sunCurve) {
+        this.plantsWon = plantsWon;
+        this.ticks = ticks;
+        this.sunPoints = sunPoints;
+        this.brainPoints = brainPoints;
+        this.lawnMowersUsed = lawnMowersUsed;
+        this.zombiesLeft = zombiesLeft;
+        this.plantsLeft = plantsLeft;
+        this.laneLossTicks = laneLossTicks;
+        this.sunCurve = sunCurve;
+    }
+
+    /**
+     * Determines whether the plants won the match.
+     *
+     * @return true if no zombie reached the house, false otherwise.
+     */
+    public boolean plantsWon() {
+        return plantsWon;
+    }
+
+    /**
+     * Retrieves the number of ticks the match lasted.
+     *
+     * @return the duration of the match in ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Retrieves the sun points left at the end of the match.
+     *
+     * @return the final sun points.
+     */
+    public int getSunPoints() {
+        return sunPoints;
+    }
+
+    /**
+     * Retrieves the brain points left at the end of the match.
+     *
+     * @return the final brain points.
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Retrieves the number of lawn mowers triggered during the match.
+     *
+     * @return the number of lawn mowers used.
+     */
+    public int getLawnMowersUsed() {
+        return lawnMowersUsed;
+    }
+
+    /**
+     * Retrieves the number of zombies on the board at the end of the match.
+     *
+     * @return the number of zombies left.
+     */
+    public int getZombiesLeft() {
+        return zombiesLeft;
+    }
+
+    /**
+     * Retrieves the number of plants on the board at the end of the match.
+     *
+     * @return the number of plants left.
+     */
+    public int getPlantsLeft() {
+        return plantsLeft;
+    }
+
+    /**
+     * Retrieves the tick at which the given lane lost its lawn mower.
+     *
+     * @param row the row index of the lane.
+     * @return the tick at which the lane was lost, or -1 if it kept its lawn mower.
+     */
+    public long getLaneLossTick(int row) {
+        return laneLossTicks[row];
+    }
+
+    /**
+     * Retrieves the number of lanes of the board the match was played on.
+     *
+     * @return the number of lanes.
+     */
+    public int getLanes() {
+        return laneLossTicks.length;
+    }
+
+    /**
+     * Retrieves the sun points sampled at the start of every second of the match, followed
+     * by the sun points at the end of the match.
+     *
+     * @return a copy of the sampled sun points.
+     */
+    public int[] getSunCurve() {
+        return sunCurve.clone();
+    }
+
+    /**
+     * Retrieves the number of sun point samples taken during the match.
+     *
+     * @return the length of the sun curve.
+     */
+    public int getSunSamples() {
+        return sunCurve.length;
+    }
+
+    /**
+     * Retrieves one sample of the sun curve.
+     *
+     * @param second the index of the sample.
+     * @return the sun points at the start of the given second.
+     */
+    public int getSunAt(int second) {
+        return sunCurve[second];
+    }
+
+    @Override
+    public String toString() {
+        return (plantsWon ? "Plants" : "Zombies") + " " + ticks + " " + sunPoints + " " + brainPoints
+                + " " + lawnMowersUsed + " " + zombiesLeft + " " + plantsLeft;
+    }
+}
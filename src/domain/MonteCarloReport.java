@@ -0,0 +1,199 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * The MonteCarloReport class aggregates the results of many matches played by a
+ * {@link MonteCarloRunner}: how often each side won, how often and how early each lane was lost
+ * and the average evolution of the sun points of the plants player.
+ *
+ * Reports of disjoint groups of matches can be merged, so every worker of the runner fills its
+ * own report and the partial reports are combined at the end, without any shared state.
+ */
+public class MonteCarloReport {
+    private int matches;
+    private int plantsWins;
+    private long totalTicks;
+    private int[] laneLosses;
+    private long[] laneLossTicks;
+    private long[] sunTotals;
+    private int[] sunCounts;
+
+    /**
+     * Constructs a new empty MonteCarloReport.
+     */
+    public MonteCarloReport() {
+        this.laneLosses = new int[0];
+        this.laneLossTicks = new long[0];
+        this.sunTotals = new long[0];
+        this.sunCounts = new int[0];
+    }
+
+    /**
+     * Adds the result of one match to the report.
+     *
+     * @param result the result of the match.
+     */
+    public void add(MatchResult result) {
+        matches++;
+        if (result.plantsWon()) {
+            plantsWins++;
+        }
+        totalTicks += result.getTicks();
+        ensureLanes(result.getLanes());
+        for (int i = 0; i < result.getLanes(); i++) {
+            long tick = result.getLaneLossTick(i);
+            if (tick >= 0) {
+                laneLosses[i]++;
+                laneLossTicks[i] += tick;
+            }
+        }
+        ensureSamples(result.getSunSamples());
+        for (int s = 0; s < result.getSunSamples(); s++) {
+            sunTotals[s] += result.getSunAt(s);
+            sunCounts[s]++;
+        }
+    }
+
+    /**
+     * Adds every match of another report to this one.
+     *
+     * @param other the report to merge into this one.
+     */
+    public void merge(MonteCarloReport other) {
+        matches += other.matches;
+        plantsWins += other.plantsWins;
+        totalTicks += other.totalTicks;
+        ensureLanes(other.laneLosses.length);
+        for (int i = 0; i < other.laneLosses.length; i++) {
+            laneLosses[i] += other.laneLosses[i];
+            laneLossTicks[i] += other.laneLossTicks[i];
+        }
+        ensureSamples(other.sunTotals.length);
+        for (int s = 0; s < other.sunTotals.length; s++) {
+            sunTotals[s] += other.sunTotals[s];
+            sunCounts[s] += other.sunCounts[s];
+        }
+    }
+
+    /**
+     * Retrieves the number of matches in the report.
+     *
+     * @return the number of matches played.
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Retrieves the fraction of matches won by the plants.
+     *
+     * @return the win rate of the plants, between 0 and 1.
+     */
+    public double getPlantsWinRate() {
+        return matches == 0 ? 0 : (double) plantsWins / matches;
+    }
+
+    /**
+     * Retrieves the fraction of matches won by the zombies.
+     *
+     * @return the win rate of the zombies, between 0 and 1.
+     */
+    public double getZombiesWinRate() {
+        return matches == 0 ? 0 : 1 - getPlantsWinRate();
+    }
+
+    /**
+     * Retrieves the average duration of the matches.
+     *
+     * @return the mean number of ticks per match.
+     */
+    public double getMeanTicks() {
+        return matches == 0 ? 0 : (double) totalTicks / matches;
+    }
+
+    /**
+     * Retrieves the number of lanes recorded in the report.
+     *
+     * @return the number of lanes.
+     */
+    public int getLanes() {
+        return laneLosses.length;
+    }
+
+    /**
+     * Retrieves the fraction of matches in which the given lane lost its lawn mower.
+     *
+     * @param row the row index of the lane.
+     * @return the loss rate of the lane, between 0 and 1.
+     */
+    public double getLaneLossRate(int row) {
+        return matches == 0 ? 0 : (double) laneLosses[row] / matches;
+    }
+
+    /**
+     * Retrieves the average tick at which the given lane lost its lawn mower, over the
+     * matches in which it was lost.
+     *
+     * @param row the row index of the lane.
+     * @return the mean loss tick of the lane, or -1 if the lane was never lost.
+     */
+    public double getMeanLaneLossTick(int row) {
+        return laneLosses[row] == 0 ? -1 : (double) laneLossTicks[row] / laneLosses[row];
+    }
+
+    /**
+     * Retrieves the number of seconds covered by the sun curve.
+     *
+     * @return the number of sun samples.
+     */
+    public int getSunSamples() {
+        return sunTotals.length;
+    }
+
+    /**
+     * Retrieves the average sun points at the start of the given second, over the matches
+     * that were still being played at that moment.
+     *
+     * @param second the index of the sample.
+     * @return the mean sun points at that second.
+     */
+    public double getMeanSunAt(int second) {
+        return sunCounts[second] == 0 ? 0 : (double) sunTotals[second] / sunCounts[second];
+    }
+
+    /**
+     * Grows the lane statistics to hold the given number of lanes.
+     *
+     * @param lanes the number of lanes needed.
+     */
+    private void ensureLanes(int lanes) {
+        if (lanes > laneLosses.length) {
+            laneLosses = Arrays.copyOf(laneLosses, lanes);
+            laneLossTicks = Arrays.copyOf(laneLossTicks, lanes);
+        }
+    }
+
+    /**
+     * Grows the sun curve to hold the given number of samples.
+     *
+     * @param samples the number of samples needed.
+     */
+    private void ensureSamples(int samples) {
+        if (samples > sunTotals.length) {
+            sunTotals = Arrays.copyOf(sunTotals, samples);
+            sunCounts = Arrays.copyOf(sunCounts, samples);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("Partidas: ").append(matches)
+                .append(String.format(" Plantas: %.3f Zombis: %.3f%n", getPlantsWinRate(), getZombiesWinRate()));
+        for (int i = 0; i < laneLosses.length; i++) {
+            text.append(String.format("Carril %d: %.3f %.1f%n", i, getLaneLossRate(i), getMeanLaneLossTick(i)));
+        }
+        return text.toString();
+    }
+}
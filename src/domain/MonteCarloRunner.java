@@ -0,0 +1,132 @@
+package domain;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * The MonteCarloRunner class plays many independent headless matches in parallel on a fork-join
+ * pool and aggregates their results in a {@link MonteCarloReport}.
+ *
+ * Each match is built by a scenario from its own seed, derived from the seed of the run and the
+ * index of the match, so the report of a run does not depend on how the matches were split among
+ * the threads. Every match owns its board and game manager and every worker fills its own partial
+ * report, so the workers never share mutable state and the run scales with the number of cores.
+ */
+public class MonteCarloRunner {
+    private final LongFunction<HeadlessMatch> scenario;
+    private final int matches;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new MonteCarloRunner on the common fork-join pool.
+     *
+     * @param scenario the function building a match, with its rules and script, from the
+     *                 seed of the match.
+     * @param matches the number of matches to play.
+     * @param seed the seed of the run.
+     * @throws POOBvsZOMBIESException if the number of matches is negative.
+     */
+    public MonteCarloRunner(LongFunction<HeadlessMatch> scenario, int matches, long seed) {
+        this(scenario, matches, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new MonteCarloRunner on the given fork-join pool.
+     *
+     * @param scenario the function building a match, with its rules and script, from the
+     *                 seed of the match.
+     * @param matches the number of matches to play.
+     * @param seed the seed of the run.
+     * @param pool the pool whose threads play the matches.
+     * @throws POOBvsZOMBIESException if the number of matches is negative.
+     */
+    public MonteCarloRunner(LongFunction<HeadlessMatch> scenario, int matches, long seed, ForkJoinPool pool) {
+        if (matches < 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.scenario = scenario;
+        this.matches = matches;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every match of the run and aggregates their results.
+     *
+     * @return the report of the run.
+     */
+    public MonteCarloReport run() {
+        int grain = Math.max(1, matches / (pool.getParallelism() * 8));
+        return pool.invoke(new MonteCarloTask(this, 0, matches, grain));
+    }
+
+    /**
+     * Derives the seed of a match from the seed of the run and the index of the match.
+     *
+     * @param index the index of the match.
+     * @return the seed of the match.
+     */
+    public long seedFor(int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays the match of the given index.
+     *
+     * @param index the index of the match.
+     * @return the result of the match.
+     */
+    MatchResult play(int index) {
+        return scenario.apply(seedFor(index)).run();
+    }
+}
+
+/**
+ * A fork-join task that plays a range of the matches of a {@link MonteCarloRunner}, splitting it
+ * in halves until it is small enough to be played sequentially.
+ */
+class MonteCarloTask extends RecursiveTask<MonteCarloReport> {
+    private static final long serialVersionUID = 1L;
+
+    private final MonteCarloRunner runner;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    /**
+     * Constructs a new task for the matches from {@code from}, inclusive, to {@code to}, exclusive.
+     *
+     * @param runner the runner whose matches are played.
+     * @param from the index of the first match.
+     * @param to the index after the last match.
+     * @param grain the largest range played without splitting.
+     */
+    MonteCarloTask(MonteCarloRunner runner, int from, int to, int grain) {
+        this.runner = runner;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    @Override
+    protected MonteCarloReport compute() {
+        if (to - from <= grain) {
+            MonteCarloReport report = new MonteCarloReport();
+            for (int i = from; i < to; i++) {
+                report.add(runner.play(i));
+            }
+            return report;
+        }
+        int middle = (from + to) >>> 1;
+        MonteCarloTask left = new MonteCarloTask(runner, from, middle, grain);
+        left.fork();
+        MonteCarloReport report = new MonteCarloTask(runner, middle, to, grain).compute();
+        report.merge(left.join());
+        return report;
+    }
+}
@@ -1,10 +1,5 @@
 package domain;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
-
 /**
  * Represents a zombie with movement capabilities in the game. This class extends the
  * Zombies class and adds the ability to move across the game board, as well as attack plants.
@@ -13,38 +8,30 @@ import java.util.concurrent.TimeUnit;
  * Movement includes functionality for:
  * - Moving across the game board if the zombie is in a movable state.
  * - Attacking plants when encountering them on the game board.
- * - Managing attack timing with a scheduled executor.
- * - Stopping the attack timer when the attack ends.
+ * - Managing movement and attack timing with timers on the board's shared {@code TimingWheel}.
+ * - Stopping the attack cycle when the attack ends.
  *
  * The Movement class is intended to be a base class for specific types of zombies
  * that require mobility and attack behavior.
  */
 public abstract class Movement extends Zombies {
-    private int damage;
     private boolean isMoving;
-    private int timeattack;
-    private int timemove;
-    private ScheduledExecutorService scheduler;
+    private final WheelTimer moveTimer;
+    private WheelTimer attackTimer;
+    private Cell target;
 
 
     /**
      * Constructs a new Movement instance representing a zombie with the ability to move and attack.
-     * Inherits basic zombie attributes from the Zombies class and adds specific properties
-     * for movement and attack behavior.
+     * Inherits basic zombie attributes from the Zombies class; the damage of the zombie and the
+     * time intervals of its movement and attacks are those of its type.
      *
-     * @param hitPoints the total health points of the zombie.
-     * @param damage the amount of damage the zombie can inflict on plants.
-     * @param costbrains the number of brains required to deploy this zombie.
-     * @param timeattack the time interval, in seconds, between each attack on a plant.
-     * @param timemove the time interval, in seconds, for the zombie to move across cells.
-     */
-    public Movement(int hitPoints, int damage, int costbrains, int timeattack, int timemove) {
-        super(hitPoints, costbrains);
-        this.damage = damage;
+     * @param type the type of the zombie.
+     */
+    public Movement(EntityType type) {
+        super(type);
         this.isMoving = true;
-        this.timeattack = timeattack;
-        this.timemove = timemove;
-        this.scheduler = Executors.newScheduledThreadPool(1);
+        this.moveTimer = new WheelTimer(this, this::moveStep);
     }
 
 
@@ -66,6 +53,42 @@ public abstract class Movement extends Zombies {
      */
     public void setMoving(boolean moving) {
         isMoving = moving;
+        markDirty();
+    }
+
+
+    /**
+     * Arms the movement timer of the zombie once it has been placed on the board. The zombie
+     * steps to the next cell every {@code getTimeMove} seconds while it is moving.
+     *
+     * @param board the game board on which the zombie has been placed.
+     */
+    @Override
+    public void onPlaced(Board board) {
+        int period = GameLoop.toTicks(getTimeMove());
+        board.getTimers().scheduleAtFixedRate(moveTimer, period, period);
+    }
+
+    /**
+     * Cancels the movement and attack timers of the zombie once it has been removed
+     * from the board.
+     *
+     * @param board the game board from which the zombie has been removed.
+     */
+    @Override
+    public void onRemoved(Board board) {
+        moveTimer.cancel();
+        stopAttackTimer();
+    }
+
+    /**
+     * Invoked by the movement timer. Moves the zombie one step if it is currently moving.
+     */
+    private void moveStep() {
+        Board board = getBoard();
+        if (isMoving && board != null) {
+            move(board, getRow(), getCol());
+        }
     }
 
 
@@ -83,13 +106,10 @@ public abstract class Movement extends Zombies {
             return;
         }
         if (col > 0) {
-            Cell currentCell = board.getCell(row, col);
-            Cell leftCell = board.getCell(row, col - 1);
-            if (leftCell.isEmpty()) {
-                currentCell.removeZombie();
-                leftCell.setZombie(this);
-            } else if (leftCell.hasPlant()) {
-                startAttack(leftCell);
+            if (board.isEmpty(row, col - 1)) {
+                board.moveZombie(row, col, col - 1);
+            } else if (board.hasPlant(row, col - 1)) {
+                startAttack(board.getCell(row, col - 1));
             }
         }
     }
@@ -97,9 +117,9 @@ public abstract class Movement extends Zombies {
 
     /**
      * Initiates an attack cycle on the plant within the specified cell. This method stops the
-     * movement of the calling entity and begins a scheduled attack on the plant present in
-     * the provided cell. If the plant is no longer alive or missing, the attack cycle is
-     * stopped, and movement is resumed.
+     * movement of the calling entity, attacks the plant immediately and then keeps attacking it
+     * every {@code getTimeAttack} seconds using the attack timer. If the plant is no longer alive or missing,
+     * the attack cycle is stopped, and movement is resumed.
      *
      * @param leftCell the cell containing the plant to attack. If the cell does not contain a plant
      *                 or the plant is not alive, the attack cycle will terminate.
@@ -109,19 +129,30 @@ public abstract class Movement extends Zombies {
             return;
         }
         isMoving = false;
-        scheduler = Executors.newScheduledThreadPool(1);
-        scheduler.scheduleAtFixedRate(() -> {
-            Plant plant = leftCell.getPlant();
-            if (plant != null && plant.isAlive()) {
-                attack(plant);
-            } else {
-                isMoving = true;
-                stopAttackTimer();
-            }
-        }, 0, timeattack, TimeUnit.SECONDS);
+        target = leftCell;
+        markDirty();
+        int period = GameLoop.toTicks(getTimeAttack());
+        Board board = getBoard();
+        if (board != null) {
+            board.getTimers().scheduleAtFixedRate(attackTimer(), period, period);
+        }
+        attackTarget();
     }
 
-
+    /**
+     * Attacks the plant in the current target cell. This method is invoked when the attack
+     * starts and then every time the attack timer fires. If the plant is no longer alive or
+     * missing, the attack cycle is stopped and movement is resumed.
+     */
+    private void attackTarget() {
+        Plant plant = target != null ? target.getPlant() : null;
+        if (plant != null && plant.isAlive()) {
+            attack(plant);
+        } else {
+            isMoving = true;
+            stopAttackTimer();
+        }
+    }
 
     /**
      * Performs an attack on the specified plant. If the plant is alive, its hit points are reduced
@@ -131,7 +162,7 @@ public abstract class Movement extends Zombies {
      */
     public void attack(Plant plant) {
         if (plant.isAlive()) {
-            plant.setHitPoints(plant.getHitPoints() - this.damage);
+            plant.setHitPoints(getDamage());
         }
     }
 
@@ -141,20 +172,84 @@ public abstract class Movement extends Zombies {
      * @return the amount of damage the zombie can inflict on plants.
      */
     public int getDamage() {
-        return damage;
+        return getType().getDamage();
     }
 
     /**
-     * Stops the attack timer associated with the zombie's scheduled attack cycle.
-     * If a scheduler exists and is not already shut down, this method will forcibly
-     * terminate all active tasks and shut down the scheduler.
+     * Retrieves the time interval between attacks of the zombie.
+     *
+     * @return the time, in seconds, between each attack on a plant.
+     */
+    public int getTimeAttack() {
+        return (int) getType().getActionTime();
+    }
+
+    /**
+     * Retrieves the time interval the zombie needs to move across a cell.
+     *
+     * @return the time, in seconds, for the zombie to move to the next cell.
+     */
+    public int getTimeMove() {
+        return (int) getType().getMoveTime();
+    }
+
+    /**
+     * Stops the attack cycle of the zombie by cancelling its attack timer and releasing
+     * its current target.
      *
      * This is typically used to halt any ongoing attack behavior, such as when the
      * zombie is no longer attacking a plant or the zombie is removed from the game.
      */
     public void stopAttackTimer() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdownNow();
+        if (attackTimer != null) {
+            attackTimer.cancel();
+        }
+        target = null;
+    }
+
+    /**
+     * Resets the zombie to a moving zombie with no target, keeping its timers for reuse.
+     */
+    @Override
+    void recycle() {
+        super.recycle();
+        isMoving = true;
+        target = null;
+    }
+
+    /**
+     * Retrieves the attack timer of the zombie, creating it the first time the zombie attacks,
+     * since many zombies never reach a plant.
+     *
+     * @return the attack timer.
+     */
+    private WheelTimer attackTimer() {
+        if (attackTimer == null) {
+            attackTimer = new WheelTimer(this, this::attackTarget);
+        }
+        return attackTimer;
+    }
+
+    @Override
+    void writeState(SnapshotWriter out) {
+        out.writeBoolean(isMoving);
+        out.writeDeadline(moveTimer);
+        out.writeDeadline(attackTimer);
+    }
+
+    @Override
+    void readState(SnapshotReader in, Board board) {
+        isMoving = in.readBoolean();
+        int moveRemaining = in.readDelay();
+        int attackRemaining = in.readDelay();
+        moveTimer.cancel();
+        if (moveRemaining > 0) {
+            board.getTimers().scheduleAtFixedRate(moveTimer, moveRemaining, GameLoop.toTicks(getTimeMove()));
+        }
+        stopAttackTimer();
+        if (attackRemaining > 0 && getCol() > 0) {
+            target = board.getCell(getRow(), getCol() - 1);
+            board.getTimers().scheduleAtFixedRate(attackTimer(), attackRemaining, GameLoop.toTicks(getTimeAttack()));
         }
     }
 
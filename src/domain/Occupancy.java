@@ -0,0 +1,134 @@
+package domain;
+
+/**
+ * The Occupancy class is a bitboard: it records, for every row of the board, which columns are
+ * occupied by one kind of character as the bits of {@code long} words. A row of up to 64 columns
+ * fits in a single word, so questions such as "is there any zombie in this row" or "which is the
+ * nearest plant to the left of this column" are answered with a couple of bit operations instead
+ * of dereferencing cell objects. Wider boards use several words per row.
+ */
+public class Occupancy {
+    private final long[] bits;
+    private final int words;
+    private final int columns;
+
+    /**
+     * Constructs a new empty Occupancy for a board of the given dimensions.
+     *
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    public Occupancy(int rows, int columns) {
+        this.columns = columns;
+        this.words = (columns + 63) >>> 6;
+        this.bits = new long[rows * words];
+    }
+
+    /**
+     * Marks the given cell as occupied.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     */
+    public void set(int row, int col) {
+        bits[row * words + (col >>> 6)] |= 1L << col;
+    }
+
+    /**
+     * Marks the given cell as free.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     */
+    public void clear(int row, int col) {
+        bits[row * words + (col >>> 6)] &= ~(1L << col);
+    }
+
+    /**
+     * Marks every cell of the given row as free.
+     *
+     * @param row the row index.
+     */
+    public void clearRow(int row) {
+        for (int w = 0; w < words; w++) {
+            bits[row * words + w] = 0L;
+        }
+    }
+
+    /**
+     * Determines whether the given cell is occupied.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return true if the cell is occupied, false otherwise.
+     */
+    public boolean get(int row, int col) {
+        return (bits[row * words + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Determines whether any cell of the given row is occupied.
+     *
+     * @param row the row index.
+     * @return true if at least one cell of the row is occupied, false otherwise.
+     */
+    public boolean any(int row) {
+        for (int w = 0; w < words; w++) {
+            if (bits[row * words + w] != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the occupied cells of the given row.
+     *
+     * @param row the row index.
+     * @return the number of occupied cells in the row.
+     */
+    public int count(int row) {
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(bits[row * words + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the occupied cell of the given row closest to the left of the given column.
+     *
+     * @param row the row index.
+     * @param col the column index; only strictly smaller columns are considered.
+     * @return the column of the nearest occupied cell to the left, or -1 if there is none.
+     */
+    public int nearestLeftOf(int row, int col) {
+        if (col <= 0) {
+            return -1;
+        }
+        int last = Math.min(col, columns) - 1;
+        int w = last >>> 6;
+        long word = bits[row * words + w] & (-1L >>> (63 - (last & 63)));
+        while (true) {
+            if (word != 0L) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (--w < 0) {
+                return -1;
+            }
+            word = bits[row * words + w];
+        }
+    }
+
+    /**
+     * Retrieves the raw word holding the given column of a row. For boards of up to 64
+     * columns this is the whole row, with bit {@code c} set when column {@code c} is occupied.
+     *
+     * @param row the row index.
+     * @param col a column index within the word.
+     * @return the bits of the word.
+     */
+    public long word(int row, int col) {
+        return bits[row * words + (col >>> 6)];
+    }
+}
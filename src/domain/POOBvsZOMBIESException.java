@@ -10,6 +10,7 @@ public class POOBvsZOMBIESException extends RuntimeException {
     public static final String INVALID_CONFIG = "Configuración inválida.";
     public static final String NO_PLANT = "No se pudo seleccionar la planta.";
     public static final String NO_ZOMBIE = "No se pudo seleccionar el zombi.";
+    public static final String CORRUPT_SAVE = "El archivo de partida está dañado o no es compatible.";
 
     /**
      * Constructs a new POOBvsZOMBIESException with the specified detail message.
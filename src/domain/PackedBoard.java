@@ -0,0 +1,606 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * The PackedBoard class is an alternative storage engine for the {@link Board}, designed for
+ * large simulations. Instead of one object per cell and per character, the whole state lives in
+ * primitive arrays: plants are indexed by cell and zombies by a dense entity id, and hit points,
+ * type ids, cooldowns and positions are stored as {@code int} and {@code short} values.
+ *
+ * The simulation rules follow the ones of the object engine: support plants produce sun on a
+ * fixed period, ECI plants only {@code ECIPlant.MAX_SOLES_GENERADOS} times, attacking plants shoot the first zombie ahead of them on a fixed period, zombies
+ * step left on a fixed period and attack the plant in front of them. Shots hit as soon as they
+ * are fired instead of flying over the board as the peas of the object engine do. Each
+ * tick walks the arrays sequentially, which keeps the loops cache-friendly and the heap per
+ * entity to a few bytes. Per-type stats are read once from a prototype of every type.
+ *
+ * The board keeps its usual API as a facade: plants and zombies passed to it are converted to
+ * their packed form, and the plants, zombies and cells it returns are detached views created
+ * from the arrays.
+ */
+public class PackedBoard {
+    public static final int CELL_FEATURES = 4;
+
+    private static final short NONE = 0;
+    private static final int INITIAL_ZOMBIES = 64;
+
+    private final Board board;
+    private final int rows;
+    private final int columns;
+
+    private final int[] plantSunValue;
+    private final int[] plantSunLimit;
+    private final int[] plantPeriod;
+    private final int[] plantDamage;
+    private final int[] zombieDamage;
+    private final int[] zombieMovePeriod;
+    private final int[] zombieAttackPeriod;
+
+    private final short[] plantType;
+    private final int[] plantHp;
+    private final int[] plantCooldown;
+    private final int[] plantSunLeft;
+    private final int[] zombieAt;
+    private final Occupancy plantBits;
+    private final Occupancy zombieBits;
+
+    private short[] zombieType;
+    private int[] zombieHp;
+    private short[] zombieRow;
+    private short[] zombieCol;
+    private int[] zombieCooldown;
+    private boolean[] zombieAttacking;
+    private int zombieCount;
+    private long defeatedZombies;
+
+    /**
+     * Constructs a new empty PackedBoard with the given dimensions, acting as the storage
+     * engine of the given board.
+     *
+     * @param board the board that exposes this storage through its usual API.
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    public PackedBoard(Board board, int rows, int columns) {
+        this.board = board;
+        this.rows = rows;
+        this.columns = columns;
+
+        plantSunValue = new int[EntityRegistry.plantCount() + 1];
+        plantSunLimit = new int[EntityRegistry.plantCount() + 1];
+        plantPeriod = new int[EntityRegistry.plantCount() + 1];
+        plantDamage = new int[EntityRegistry.plantCount() + 1];
+        for (int type = 1; type <= EntityRegistry.plantCount(); type++) {
+            Plant prototype = EntityRegistry.plant(type - 1).createPlant();
+            if (prototype instanceof Support) {
+                Support support = (Support) prototype;
+                plantSunValue[type] = support.getSunValue();
+                plantSunLimit[type] = support instanceof ECIPlant ? ECIPlant.MAX_SOLES_GENERADOS : 0;
+                plantPeriod[type] = GameLoop.toTicks(support.getTime() / 1000.0);
+            } else if (prototype instanceof PotatoMine) {
+                plantPeriod[type] = GameLoop.toTicks(((PotatoMine) prototype).getTime());
+            } else if (prototype instanceof Attacking) {
+                Attacking attacking = (Attacking) prototype;
+                plantDamage[type] = attacking.getAttackPower();
+                plantPeriod[type] = GameLoop.toTicks(attacking.getTime());
+            }
+        }
+
+        zombieDamage = new int[EntityRegistry.zombieCount() + 1];
+        zombieMovePeriod = new int[EntityRegistry.zombieCount() + 1];
+        zombieAttackPeriod = new int[EntityRegistry.zombieCount() + 1];
+        for (int type = 1; type <= EntityRegistry.zombieCount(); type++) {
+            Zombies prototype = EntityRegistry.zombie(type - 1).createZombie();
+            if (prototype instanceof Movement) {
+                Movement movement = (Movement) prototype;
+                zombieDamage[type] = movement.getDamage();
+                zombieMovePeriod[type] = GameLoop.toTicks(movement.getTimeMove());
+                zombieAttackPeriod[type] = GameLoop.toTicks(movement.getTimeAttack());
+            }
+        }
+
+        plantType = new short[rows * columns];
+        plantHp = new int[rows * columns];
+        plantCooldown = new int[rows * columns];
+        plantSunLeft = new int[rows * columns];
+        zombieAt = new int[rows * columns];
+        Arrays.fill(zombieAt, -1);
+        plantBits = new Occupancy(rows, columns);
+        zombieBits = new Occupancy(rows, columns);
+
+        zombieType = new short[INITIAL_ZOMBIES];
+        zombieHp = new int[INITIAL_ZOMBIES];
+        zombieRow = new short[INITIAL_ZOMBIES];
+        zombieCol = new short[INITIAL_ZOMBIES];
+        zombieCooldown = new int[INITIAL_ZOMBIES];
+        zombieAttacking = new boolean[INITIAL_ZOMBIES];
+        zombieCount = 0;
+    }
+
+    /**
+     * Stores the given plant at the specified position if the cell is empty. Only the type
+     * and the hit points of the plant are kept; the object itself is not referenced.
+     *
+     * @param plant the plant to be placed.
+     * @param row the row index where the plant will be placed.
+     * @param col the column index where the plant will be placed.
+     * @return true if the plant was placed, false otherwise.
+     * @throws POOBvsZOMBIESException if the plant type is not recognized.
+     */
+    public boolean placePlant(Plant plant, int row, int col) {
+        return isEmpty(row, col) && placePlant(typeOf(plant, true), plant.getHitPoints(), row, col);
+    }
+
+    /**
+     * Stores a plant of the given type at the specified position if the cell is empty, without
+     * any plant object.
+     *
+     * @param type the registered id of the type of the plant plus one.
+     * @param hitPoints the hit points of the plant.
+     * @param row the row index where the plant will be placed.
+     * @param col the column index where the plant will be placed.
+     * @return true if the plant was placed, false otherwise.
+     */
+    boolean placePlant(int type, int hitPoints, int row, int col) {
+        if (!isEmpty(row, col)) {
+            return false;
+        }
+        int cell = row * columns + col;
+        plantType[cell] = (short) type;
+        plantHp[cell] = hitPoints;
+        plantCooldown[cell] = plantSunValue[type] > 0 ? 1 : plantPeriod[type];
+        plantSunLeft[cell] = plantSunLimit[type];
+        plantBits.set(row, col);
+        board.getZobristHash().togglePacked(true, type - 1, plantHp[cell], row, col);
+        return true;
+    }
+
+    /**
+     * Stores the given zombie at the specified position if the cell is empty. Only the type
+     * and the hit points of the zombie are kept; the object itself is not referenced.
+     *
+     * @param zombie the zombie to be placed.
+     * @param row the row index where the zombie will be placed.
+     * @param col the column index where the zombie will be placed.
+     * @return true if the zombie was placed, false otherwise.
+     * @throws POOBvsZOMBIESException if the zombie type is not recognized.
+     */
+    public boolean placeZombie(Zombies zombie, int row, int col) {
+        return isEmpty(row, col) && placeZombie(typeOf(zombie, false), zombie.getHitPoints(), row, col);
+    }
+
+    /**
+     * Stores a zombie of the given type at the specified position if the cell is empty, without
+     * any zombie object.
+     *
+     * @param type the registered id of the type of the zombie plus one.
+     * @param hitPoints the hit points of the zombie.
+     * @param row the row index where the zombie will be placed.
+     * @param col the column index where the zombie will be placed.
+     * @return true if the zombie was placed, false otherwise.
+     */
+    boolean placeZombie(int type, int hitPoints, int row, int col) {
+        if (!isEmpty(row, col)) {
+            return false;
+        }
+        if (zombieCount == zombieType.length) {
+            grow();
+        }
+        int id = zombieCount++;
+        zombieType[id] = (short) type;
+        zombieHp[id] = hitPoints;
+        zombieRow[id] = (short) row;
+        zombieCol[id] = (short) col;
+        zombieCooldown[id] = zombieMovePeriod[type];
+        zombieAttacking[id] = false;
+        zombieAt[row * columns + col] = id;
+        zombieBits.set(row, col);
+        board.getZobristHash().togglePacked(false, type - 1, zombieHp[id], row, col);
+        return true;
+    }
+
+    /**
+     * Advances every plant and zombie by one tick. Support plants produce sun when their
+     * cooldown expires, until their limit if they have one, attacking plants shoot the first zombie ahead of them in their row,
+     * potato mines count down their arming time, moving zombies step left
+     * into empty cells or start attacking the plant in front of them, and attacking zombies
+     * hit that plant until it is gone. Defeated characters are removed at the end of the tick.
+     */
+    public void tick() {
+        ZobristHash hash = board.getZobristHash();
+        for (int cell = 0; cell < plantType.length; cell++) {
+            short type = plantType[cell];
+            if (type != NONE && plantCooldown[cell] > 0 && --plantCooldown[cell] == 0) {
+                if (plantSunValue[type] > 0) {
+                    plantCooldown[cell] = plantSunLimit[type] > 0 && --plantSunLeft[cell] == 0 ? 0 : plantPeriod[type];
+                    board.collectSun(plantSunValue[type]);
+                } else if (plantDamage[type] > 0) {
+                    plantCooldown[cell] = plantPeriod[type];
+                    shoot(cell, plantDamage[type], hash);
+                }
+            }
+        }
+        for (int id = 0; id < zombieCount; id++) {
+            short type = zombieType[id];
+            if (zombieMovePeriod[type] == 0 || --zombieCooldown[id] > 0) {
+                continue;
+            }
+            int cell = zombieRow[id] * columns + zombieCol[id];
+            if (zombieCol[id] == 0) {
+                zombieCooldown[id] = zombieMovePeriod[type];
+            } else if (plantType[cell - 1] != NONE) {
+                zombieAttacking[id] = true;
+                int before = plantHp[cell - 1];
+                plantHp[cell - 1] -= zombieDamage[type];
+                hash.changePacked(true, plantType[cell - 1] - 1, before, plantHp[cell - 1],
+                        zombieRow[id], zombieCol[id] - 1);
+                zombieCooldown[id] = zombieAttackPeriod[type];
+            } else if (zombieAttacking[id]) {
+                zombieAttacking[id] = false;
+                zombieCooldown[id] = zombieMovePeriod[type];
+            } else if (zombieAt[cell - 1] < 0) {
+                zombieAt[cell] = -1;
+                zombieAt[cell - 1] = id;
+                zombieBits.clear(zombieRow[id], zombieCol[id]);
+                hash.togglePacked(false, type - 1, zombieHp[id], zombieRow[id], zombieCol[id]);
+                zombieCol[id]--;
+                zombieBits.set(zombieRow[id], zombieCol[id]);
+                hash.togglePacked(false, type - 1, zombieHp[id], zombieRow[id], zombieCol[id]);
+                zombieCooldown[id] = zombieMovePeriod[type];
+            } else {
+                zombieCooldown[id] = zombieMovePeriod[type];
+            }
+        }
+        removeDefeated();
+    }
+
+    /**
+     * Hits the first zombie at or to the right of the given cell, in the same row.
+     *
+     * @param cell the index of the cell of the attacking plant.
+     * @param damage the damage dealt to the zombie.
+     * @param hash the hash of the board, updated if the zombie changes hit point bucket.
+     */
+    private void shoot(int cell, int damage, ZobristHash hash) {
+        int end = (cell / columns + 1) * columns;
+        for (int target = cell; target < end; target++) {
+            int id = zombieAt[target];
+            if (id >= 0) {
+                int before = zombieHp[id];
+                zombieHp[id] -= damage;
+                hash.changePacked(false, zombieType[id] - 1, before, zombieHp[id], zombieRow[id], zombieCol[id]);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified cell holds neither a plant nor a zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the cell is empty, false otherwise.
+     */
+    public boolean isEmpty(int row, int col) {
+        int cell = row * columns + col;
+        return plantType[cell] == NONE && zombieAt[cell] < 0;
+    }
+
+    /**
+     * Determines whether the specified cell holds a plant.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the cell holds a plant, false otherwise.
+     */
+    public boolean hasPlant(int row, int col) {
+        return plantType[row * columns + col] != NONE;
+    }
+
+    /**
+     * Determines whether the specified cell holds a zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the cell holds a zombie, false otherwise.
+     */
+    public boolean hasZombie(int row, int col) {
+        return zombieAt[row * columns + col] >= 0;
+    }
+
+    /**
+     * Moves the zombie in the given row from one column to another if the destination is empty.
+     *
+     * @param row the row index of the zombie.
+     * @param fromCol the column index where the zombie currently is.
+     * @param toCol the column index where the zombie should be moved.
+     * @return true if the zombie was moved, false otherwise.
+     */
+    public boolean moveZombie(int row, int fromCol, int toCol) {
+        int id = zombieAt[row * columns + fromCol];
+        if (id < 0 || !isEmpty(row, toCol)) {
+            return false;
+        }
+        zombieAt[row * columns + fromCol] = -1;
+        zombieAt[row * columns + toCol] = id;
+        zombieCol[id] = (short) toCol;
+        zombieBits.clear(row, fromCol);
+        zombieBits.set(row, toCol);
+        ZobristHash hash = board.getZobristHash();
+        hash.togglePacked(false, zombieType[id] - 1, zombieHp[id], row, fromCol);
+        hash.togglePacked(false, zombieType[id] - 1, zombieHp[id], row, toCol);
+        return true;
+    }
+
+    /**
+     * Removes the plant of the specified cell, if any.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if a plant was removed, false otherwise.
+     */
+    public boolean removePlant(int row, int col) {
+        int cell = row * columns + col;
+        if (plantType[cell] == NONE) {
+            return false;
+        }
+        clearPlant(cell);
+        return true;
+    }
+
+    /**
+     * Removes the zombie of the specified cell if its hit points have been depleted,
+     * following the rules of {@code Cell.removeZombie}.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     */
+    public void removeZombie(int row, int col) {
+        int id = zombieAt[row * columns + col];
+        if (id >= 0 && zombieHp[id] <= 0) {
+            clearZombie(id);
+        }
+    }
+
+    /**
+     * Removes every zombie of the given row, regardless of its hit points. Used by the
+     * lawn mower of the row.
+     *
+     * @param row the row index.
+     */
+    public void clearLane(int row) {
+        for (int id = zombieCount - 1; id >= 0; id--) {
+            if (zombieRow[id] == row) {
+                clearZombie(id);
+            }
+        }
+    }
+
+    /**
+     * Removes every plant and zombie, leaving the storage as it was when it was created.
+     */
+    void clear() {
+        for (int cell = 0; cell < plantType.length; cell++) {
+            if (plantType[cell] != NONE) {
+                clearPlant(cell);
+            }
+        }
+        for (int id = zombieCount - 1; id >= 0; id--) {
+            clearZombie(id);
+        }
+        defeatedZombies = 0;
+    }
+
+    /**
+     * Writes the contents of every cell into an array of integers, row after row, with
+     * {@code CELL_FEATURES} values per cell: the type of its plant, the hit points of the plant,
+     * the type of its zombie and the hit points of the zombie. Types are registered ids plus
+     * one, 0 meaning that the cell holds no such character.
+     *
+     * @param out the array receiving the values.
+     * @param offset the index of the first value written.
+     * @return the index after the last value written.
+     */
+    int observe(int[] out, int offset) {
+        for (int cell = 0; cell < plantType.length; cell++) {
+            int id = zombieAt[cell];
+            out[offset++] = plantType[cell];
+            out[offset++] = plantHp[cell];
+            out[offset++] = id >= 0 ? zombieType[id] : NONE;
+            out[offset++] = id >= 0 ? zombieHp[id] : 0;
+        }
+        return offset;
+    }
+
+    /**
+     * Retrieves the number of zombies defeated since the storage was created or cleared. The
+     * zombies swept by a lawn mower are not counted.
+     *
+     * @return the number of defeated zombies.
+     */
+    long getDefeatedZombies() {
+        return defeatedZombies;
+    }
+
+    /**
+     * Creates a detached view of the plant stored at the specified cell. Changes made to the
+     * returned object are not written back to the arrays.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a plant with the type and hit points of the stored plant, or null if there is none.
+     */
+    public Plant getPlantAt(int row, int col) {
+        int cell = row * columns + col;
+        if (plantType[cell] == NONE) {
+            return null;
+        }
+        Plant plant = EntityRegistry.plant(plantType[cell] - 1).createPlant();
+        plant.setHitPoints(plant.getHitPoints() - plantHp[cell]);
+        plant.setPosition(row, col);
+        return plant;
+    }
+
+    /**
+     * Creates a detached view of the zombie stored at the specified cell. Changes made to the
+     * returned object are not written back to the arrays.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a zombie with the type and hit points of the stored zombie, or null if there is none.
+     */
+    public Zombies getZombieAt(int row, int col) {
+        int id = zombieAt[row * columns + col];
+        if (id < 0) {
+            return null;
+        }
+        Zombies zombie = EntityRegistry.zombie(zombieType[id] - 1).createZombie();
+        zombie.setHitPoints(zombie.getHitPoints() - zombieHp[id]);
+        zombie.setPosition(row, col);
+        return zombie;
+    }
+
+    /**
+     * Creates a detached view of the specified cell holding views of its plant and zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a cell reflecting the current contents of the arrays.
+     */
+    public Cell getCell(int row, int col) {
+        Cell cell = new Cell(row, col);
+        cell.setPlant(getPlantAt(row, col));
+        cell.setZombie(getZombieAt(row, col));
+        return cell;
+    }
+
+    /**
+     * Retrieves the number of zombies currently stored.
+     *
+     * @return the number of live zombie entities.
+     */
+    public int getZombieCount() {
+        return zombieCount;
+    }
+
+    /**
+     * Retrieves the plant occupancy bitboard maintained by this storage.
+     *
+     * @return the bitboard with one bit set per cell holding a plant.
+     */
+    public Occupancy getPlantOccupancy() {
+        return plantBits;
+    }
+
+    /**
+     * Retrieves the zombie occupancy bitboard maintained by this storage.
+     *
+     * @return the bitboard with one bit set per cell holding a zombie.
+     */
+    public Occupancy getZombieOccupancy() {
+        return zombieBits;
+    }
+
+    /**
+     * Retrieves the number of rows of the board.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns of the board.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Clears every plant and zombie whose hit points have been depleted.
+     */
+    private void removeDefeated() {
+        for (int cell = 0; cell < plantType.length; cell++) {
+            if (plantType[cell] != NONE && plantHp[cell] <= 0) {
+                clearPlant(cell);
+            }
+        }
+        for (int id = zombieCount - 1; id >= 0; id--) {
+            if (zombieHp[id] <= 0) {
+                clearZombie(id);
+                defeatedZombies++;
+            }
+        }
+    }
+
+    /**
+     * Clears the plant slot of the given cell.
+     *
+     * @param cell the index of the cell.
+     */
+    private void clearPlant(int cell) {
+        board.getZobristHash().togglePacked(true, plantType[cell] - 1, plantHp[cell], cell / columns, cell % columns);
+        plantType[cell] = NONE;
+        plantHp[cell] = 0;
+        plantCooldown[cell] = 0;
+        plantSunLeft[cell] = 0;
+        plantBits.clear(cell / columns, cell % columns);
+    }
+
+    /**
+     * Removes the given zombie entity, moving the last entity into its slot so that the
+     * zombie arrays stay dense.
+     *
+     * @param id the entity id of the zombie to remove.
+     */
+    private void clearZombie(int id) {
+        board.getZobristHash().togglePacked(false, zombieType[id] - 1, zombieHp[id], zombieRow[id], zombieCol[id]);
+        zombieAt[zombieRow[id] * columns + zombieCol[id]] = -1;
+        zombieBits.clear(zombieRow[id], zombieCol[id]);
+        int last = --zombieCount;
+        if (id != last) {
+            zombieType[id] = zombieType[last];
+            zombieHp[id] = zombieHp[last];
+            zombieRow[id] = zombieRow[last];
+            zombieCol[id] = zombieCol[last];
+            zombieCooldown[id] = zombieCooldown[last];
+            zombieAttacking[id] = zombieAttacking[last];
+            zombieAt[zombieRow[id] * columns + zombieCol[id]] = id;
+        }
+        zombieType[last] = NONE;
+    }
+
+    /**
+     * Doubles the capacity of the zombie arrays.
+     */
+    private void grow() {
+        int capacity = zombieType.length * 2;
+        zombieType = Arrays.copyOf(zombieType, capacity);
+        zombieHp = Arrays.copyOf(zombieHp, capacity);
+        zombieRow = Arrays.copyOf(zombieRow, capacity);
+        zombieCol = Arrays.copyOf(zombieCol, capacity);
+        zombieCooldown = Arrays.copyOf(zombieCooldown, capacity);
+        zombieAttacking = Arrays.copyOf(zombieAttacking, capacity);
+    }
+
+    /**
+     * Finds the type id of the given character, stored one above its registered id so that
+     * 0 marks an empty slot.
+     *
+     * @param character the character to store.
+     * @param plant true if the character must be a plant, false if it must be a zombie.
+     * @return the type id, starting at 1.
+     * @throws POOBvsZOMBIESException if the type is not recognized.
+     */
+    private static short typeOf(Character character, boolean plant) {
+        EntityType type = character.getType();
+        if (type == null || type.isPlant() != plant) {
+            throw new POOBvsZOMBIESException(plant ? POOBvsZOMBIESException.NO_PLANT : POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        return (short) (type.getId() + 1);
+    }
+}
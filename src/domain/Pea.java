@@ -3,6 +3,53 @@ package domain;
 /**
  * Represents a projectile, typically used as an attack or defense mechanism in the game.
  * Instances of the Pea class are launched from plants to attack zombies.
+ *
+ * Peas in flight are kept by the {@link ProjectileLanes} of the board in primitive arrays; a Pea
+ * is a detached view of one of them, such as the ones drawn by the user interface.
  */
 public class Pea {
+    private final int row;
+    private final double position;
+    private final int damage;
+
+    /**
+     * Constructs a new Pea view.
+     *
+     * @param row the row the pea flies over.
+     * @param position the position of the pea, in cells from the left edge of the board.
+     * @param damage the damage the pea deals to the zombie it hits.
+     */
+    public Pea(int row, double position, int damage) {
+        this.row = row;
+        this.position = position;
+        this.damage = damage;
+    }
+
+    /**
+     * Retrieves the row the pea flies over.
+     *
+     * @return the row of the pea.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Retrieves the position of the pea, in cells from the left edge of the board. A pea at
+     * position 2.5 is in the middle of the cell of column 2.
+     *
+     * @return the position of the pea.
+     */
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * Retrieves the damage the pea deals to the zombie it hits.
+     *
+     * @return the damage of the pea.
+     */
+    public int getDamage() {
+        return damage;
+    }
 }
@@ -18,12 +18,14 @@ public class Peashooter extends Attacking {
      * by passing specific values to the superclass, Attacking.
      */
     public Peashooter() {
-        super(300,100,20,1.5);
+        super(EntityRegistry.PEASHOOTER);
     }
 
+    /**
+     * Shoots a pea along the row of the Peashooter when there is a zombie ahead of it.
+     */
     @Override
     public void atack() {
-        // Implementation for the Peashooter's attack logic
-        // Example: shooting a pea.
+        shootPea();
     }
 }
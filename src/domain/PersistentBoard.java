@@ -0,0 +1,470 @@
+package domain;
+
+/**
+ * The PersistentBoard class is an immutable version of the state of a {@link Board}: the type
+ * and hit points of the plant and zombie of every cell, the lawn mowers still available and the
+ * resources of the game. Every change returns a new board that shares with the old one all the
+ * rows it did not touch, so a change costs one copy of the row array and of the changed row, and
+ * any number of versions can be kept or dropped without copying the grid.
+ *
+ * Boards are obtained with {@link Board#fork()}, which only reads again the rows changed since the
+ * previous fork, and can be turned back into a playable board with {@code toBoard}. The plants,
+ * zombies and cells returned by the queries are detached views created from the stored types and
+ * hit points, as the ones of a {@link PackedBoard}.
+ */
+public class PersistentBoard {
+    private final int rows;
+    private final int columns;
+    private final BoardRow[] lanes;
+    private final long[] lawnMowers;
+    private final int sunPoints;
+    private final int brainPoints;
+
+    /**
+     * Constructs a new empty PersistentBoard whose lawn mowers are all available.
+     *
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @param sunPoints the sun points of the game.
+     * @param brainPoints the brain points of the game.
+     * @throws POOBvsZOMBIESException if the board has no rows or no columns.
+     */
+    public PersistentBoard(int rows, int columns, int sunPoints, int brainPoints) {
+        if (rows <= 0 || columns <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.lanes = new BoardRow[rows];
+        BoardRow empty = new BoardRow(columns);
+        for (int i = 0; i < rows; i++) {
+            lanes[i] = empty;
+        }
+        this.lawnMowers = new long[(rows + 63) >>> 6];
+        for (int i = 0; i < rows; i++) {
+            lawnMowers[i >>> 6] |= 1L << i;
+        }
+        this.sunPoints = sunPoints;
+        this.brainPoints = brainPoints;
+    }
+
+    /**
+     * Constructs a PersistentBoard from its parts, which are owned by the new board from now on.
+     *
+     * @param columns the number of columns of the board.
+     * @param lanes the rows of the board.
+     * @param lawnMowers the bits of the lawn mowers still available.
+     * @param sunPoints the sun points of the game.
+     * @param brainPoints the brain points of the game.
+     */
+    PersistentBoard(int columns, BoardRow[] lanes, long[] lawnMowers, int sunPoints, int brainPoints) {
+        this.rows = lanes.length;
+        this.columns = columns;
+        this.lanes = lanes;
+        this.lawnMowers = lawnMowers;
+        this.sunPoints = sunPoints;
+        this.brainPoints = brainPoints;
+    }
+
+    /**
+     * Retrieves the number of rows in the board.
+     *
+     * @return the total number of rows of the board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns in the board.
+     *
+     * @return the total number of columns of the board.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Retrieves the sun points of the game.
+     *
+     * @return the sun points.
+     */
+    public int getSunPoints() {
+        return sunPoints;
+    }
+
+    /**
+     * Retrieves the brain points of the game.
+     *
+     * @return the brain points.
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Determines whether the given position lies within the board.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return true if the position is valid, false otherwise.
+     */
+    public boolean isValidPosition(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
+    }
+
+    /**
+     * Determines whether the specified cell holds neither a plant nor a zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the position is valid and the cell is empty, false otherwise.
+     */
+    public boolean isEmpty(int row, int col) {
+        return isValidPosition(row, col) && lanes[row].plantTypes[col] == BoardRow.NONE && lanes[row].zombieTypes[col] == BoardRow.NONE;
+    }
+
+    /**
+     * Determines whether the specified cell holds a plant.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the position is valid and holds a plant, false otherwise.
+     */
+    public boolean hasPlant(int row, int col) {
+        return isValidPosition(row, col) && lanes[row].plantTypes[col] != BoardRow.NONE;
+    }
+
+    /**
+     * Determines whether the specified cell holds a zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return true if the position is valid and holds a zombie, false otherwise.
+     */
+    public boolean hasZombie(int row, int col) {
+        return isValidPosition(row, col) && lanes[row].zombieTypes[col] != BoardRow.NONE;
+    }
+
+    /**
+     * Determines whether the lawn mower of the given row is still available.
+     *
+     * @param row the row index.
+     * @return true if the lawn mower of the row has not been used yet, false otherwise.
+     */
+    public boolean hasLawnMower(int row) {
+        return (lawnMowers[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Retrieves the type of the plant at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the type of the plant, or null if there is none.
+     */
+    public EntityType getPlantType(int row, int col) {
+        int type = lanes[row].plantTypes[col];
+        return type == BoardRow.NONE ? null : EntityRegistry.plant(type - 1);
+    }
+
+    /**
+     * Retrieves the type of the zombie at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the type of the zombie, or null if there is none.
+     */
+    public EntityType getZombieType(int row, int col) {
+        int type = lanes[row].zombieTypes[col];
+        return type == BoardRow.NONE ? null : EntityRegistry.zombie(type - 1);
+    }
+
+    /**
+     * Retrieves the hit points of the plant at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the hit points of the plant, or 0 if there is none.
+     */
+    public int getPlantHitPoints(int row, int col) {
+        return lanes[row].plantHp[col];
+    }
+
+    /**
+     * Retrieves the hit points of the zombie at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the hit points of the zombie, or 0 if there is none.
+     */
+    public int getZombieHitPoints(int row, int col) {
+        return lanes[row].zombieHp[col];
+    }
+
+    /**
+     * Creates a detached view of the plant at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a plant with the type and hit points of the stored plant, or null if there is none.
+     */
+    public Plant getPlantAt(int row, int col) {
+        EntityType type = getPlantType(row, col);
+        if (type == null) {
+            return null;
+        }
+        Plant plant = type.createPlant();
+        plant.setHitPoints(plant.getHitPoints() - lanes[row].plantHp[col]);
+        plant.setPosition(row, col);
+        return plant;
+    }
+
+    /**
+     * Creates a detached view of the zombie at the specified cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a zombie with the type and hit points of the stored zombie, or null if there is none.
+     */
+    public Zombies getZombieAt(int row, int col) {
+        EntityType type = getZombieType(row, col);
+        if (type == null) {
+            return null;
+        }
+        Zombies zombie = type.createZombie();
+        zombie.setHitPoints(zombie.getHitPoints() - lanes[row].zombieHp[col]);
+        zombie.setPosition(row, col);
+        return zombie;
+    }
+
+    /**
+     * Creates a detached view of the specified cell holding views of its plant and zombie.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a cell reflecting the contents of this board.
+     */
+    public Cell getCell(int row, int col) {
+        Cell cell = new Cell(row, col);
+        cell.setPlant(getPlantAt(row, col));
+        cell.setZombie(getZombieAt(row, col));
+        return cell;
+    }
+
+    /**
+     * Places a new plant of the given type at the specified position.
+     *
+     * @param type the type of the plant.
+     * @param row the row index where the plant will be placed.
+     * @param col the column index where the plant will be placed.
+     * @return the board with the plant, or this board if the position is not valid or the cell
+     *         is not empty.
+     * @throws POOBvsZOMBIESException if the type is not a type of plant.
+     */
+    public PersistentBoard withPlant(EntityType type, int row, int col) {
+        if (!type.isPlant()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_PLANT);
+        }
+        if (!isValidPosition(row, col) || !isEmpty(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.plantTypes[col] = (short) (type.getId() + 1);
+        lane.plantHp[col] = type.getHitPoints();
+        return withLane(row, lane);
+    }
+
+    /**
+     * Places a new zombie of the given type at the specified position.
+     *
+     * @param type the type of the zombie.
+     * @param row the row index where the zombie will be placed.
+     * @param col the column index where the zombie will be placed.
+     * @return the board with the zombie, or this board if the position is not valid or the cell
+     *         is not empty.
+     * @throws POOBvsZOMBIESException if the type is not a type of zombie.
+     */
+    public PersistentBoard withZombie(EntityType type, int row, int col) {
+        if (type.isPlant()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        if (!isValidPosition(row, col) || !isEmpty(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.zombieTypes[col] = (short) (type.getId() + 1);
+        lane.zombieHp[col] = type.getHitPoints();
+        return withLane(row, lane);
+    }
+
+    /**
+     * Removes the plant at the specified position.
+     *
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @return the board without the plant, or this board if there is no plant there.
+     */
+    public PersistentBoard withoutPlant(int row, int col) {
+        if (!hasPlant(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.plantTypes[col] = BoardRow.NONE;
+        lane.plantHp[col] = 0;
+        return withLane(row, lane);
+    }
+
+    /**
+     * Removes the zombie at the specified position.
+     *
+     * @param row the row index of the zombie.
+     * @param col the column index of the zombie.
+     * @return the board without the zombie, or this board if there is no zombie there.
+     */
+    public PersistentBoard withoutZombie(int row, int col) {
+        if (!hasZombie(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.zombieTypes[col] = BoardRow.NONE;
+        lane.zombieHp[col] = 0;
+        return withLane(row, lane);
+    }
+
+    /**
+     * Moves the zombie in the given row from one column to another, provided the destination
+     * is a valid empty cell.
+     *
+     * @param row the row index of the zombie.
+     * @param fromCol the column index where the zombie currently is.
+     * @param toCol the column index where the zombie should be moved.
+     * @return the board with the zombie moved, or this board if it cannot be moved.
+     */
+    public PersistentBoard withZombieMoved(int row, int fromCol, int toCol) {
+        if (!hasZombie(row, fromCol) || !isValidPosition(row, toCol) || !isEmpty(row, toCol)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.zombieTypes[toCol] = lane.zombieTypes[fromCol];
+        lane.zombieHp[toCol] = lane.zombieHp[fromCol];
+        lane.zombieTypes[fromCol] = BoardRow.NONE;
+        lane.zombieHp[fromCol] = 0;
+        return withLane(row, lane);
+    }
+
+    /**
+     * Changes the hit points of the plant at the specified position. A plant left without hit
+     * points is removed.
+     *
+     * @param row the row index of the plant.
+     * @param col the column index of the plant.
+     * @param hitPoints the new hit points of the plant.
+     * @return the board with the plant changed, or this board if there is no plant there.
+     */
+    public PersistentBoard withPlantHitPoints(int row, int col, int hitPoints) {
+        if (hitPoints <= 0) {
+            return withoutPlant(row, col);
+        }
+        if (!hasPlant(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.plantHp[col] = hitPoints;
+        return withLane(row, lane);
+    }
+
+    /**
+     * Changes the hit points of the zombie at the specified position. A zombie left without hit
+     * points is removed.
+     *
+     * @param row the row index of the zombie.
+     * @param col the column index of the zombie.
+     * @param hitPoints the new hit points of the zombie.
+     * @return the board with the zombie changed, or this board if there is no zombie there.
+     */
+    public PersistentBoard withZombieHitPoints(int row, int col, int hitPoints) {
+        if (hitPoints <= 0) {
+            return withoutZombie(row, col);
+        }
+        if (!hasZombie(row, col)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        lane.zombieHp[col] = hitPoints;
+        return withLane(row, lane);
+    }
+
+    /**
+     * Triggers the lawn mower of a row, which removes every zombie of the row.
+     *
+     * @param row the row index.
+     * @return the board with the row swept, or this board if the lawn mower was already used.
+     */
+    public PersistentBoard withoutLawnMower(int row) {
+        if (!hasLawnMower(row)) {
+            return this;
+        }
+        BoardRow lane = lanes[row].copy();
+        for (int j = 0; j < columns; j++) {
+            lane.zombieTypes[j] = BoardRow.NONE;
+            lane.zombieHp[j] = 0;
+        }
+        BoardRow[] changed = lanes.clone();
+        changed[row] = lane;
+        long[] mowers = lawnMowers.clone();
+        mowers[row >>> 6] &= ~(1L << row);
+        return new PersistentBoard(columns, changed, mowers, sunPoints, brainPoints);
+    }
+
+    /**
+     * Changes the resources of the game. The rows are shared with this board.
+     *
+     * @param sunPoints the new sun points.
+     * @param brainPoints the new brain points.
+     * @return the board with the given resources.
+     */
+    public PersistentBoard withResources(int sunPoints, int brainPoints) {
+        return new PersistentBoard(columns, lanes, lawnMowers, sunPoints, brainPoints);
+    }
+
+    /**
+     * Builds a playable board holding the characters, lawn mowers and resources of this board.
+     * Characters start with fresh timers, as after placing them.
+     *
+     * @param packedStorage true to keep the new board in primitive arrays, false to keep one
+     *                      object per cell and character.
+     * @return the new board.
+     */
+    public Board toBoard(boolean packedStorage) {
+        Board board = new Board(rows, columns, sunPoints, brainPoints, packedStorage);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                Plant plant = getPlantAt(i, j);
+                if (plant != null) {
+                    board.placePlant(plant, i, j);
+                }
+                Zombies zombie = getZombieAt(i, j);
+                if (zombie != null) {
+                    board.placeZombie(zombie, i, j);
+                }
+            }
+            board.restoreLawnMower(i, hasLawnMower(i));
+        }
+        return board;
+    }
+
+    /**
+     * Creates the board that replaces one row of this board, sharing the others.
+     *
+     * @param row the row index.
+     * @param lane the new row.
+     * @return the new board.
+     */
+    private PersistentBoard withLane(int row, BoardRow lane) {
+        BoardRow[] changed = lanes.clone();
+        changed[row] = lane;
+        return new PersistentBoard(columns, changed, lawnMowers, sunPoints, brainPoints);
+    }
+}
+
@@ -9,17 +9,13 @@ package domain;
  */
 public abstract class Plant extends Character {
 
-    private int sunCost;
-
     /**
-     * Constructs a Plant with the specified hit points and sun cost.
+     * Constructs a Plant of the specified type, with the hit points and sun cost of the type.
      *
-     * @param hitPoints the initial amount of hit points for the plant.
-     * @param costSun the sun cost required to deploy the plant.
+     * @param type the type of the plant.
      */
-    public Plant(int hitPoints, int costSun) {
-        super(hitPoints);
-        this.sunCost = costSun;
+    public Plant(EntityType type) {
+        super(type);
     }
 
     /**
@@ -28,6 +24,6 @@ public abstract class Plant extends Character {
      * @return the sun cost of this plant.
      */
     public int getSunCost() {
-        return sunCost;
+        return getType().getCost();
     }
 }
\ No newline at end of file
@@ -0,0 +1,496 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The PlantSearch class chooses the moves of a machine intelligent plant player with a depth
+ * limited alpha-beta search. The plants move first, by placing a plant with the sun points of the
+ * game, digging one up with the shovel or waiting; the zombies answer by buying a zombie with
+ * their brain points or waiting, and then the game is simulated for {@code MOVE_INTERVAL} seconds.
+ * Positions are scored from the side of the plants by the sun invested in the standing plants,
+ * the unspent sun and the lawn mowers left, minus the threat of every zombie, which grows as it
+ * gets closer to the house.
+ *
+ * The search deepens one round at a time until its time is up, and the best move of the deepest
+ * finished round is played. Every position is a snapshot of the game decoded into a headless
+ * copy, and its {@link ZobristHash} keys a bounded {@link TranspositionTable}, whose best moves
+ * are searched first together with the placements in the most threatened rows, so most branches
+ * are cut off. Searches run on a thread of their own and stop early when {@code stop} is called
+ * or their thread is interrupted, so the event dispatch thread never waits for them.
+ */
+public class PlantSearch {
+    public static final int DEFAULT_MAX_DEPTH = 3;
+    public static final int DEFAULT_TABLE_SIZE = 1 << 16;
+    public static final long DEFAULT_TIME_MILLIS = 200;
+    public static final int MOVE_INTERVAL = 2;
+
+    private static final int INTERVAL = MOVE_INTERVAL * GameLoop.TICKS_PER_SECOND;
+    private static final double LOSS = -1_000_000;
+    private static final double LAWN_MOWER_VALUE = 200;
+    private static final long ZOMBIES_TO_MOVE = 0x6A09E667F3BCC909L;
+    private static final EntityType[] PLANT_ORDER = {EntityRegistry.PEASHOOTER, EntityRegistry.EVOLVE,
+            EntityRegistry.WALL_NUT, EntityRegistry.POTATO_MINE, EntityRegistry.SUNFLOWER, EntityRegistry.ECI_PLANT};
+
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final ExecutorService worker;
+    private final Random random;
+    private volatile boolean stopped;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int lastDepth;
+    private int rootMove;
+
+    /**
+     * Constructs a new PlantSearch reaching up to {@code DEFAULT_MAX_DEPTH} rounds with a table
+     * of {@code DEFAULT_TABLE_SIZE} entries.
+     */
+    public PlantSearch() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Constructs a new PlantSearch.
+     *
+     * @param maxDepth the maximum number of rounds searched, a round being a move of each side
+     *                 followed by {@code MOVE_INTERVAL} seconds of play.
+     * @param tableSize the number of entries of the transposition table.
+     * @throws POOBvsZOMBIESException if the depth is not between 1 and 100 or the table size is
+     *                                not valid.
+     */
+    public PlantSearch(int maxDepth, int tableSize) {
+        if (maxDepth <= 0 || maxDepth > 100) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.maxDepth = maxDepth;
+        this.table = new TranspositionTable(tableSize);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plant-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.random = new Random(0);
+    }
+
+    /**
+     * Starts searching the next move of the plants on the thread of the search. Cancelling the
+     * returned future interrupts the search.
+     *
+     * @param rules the game manager of the game.
+     * @param timeMillis the time the search may take, in milliseconds.
+     * @return the future move, null meaning that the plants should wait.
+     */
+    public Future<Command> submit(GameRules rules, long timeMillis) {
+        return worker.submit(() -> search(rules, timeMillis));
+    }
+
+    /**
+     * Searches the next move of the plants on the calling thread, deepening the search until
+     * {@code maxDepth} rounds are searched, the time is up, {@code stop} is called or the
+     * thread is interrupted. The game is captured once, with its board locked, so the game loop
+     * may keep running meanwhile.
+     *
+     * @param rules the game manager of the game, whose sun points pay for the plants.
+     * @param timeMillis the time the search may take, in milliseconds.
+     * @return the command of the best move of the deepest finished round, or null if the best
+     *         move is to wait.
+     * @throws POOBvsZOMBIESException if the game cannot be captured, for instance because its
+     *                                board is packed.
+     */
+    public synchronized Command search(GameRules rules, long timeMillis) {
+        deadline = System.nanoTime() + timeMillis * 1_000_000L;
+        stopped = false;
+        aborted = false;
+        nodes = 0;
+        lastDepth = 0;
+        table.newSearch();
+        byte[] root = GameSnapshot.encode(rules);
+        List<Command> moves = plantMoves(GameSnapshot.decode(root));
+        Command best = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            rootMove = -1;
+            plantsToMove(root, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true);
+            if (aborted) {
+                break;
+            }
+            best = moves.get(rootMove);
+            lastDepth = depth;
+        }
+        return best;
+    }
+
+    /**
+     * Searches the next move of the plants and plays it on the game.
+     *
+     * @param rules the game manager of the game.
+     * @param timeMillis the time the search may take, in milliseconds.
+     * @return true if a plant was placed or removed, false if the plants waited.
+     */
+    public boolean play(GameRules rules, long timeMillis) {
+        Command move = search(rules, timeMillis);
+        return move != null && move.applyTo(rules, random);
+    }
+
+    /**
+     * Stops the search in progress, which returns the best move of its deepest finished round.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Stops the search in progress and releases the thread of the search.
+     */
+    public void shutdown() {
+        stop();
+        worker.shutdownNow();
+    }
+
+    /**
+     * Retrieves the number of rounds finished by the last search.
+     *
+     * @return the depth reached by the last search.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Retrieves the number of positions visited by the last search.
+     *
+     * @return the nodes of the last search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retrieves the transposition table of the search, shared by every search so that the
+     * positions of a move are still known when the next move is searched.
+     *
+     * @return the transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Searches a position where the plants are to move.
+     *
+     * @param state the snapshot of the position.
+     * @param rounds the number of rounds left to search.
+     * @param alpha the value the plants are already sure of.
+     * @param beta the value the zombies are already sure of.
+     * @param root true for the position searched from, whose best move is recorded.
+     * @return the value of the position for the plants.
+     */
+    private double plantsToMove(byte[] state, int rounds, double alpha, double beta, boolean root) {
+        nodes++;
+        GameRules game = GameSnapshot.decode(state);
+        long key = game.getStateHash();
+        int hint = -1;
+        int slot = table.find(key);
+        if (slot >= 0) {
+            hint = table.getMove(slot);
+            if (!root && table.getDepth(slot) >= rounds && cutoff(slot, alpha, beta)) {
+                return table.getValue(slot);
+            }
+        }
+        List<Command> moves = plantMoves(game);
+        double start = alpha;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestMove = -1;
+        for (int i = -1; i < moves.size(); i++) {
+            int move = i < 0 ? hint : i;
+            if (move < 0 || move >= moves.size() || i >= 0 && move == hint) {
+                continue;
+            }
+            if (timeUp()) {
+                return 0;
+            }
+            double value = zombiesToMove(state, moves.get(move), rounds, alpha, beta);
+            if (value > best) {
+                best = value;
+                bestMove = move;
+                if (root) {
+                    rootMove = move;
+                }
+            }
+            alpha = Math.max(alpha, value);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        if (!aborted) {
+            table.store(key, rounds, best, best <= start ? TranspositionTable.UPPER
+                    : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Searches a position where the zombies are to move, after the move of the plants.
+     * After every move of the zombies the game is simulated for {@code MOVE_INTERVAL} seconds.
+     *
+     * @param state the snapshot of the position before the move of the plants.
+     * @param plantMove the move of the plants, null to wait.
+     * @param rounds the number of rounds left to search, this one included.
+     * @param alpha the value the plants are already sure of.
+     * @param beta the value the zombies are already sure of.
+     * @return the value of the position for the plants.
+     */
+    private double zombiesToMove(byte[] state, Command plantMove, int rounds, double alpha, double beta) {
+        nodes++;
+        GameRules game = after(state, plantMove);
+        long key = game.getStateHash() ^ ZOMBIES_TO_MOVE;
+        int hint = -1;
+        int slot = table.find(key);
+        if (slot >= 0) {
+            hint = table.getMove(slot);
+            if (table.getDepth(slot) >= rounds && cutoff(slot, alpha, beta)) {
+                return table.getValue(slot);
+            }
+        }
+        List<Command> moves = zombieMoves(game);
+        double start = beta;
+        double best = Double.POSITIVE_INFINITY;
+        int bestMove = -1;
+        for (int i = -1; i < moves.size(); i++) {
+            int move = i < 0 ? hint : i;
+            if (move < 0 || move >= moves.size() || i >= 0 && move == hint) {
+                continue;
+            }
+            if (timeUp()) {
+                return 0;
+            }
+            if (game == null) {
+                game = after(state, plantMove);
+            }
+            Command zombieMove = moves.get(move);
+            if (zombieMove != null) {
+                zombieMove.applyTo(game, random);
+            }
+            game.getGameLoop().advance(INTERVAL);
+            double value = rounds == 1 || game.getBoard().isHouseReached() ? evaluate(game)
+                    : plantsToMove(GameSnapshot.encode(game), rounds - 1, alpha, beta, false);
+            game = null;
+            if (value < best) {
+                best = value;
+                bestMove = move;
+            }
+            beta = Math.min(beta, value);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        if (!aborted) {
+            table.store(key, rounds, best, best >= start ? TranspositionTable.LOWER
+                    : best <= alpha ? TranspositionTable.UPPER : TranspositionTable.EXACT, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Decodes a position and plays a move of the plants on it.
+     *
+     * @param state the snapshot of the position.
+     * @param plantMove the move of the plants, null to wait.
+     * @return the headless copy of the game after the move.
+     */
+    private GameRules after(byte[] state, Command plantMove) {
+        GameRules game = GameSnapshot.decode(state);
+        if (plantMove != null) {
+            plantMove.applyTo(game, random);
+        }
+        return game;
+    }
+
+    /**
+     * Determines whether a stored value settles a position within the current window.
+     *
+     * @param slot the slot of the entry of the position.
+     * @param alpha the value the plants are already sure of.
+     * @param beta the value the zombies are already sure of.
+     * @return true if the stored value can be returned without searching.
+     */
+    private boolean cutoff(int slot, double alpha, double beta) {
+        double value = table.getValue(slot);
+        switch (table.getBound(slot)) {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER:
+                return value >= beta;
+            default:
+                return value <= alpha;
+        }
+    }
+
+    /**
+     * Determines whether the search must stop, because its time is up, {@code stop} was called
+     * or its thread was interrupted. Once the search stops, the values of the unfinished round
+     * are discarded.
+     *
+     * @return true if the search must stop.
+     */
+    private boolean timeUp() {
+        if (!aborted && (stopped || Thread.currentThread().isInterrupted() || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    /**
+     * Lists the moves of the plants, most promising first: in every row, from the one whose
+     * zombies are closest to the house, one affordable plant of each type in the first empty
+     * column from the left; then waiting; and last digging up every plant left with less than
+     * a third of its hit points.
+     *
+     * @param game the game.
+     * @return the moves of the plants, null standing for waiting.
+     */
+    static List<Command> plantMoves(GameRules game) {
+        Board board = game.getBoard();
+        long tick = game.getGameLoop().getTick();
+        LaneIndex<Zombies> zombies = board.getZombieLanes();
+        int rows = board.getRows();
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(leading(zombies, board, a), leading(zombies, board, b)));
+        List<Command> moves = new ArrayList<>();
+        for (int row : order) {
+            int limit = Math.min(board.getColumns() - 1, leading(zombies, board, row));
+            int col = 0;
+            while (col < limit && !board.isEmpty(row, col)) {
+                col++;
+            }
+            if (col >= limit) {
+                continue;
+            }
+            for (EntityType type : PLANT_ORDER) {
+                if (type.getCost() <= game.getSunPoints()) {
+                    moves.add(Command.plant(tick, type.getName(), row, col));
+                }
+            }
+        }
+        moves.add(null);
+        LaneIndex<Plant> plants = board.getPlantLanes();
+        for (int i = 0; i < rows; i++) {
+            for (int k = 0; k < plants.size(i); k++) {
+                Plant plant = plants.get(i, k);
+                EntityType type = plant.getType();
+                if (type != null && plant.getHitPoints() * 3 < type.getHitPoints()) {
+                    moves.add(Command.shovel(tick, i, plant.getCol()));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Lists the moves of the zombies: waiting, then every affordable type of zombie placed at
+     * the right end of every row whose last cell is empty, rows with fewer plants first. The
+     * zombies of the modes where they are placed at random by the machine are not chosen by
+     * anyone, so in those modes they can only wait.
+     *
+     * @param game the game.
+     * @return the moves of the zombies, null standing for waiting.
+     */
+    static List<Command> zombieMoves(GameRules game) {
+        List<Command> moves = new ArrayList<>();
+        moves.add(null);
+        if (game instanceof GameManagerPvsMO) {
+            return moves;
+        }
+        Board board = game.getBoard();
+        long tick = game.getGameLoop().getTick();
+        int rows = board.getRows();
+        int col = board.getColumns() - 1;
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        Occupancy plants = board.getPlantOccupancy();
+        Arrays.sort(order, (a, b) -> Integer.compare(plants.count(a), plants.count(b)));
+        for (int row : order) {
+            if (!board.isEmpty(row, col)) {
+                continue;
+            }
+            for (int t = EntityRegistry.zombieCount() - 1; t >= 0; t--) {
+                EntityType type = EntityRegistry.zombie(t);
+                if (type.getCost() <= game.getBrainPoints()) {
+                    moves.add(Command.zombie(tick, type.getName(), row, col));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Scores a position for the plants: the sun invested in the standing plants, in proportion
+     * to their hit points, plus the unspent sun and the lawn mowers left, minus the brains
+     * invested in every zombie, in proportion to its hit points and growing up to three times
+     * as it crosses the board. A position where the house was reached is lost.
+     *
+     * @param game the game.
+     * @return the value of the position for the plants.
+     */
+    static double evaluate(GameRules game) {
+        Board board = game.getBoard();
+        if (board.isHouseReached()) {
+            return LOSS;
+        }
+        LaneIndex<Plant> plants = board.getPlantLanes();
+        LaneIndex<Zombies> zombies = board.getZombieLanes();
+        int last = Math.max(1, board.getColumns() - 1);
+        double score = game.getSunPoints();
+        for (int i = 0; i < board.getRows(); i++) {
+            if (board.hasLawnMower(i)) {
+                score += LAWN_MOWER_VALUE;
+            }
+            for (int k = 0; k < plants.size(i); k++) {
+                Plant plant = plants.get(i, k);
+                score += worth(plant, plant.getSunCost());
+            }
+            for (int k = 0; k < zombies.size(i); k++) {
+                Zombies zombie = zombies.get(i, k);
+                double progress = (double) (last - zombie.getCol()) / last;
+                score -= worth(zombie, zombie.getCostBrains()) * (1 + 2 * progress);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Estimates what is left of the cost of a character from its hit points.
+     *
+     * @param character the character.
+     * @param cost the cost of the character.
+     * @return the cost scaled by the share of its hit points left.
+     */
+    private static double worth(Character character, int cost) {
+        EntityType type = character.getType();
+        int max = type != null ? type.getHitPoints() : character.getHitPoints();
+        return max <= 0 ? 0 : (double) cost * Math.max(0, character.getHitPoints()) / max;
+    }
+
+    /**
+     * Finds the column of the zombie of a row closest to the house.
+     *
+     * @param zombies the zombie lane index of the board.
+     * @param board the board.
+     * @param row the row.
+     * @return the column of the leading zombie, or the number of columns if the row has none.
+     */
+    private static int leading(LaneIndex<Zombies> zombies, Board board, int row) {
+        return zombies.size(row) > 0 ? zombies.get(row, 0).getCol() : board.getColumns();
+    }
+}
@@ -7,7 +7,8 @@ package domain;
  * and characteristics.
  */
 public class PotatoMine extends Defensive {
-    private final double TIME = 14;
+    private final WheelTimer armTimer;
+    private boolean armed;
 
     /**
      * Constructs a new PotatoMine instance with predefined hit points and sun cost.
@@ -17,7 +18,9 @@ public class PotatoMine extends Defensive {
      * after a period, exploding upon interaction with an enemy.
      */
     public PotatoMine() {
-        super(100, 25);
+        super(EntityRegistry.POTATO_MINE);
+        this.armTimer = new WheelTimer(this, this::arm);
+        this.armed = false;
     }
 
     /**
@@ -26,7 +29,62 @@ public class PotatoMine extends Defensive {
      * @return the time in seconds it takes for the PotatoMine to become fully active.
      */
     public double getTime() {
-        return this.TIME;
+        return getType().getActionTime();
+    }
+
+    /**
+     * Starts arming the PotatoMine once it has been placed on the board. The mine
+     * becomes active after {@code getTime()} seconds, tracked by a timer on the
+     * board's shared timing wheel.
+     *
+     * @param board the board on which the PotatoMine has been placed.
+     */
+    @Override
+    public void onPlaced(Board board) {
+        armed = false;
+        board.getTimers().schedule(armTimer, GameLoop.toTicks(getTime()));
+    }
+
+    /**
+     * Cancels the arming of the PotatoMine once it has been removed from the board.
+     *
+     * @param board the board from which the PotatoMine has been removed.
+     */
+    @Override
+    public void onRemoved(Board board) {
+        armTimer.cancel();
+    }
+
+    /**
+     * Invoked by the arm timer when the PotatoMine becomes active.
+     */
+    private void arm() {
+        armed = true;
+    }
+
+    /**
+     * Determines whether the PotatoMine is active and ready to explode.
+     *
+     * @return true if the PotatoMine has been armed, false otherwise.
+     */
+    public boolean isArmed() {
+        return armed;
+    }
+
+    @Override
+    void writeState(SnapshotWriter out) {
+        out.writeBoolean(armed);
+        out.writeDeadline(armTimer);
+    }
+
+    @Override
+    void readState(SnapshotReader in, Board board) {
+        armed = in.readBoolean();
+        int remaining = in.readDelay();
+        armTimer.cancel();
+        if (remaining > 0) {
+            board.getTimers().schedule(armTimer, remaining);
+        }
     }
 
     /**
@@ -0,0 +1,214 @@
+package domain;
+
+/**
+ * The ProjectileLanes class keeps the peas flying over a board. Peas are not objects: every row
+ * keeps the positions and damage of its peas in two primitive arrays, ordered from left to right.
+ * All peas fly at the same speed, so a pea never overtakes another and the order only has to be
+ * kept when a pea is fired.
+ *
+ * Every tick, each lane is resolved in a single merge of its peas with its zombies, which the
+ * {@link LaneIndex} of the board keeps ordered by column: the peas are walked from left to right
+ * while a cursor walks the zombies, skipping those already behind the current pea or defeated,
+ * so the first zombie a pea reaches is found without comparing every pea with every zombie. A
+ * tick costs O(peas + zombies) per lane, however many peas are on screen.
+ *
+ * Positions are measured in {@code POSITION_SCALE} units per cell. A pea is fired from the middle
+ * of the cell of its plant, hits the first zombie whose cell it enters and disappears at the end
+ * of the row.
+ */
+public class ProjectileLanes {
+    public static final int POSITION_SCALE = 256;
+    public static final double PEA_SPEED = 5;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int STEP = (int) Math.round(PEA_SPEED * POSITION_SCALE / GameLoop.TICKS_PER_SECOND);
+
+    private final LaneIndex<Zombies> zombies;
+    private final int limit;
+    private final int[][] positions;
+    private final int[][] damages;
+    private final int[] sizes;
+    private int total;
+    private long fired;
+    private long hits;
+
+    /**
+     * Constructs new empty ProjectileLanes for a board. Moving peas do not mark their rows as
+     * changed: saved games capture the peas apart from the rows, and only the hits,
+     * which change the hit points of a zombie, change a row.
+     *
+     * @param zombies the lane index of the zombies of the board.
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    ProjectileLanes(LaneIndex<Zombies> zombies, int rows, int columns) {
+        this.zombies = zombies;
+        this.limit = columns * POSITION_SCALE;
+        this.positions = new int[rows][INITIAL_CAPACITY];
+        this.damages = new int[rows][INITIAL_CAPACITY];
+        this.sizes = new int[rows];
+    }
+
+    /**
+     * Fires a pea from the cell of a plant, provided there is a zombie ahead of the plant in
+     * its row. A plant with no zombie ahead does not waste its shot.
+     *
+     * @param row the row of the plant.
+     * @param col the column of the plant.
+     * @param damage the damage dealt by the pea.
+     * @return true if a pea was fired, false if there was no zombie ahead.
+     */
+    public boolean fire(int row, int col, int damage) {
+        int count = zombies.size(row);
+        if (count == 0 || zombies.get(row, count - 1).getCol() < col) {
+            return false;
+        }
+        add(row, col * POSITION_SCALE + POSITION_SCALE / 2, damage);
+        fired++;
+        return true;
+    }
+
+    /**
+     * Adds a pea to a lane, keeping the lane ordered by position. Peas are fired near the left
+     * of the board, so the insertion point is searched from the left end.
+     *
+     * @param row the row of the pea.
+     * @param position the position of the pea, in {@code POSITION_SCALE} units per cell.
+     * @param damage the damage dealt by the pea.
+     */
+    void add(int row, int position, int damage) {
+        int size = sizes[row];
+        if (size == positions[row].length) {
+            int[] grownPositions = new int[size * 2];
+            int[] grownDamages = new int[size * 2];
+            System.arraycopy(positions[row], 0, grownPositions, 0, size);
+            System.arraycopy(damages[row], 0, grownDamages, 0, size);
+            positions[row] = grownPositions;
+            damages[row] = grownDamages;
+        }
+        int[] lane = positions[row];
+        int index = 0;
+        while (index < size && lane[index] < position) {
+            index++;
+        }
+        System.arraycopy(lane, index, lane, index + 1, size - index);
+        System.arraycopy(damages[row], index, damages[row], index + 1, size - index);
+        lane[index] = position;
+        damages[row][index] = damage;
+        sizes[row] = size + 1;
+        total++;
+    }
+
+    /**
+     * Advances every pea by one tick and resolves its hits. Each lane is merged once with the
+     * zombies of its row; a pea that reaches a zombie deals its damage and disappears, and the
+     * peas that leave the board are dropped. Defeated zombies are left for the board to remove.
+     */
+    void advance() {
+        for (int row = 0; row < sizes.length; row++) {
+            int size = sizes[row];
+            if (size == 0) {
+                continue;
+            }
+            int[] lane = positions[row];
+            int[] damage = damages[row];
+            int count = zombies.size(row);
+            int next = 0;
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int from = lane[i];
+                int to = from + STEP;
+                Zombies target = null;
+                while (next < count) {
+                    Zombies zombie = zombies.get(row, next);
+                    if (zombie.isAlive() && (zombie.getCol() + 1) * POSITION_SCALE > from) {
+                        target = zombie;
+                        break;
+                    }
+                    next++;
+                }
+                if (target != null && target.getCol() * POSITION_SCALE <= to) {
+                    target.setHitPoints(damage[i]);
+                    hits++;
+                } else if (to < limit) {
+                    lane[kept] = to;
+                    damage[kept] = damage[i];
+                    kept++;
+                }
+            }
+            sizes[row] = kept;
+            total -= size - kept;
+        }
+    }
+
+    /**
+     * Retrieves the number of peas flying over a row.
+     *
+     * @param row the row index.
+     * @return the number of peas of the row.
+     */
+    public int size(int row) {
+        return sizes[row];
+    }
+
+    /**
+     * Retrieves the number of peas flying over the whole board.
+     *
+     * @return the number of peas of the board.
+     */
+    public int size() {
+        return total;
+    }
+
+    /**
+     * Creates a detached view of a pea. Changes to the board do not update the returned view.
+     *
+     * @param row the row index.
+     * @param index the position of the pea in its lane, from 0 to {@code size(row) - 1},
+     *              peas being ordered from left to right.
+     * @return a view of the pea.
+     */
+    public Pea get(int row, int index) {
+        return new Pea(row, (double) positions[row][index] / POSITION_SCALE, damages[row][index]);
+    }
+
+    /**
+     * Retrieves the position of a pea in {@code POSITION_SCALE} units per cell.
+     *
+     * @param row the row index.
+     * @param index the position of the pea in its lane.
+     * @return the position of the pea.
+     */
+    public int getPosition(int row, int index) {
+        return positions[row][index];
+    }
+
+    /**
+     * Retrieves the damage dealt by a pea.
+     *
+     * @param row the row index.
+     * @param index the position of the pea in its lane.
+     * @return the damage of the pea.
+     */
+    int getDamage(int row, int index) {
+        return damages[row][index];
+    }
+
+    /**
+     * Retrieves the number of peas fired so far.
+     *
+     * @return the number of peas fired.
+     */
+    public long getFired() {
+        return fired;
+    }
+
+    /**
+     * Retrieves the number of peas that hit a zombie so far.
+     *
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+}
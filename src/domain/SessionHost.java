@@ -0,0 +1,151 @@
+package domain;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SessionHost class runs many matches concurrently in one process. Every match is a
+ * {@link GameSession} advanced in real time, one tick every {@code GameLoop.TICK_MILLIS}
+ * milliseconds, by a small fixed pool of shared carrier threads; no session and no character
+ * owns a thread, so thousands of sessions run with a handful of threads and a memory footprint
+ * bounded by their boards and inboxes.
+ *
+ * Sessions finish on their own when their time is over or a zombie reaches the house, and are
+ * then removed from the host.
+ */
+public class SessionHost {
+    private final ScheduledExecutorService carriers;
+    private final Map<Long, GameSession> sessions;
+    private final AtomicLong nextId;
+
+    /**
+     * Constructs a new SessionHost with one carrier thread per available processor.
+     */
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new SessionHost with the given number of carrier threads.
+     *
+     * @param carrierThreads the number of threads shared by all the sessions.
+     * @throws POOBvsZOMBIESException if the number of threads is not positive.
+     */
+    public SessionHost(int carrierThreads) {
+        if (carrierThreads <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        AtomicInteger count = new AtomicInteger();
+        this.carriers = Executors.newScheduledThreadPool(carrierThreads, runnable -> {
+            Thread thread = new Thread(runnable, "session-host-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextId = new AtomicLong();
+    }
+
+    /**
+     * Opens a new session playing a match under the given rules and starts advancing it.
+     *
+     * @param rules the game manager of the match; it must not be driven by a window or loop.
+     * @param gameTime the duration of the match in seconds.
+     * @param seed the seed of the random choices of the session.
+     * @return the new session.
+     * @throws POOBvsZOMBIESException if the duration of the match is not positive.
+     */
+    public GameSession open(GameRules rules, int gameTime, long seed) {
+        GameSession session = new GameSession(nextId.incrementAndGet(), rules, gameTime, seed,
+                GameSession.DEFAULT_INBOX_CAPACITY);
+        sessions.put(session.getId(), session);
+        synchronized (session) {
+            session.setTask(carriers.scheduleAtFixedRate(() -> advance(session), 0,
+                    GameLoop.TICK_MILLIS, TimeUnit.MILLISECONDS));
+        }
+        return session;
+    }
+
+    /**
+     * Submits a command to the session with the given identifier without blocking.
+     *
+     * @param id the identifier of the session.
+     * @param command the command to apply on the next tick of the session.
+     * @return true if the command was accepted, false if there is no such session or it
+     *         rejected the command.
+     */
+    public boolean submit(long id, Command command) {
+        GameSession session = sessions.get(id);
+        return session != null && session.submit(command);
+    }
+
+    /**
+     * Retrieves the session with the given identifier.
+     *
+     * @param id the identifier of the session.
+     * @return the session, or null if it does not exist or is already over.
+     */
+    public GameSession getSession(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Retrieves the sessions currently running in the host.
+     *
+     * @return an unmodifiable view of the running sessions.
+     */
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * Retrieves the number of sessions currently running in the host.
+     *
+     * @return the number of running sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops the session with the given identifier and removes it from the host.
+     *
+     * @param id the identifier of the session.
+     */
+    public void close(long id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            synchronized (session) {
+                session.cancel();
+            }
+        }
+    }
+
+    /**
+     * Stops every session and the carrier threads of the host.
+     */
+    public void shutdown() {
+        for (Long id : sessions.keySet()) {
+            close(id);
+        }
+        carriers.shutdown();
+    }
+
+    /**
+     * Advances a session by one tick and removes it from the host once it is over.
+     *
+     * @param session the session to advance.
+     */
+    private void advance(GameSession session) {
+        session.step();
+        if (session.isFinished()) {
+            close(session.getId());
+        }
+    }
+}
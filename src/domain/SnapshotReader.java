@@ -0,0 +1,146 @@
+package domain;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The SnapshotReader class decodes the fields written by a {@link SnapshotWriter}, in the same
+ * order. Reading past the end of the data, or a malformed variable-length quantity, means the
+ * snapshot is corrupt and raises a {@link POOBvsZOMBIESException}.
+ */
+public class SnapshotReader {
+    private final byte[] data;
+    private final int limit;
+    private int position;
+    private long tickBase;
+
+    /**
+     * Constructs a new SnapshotReader over the first bytes of the given array.
+     *
+     * @param data the encoded data.
+     * @param limit the number of meaningful bytes of the array.
+     */
+    public SnapshotReader(byte[] data, int limit) {
+        this.data = data;
+        this.limit = limit;
+        this.position = 0;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte read, between 0 and 255.
+     * @throws POOBvsZOMBIESException if there are no bytes left.
+     */
+    public int readByte() {
+        if (position >= limit) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return data[position++] & 0xFF;
+    }
+
+    /**
+     * Reads a non-negative integer written as a variable-length quantity.
+     *
+     * @return the value read.
+     * @throws POOBvsZOMBIESException if the data is truncated or malformed.
+     */
+    public long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+    }
+
+    /**
+     * Reads a non-negative integer that must fit in an {@code int}.
+     *
+     * @return the value read.
+     * @throws POOBvsZOMBIESException if the data is truncated, malformed or out of range.
+     */
+    public int readInt() {
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a signed integer written by {@code writeSigned}.
+     *
+     * @return the value read.
+     * @throws POOBvsZOMBIESException if the data is truncated or malformed.
+     */
+    public long readSigned() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return the value read.
+     * @throws POOBvsZOMBIESException if there are no bytes left.
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads a string written as its length followed by its UTF-8 bytes.
+     *
+     * @return the string read.
+     * @throws POOBvsZOMBIESException if the data is truncated.
+     */
+    public String readString() {
+        int length = readInt();
+        if (length > limit - position) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Sets the tick of the timing wheel at the moment the snapshot was taken, against which
+     * the deadlines of the timers are read.
+     *
+     * @param tickBase the tick of the saved timing wheel.
+     */
+    public void setTickBase(long tickBase) {
+        this.tickBase = tickBase;
+    }
+
+    /**
+     * Reads the deadline of a timer written by {@code writeDeadline} and converts it to the
+     * number of ticks the timer had left when the snapshot was taken.
+     *
+     * @return the remaining delay of the timer, or 0 if it was not scheduled.
+     * @throws POOBvsZOMBIESException if the data is truncated or the deadline is already past.
+     */
+    public int readDelay() {
+        long deadline = readVarint();
+        if (deadline == 0) {
+            return 0;
+        }
+        if (deadline <= tickBase || deadline - tickBase > Integer.MAX_VALUE) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.CORRUPT_SAVE);
+        }
+        return (int) (deadline - tickBase);
+    }
+
+    /**
+     * Retrieves the number of bytes read so far.
+     *
+     * @return the current position in the data.
+     */
+    public int position() {
+        return position;
+    }
+}
@@ -0,0 +1,143 @@
+package domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The SnapshotWriter class encodes the fields of a game snapshot into a growable byte buffer.
+ * Integers are written as variable-length quantities, seven bits per byte, so the small values
+ * that make up most of a game state, such as positions, hit points and timer delays, take one
+ * or two bytes each. Signed values are zig-zag encoded first so small negative values stay small.
+ */
+public class SnapshotWriter {
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Constructs a new empty SnapshotWriter.
+     */
+    public SnapshotWriter() {
+        this.buffer = new byte[256];
+        this.size = 0;
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value the byte to write; only its eight lower bits are used.
+     */
+    public void writeByte(int value) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, size * 2);
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a non-negative integer as a variable-length quantity.
+     *
+     * @param value the value to write, interpreted as unsigned.
+     */
+    public void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    /**
+     * Writes a signed integer, zig-zag encoded as a variable-length quantity.
+     *
+     * @param value the value to write.
+     */
+    public void writeSigned(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a boolean as a single byte.
+     *
+     * @param value the value to write.
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a string as its length followed by its UTF-8 bytes.
+     *
+     * @param value the string to write.
+     */
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    /**
+     * Writes a 32-bit value as four bytes, most significant first.
+     *
+     * @param value the value to write.
+     */
+    public void writeFixedInt(int value) {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    /**
+     * Writes the tick at which a timer fires next, or 0 if the timer is not scheduled or
+     * was never created.
+     * Deadlines are absolute ticks of the timing wheel, so the encoding of a character does
+     * not change while its timers are just waiting.
+     *
+     * @param timer the timer to write, or null.
+     */
+    public void writeDeadline(WheelTimer timer) {
+        writeVarint(timer != null && timer.isScheduled() ? timer.getDeadline() : 0);
+    }
+
+    /**
+     * Writes bytes encoded by another writer as they are.
+     *
+     * @param data the bytes to write.
+     */
+    public void writeBytes(byte[] data) {
+        if (size + data.length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + data.length));
+        }
+        System.arraycopy(data, 0, buffer, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Retrieves the number of bytes written so far.
+     *
+     * @return the size of the encoded data.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the internal buffer. Only its first {@code size()} bytes are meaningful.
+     *
+     * @return the buffer holding the encoded data.
+     */
+    byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Retrieves a copy of the bytes written so far.
+     *
+     * @return the encoded data.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+}
@@ -0,0 +1,44 @@
+package domain;
+
+/**
+ * The StrategicZombies class is the machine strategic zombie player of the modes where it plays,
+ * such as Machine vs Machine (PlantsStrategic and ZombiesStrategic). It buys zombies with the
+ * brain points of its game, choosing them and where to place them with a {@link ZombiePlanner}.
+ */
+public class StrategicZombies {
+    private final GameRules rules;
+    private ZombiePlanner planner;
+
+    /**
+     * Constructs the zombie player of a game.
+     *
+     * @param rules the game manager of the game played.
+     */
+    StrategicZombies(GameRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Sets the planner that chooses the zombies bought by this player.
+     *
+     * @param planner the planner of the zombies, or null to use a planner with the default
+     *                time budget.
+     */
+    public void setPlanner(ZombiePlanner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Makes the next move of this player: the planner searches for the best zombie to buy with
+     * the brain points of the game, and where to place it, within its time budget and the move
+     * is played right away.
+     *
+     * @return true if a zombie was placed, false if the player chose to save its brain points.
+     */
+    public boolean play() {
+        if (planner == null) {
+            planner = new ZombiePlanner();
+        }
+        return planner.play(rules);
+    }
+}
@@ -13,7 +13,7 @@ public class Sunflower extends Support{
      * sun value generation, and time interval for sun production.
      */
     public Sunflower(){
-        super(300,50,25, 20);
+        super(EntityRegistry.SUNFLOWER);
 
     }
 
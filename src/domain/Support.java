@@ -1,9 +1,5 @@
 package domain;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 /**
  * The Support class is an abstract extension of the Plant class, designed to represent
  * a type of plant in the game that generates sunlight at regular intervals. This sunlight
@@ -12,25 +8,18 @@ import java.util.concurrent.TimeUnit;
  * contributing resources while remaining in the game.
  */
 public abstract class Support extends Plant{
-    public int sunValue;
-    public int time;
-    private ScheduledExecutorService scheduler;
+    private final WheelTimer sunTimer;
 
     /**
      * Constructs a Support object which is a type of plant that can generate sunlight
-     * at specified intervals during gameplay. This constructor initializes the plant's
-     * hit points, sun cost, sun generation value, and time interval for sunlight production.
+     * at specified intervals during gameplay. The sun generation value and the time interval
+     * for sunlight production are those of the type of the plant.
      *
-     * @param hitPoints the initial number of hit points for the support plant.
-     * @param costSun the amount of sun required to deploy the support plant.
-     * @param sunValue the value of sun generated by the plant at each interval.
-     * @param time the interval in seconds at which the plant generates sun.
+     * @param type the type of the support plant.
      */
-    public Support(int hitPoints, int costSun, int sunValue, int time) {
-        super(hitPoints, costSun);
-        this.sunValue = sunValue;
-        this.time = time * 1000;
-        generateSun();
+    public Support(EntityType type) {
+        super(type);
+        this.sunTimer = new WheelTimer(this, this::generateSun);
     }
 
     /**
@@ -39,49 +28,78 @@ public abstract class Support extends Plant{
      * @return the sun value generated by the plant.
      */
     public int getSunValue() {
-        return sunValue;
+        return getType().getResourceValue();
     }
 
+    /**
+     * Retrieves the interval at which the plant generates sun.
+     *
+     * @return the interval in milliseconds.
+     */
     public double getTime() {
-        return time;
+        return getType().getActionTime() * 1000;
+    }
+
+    /**
+     * Starts the generation of sunlight once the plant has been placed on the board. The
+     * plant produces sunlight on the next tick and then once every {@code getTime} milliseconds,
+     * using a timer on the board's shared timing wheel, until it is explicitly stopped by
+     * methods such as stopGeneratingSun.
+     *
+     * @param board the board on which the plant has been placed.
+     */
+    @Override
+    public void onPlaced(Board board) {
+        board.getTimers().scheduleAtFixedRate(sunTimer, 0, GameLoop.toTicks(getType().getActionTime()));
     }
 
     /**
-     * Initiates the generation of sunlight at fixed intervals. This method schedules
-     * a recurring task that generates and adds a specified amount of sunlight to the
-     * game's resources at regular time intervals defined by the 'time' parameter.
-     * The sunlight is generated and added to the game resources starting immediately
-     * with no initial delay. The amount of sunlight generated is determined by the
-     * sun value of the support plant.
+     * Stops the generation of sunlight once the plant has been removed from the board.
      *
-     * The method utilizes a single-threaded scheduled executor service to manage
-     * the timing of the sunlight generation task. The executor schedules the task
-     * to run with a fixed delay between successive executions, ensuring that sunlight
-     * is generated consistently throughout the lifecycle of the support plant.
+     * @param board the board from which the plant has been removed.
+     */
+    @Override
+    public void onRemoved(Board board) {
+        stopGeneratingSun();
+    }
+
+    /**
+     * Generates sunlight and adds it to the resources of the board the plant is placed on,
+     * which forwards it to the game that owns the board. The amount of sunlight generated
+     * is determined by the sun value of the support plant.
      *
-     * This method is automatically called during the construction of a Support instance
-     * and establishes the continuous generation of resources until it is explicitly
-     * stopped by methods such as stopGeneratingSun.
+     * This method is invoked each time the sun timer of the plant expires, so the generation
+     * follows the simulation clock instead of a dedicated thread.
      */
     public void generateSun() {
-        scheduler = Executors.newSingleThreadScheduledExecutor();
-        scheduler.scheduleAtFixedRate(() -> {
-            GameManager.getInstance().collectSun(getSunValue());
-            System.out.println("Generando " + getSunValue() + " soles...");
-        }, 0, time, TimeUnit.MILLISECONDS);
+        Board board = getBoard();
+        if (board != null) {
+            board.collectSun(getSunValue());
+        }
     }
 
     /**
-     * Stops the generation of sunlight by shutting down the scheduled executor service
-     * responsible for periodically adding sunlight resources to the game. If the scheduler
-     * is not null, this method will terminate its operations, effectively halting any
-     * ongoing or future sunlight generation tasks. This is typically used to stop the
-     * automatic generation of sunlight when it is no longer needed, such as when the support
-     * plant is removed from the game or its functionality is otherwise disabled.
+     * Stops the generation of sunlight by cancelling the sun timer of the plant, halting
+     * any future sunlight generation.
+     * This is typically used to stop the automatic generation of sunlight when it is no
+     * longer needed, such as when the support plant is removed from the game or its
+     * functionality is otherwise disabled.
      */
     public void stopGeneratingSun() {
-        if (scheduler != null) {
-            scheduler.shutdown();
+        sunTimer.cancel();
+    }
+
+    @Override
+    void writeState(SnapshotWriter out) {
+        out.writeDeadline(sunTimer);
+    }
+
+    @Override
+    void readState(SnapshotReader in, Board board) {
+        int remaining = in.readDelay();
+        sunTimer.cancel();
+        if (remaining > 0) {
+            board.getTimers().scheduleAtFixedRate(sunTimer, remaining, GameLoop.toTicks(getType().getActionTime()));
         }
     }
 }
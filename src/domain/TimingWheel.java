@@ -0,0 +1,190 @@
+package domain;
+
+/**
+ * The TimingWheel class is a hashed timing wheel shared by all the timers of a board, such as
+ * zombie movement and attack cooldowns, sun generation and potato mine arming.
+ *
+ * Timers are stored in a circular array of slots indexed by their deadline tick. Registering
+ * and cancelling a timer is O(1), and advancing the wheel only visits the timers stored in the
+ * current slot. Timers whose deadline lies more than one revolution ahead keep a count of the
+ * remaining rounds, so the wheel handles arbitrarily long delays with a fixed number of slots.
+ * Timers are intrusive {@link WheelTimer} nodes, so the wheel never allocates while running.
+ */
+public class TimingWheel {
+    private static final int DEFAULT_SLOTS = 512;
+
+    private final WheelTimer[] heads;
+    private final WheelTimer[] tails;
+    private final int mask;
+    private long tick;
+    private int size;
+
+    /**
+     * Constructs a new TimingWheel with the default number of slots.
+     */
+    public TimingWheel() {
+        this(DEFAULT_SLOTS);
+    }
+
+    /**
+     * Constructs a new TimingWheel with at least the given number of slots. The number of
+     * slots is rounded up to the next power of two.
+     *
+     * @param slots the minimum number of slots of the wheel.
+     * @throws POOBvsZOMBIESException if the number of slots is not positive.
+     */
+    public TimingWheel(int slots) {
+        if (slots <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        int capacity = Integer.highestOneBit(slots);
+        if (capacity < slots) {
+            capacity <<= 1;
+        }
+        this.heads = new WheelTimer[capacity];
+        this.tails = new WheelTimer[capacity];
+        this.mask = capacity - 1;
+        this.tick = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Schedules the timer to fire once after the given number of ticks. A delay of zero
+     * fires the timer on the next tick. Scheduling a timer that is already scheduled
+     * replaces its previous deadline.
+     *
+     * @param timer the timer to schedule.
+     * @param delay the number of ticks to wait before firing.
+     */
+    public void schedule(WheelTimer timer, int delay) {
+        scheduleAtFixedRate(timer, delay, 0);
+    }
+
+    /**
+     * Schedules the timer to fire after the given number of ticks and then repeatedly every
+     * {@code period} ticks until it is cancelled. A period of zero schedules a one-shot timer.
+     *
+     * @param timer the timer to schedule.
+     * @param delay the number of ticks to wait before the first expiration.
+     * @param period the number of ticks between successive expirations.
+     */
+    public void scheduleAtFixedRate(WheelTimer timer, int delay, int period) {
+        timer.cancel();
+        timer.period = Math.max(0, period);
+        insert(timer, tick + Math.max(1, delay));
+        timer.touch();
+    }
+
+    /**
+     * Advances the wheel by one tick and fires every timer whose deadline is the new tick.
+     * Timers fire in the order in which they were scheduled. A timer may schedule or cancel
+     * any timer, including itself, while it is firing.
+     */
+    public void advance() {
+        tick++;
+        int slot = (int) (tick & mask);
+        WheelTimer expired = null;
+        WheelTimer last = null;
+        WheelTimer timer = heads[slot];
+        while (timer != null) {
+            WheelTimer next = timer.next;
+            if (timer.rounds > 0) {
+                timer.rounds--;
+            } else {
+                unlink(timer);
+                timer.state = WheelTimer.EXPIRED;
+                timer.nextExpired = null;
+                if (last == null) {
+                    expired = timer;
+                } else {
+                    last.nextExpired = timer;
+                }
+                last = timer;
+            }
+            timer = next;
+        }
+        while (expired != null) {
+            WheelTimer current = expired;
+            expired = current.nextExpired;
+            current.nextExpired = null;
+            if (current.state != WheelTimer.EXPIRED) {
+                continue;
+            }
+            current.touch();
+            current.fire();
+            if (current.state == WheelTimer.EXPIRED) {
+                if (current.period > 0) {
+                    insert(current, current.deadline + current.period);
+                } else {
+                    current.state = WheelTimer.IDLE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the current tick of the wheel.
+     *
+     * @return the number of times the wheel has been advanced.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Retrieves the number of timers currently waiting to fire.
+     *
+     * @return the number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends the timer to the slot of the given deadline.
+     *
+     * @param timer the timer to insert.
+     * @param deadline the tick at which the timer must fire.
+     */
+    private void insert(WheelTimer timer, long deadline) {
+        int slot = (int) (deadline & mask);
+        timer.wheel = this;
+        timer.deadline = deadline;
+        timer.rounds = (deadline - tick - 1) / heads.length;
+        timer.slot = slot;
+        timer.state = WheelTimer.SCHEDULED;
+        timer.next = null;
+        timer.prev = tails[slot];
+        if (tails[slot] == null) {
+            heads[slot] = timer;
+        } else {
+            tails[slot].next = timer;
+        }
+        tails[slot] = timer;
+        size++;
+    }
+
+    /**
+     * Removes the timer from the slot that holds it.
+     *
+     * @param timer the timer to remove.
+     */
+    void unlink(WheelTimer timer) {
+        int slot = timer.slot;
+        if (timer.prev == null) {
+            heads[slot] = timer.next;
+        } else {
+            timer.prev.next = timer.next;
+        }
+        if (timer.next == null) {
+            tails[slot] = timer.prev;
+        } else {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = -1;
+        timer.state = WheelTimer.IDLE;
+        size--;
+    }
+}
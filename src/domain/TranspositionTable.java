@@ -0,0 +1,159 @@
+package domain;
+
+/**
+ * The TranspositionTable class remembers the results of a game tree search by the hash of the
+ * position they were computed for, so a position reached again through another order of moves
+ * is not searched twice. The table has a fixed number of slots, kept in primitive arrays and
+ * indexed by the low bits of the hash; when two positions compete for a slot, the one searched
+ * deeper or in the current search wins.
+ *
+ * Every entry records whether its value is exact or only a lower or upper bound of the value of
+ * the position, as left by the cut-offs of an alpha-beta search, and the index of the best move
+ * found, which is searched first the next time the position is met.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private final int mask;
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] depths;
+    private final byte[] bounds;
+    private final short[] moves;
+    private final byte[] generations;
+    private byte generation;
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructs a new empty TranspositionTable.
+     *
+     * @param capacity the maximum number of entries, rounded up to a power of two.
+     * @throws POOBvsZOMBIESException if the capacity is not positive or exceeds 2^30.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.depths = new byte[size];
+        this.bounds = new byte[size];
+        this.moves = new short[size];
+        this.generations = new byte[size];
+        this.generation = 1;
+    }
+
+    /**
+     * Starts a new search. Entries of earlier searches are kept and can still be found, but
+     * any new entry may replace them.
+     */
+    public void newSearch() {
+        generation = (byte) (generation == Byte.MAX_VALUE ? 1 : generation + 1);
+    }
+
+    /**
+     * Finds the entry of a position.
+     *
+     * @param key the hash of the position.
+     * @return the slot of the entry, or -1 if the position is not in the table.
+     */
+    public int find(long key) {
+        probes++;
+        int slot = (int) key & mask;
+        if (generations[slot] != 0 && keys[slot] == key) {
+            hits++;
+            return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the result of the search of a position, unless its slot holds a deeper result of
+     * another position found in the current search.
+     *
+     * @param key the hash of the position.
+     * @param depth the depth the position was searched to.
+     * @param value the value found for the position.
+     * @param bound whether the value is {@code EXACT}, a {@code LOWER} bound or an {@code UPPER}
+     *              bound of the value of the position.
+     * @param move the index of the best move found, or -1 if there is none.
+     */
+    public void store(long key, int depth, double value, int bound, int move) {
+        int slot = (int) key & mask;
+        if (generations[slot] == generation && keys[slot] != key && depths[slot] > depth) {
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        depths[slot] = (byte) depth;
+        bounds[slot] = (byte) bound;
+        moves[slot] = (short) move;
+        generations[slot] = generation;
+    }
+
+    /**
+     * Retrieves the value of an entry.
+     *
+     * @param slot the slot returned by {@code find}.
+     * @return the value of the position.
+     */
+    public double getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Retrieves the depth an entry was searched to.
+     *
+     * @param slot the slot returned by {@code find}.
+     * @return the depth of the entry.
+     */
+    public int getDepth(int slot) {
+        return depths[slot];
+    }
+
+    /**
+     * Retrieves the kind of bound of the value of an entry.
+     *
+     * @param slot the slot returned by {@code find}.
+     * @return {@code EXACT}, {@code LOWER} or {@code UPPER}.
+     */
+    public int getBound(int slot) {
+        return bounds[slot];
+    }
+
+    /**
+     * Retrieves the index of the best move of an entry.
+     *
+     * @param slot the slot returned by {@code find}.
+     * @return the index of the best move, or -1 if there is none.
+     */
+    public int getMove(int slot) {
+        return moves[slot];
+    }
+
+    /**
+     * Retrieves the number of slots of the table.
+     *
+     * @return the capacity of the table.
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Retrieves the fraction of the lookups that found their position.
+     *
+     * @return the hit rate, between 0 and 1, or 0 if nothing was looked up yet.
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
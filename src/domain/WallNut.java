@@ -12,6 +12,6 @@ public class WallNut extends Defensive{
      * these characteristics from its parent class, Defensive.
      */
     public WallNut() {
-        super(4000, 50);
+        super(EntityRegistry.WALL_NUT);
     }
 }
@@ -0,0 +1,480 @@
+package domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The WaveReader class reads a wave file, as written by {@code GameManager.export}, one zombie at
+ * a time. The file is parsed directly from its bytes, memory-mapped when it is large, without
+ * creating a {@code String} per line: numbers are parsed in place and the names of the zombies
+ * are interned, so reading an entry allocates nothing and a zombie is only created when it is
+ * requested with {@code create}.
+ *
+ * A text wave file starts with three lines holding the sun points, the brain points and the
+ * game time, followed by one line per zombie with its name, hit points and cost in brains
+ * separated by commas. Blank lines and spaces around the fields are ignored. Files starting
+ * with the magic bytes of the binary format of {@link WaveWriter} are read in that format.
+ */
+public class WaveReader {
+    public static final int MAP_THRESHOLD = 1 << 20;
+
+    private final ByteBuffer data;
+    private final int sunPoints;
+    private final int brainPoints;
+    private final int gameTime;
+    private byte[][] nameBytes;
+    private String[] names;
+    private int nameCount;
+    private String name;
+    private int hitPoints;
+    private int costBrains;
+    private int entries;
+    private int pos;
+    private int limit;
+    private boolean binary;
+    private boolean repeat;
+
+    /**
+     * Opens a wave file and reads its header. Files of at least {@code MAP_THRESHOLD} bytes are
+     * memory-mapped, smaller files are read at once.
+     *
+     * @param file the wave file to read.
+     * @throws POOBvsZOMBIESException if the file cannot be read or its header is not valid.
+     */
+    public WaveReader(File file) throws POOBvsZOMBIESException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new POOBvsZOMBIESException("Error al importar el archivo: archivo demasiado grande");
+            }
+            if (size >= MAP_THRESHOLD) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                data = ByteBuffer.allocate((int) size);
+                while (data.hasRemaining() && channel.read(data) >= 0) {
+                    // keeps reading until the whole file is in the buffer
+                }
+                data.flip();
+            }
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al importar el archivo: " + e.getMessage());
+        }
+        this.limit = data.limit();
+        this.nameBytes = new byte[8][];
+        this.names = new String[8];
+        this.binary = limit >= WaveWriter.MAGIC.length && matches(WaveWriter.MAGIC, 0);
+        if (binary) {
+            pos = WaveWriter.MAGIC.length;
+            if (readVarint() != WaveWriter.VERSION) {
+                throw error("versión no soportada");
+            }
+            this.sunPoints = readSigned();
+            this.brainPoints = readSigned();
+            this.gameTime = readSigned();
+        } else {
+            this.sunPoints = readHeaderLine();
+            this.brainPoints = readHeaderLine();
+            this.gameTime = readHeaderLine();
+        }
+    }
+
+    /**
+     * Constructs a WaveReader that goes on reading the same file from the position of another one.
+     * The bytes of the file are shared, the table of names is copied.
+     *
+     * @param other the reader to copy.
+     * @param repeat true if the first call to {@code next} must return the current entry again.
+     *               It is also returned again if the other reader was still going to return it.
+     */
+    private WaveReader(WaveReader other, boolean repeat) {
+        this.data = other.data;
+        this.sunPoints = other.sunPoints;
+        this.brainPoints = other.brainPoints;
+        this.gameTime = other.gameTime;
+        this.nameBytes = other.nameBytes.clone();
+        this.names = other.names.clone();
+        this.nameCount = other.nameCount;
+        this.name = other.name;
+        this.hitPoints = other.hitPoints;
+        this.costBrains = other.costBrains;
+        this.entries = other.entries;
+        this.pos = other.pos;
+        this.limit = other.limit;
+        this.binary = other.binary;
+        this.repeat = repeat || other.repeat;
+    }
+
+    /**
+     * Creates a reader that reads the rest of the wave independently of this one, for instance on
+     * another thread. Reading never modifies the bytes of the file, so both readers share them.
+     *
+     * @param current true if the copy must start with the current entry of this reader, false if
+     *                it must start with the next one.
+     * @return the copy of this reader.
+     */
+    WaveReader copy(boolean current) {
+        return new WaveReader(this, current);
+    }
+
+    /**
+     * Advances to the next zombie of the wave.
+     *
+     * @return true if there was another zombie, false at the end of the file.
+     * @throws POOBvsZOMBIESException if the line of the zombie is not valid.
+     */
+    public boolean next() throws POOBvsZOMBIESException {
+        if (repeat) {
+            repeat = false;
+            return true;
+        }
+        if (binary) {
+            return nextBinary();
+        }
+        skipBlankLines();
+        if (pos >= limit) {
+            return false;
+        }
+        skipSpaces();
+        int start = pos;
+        while (pos < limit && data.get(pos) != ',' && !isLineEnd(data.get(pos))) {
+            pos++;
+        }
+        int end = pos;
+        while (end > start && data.get(end - 1) == ' ') {
+            end--;
+        }
+        name = intern(start, end - start);
+        expect(',');
+        hitPoints = readInt();
+        expect(',');
+        costBrains = readInt();
+        skipSpaces();
+        if (pos < limit && !isLineEnd(data.get(pos))) {
+            throw error("se esperaba el fin de la línea");
+        }
+        entries++;
+        return true;
+    }
+
+    /**
+     * Advances to the next zombie of a binary wave file, reading the name of its type if the
+     * type is declared by this entry.
+     *
+     * @return true if there was another zombie, false at the end of the file.
+     * @throws POOBvsZOMBIESException if the entry is truncated or refers to an unknown type.
+     */
+    private boolean nextBinary() {
+        if (pos >= limit) {
+            return false;
+        }
+        long type = readVarint();
+        if (type == nameCount) {
+            long length = readVarint();
+            if (length > limit - pos) {
+                throw error("archivo truncado");
+            }
+            declare(pos, (int) length);
+            pos += (int) length;
+        } else if (type > nameCount) {
+            throw error("tipo de zombi desconocido");
+        }
+        name = names[(int) type];
+        hitPoints = readSigned();
+        costBrains = readSigned();
+        entries++;
+        return true;
+    }
+
+    /**
+     * Creates the zombie of the current entry.
+     *
+     * @return a new zombie with the hit points and cost of the current entry.
+     */
+    public Zombies create() {
+        return new CustomZombie(name, hitPoints, costBrains);
+    }
+
+    /**
+     * Retrieves the name of the zombie of the current entry. Names are interned, so every entry
+     * with the same name returns the same instance.
+     *
+     * @return the name of the zombie.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the hit points of the zombie of the current entry.
+     *
+     * @return the hit points of the zombie.
+     */
+    public int getHitPoints() {
+        return hitPoints;
+    }
+
+    /**
+     * Retrieves the cost in brains of the zombie of the current entry.
+     *
+     * @return the cost of the zombie.
+     */
+    public int getCostBrains() {
+        return costBrains;
+    }
+
+    /**
+     * Retrieves the number of zombies read so far.
+     *
+     * @return the number of entries read.
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Retrieves the sun points of the header of the wave.
+     *
+     * @return the initial sun points.
+     */
+    public int getSunPoints() {
+        return sunPoints;
+    }
+
+    /**
+     * Retrieves the brain points of the header of the wave.
+     *
+     * @return the initial brain points.
+     */
+    public int getBrainPoints() {
+        return brainPoints;
+    }
+
+    /**
+     * Retrieves the game time of the header of the wave.
+     *
+     * @return the game time in seconds.
+     */
+    public int getGameTime() {
+        return gameTime;
+    }
+
+    /**
+     * Reads a line of the header holding a single number.
+     *
+     * @return the number of the line.
+     * @throws POOBvsZOMBIESException if the line is missing or does not hold a number.
+     */
+    private int readHeaderLine() {
+        int value = readInt();
+        skipSpaces();
+        if (pos < limit) {
+            if (!isLineEnd(data.get(pos))) {
+                throw error("se esperaba el fin de la línea");
+            }
+            skipLineEnd();
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal integer at the current position, after optional spaces.
+     *
+     * @return the parsed number.
+     * @throws POOBvsZOMBIESException if there is no number or it does not fit in an int.
+     */
+    private int readInt() {
+        skipSpaces();
+        boolean negative = pos < limit && data.get(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < limit) {
+            byte b = data.get(pos);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error("número fuera de rango");
+            }
+            pos++;
+            digits++;
+        }
+        if (digits == 0 || (!negative && value > Integer.MAX_VALUE)) {
+            throw error("se esperaba un número");
+        }
+        skipSpaces();
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Reads a non-negative number written as a variable-length quantity.
+     *
+     * @return the number read.
+     * @throws POOBvsZOMBIESException if the number is truncated or malformed.
+     */
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos >= limit) {
+                throw error("archivo truncado");
+            }
+            byte b = data.get(pos++);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw error("número mal formado");
+    }
+
+    /**
+     * Reads a signed number written as a zig-zag encoded variable-length quantity.
+     *
+     * @return the number read.
+     * @throws POOBvsZOMBIESException if the number is truncated or does not fit in an int.
+     */
+    private int readSigned() {
+        long raw = readVarint();
+        long value = (raw >>> 1) ^ -(raw & 1);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("número fuera de rango");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Consumes the given separator, after optional spaces.
+     *
+     * @param separator the expected byte.
+     * @throws POOBvsZOMBIESException if the next byte is not the separator.
+     */
+    private void expect(char separator) {
+        skipSpaces();
+        if (pos >= limit || data.get(pos) != separator) {
+            throw error("se esperaba '" + separator + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Returns the interned name stored in the given bytes of the file, creating the
+     * {@code String} only the first time the name is seen.
+     *
+     * @param start the position of the first byte of the name.
+     * @param length the number of bytes of the name.
+     * @return the interned name.
+     */
+    private String intern(int start, int length) {
+        for (int i = 0; i < nameCount; i++) {
+            byte[] known = nameBytes[i];
+            if (known.length == length && matches(known, start)) {
+                return names[i];
+            }
+        }
+        return declare(start, length);
+    }
+
+    /**
+     * Adds a new name, stored in the given bytes of the file, to the table of names.
+     *
+     * @param start the position of the first byte of the name.
+     * @param length the number of bytes of the name.
+     * @return the new name.
+     */
+    private String declare(int start, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data.get(start + i);
+        }
+        if (nameCount == names.length) {
+            nameBytes = Arrays.copyOf(nameBytes, nameCount * 2);
+            names = Arrays.copyOf(names, nameCount * 2);
+        }
+        nameBytes[nameCount] = bytes;
+        names[nameCount] = new String(bytes, StandardCharsets.UTF_8);
+        return names[nameCount++];
+    }
+
+    /**
+     * Compares a known name with the bytes of the file at the given position.
+     *
+     * @param known the bytes of the known name.
+     * @param start the position in the file.
+     * @return true if the bytes are equal.
+     */
+    private boolean matches(byte[] known, int start) {
+        for (int i = 0; i < known.length; i++) {
+            if (known[i] != data.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips spaces and tabs at the current position.
+     */
+    private void skipSpaces() {
+        while (pos < limit && (data.get(pos) == ' ' || data.get(pos) == '\t')) {
+            pos++;
+        }
+    }
+
+    /**
+     * Skips the end of the current line, either a line feed or a carriage return and a line feed.
+     */
+    private void skipLineEnd() {
+        if (pos < limit && data.get(pos) == '\r') {
+            pos++;
+        }
+        if (pos < limit && data.get(pos) == '\n') {
+            pos++;
+        }
+    }
+
+    /**
+     * Skips the end of the current line and any following line holding only spaces.
+     */
+    private void skipBlankLines() {
+        while (pos < limit) {
+            int start = pos;
+            skipSpaces();
+            if (pos >= limit) {
+                return;
+            }
+            if (!isLineEnd(data.get(pos))) {
+                pos = start;
+                return;
+            }
+            skipLineEnd();
+        }
+    }
+
+    /**
+     * Determines whether a byte ends a line.
+     *
+     * @param b the byte to check.
+     * @return true for a carriage return or a line feed.
+     */
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Creates the exception reported for a malformed file, with the position of the error.
+     *
+     * @param reason the description of the error.
+     * @return the exception to throw.
+     */
+    private POOBvsZOMBIESException error(String reason) {
+        return new POOBvsZOMBIESException("Error al importar el archivo: " + reason + " (byte " + pos + ")");
+    }
+}
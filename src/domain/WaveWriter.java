@@ -0,0 +1,219 @@
+package domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The WaveWriter class writes wave files in bulk, either as text, in the format read by
+ * {@code GameManager.aimport}, or in a compact binary format. Zombies are encoded straight into
+ * one reusable byte buffer, which is written to the file whenever it fills up, and the name of
+ * every type of zombie is converted to bytes only once, so exporting large waves costs no
+ * allocation per zombie.
+ *
+ * A binary wave file starts with the magic bytes {@code PVZW} and a format version, followed by
+ * the sun points, brain points and game time and then, for every zombie, the index of its type,
+ * its hit points and its cost in brains. A type is declared with its name the first time it is
+ * used. Every number is written as a variable-length quantity. {@link WaveReader} reads both
+ * formats.
+ */
+public class WaveWriter {
+    public static final int VERSION = 1;
+    static final byte[] MAGIC = {'P', 'V', 'Z', 'W'};
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final boolean binary;
+    private Class<?>[] types;
+    private byte[][] typeNames;
+    private int typeCount;
+    private int declaredTypes;
+    private int entries;
+
+    /**
+     * Creates a wave file, replacing any previous content, and writes its header.
+     *
+     * @param file the wave file to write.
+     * @param binary true to write the binary format, false to write text.
+     * @param sunPoints the initial sun points of the wave.
+     * @param brainPoints the initial brain points of the wave.
+     * @param gameTime the game time of the wave in seconds.
+     * @throws POOBvsZOMBIESException if the file cannot be created.
+     */
+    public WaveWriter(File file, boolean binary, int sunPoints, int brainPoints, int gameTime)
+            throws POOBvsZOMBIESException {
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al exportar el archivo: " + e.getMessage());
+        }
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.binary = binary;
+        this.types = new Class<?>[8];
+        this.typeNames = new byte[8][];
+        if (binary) {
+            buffer.put(MAGIC);
+            putVarint(VERSION);
+            putSigned(sunPoints);
+            putSigned(brainPoints);
+            putSigned(gameTime);
+        } else {
+            putDecimal(sunPoints);
+            buffer.put((byte) '\n');
+            putDecimal(brainPoints);
+            buffer.put((byte) '\n');
+            putDecimal(gameTime);
+            buffer.put((byte) '\n');
+        }
+    }
+
+    /**
+     * Appends a zombie to the wave, with the same name, hit points and cost as its
+     * {@code toString} representation.
+     *
+     * @param zombie the zombie to write.
+     * @throws POOBvsZOMBIESException if the file cannot be written.
+     */
+    public void write(Zombies zombie) throws POOBvsZOMBIESException {
+        int type = typeOf(zombie.getClass());
+        byte[] name = typeNames[type];
+        if (buffer.remaining() < name.length + 32) {
+            flush();
+        }
+        if (binary) {
+            putVarint(type);
+            if (type == declaredTypes) {
+                putVarint(name.length);
+                buffer.put(name);
+                declaredTypes++;
+            }
+            putSigned(zombie.getHitPoints());
+            putSigned(zombie.getCostBrains());
+        } else {
+            buffer.put(name);
+            buffer.put((byte) ',');
+            putDecimal(zombie.getHitPoints());
+            buffer.put((byte) ',');
+            putDecimal(zombie.getCostBrains());
+            buffer.put((byte) '\n');
+        }
+        entries++;
+    }
+
+    /**
+     * Writes the zombies still in the buffer and closes the file.
+     *
+     * @throws POOBvsZOMBIESException if the file cannot be written.
+     */
+    public void close() throws POOBvsZOMBIESException {
+        try {
+            flush();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new POOBvsZOMBIESException("Error al exportar el archivo: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of zombies written so far.
+     *
+     * @return the number of entries written.
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Writes the content of the buffer to the file and empties it.
+     *
+     * @throws POOBvsZOMBIESException if the file cannot be written.
+     */
+    private void flush() throws POOBvsZOMBIESException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new POOBvsZOMBIESException("Error al exportar el archivo: " + e.getMessage());
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Finds the index of a type of zombie, converting its name to bytes the first time the
+     * type is seen.
+     *
+     * @param type the class of the zombie.
+     * @return the index of the type.
+     */
+    private int typeOf(Class<?> type) {
+        for (int i = 0; i < typeCount; i++) {
+            if (types[i] == type) {
+                return i;
+            }
+        }
+        if (typeCount == types.length) {
+            types = Arrays.copyOf(types, typeCount * 2);
+            typeNames = Arrays.copyOf(typeNames, typeCount * 2);
+        }
+        types[typeCount] = type;
+        typeNames[typeCount] = type.getSimpleName().getBytes(StandardCharsets.UTF_8);
+        return typeCount++;
+    }
+
+    /**
+     * Puts a number in decimal digits.
+     *
+     * @param value the number to put.
+     */
+    private void putDecimal(int value) {
+        long number = value;
+        if (number < 0) {
+            buffer.put((byte) '-');
+            number = -number;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + number % 10));
+            number /= 10;
+        } while (number > 0);
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte digit = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, digit);
+        }
+    }
+
+    /**
+     * Puts a non-negative number as a variable-length quantity.
+     *
+     * @param value the number to put.
+     */
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Puts a signed number as a zig-zag encoded variable-length quantity.
+     *
+     * @param value the number to put.
+     */
+    private void putSigned(long value) {
+        putVarint((value << 1) ^ (value >> 63));
+    }
+}
@@ -0,0 +1,95 @@
+package domain;
+
+/**
+ * Represents a timer that can be registered in a {@link TimingWheel}. A WheelTimer is an
+ * intrusive node: it carries its own links inside the wheel, so scheduling, cancelling and
+ * re-arming it never allocates. Entities usually create their timers once and reuse them for
+ * their whole lifetime.
+ */
+public class WheelTimer {
+    static final int IDLE = 0;
+    static final int SCHEDULED = 1;
+    static final int EXPIRED = 2;
+
+    private final Runnable action;
+    private final Character owner;
+    TimingWheel wheel;
+    WheelTimer prev;
+    WheelTimer next;
+    WheelTimer nextExpired;
+    int state;
+    int slot;
+    long deadline;
+    long rounds;
+    int period;
+
+    /**
+     * Constructs a new WheelTimer that runs the given action every time it expires.
+     *
+     * @param action the action executed when the timer fires.
+     */
+    public WheelTimer(Runnable action) {
+        this(null, action);
+    }
+
+    /**
+     * Constructs a new WheelTimer owned by a character. Every change of the timer marks the
+     * row of its owner as changed, since pending timers are part of a saved game.
+     *
+     * @param owner the character whose state includes this timer.
+     * @param action the action to run on every expiration.
+     */
+    public WheelTimer(Character owner, Runnable action) {
+        this.owner = owner;
+        this.action = action;
+        this.state = IDLE;
+        this.slot = -1;
+    }
+
+    /**
+     * Determines whether the timer is currently waiting to fire in a wheel.
+     *
+     * @return true if the timer is scheduled, false otherwise.
+     */
+    public boolean isScheduled() {
+        return state == SCHEDULED;
+    }
+
+    /**
+     * Cancels the timer. A cancelled timer does not fire again until it is scheduled anew.
+     * Cancelling a timer that is not scheduled has no effect.
+     */
+    public void cancel() {
+        if (state == SCHEDULED) {
+            wheel.unlink(this);
+            touch();
+        }
+        state = IDLE;
+        period = 0;
+    }
+
+    /**
+     * Retrieves the tick at which the timer fires next.
+     *
+     * @return the tick of the next expiration, meaningful only while the timer is scheduled.
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Marks the row of the owner of this timer as changed, if the timer has an owner.
+     */
+    void touch() {
+        if (owner != null) {
+            owner.markDirty();
+        }
+    }
+
+    /**
+     * Runs the action associated with this timer.
+     */
+    void fire() {
+        action.run();
+    }
+}
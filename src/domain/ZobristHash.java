@@ -0,0 +1,221 @@
+package domain;
+
+/**
+ * The ZobristHash class keeps a 64-bit Zobrist hash of the state of a board: the type and hit
+ * points of the plant and zombie of every cell and the lawn mowers still available. Every piece
+ * of state has its own pseudo-random key, and the hash is the exclusive or of the keys of the
+ * pieces present, so placing, removing, moving or damaging a character only toggles a couple of
+ * keys instead of hashing the whole grid again.
+ *
+ * Hit points are hashed by bucket, {@code HP_BUCKETS} buckets per type, so a hash tells apart
+ * a fresh zombie from an almost defeated one without changing on every single hit. The keys are
+ * derived from a fixed seed, so two processes simulating the same game compute the same hash,
+ * which makes the hash usable for replay verification and for detecting desynchronized peers.
+ */
+public class ZobristHash {
+    public static final int HP_BUCKETS = 16;
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final long CHARACTER = 1;
+    private static final long LAWN_MOWER = 2;
+    private static final long SUN = 3;
+    private static final long BRAIN = 4;
+    private static final long TICK = 5;
+    private static final int UNTYPED_HIT_POINTS = 1000;
+
+    private final int columns;
+    private long value;
+
+    /**
+     * Constructs the hash of an empty board whose lawn mowers are all available.
+     *
+     * @param rows the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    ZobristHash(int rows, int columns) {
+        this.columns = columns;
+        for (int i = 0; i < rows; i++) {
+            toggleLawnMower(i);
+        }
+    }
+
+    /**
+     * Retrieves the current hash of the board.
+     *
+     * @return the hash of the characters and lawn mowers of the board.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Combines the hash of the board with the resources of the game and the current tick.
+     * These values change on almost every tick, so their keys are folded in when the hash
+     * is read instead of being kept up to date.
+     *
+     * @param sunPoints the sun points of the game.
+     * @param brainPoints the brain points of the game.
+     * @param tick the current tick of the game.
+     * @return the hash of the whole game state.
+     */
+    public long withResources(int sunPoints, int brainPoints, long tick) {
+        return value ^ key(SUN, sunPoints) ^ key(BRAIN, brainPoints) ^ key(TICK, tick);
+    }
+
+    /**
+     * Adds a character to the hash, or removes it if it was already there.
+     *
+     * @param character the character placed on or removed from the board.
+     * @param plant true if the character is a plant, false if it is a zombie.
+     * @param row the row of the cell of the character.
+     * @param col the column of the cell of the character.
+     */
+    void toggle(Character character, boolean plant, int row, int col) {
+        EntityType type = character.getType();
+        toggle(plant, slotOf(type), bucket(character.getHitPoints(), maxHitPoints(type)), row, col);
+    }
+
+    /**
+     * Updates the hash after the hit points of a character on the board changed. Nothing
+     * changes unless the hit points moved to another bucket.
+     *
+     * @param character the damaged or healed character.
+     * @param plant true if the character is a plant, false if it is a zombie.
+     * @param before the hit points of the character before the change.
+     */
+    void changeHitPoints(Character character, boolean plant, int before) {
+        EntityType type = character.getType();
+        int max = maxHitPoints(type);
+        int from = bucket(before, max);
+        int to = bucket(character.getHitPoints(), max);
+        if (from != to) {
+            int slot = slotOf(type);
+            toggle(plant, slot, from, character.getRow(), character.getCol());
+            toggle(plant, slot, to, character.getRow(), character.getCol());
+        }
+    }
+
+    /**
+     * Adds a character stored by a {@link PackedBoard} to the hash, or removes it if it was
+     * already there. Packed characters hash the same as the objects they stand for.
+     *
+     * @param plant true if the character is a plant, false if it is a zombie.
+     * @param typeId the registered id of the type of the character.
+     * @param hitPoints the hit points of the character.
+     * @param row the row of the cell of the character.
+     * @param col the column of the cell of the character.
+     */
+    void togglePacked(boolean plant, int typeId, int hitPoints, int row, int col) {
+        EntityType type = plant ? EntityRegistry.plant(typeId) : EntityRegistry.zombie(typeId);
+        toggle(plant, typeId, bucket(hitPoints, type.getHitPoints()), row, col);
+    }
+
+    /**
+     * Updates the hash after the hit points of a character stored by a {@link PackedBoard}
+     * changed.
+     *
+     * @param plant true if the character is a plant, false if it is a zombie.
+     * @param typeId the registered id of the type of the character.
+     * @param before the hit points of the character before the change.
+     * @param after the hit points of the character after the change.
+     * @param row the row of the cell of the character.
+     * @param col the column of the cell of the character.
+     */
+    void changePacked(boolean plant, int typeId, int before, int after, int row, int col) {
+        int max = (plant ? EntityRegistry.plant(typeId) : EntityRegistry.zombie(typeId)).getHitPoints();
+        int from = bucket(before, max);
+        int to = bucket(after, max);
+        if (from != to) {
+            toggle(plant, typeId, from, row, col);
+            toggle(plant, typeId, to, row, col);
+        }
+    }
+
+    /**
+     * Adds the lawn mower of a row to the hash, or removes it once it has been used.
+     *
+     * @param row the row of the lawn mower.
+     */
+    void toggleLawnMower(int row) {
+        value ^= key(LAWN_MOWER, row);
+    }
+
+    /**
+     * Toggles the key of one character in one cell.
+     *
+     * @param plant true if the character is a plant, false if it is a zombie.
+     * @param slot the type slot of the character.
+     * @param bucket the hit point bucket of the character.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    private void toggle(boolean plant, int slot, int bucket, int row, int col) {
+        long cell = (long) row * columns + col;
+        long index = ((cell * 2 + (plant ? 1 : 0)) * (EntityRegistry.zombieCount() + EntityRegistry.plantCount() + 1)
+                + slot) * HP_BUCKETS + bucket;
+        value ^= key(CHARACTER, index);
+    }
+
+    /**
+     * Finds the slot of a type in the keys of a cell. Characters without a registered type,
+     * such as the zombies imported from a wave file, share one slot after the registered ones.
+     *
+     * @param type the type of the character, or null.
+     * @return the slot of the type.
+     */
+    private static int slotOf(EntityType type) {
+        return type != null ? type.getId() : EntityRegistry.zombieCount() + EntityRegistry.plantCount();
+    }
+
+    /**
+     * Retrieves the hit points that fill every bucket of a type.
+     *
+     * @param type the type of the character, or null.
+     * @return the hit points of a new character of the type.
+     */
+    private static int maxHitPoints(EntityType type) {
+        return type != null ? type.getHitPoints() : UNTYPED_HIT_POINTS;
+    }
+
+    /**
+     * Finds the bucket of some hit points. Bucket 0 holds the defeated characters and the
+     * others split the hit points of a new character evenly; hit points above them fall in
+     * the last bucket.
+     *
+     * @param hitPoints the hit points of the character.
+     * @param max the hit points of a new character of its type.
+     * @return the bucket, from 0 to {@code HP_BUCKETS - 1}.
+     */
+    static int bucket(int hitPoints, int max) {
+        if (hitPoints <= 0) {
+            return 0;
+        }
+        return 1 + (int) Math.min(HP_BUCKETS - 2, (long) (hitPoints - 1) * (HP_BUCKETS - 1) / Math.max(1, max));
+    }
+
+    /**
+     * Derives the key of a piece of state by scrambling its kind and index with the
+     * SplitMix64 finalizer, which is the same as looking it up in a table of random numbers
+     * generated from a fixed seed, without having to store the table.
+     *
+     * @param kind the kind of state.
+     * @param index the index of the piece within its kind.
+     * @return the key of the piece.
+     */
+    private static long key(long kind, long index) {
+        return mix(mix(SEED + kind) + index * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Scrambles a value with the SplitMix64 finalizer, a bijection of 64-bit values whose
+     * outputs look random.
+     *
+     * @param z the value to scramble.
+     * @return the scrambled value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,397 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ZombiePlanner class decides the moves of a machine strategic zombie player with a Monte
+ * Carlo tree search. A move buys a zombie of a registered type with the brain points of the game
+ * and places it at the right end of a row, or waits to save brain points.
+ *
+ * The planner is anytime: every decision gets a time budget, and the search plays as many
+ * rollouts as fit in it, stopping a twentieth of the budget early to leave time to combine the
+ * trees. A rollout restores a headless copy of the game from a snapshot, plays the
+ * moves chosen in the tree every {@code DECISION_INTERVAL} seconds and random moves after them,
+ * and scores how close the zombies got to the house once the horizon is reached. Every worker of
+ * the fork-join pool grows its own tree from the same snapshot, so the workers share nothing and
+ * more cores simply add rollouts; the move visited most often over all the trees is played.
+ */
+public class ZombiePlanner {
+    public static final long DEFAULT_BUDGET_MILLIS = 20;
+    public static final int DEFAULT_HORIZON = 20;
+    public static final int DECISION_INTERVAL = 2;
+
+    private static final long SAFETY_MARGIN = 20;
+
+    private final long budgetNanos;
+    private final int horizonTicks;
+    private final ForkJoinPool pool;
+    private final Random random;
+    private long rollouts;
+    private long lastRollouts;
+
+    /**
+     * Constructs a new ZombiePlanner with a budget of {@code DEFAULT_BUDGET_MILLIS} per decision
+     * and a horizon of {@code DEFAULT_HORIZON} seconds, searching on the common fork-join pool.
+     */
+    public ZombiePlanner() {
+        this(DEFAULT_BUDGET_MILLIS, DEFAULT_HORIZON, ForkJoinPool.commonPool(), new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new ZombiePlanner.
+     *
+     * @param budgetMillis the time each decision may take, in milliseconds.
+     * @param horizonSeconds the seconds of play simulated by every rollout.
+     * @param pool the pool whose workers play the rollouts, one search tree per worker.
+     * @param seed the seed of the random choices of the search.
+     * @throws POOBvsZOMBIESException if the budget or the horizon is not positive.
+     */
+    public ZombiePlanner(long budgetMillis, int horizonSeconds, ForkJoinPool pool, long seed) {
+        if (budgetMillis <= 0 || horizonSeconds <= 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.horizonTicks = horizonSeconds * GameLoop.TICKS_PER_SECOND;
+        this.pool = pool;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Decides the next move of the zombies within the time budget of the planner. The game is
+     * captured once, with its board locked, and the search runs on copies of it, so the game
+     * loop may keep running meanwhile.
+     *
+     * @param rules the game manager of the game, whose brain points pay for the zombies.
+     * @return the command placing the chosen zombie, or null if the best move is to wait.
+     * @throws POOBvsZOMBIESException if the game cannot be captured, for instance because its
+     *                                board is packed.
+     */
+    public Command decide(GameRules rules) {
+        long deadline = System.nanoTime() + budgetNanos - budgetNanos / SAFETY_MARGIN;
+        byte[] root = GameSnapshot.encode(rules);
+        List<Command> moves = moves(rules);
+        if (moves.size() == 1) {
+            lastRollouts = 0;
+            return null;
+        }
+        int workers = pool.getParallelism();
+        List<PlannerTree> trees = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            trees.add(new PlannerTree(root, moves, horizonTicks, deadline, random.nextLong()));
+        }
+        for (PlannerTree tree : trees) {
+            pool.execute(tree);
+        }
+        long[] visits = new long[moves.size()];
+        double[] rewards = new double[moves.size()];
+        long played = 0;
+        for (PlannerTree tree : trees) {
+            tree.join();
+            for (int m = 0; m < visits.length; m++) {
+                visits[m] += tree.getVisits(m);
+                rewards[m] += tree.getReward(m);
+            }
+            played += tree.getRollouts();
+        }
+        lastRollouts = played;
+        rollouts += played;
+        int best = 0;
+        for (int m = 1; m < visits.length; m++) {
+            if (visits[m] > visits[best]
+                    || visits[m] == visits[best] && visits[m] > 0 && rewards[m] / visits[m] > rewards[best] / visits[best]) {
+                best = m;
+            }
+        }
+        return moves.get(best);
+    }
+
+    /**
+     * Decides the next move of the zombies and plays it on the game.
+     *
+     * @param rules the game manager of the game.
+     * @return true if a zombie was placed, false if the planner chose to wait or the zombie
+     *         could no longer be placed.
+     */
+    public boolean play(GameRules rules) {
+        Command move = decide(rules);
+        return move != null && move.applyTo(rules, random);
+    }
+
+    /**
+     * Retrieves the number of rollouts played for the last decision, over all the workers.
+     *
+     * @return the rollouts of the last decision.
+     */
+    public long getLastRollouts() {
+        return lastRollouts;
+    }
+
+    /**
+     * Retrieves the number of rollouts played since the planner was created.
+     *
+     * @return the rollouts of every decision.
+     */
+    public long getRollouts() {
+        return rollouts;
+    }
+
+    /**
+     * Lists the moves available to the zombies: waiting, which is always the first move and is
+     * represented by null, and placing any affordable type of zombie at the right end of any
+     * row whose last cell is empty.
+     *
+     * @param rules the game manager of the game.
+     * @return the moves of the zombies.
+     */
+    static List<Command> moves(GameRules rules) {
+        List<Command> moves = new ArrayList<>();
+        moves.add(null);
+        Board board = rules.getBoard();
+        synchronized (board) {
+            int col = board.getColumns() - 1;
+            long tick = rules.getGameLoop().getTick();
+            for (int t = 0; t < EntityRegistry.zombieCount(); t++) {
+                EntityType type = EntityRegistry.zombie(t);
+                if (type.getCost() > rules.getBrainPoints()) {
+                    continue;
+                }
+                for (int row = 0; row < board.getRows(); row++) {
+                    if (board.isEmpty(row, col)) {
+                        moves.add(Command.zombie(tick, type.getName(), row, col));
+                    }
+                }
+            }
+        }
+        return moves;
+    }
+}
+
+/**
+ * A search tree of a {@link ZombiePlanner}, grown by one worker until the deadline of the
+ * decision. Every node has one child slot per move of the root, so the tree is kept in flat
+ * arrays indexed by node; moves that are no longer possible deeper in the tree play as waiting.
+ * Children are chosen with the UCB1 rule once every move of a node has been tried.
+ */
+class PlannerTree extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int INTERVAL = ZombiePlanner.DECISION_INTERVAL * GameLoop.TICKS_PER_SECOND;
+
+    private final byte[] root;
+    private final List<Command> moves;
+    private final int horizonTicks;
+    private final long deadline;
+    private final Random random;
+    private final int width;
+    private int[] children;
+    private long[] visits;
+    private double[] rewards;
+    private int nodes;
+    private long rollouts;
+
+    /**
+     * Constructs a new tree with only its root.
+     *
+     * @param root the snapshot of the game to search from.
+     * @param moves the moves of the root; the first one is waiting.
+     * @param horizonTicks the ticks simulated by every rollout.
+     * @param deadline the value of {@code System.nanoTime} at which the search stops.
+     * @param seed the seed of the random choices of the tree.
+     */
+    PlannerTree(byte[] root, List<Command> moves, int horizonTicks, long deadline, long seed) {
+        this.root = root;
+        this.moves = moves;
+        this.horizonTicks = horizonTicks;
+        this.deadline = deadline;
+        this.random = new Random(seed);
+        this.width = moves.size();
+        this.children = new int[width * 64];
+        this.visits = new long[64];
+        this.rewards = new double[64];
+        this.nodes = 1;
+    }
+
+    @Override
+    protected void compute() {
+        int[] path = new int[horizonTicks / INTERVAL + 2];
+        while (System.nanoTime() < deadline) {
+            GameRules game = GameSnapshot.decode(root);
+            int length = 0;
+            int node = 0;
+            path[length++] = node;
+            int elapsed = 0;
+            boolean expanded = false;
+            while (!expanded && elapsed + INTERVAL <= horizonTicks) {
+                int move = select(node);
+                int child = children[node * width + move];
+                if (child == 0) {
+                    child = addNode();
+                    children[node * width + move] = child;
+                    expanded = true;
+                }
+                play(game, move);
+                if (!advance(game, INTERVAL)) {
+                    return;
+                }
+                elapsed += INTERVAL;
+                node = child;
+                path[length++] = node;
+            }
+            while (elapsed < horizonTicks && !game.getBoard().isHouseReached()) {
+                if (random.nextBoolean()) {
+                    play(game, random.nextInt(width));
+                }
+                int step = Math.min(INTERVAL, horizonTicks - elapsed);
+                if (!advance(game, step)) {
+                    return;
+                }
+                elapsed += step;
+            }
+            double reward = evaluate(game.getBoard());
+            for (int i = 0; i < length; i++) {
+                visits[path[i]]++;
+                rewards[path[i]] += reward;
+            }
+            rollouts++;
+        }
+    }
+
+    /**
+     * Retrieves the number of rollouts that went through a move of the root.
+     *
+     * @param move the index of the move.
+     * @return the visits of the move.
+     */
+    long getVisits(int move) {
+        int child = children[move];
+        return child == 0 ? 0 : visits[child];
+    }
+
+    /**
+     * Retrieves the sum of the rewards of the rollouts that went through a move of the root.
+     *
+     * @param move the index of the move.
+     * @return the total reward of the move.
+     */
+    double getReward(int move) {
+        int child = children[move];
+        return child == 0 ? 0 : rewards[child];
+    }
+
+    /**
+     * Retrieves the number of rollouts completed by this tree.
+     *
+     * @return the rollouts of the tree.
+     */
+    long getRollouts() {
+        return rollouts;
+    }
+
+    /**
+     * Chooses the move to follow from a node: a random untried move if there is any,
+     * otherwise the move of the child with the best UCB1 score.
+     *
+     * @param node the node.
+     * @return the index of the move.
+     */
+    private int select(int node) {
+        int offset = random.nextInt(width);
+        for (int i = 0; i < width; i++) {
+            int move = (offset + i) % width;
+            if (children[node * width + move] == 0) {
+                return move;
+            }
+        }
+        double logVisits = Math.log(visits[node]);
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int move = 0; move < width; move++) {
+            int child = children[node * width + move];
+            double score = rewards[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds a node without children to the tree, growing its arrays if needed.
+     *
+     * @return the index of the new node.
+     */
+    private int addNode() {
+        if (nodes == visits.length) {
+            children = Arrays.copyOf(children, children.length * 2);
+            visits = Arrays.copyOf(visits, visits.length * 2);
+            rewards = Arrays.copyOf(rewards, rewards.length * 2);
+        }
+        return nodes++;
+    }
+
+    /**
+     * Plays a move on a copy of the game. Moves that are no longer possible, because the
+     * brain points ran out or the cell is taken, play as waiting.
+     *
+     * @param game the copy of the game.
+     * @param move the index of the move.
+     */
+    private void play(GameRules game, int move) {
+        Command command = moves.get(move);
+        if (command != null) {
+            command.applyTo(game, random);
+        }
+    }
+
+    /**
+     * Advances a copy of the game, stopping early if the deadline of the decision passes.
+     *
+     * @param game the copy of the game.
+     * @param ticks the ticks to advance.
+     * @return true if every tick was played, false if the deadline passed.
+     */
+    private boolean advance(GameRules game, int ticks) {
+        GameLoop loop = game.getGameLoop();
+        for (int i = 0; i < ticks; i++) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            loop.tick();
+        }
+        return true;
+    }
+
+    /**
+     * Scores a board for the zombies, between 0 and 1: 1 once the house has been reached,
+     * otherwise half the share of the lawn mowers used plus half the mean progress of the
+     * leading zombie of every row.
+     *
+     * @param board the board at the end of a rollout.
+     * @return the reward of the rollout.
+     */
+    static double evaluate(Board board) {
+        if (board.isHouseReached()) {
+            return 1;
+        }
+        LaneIndex<Zombies> zombies = board.getZombieLanes();
+        int rows = board.getRows();
+        int last = board.getColumns() - 1;
+        int mowersUsed = 0;
+        double progress = 0;
+        for (int i = 0; i < rows; i++) {
+            if (!board.hasLawnMower(i)) {
+                mowersUsed++;
+            }
+            if (zombies.size(i) > 0 && last > 0) {
+                progress += (double) (last - zombies.get(i, 0).getCol()) / last;
+            }
+        }
+        return 0.5 * mowersUsed / rows + 0.5 * progress / rows;
+    }
+}
@@ -0,0 +1,169 @@
+package domain;
+
+/**
+ * The ZombiePool class keeps the zombies removed from a board so that later spawns of the same
+ * type reuse them instead of allocating new ones. A recycled zombie keeps its timers, which are
+ * already unlinked from the timing wheel, and only has its hit points and movement state reset,
+ * so a sustained rate of spawns and deaths allocates nothing once the pool is warm.
+ *
+ * Only the zombies handed out by {@code acquire} go back to the pool: zombies created elsewhere
+ * may still be referenced by their creator. Each type keeps at most {@code capacity} idle
+ * zombies; the rest are left to the garbage collector. The pool counts its hits and misses so
+ * that long simulations can check that spawning stays allocation free.
+ */
+public class ZombiePool {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Zombies[][] free;
+    private final int[] sizes;
+    private long hits;
+    private long misses;
+    private long recycled;
+    private long discarded;
+
+    /**
+     * Constructs a new empty ZombiePool keeping up to {@code DEFAULT_CAPACITY} idle zombies
+     * of each type.
+     */
+    public ZombiePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty ZombiePool.
+     *
+     * @param capacity the maximum number of idle zombies kept for each type.
+     * @throws POOBvsZOMBIESException if the capacity is negative.
+     */
+    public ZombiePool(int capacity) {
+        if (capacity < 0) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.INVALID_CONFIG);
+        }
+        this.capacity = capacity;
+        this.free = new Zombies[EntityRegistry.zombieCount()][];
+        this.sizes = new int[EntityRegistry.zombieCount()];
+    }
+
+    /**
+     * Retrieves a zombie of the specified type, reusing an idle one when there is any. The
+     * zombie is as if it had just been created and may be given back with {@code release}
+     * once it leaves the board.
+     *
+     * @param type the type of the zombie.
+     * @return a zombie of the type, ready to be placed.
+     * @throws POOBvsZOMBIESException if the type is not a type of zombie.
+     */
+    public Zombies acquire(EntityType type) {
+        if (type.isPlant()) {
+            throw new POOBvsZOMBIESException(POOBvsZOMBIESException.NO_ZOMBIE);
+        }
+        int id = type.getId();
+        Zombies zombie;
+        if (sizes[id] > 0) {
+            zombie = free[id][--sizes[id]];
+            free[id][sizes[id]] = null;
+            hits++;
+        } else {
+            zombie = type.createZombie();
+            zombie.setPooled(true);
+            misses++;
+        }
+        return zombie;
+    }
+
+    /**
+     * Gives back a zombie that left the board so that it can be reused. Zombies that were not
+     * handed out by {@code acquire} are ignored.
+     *
+     * @param zombie the zombie removed from the board.
+     */
+    public void release(Zombies zombie) {
+        if (!zombie.isPooled()) {
+            return;
+        }
+        int id = zombie.getType().getId();
+        if (sizes[id] == capacity) {
+            discarded++;
+            return;
+        }
+        if (free[id] == null || sizes[id] == free[id].length) {
+            Zombies[] grown = new Zombies[Math.min(capacity, Math.max(16, sizes[id] * 2))];
+            if (free[id] != null) {
+                System.arraycopy(free[id], 0, grown, 0, sizes[id]);
+            }
+            free[id] = grown;
+        }
+        zombie.recycle();
+        free[id][sizes[id]++] = zombie;
+        recycled++;
+    }
+
+    /**
+     * Retrieves the number of idle zombies of a type waiting to be reused.
+     *
+     * @param type the type of zombie.
+     * @return the number of idle zombies of the type.
+     */
+    public int getIdle(EntityType type) {
+        return type.isPlant() ? 0 : sizes[type.getId()];
+    }
+
+    /**
+     * Retrieves the number of zombies handed out by reusing an idle one.
+     *
+     * @return the number of hits of the pool.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of zombies that had to be created because there was no idle one.
+     *
+     * @return the number of misses of the pool.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the number of zombies given back and kept for reuse.
+     *
+     * @return the number of recycled zombies.
+     */
+    public long getRecycled() {
+        return recycled;
+    }
+
+    /**
+     * Retrieves the number of zombies given back while their type already had
+     * {@code capacity} idle zombies, which were left to the garbage collector.
+     *
+     * @return the number of discarded zombies.
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Retrieves the fraction of the zombies handed out that reused an idle one.
+     *
+     * @return the hit rate, between 0 and 1, or 0 if no zombie was handed out yet.
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the counters of the pool.
+     *
+     * @return a text with the hits, misses, hit rate and recycled and discarded zombies.
+     */
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d hitRate=%.3f recycled=%d discarded=%d",
+                hits, misses, getHitRate(), recycled, discarded);
+    }
+}
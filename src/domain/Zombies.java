@@ -7,22 +7,27 @@ package domain;
  * types of zombies with additional functionality to be implemented in subclasses.
  */
 public abstract class Zombies extends Character {
+    private boolean pooled;
 
-    private int costBrains;
+    /**
+     * Constructs a new Zombies object of the specified type, with the hit points and cost in
+     * brains of the type.
+     *
+     * @param type the type of the zombie.
+     */
+    public Zombies(EntityType type) {
+        super(type);
+    }
 
     /**
-     * Constructs a new Zombies object with specified hit points and cost in brains.
-     * This constructor initializes the zombie's health points and its associated cost.
+     * Constructs a new Zombies object that does not belong to a registered type, with the
+     * specified hit points. Such zombies must override {@code getCostBrains}.
      *
      * @param hitPointes the initial health points of the zombie. This determines the starting
      *                   health of the zombie and should be a positive integer.
-     * @param costBrains the cost in brains required to create this zombie. This value
-     *                   represents the resource cost associated with this zombie.
      */
-    public Zombies(int hitPointes, int costBrains) {
+    Zombies(int hitPointes) {
         super(hitPointes);
-        this.costBrains = costBrains;
-
     }
 
     /**
@@ -32,9 +37,28 @@ public abstract class Zombies extends Character {
      * @return the cost in brains for this zombie.
      */
     public int getCostBrains() {
-        return costBrains;
+        return getType().getCost();
+    }
+
+
+    /**
+     * Determines whether the zombie was handed out by a {@link ZombiePool} and goes back to
+     * it when it leaves the board.
+     *
+     * @return true if the zombie belongs to a pool.
+     */
+    boolean isPooled() {
+        return pooled;
     }
 
+    /**
+     * Marks the zombie as belonging to a {@link ZombiePool}.
+     *
+     * @param pooled true if the zombie goes back to a pool when it leaves the board.
+     */
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
 
     /**
      * Creates a Zombies object from a comma-separated string representation.
@@ -69,23 +93,3 @@ public abstract class Zombies extends Character {
 
 }
 
-/**
- * Represents a custom zombie entity in the game. This class extends the abstract
- * Zombies class, enabling the creation of specific zombie types with configurable
- * attributes such as name, hit points, and cost in brains.
- */
-class CustomZombie extends Zombies {
-    /**
-     * Constructs a new CustomZombie object with specified attributes.
-     *
-     * @param name       the name of the zombie. This provides a unique identifier or description
-     *                   for the specific zombie type.
-     * @param hitPoints  the initial health points of the zombie. Determines how much damage
-     *                   the zombie can withstand before being eliminated.
-     * @param costBrains the cost in brains required to create this zombie. Represents the
-     *                   resource cost associated with spawning the zombie.
-     */
-    public CustomZombie(String name, int hitPoints, int costBrains) {
-        super(hitPoints, costBrains);
-    }
-}
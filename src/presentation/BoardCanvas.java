@@ -0,0 +1,355 @@
+package presentation;
+
+import domain.Board;
+import domain.EntityType;
+import domain.GameLoop;
+import domain.Plant;
+import domain.ProjectileLanes;
+import domain.Zombies;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * BoardCanvas is the view of the lawn: a single component that paints the background, the grid,
+ * the sprites of the plants and zombies and the flying peas of a {@link Board} in one pass,
+ * instead of one button per cell.
+ *
+ * Clicks are mapped to cells by dividing the click position by the size of a cell. Every
+ * {@code GameLoop.TICK_MILLIS} milliseconds the canvas compares the type of the plant and zombie
+ * of every cell with the ones it painted last and repaints only the cells that changed, plus the
+ * rows where peas are flying. Every cell has its own observer for the frames of its animated
+ * sprites, so a new frame of a GIF only repaints the cells showing it. The background is scaled
+ * once per size of the canvas, so repainting a cell only copies its part of the background.
+ */
+public class BoardCanvas extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final String BACKGROUND = "Fondos/backyard.jpg";
+    private static final String PEA = "Objetos/pea.png";
+    private static final int PLANT = 0;
+    private static final int ZOMBIE = 1;
+
+    private final int rows;
+    private final int columns;
+    private final String images;
+    private final Image background;
+    private final Image pea;
+    private final Map<EntityType, Image> sprites = new HashMap<>();
+    private final int[] paintedTypes;
+    private final int[] paintedPeas;
+    private final Image[] shown;
+    private final ImageObserver[] observers;
+    private final Timer refresher;
+    private BufferedImage scaledBackground;
+    private Board board;
+
+    /**
+     * Constructs a new BoardCanvas.
+     *
+     * @param rows the number of rows of the lawn.
+     * @param columns the number of columns of the lawn.
+     * @param images the folder holding the images of the game.
+     * @param onClick the action run with the row and column of every clicked cell.
+     */
+    public BoardCanvas(int rows, int columns, String images, BiConsumer<Integer, Integer> onClick) {
+        this.rows = rows;
+        this.columns = columns;
+        this.images = images;
+        this.background = new ImageIcon(images + BACKGROUND).getImage();
+        this.pea = new ImageIcon(images + PEA).getImage();
+        this.paintedTypes = new int[rows * columns];
+        this.paintedPeas = new int[rows];
+        this.shown = new Image[rows * columns * 2];
+        this.observers = new ImageObserver[rows * columns * 2];
+        for (int i = 0; i < observers.length; i++) {
+            int slot = i;
+            observers[i] = (image, flags, x, y, width, height) -> frameUpdated(slot, image, flags);
+        }
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = getRowAt(e.getY());
+                int col = getColumnAt(e.getX());
+                if (row >= 0 && col >= 0) {
+                    onClick.accept(row, col);
+                }
+            }
+        });
+        refresher = new Timer((int) GameLoop.TICK_MILLIS, e -> refresh());
+    }
+
+    /**
+     * Sets the board displayed by this canvas and repaints it whole.
+     *
+     * @param board the board to display, or null to display an empty lawn.
+     */
+    public void setBoard(Board board) {
+        this.board = board;
+        Arrays.fill(paintedTypes, 0);
+        Arrays.fill(paintedPeas, 0);
+        repaint();
+    }
+
+    /**
+     * Retrieves the number of rows of the lawn.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns of the lawn.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Finds the row of the cells at a vertical position of the canvas.
+     *
+     * @param y the vertical position, in pixels.
+     * @return the row index, or -1 if the position is outside the lawn.
+     */
+    public int getRowAt(int y) {
+        int height = getHeight();
+        return y < 0 || y >= height ? -1 : y * rows / height;
+    }
+
+    /**
+     * Finds the column of the cells at a horizontal position of the canvas.
+     *
+     * @param x the horizontal position, in pixels.
+     * @return the column index, or -1 if the position is outside the lawn.
+     */
+    public int getColumnAt(int x) {
+        int width = getWidth();
+        return x < 0 || x >= width ? -1 : x * columns / width;
+    }
+
+    /**
+     * Computes the area of the canvas covered by a cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the bounds of the cell, in pixels.
+     */
+    public Rectangle getCellBounds(int row, int col) {
+        int x = col * getWidth() / columns;
+        int y = row * getHeight() / rows;
+        return new Rectangle(x, y, (col + 1) * getWidth() / columns - x, (row + 1) * getHeight() / rows - y);
+    }
+
+    /**
+     * Compares the board with what was painted last and repaints the cells whose plant or
+     * zombie changed and the rows where peas are flying or were flying.
+     */
+    public void refresh() {
+        Board current = board;
+        if (current == null || !isShowing()) {
+            return;
+        }
+        synchronized (current) {
+            ProjectileLanes projectiles = current.getProjectiles();
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    int types = typesAt(current, row, col);
+                    if (types != paintedTypes[row * columns + col]) {
+                        paintedTypes[row * columns + col] = types;
+                        repaintCell(row, col);
+                    }
+                }
+                int peas = projectiles.size(row);
+                if (peas > 0 || paintedPeas[row] > 0) {
+                    paintedPeas[row] = peas;
+                    int y = row * getHeight() / rows;
+                    repaint(0, y, getWidth(), (row + 1) * getHeight() / rows - y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops refreshing the canvas. It will not follow its board any more until it is added to
+     * a window again.
+     */
+    public void stop() {
+        refresher.stop();
+    }
+
+    /**
+     * Starts refreshing the canvas once it is shown in a window.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresher.start();
+    }
+
+    /**
+     * Stops refreshing the canvas when it is removed from its window or the window is disposed,
+     * so no timer is left running for a lawn that can no longer be seen.
+     */
+    @Override
+    public void removeNotify() {
+        refresher.stop();
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.drawImage(getScaledBackground(), 0, 0, null);
+        int firstRow = Math.max(0, getRowAt(clip.y));
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height - 1) * rows / Math.max(1, getHeight()));
+        int firstCol = Math.max(0, getColumnAt(clip.x));
+        int lastCol = Math.min(columns - 1, (clip.x + clip.width - 1) * columns / Math.max(1, getWidth()));
+
+        g.setColor(Color.LIGHT_GRAY);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Rectangle cell = getCellBounds(row, col);
+                g.drawRect(cell.x, cell.y, cell.width - 1, cell.height - 1);
+            }
+        }
+
+        Board current = board;
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    Rectangle cell = getCellBounds(row, col);
+                    Plant plant = current.getPlantAt(row, col);
+                    drawSprite(g, plant != null ? plant.getType() : null, row, col, PLANT, cell);
+                    Zombies zombie = current.getCell(row, col).getZombie();
+                    drawSprite(g, zombie != null ? zombie.getType() : null, row, col, ZOMBIE, cell);
+                }
+                drawPeas(g, current.getProjectiles(), row);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the background scaled to the current size of the canvas, scaling it again only
+     * when the size changed.
+     *
+     * @return the scaled background.
+     */
+    private BufferedImage getScaledBackground() {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        if (scaledBackground == null || scaledBackground.getWidth() != width || scaledBackground.getHeight() != height) {
+            scaledBackground = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaledBackground.createGraphics();
+            g.drawImage(background, 0, 0, width, height, null);
+            g.dispose();
+        }
+        return scaledBackground;
+    }
+
+    /**
+     * Draws the sprite of a character in its cell.
+     *
+     * @param g the graphics of the canvas.
+     * @param type the type of the character, or null if there is no character to draw.
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param layer {@code PLANT} or {@code ZOMBIE}.
+     * @param cell the bounds of the cell.
+     */
+    private void drawSprite(Graphics g, EntityType type, int row, int col, int layer, Rectangle cell) {
+        int slot = (row * columns + col) * 2 + layer;
+        Image sprite = type != null ? sprites.computeIfAbsent(type, t -> new ImageIcon(images + t.getSpriteKey()).getImage()) : null;
+        shown[slot] = sprite;
+        if (sprite != null) {
+            g.drawImage(sprite, cell.x, cell.y, cell.width, cell.height, observers[slot]);
+        }
+    }
+
+    /**
+     * Draws the peas flying over a row.
+     *
+     * @param g the graphics of the canvas.
+     * @param projectiles the peas of the board.
+     * @param row the row index.
+     */
+    private void drawPeas(Graphics g, ProjectileLanes projectiles, int row) {
+        int y = row * getHeight() / rows;
+        int cellHeight = (row + 1) * getHeight() / rows - y;
+        int size = Math.max(4, cellHeight / 4);
+        int width = columns * ProjectileLanes.POSITION_SCALE;
+        for (int i = 0; i < projectiles.size(row); i++) {
+            int x = projectiles.getPosition(row, i) * getWidth() / width;
+            g.drawImage(pea, x - size / 2, y + cellHeight / 3 - size / 2, size, size, this);
+        }
+    }
+
+    /**
+     * Receives the frames of the sprite shown in a cell, repainting only that cell.
+     *
+     * @param slot the cell and layer of the sprite.
+     * @param image the image whose frame arrived.
+     * @param flags the state of the image.
+     * @return true while the cell still shows the image and more frames are expected.
+     */
+    private boolean frameUpdated(int slot, Image image, int flags) {
+        if (shown[slot] != image) {
+            return false;
+        }
+        if ((flags & (FRAMEBITS | ALLBITS)) != 0) {
+            repaintCell(slot / 2 / columns, slot / 2 % columns);
+        }
+        return (flags & (ALLBITS | ABORT)) == 0;
+    }
+
+    /**
+     * Schedules the repaint of one cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     */
+    private void repaintCell(int row, int col) {
+        int x = col * getWidth() / columns;
+        int y = row * getHeight() / rows;
+        repaint(x, y, (col + 1) * getWidth() / columns - x, (row + 1) * getHeight() / rows - y);
+    }
+
+    /**
+     * Packs the types of the plant and zombie of a cell into one value, so that a change of
+     * either is noticed with one comparison.
+     *
+     * @param board the board.
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the packed types, 0 if the cell is empty.
+     */
+    private static int typesAt(Board board, int row, int col) {
+        int types = 0;
+        if (board.hasPlant(row, col)) {
+            EntityType type = board.getPlantAt(row, col).getType();
+            types = type != null ? type.getId() + 1 : 0xFFFF;
+        }
+        if (board.hasZombie(row, col)) {
+            EntityType type = board.getCell(row, col).getZombie().getType();
+            types |= (type != null ? type.getId() + 1 : 0xFFFF) << 16;
+        }
+        return types;
+    }
+}
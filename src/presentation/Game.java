@@ -14,13 +14,24 @@ import java.io.File;
 /**
  * Game crepresents the graphical user interface for the Player vs Player game.
  */
-public class Game extends JFrame {
-
-    private JPanel boardG;
+public class Game extends JFrame implements GameView {
+    private static final int DEFAULT_GAME_TIME = 300;
+    private static final String IMAGES = "presentation/resources/images/";
+    private static final int AUTOSAVE_SECONDS = 30;
+    private static final String AUTOSAVE_FILE = "poobvszombies-autosave.dat";
+    private static final String JOURNAL_FILE = "poobvszombies-autosave.journal";
+    private static final String RECOVERY_FILE = "poobvszombies-recovery.dat";
+    private static final String RECOVERY_JOURNAL_FILE = "poobvszombies-recovery.journal";
+
+    private final File autosaveFile;
+    private final File journalFile;
+    private final File recoveryFile;
+    private final File recoveryJournalFile;
+
+    private BoardCanvas boardG;
     private JPanel game;
     private JPanel plants;
     private JPanel zombies;
-    private Board board;
     private GameManager gameManager;
     private JLabel sunPointsLabel;
     private JLabel brainPointsLabel;
@@ -29,6 +40,8 @@ public class Game extends JFrame {
     private int brainPoints;
     private JLabel timeLabel;
     private Timer gameTimer;
+    private Autosaver autosaver;
+    private Journal journal;
     private JMenuBar menuBar;
     private JMenu menu;
     private JMenuItem Item1;
@@ -37,24 +50,104 @@ public class Game extends JFrame {
     private JMenuItem Item4;
     private JMenuItem Item5;
     private JMenuItem Item6;
+    private JMenuItem Item7;
     private String selectedElement = "";
+    private EntityType selectedType;
     private boolean isPlant;
 
     /**
-     * Constructs a new Game instance.
-     * Initializes the game manager, sets the game instance to the game manager,
-     * and configures initial game parameters such as sun points, brain points, and game time.
-     * Sets the title for the game, prepares the game elements, sets actions for user interaction,
-     * and initializes the game board.
+     * Constructs a new Game instance that keeps its autosave and journal in the home directory
+     * of the user.
+     * Initializes the game manager with default values, configures initial game parameters such as
+     * sun points, brain points, and game time, and registers this window as the view of the manager.
+     * Sets the title for the game, prepares the game elements and sets actions for user interaction.
      */
     public Game() {
-        gameManager = GameManager.getInstance();
-        gameManager.setGame(this);
-        gameManager = new GameManager(sunPoints, brainPoints, gameManager.getGameTime() );
+        this(new File(System.getProperty("user.home")));
+    }
+
+    /**
+     * Constructs a new Game instance that keeps its autosave and journal in the given directory.
+     * The autosave and journal left there by a previous run are kept for recovery.
+     *
+     * @param saveDirectory the directory of the autosave, the journal and the recovery files
+     */
+    public Game(File saveDirectory) {
+        autosaveFile = new File(saveDirectory, AUTOSAVE_FILE);
+        journalFile = new File(saveDirectory, JOURNAL_FILE);
+        recoveryFile = new File(saveDirectory, RECOVERY_FILE);
+        recoveryJournalFile = new File(saveDirectory, RECOVERY_JOURNAL_FILE);
+        gameManager = new GameManager(sunPoints, brainPoints, DEFAULT_GAME_TIME);
         setTitle("POOBvsZOMBIES (Game)");
         prepareElements();
         prepareActions();
-        board = new Board(sunPoints, brainPoints);
+        gameManager.setGame(this);
+    }
+
+    /**
+     * Replaces the game manager displayed by this window. The simulation, autosave and journal
+     * of the previous manager are stopped and, if they were running, those of the new one are started.
+     *
+     * @param manager the new game manager of this window
+     */
+    private void setGameManager(GameManager manager) {
+        boolean running = gameManager.getGameLoop().isRunning();
+        gameManager.getGameLoop().stop();
+        gameManager.setGame(null);
+        gameManager = manager;
+        gameManager.setGame(this);
+        boardG.setBoard(gameManager.getBoard());
+        if (running) {
+            gameManager.getGameLoop().start();
+        }
+        if (autosaver != null) {
+            startAutosave(running);
+        }
+    }
+
+    /**
+     * Starts protecting the current game against crashes. The previous autosave and journal are
+     * stopped, the journal file is started again empty, the game is saved once right away and
+     * then every command accepted by the game manager is journaled, so the game can always be
+     * restored from the last autosave followed by the journal.
+     *
+     * If the files cannot be written the game goes on without being protected.
+     *
+     * @param running true to keep saving the game periodically, false to only save it once
+     */
+    private void startAutosave(boolean running) {
+        if (autosaver != null) {
+            autosaver.shutdown();
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        autosaver = new Autosaver(gameManager, autosaveFile, AUTOSAVE_SECONDS);
+        try {
+            Journal next = new Journal(journalFile);
+            autosaver.saveNow();
+            journal = next;
+            gameManager.getCommandLog().setJournal(journal);
+        } catch (POOBvsZOMBIESException e) {
+            journal = null;
+        }
+        if (running) {
+            autosaver.start();
+        }
+    }
+
+    /**
+     * Keeps the autosave and journal left by a previous run of the game, which ended without
+     * closing its window, so that its game can be recovered with the "Recuperar" option.
+     */
+    private void keepPreviousAutosave() {
+        if (autosaveFile.exists()) {
+            recoveryFile.delete();
+            recoveryJournalFile.delete();
+            autosaveFile.renameTo(recoveryFile);
+            journalFile.renameTo(recoveryJournalFile);
+        }
     }
 
 
@@ -140,6 +233,15 @@ public class Game extends JFrame {
     public void exit() {
         int confirm = JOptionPane.showConfirmDialog(this, "Realmente desea cerrar?", "Confirmar cierre", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
+            boardG.stop();
+            if (autosaver != null) {
+                autosaver.shutdown();
+            }
+            if (journal != null) {
+                journal.close();
+            }
+            autosaveFile.delete();
+            journalFile.delete();
             dispose();
             System.exit(0);
         }
@@ -184,8 +286,9 @@ public class Game extends JFrame {
      *
      * The elements added include:
      * 1. A side panel with a "Shovel" button for selecting the shovel tool.
-     * 2. A background panel with a backyard image that acts as the central playing board:
-     *    - The board contains a grid layout (5x10) of buttons representing tiles.
+     * 2. A {@link BoardCanvas} that acts as the central playing board:
+     *    - It paints the backyard, the 5x10 grid of tiles and every sprite, and maps each click
+     *      to the tile under it.
      * 3. A top panel with plant cards to let players choose plant types for deployment:
      *    - Includes Sunflower, Peashooter, Wall-nut, Potato Mine, and ECIPlant cards.
      * 4. A bottom panel with zombie cards to allow players to choose zombie types:
@@ -205,33 +308,9 @@ public class Game extends JFrame {
         shovelButton.addActionListener(e -> selectElement("Shovel", true));
         add(shovelButton, BorderLayout.WEST);
 
-        JPanel backgroundPanel = new JPanel() {
-            private Image backgroundImage = new ImageIcon("presentation/resources/images/Fondos/backyard.jpg").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
-        backgroundPanel.setLayout(new BorderLayout());
-
-        boardG = new JPanel();
-        boardG.setLayout(new GridLayout(5, 10));
-        boardG.setOpaque(false);
-
-        for (int i = 0; i < 50; i++) {
-            int row = i / 10;
-            int col = i % 10;
-            JButton tile = new JButton();
-            tile.setOpaque(false);
-            tile.setContentAreaFilled(false);
-            tile.setBorderPainted(true);
-            tile.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1));
-            tile.addActionListener(e -> placeElement(row, col, tile));
-            boardG.add(tile);
-        }
-        backgroundPanel.add(boardG, BorderLayout.CENTER);
-        add(backgroundPanel, BorderLayout.CENTER);
+        boardG = new BoardCanvas(5, 10, IMAGES, this::placeElement);
+        boardG.setBoard(gameManager.getBoard());
+        add(boardG, BorderLayout.CENTER);
 
         plants = new JPanel() {
             @Override
@@ -346,7 +425,9 @@ public class Game extends JFrame {
      * - Stops the timer and displays a message dialog when the time reaches zero.
      *
      * The timer updates the game state and UI components related to game time, ensuring proper synchronization
-     * between the game manager and the display components.
+     * between the game manager and the display components. While the game runs, it is also saved in the
+     * background every {@code AUTOSAVE_SECONDS} seconds to the autosave file, and every accepted
+     * command is journaled to the journal file in between.
      */
     private void startGameTimer() {
         gameTimer = new Timer(1000, new ActionListener() {
@@ -358,11 +439,16 @@ public class Game extends JFrame {
                     timeLabel.setText("Tiempo restante: " + remainingTime + " seg");
                 } else {
                     gameTimer.stop();
+                    gameManager.getGameLoop().stop();
+                    autosaver.stop();
                     JOptionPane.showMessageDialog(Game.this, "¡Se acabó el tiempo! El juego ha terminado. En construccion");
                 }
             }
         });
         gameTimer.start();
+        gameManager.getGameLoop().start();
+        keepPreviousAutosave();
+        startAutosave(true);
     }
 
 
@@ -388,6 +474,11 @@ public class Game extends JFrame {
     public void selectElement(String element, boolean isPlant) {
         this.selectedElement = element;
         this.isPlant = isPlant;
+        if ("Shovel".equals(element)) {
+            this.selectedType = null;
+        } else {
+            this.selectedType = isPlant ? EntityRegistry.plantByName(element) : EntityRegistry.zombieByName(element);
+        }
         System.out.println("Elemento seleccionado: " + selectedElement + " (Es planta: " + isPlant + ")");
     }
 
@@ -399,32 +490,32 @@ public class Game extends JFrame {
      *
      * The method validates the cell's state before placing an element:
      * - Checks if a plant or zombie is selected.
-     * - Ensures the cell is unoccupied before placing an element.
-     * - Places the selected element and updates the cell's appearance accordingly.
+     * - Removes the plant of the cell if the shovel is selected, which needs an occupied cell.
+     * - Otherwise ensures the cell is unoccupied before placing an element.
+     * - Places the selected element; the board canvas repaints the cell right away.
      *
      * @param row the row index of the cell where the element is to be placed
      * @param col the column index of the cell where the element is to be placed
-     * @param cellButton the button representing the grid cell on the game board
      */
-    public void placeElement(int row, int col, JButton cellButton) {
+    public void placeElement(int row, int col) {
         if (selectedElement == null) {
             JOptionPane.showMessageDialog(this, "Por favor, selecciona una planta o un zombi primero.");
             return;
         }
-        if (cellButton.getIcon() != null) {
+        if ("Shovel".equals(selectedElement)) {
+            shovel(row, col);
+        }
+        else if (!gameManager.getBoard().isEmpty(row, col)) {
             JOptionPane.showMessageDialog(this, "Esta celda ya está ocupada.");
             return;
         }
-
-        if (isPlant) {
-            placePlant(row, col, cellButton);
-        }
-        else if("Shovel".equals(selectedElement)) {
-            shovel(row, col, cellButton);
+        else if (isPlant) {
+            placePlant(row, col);
         }
         else{
-            placeZombie(row, col, cellButton);
+            placeZombie(row, col);
         }
+        boardG.refresh();
         selectedElement = null;
     }
 
@@ -435,18 +526,14 @@ public class Game extends JFrame {
      *
      * @param row the row index of the cell from which the plant is to be removed
      * @param col the column index of the cell from which the plant is to be removed
-     * @param cellButton the JButton representing the grid cell on the game board
      */
-    private void shovel(int row, int col, JButton cellButton) {
-        if (cellButton.getIcon() == null) {
+    private void shovel(int row, int col) {
+        if (!gameManager.getBoard().hasPlant(row, col)) {
             JOptionPane.showMessageDialog(this, "No hay ninguna planta para eliminar en esta celda.");
             return;
         }
-        boolean wasPlantRemoved = GameManager.getInstance().removePlant(row, col);
+        boolean wasPlantRemoved = gameManager.removePlant(row, col);
         if (wasPlantRemoved) {
-            cellButton.setIcon(null);
-            cellButton.setDisabledIcon(null);
-            cellButton.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Planta eliminada con éxito.");
         } else {
             JOptionPane.showMessageDialog(this, "No se puede usar la pala en esta celda.");
@@ -457,93 +544,30 @@ public class Game extends JFrame {
 
     /**
      * Places a plant on the game board at the specified row and column.
-     * Updates the visual representation of the cell and disables it if the placement is successful.
      *
      * @param row       the row index of the cell where the plant is to be placed
      * @param col       the column index of the cell where the plant is to be placed
-     * @param cellButton the JButton representing the grid cell on the game board
      */
-    private void placePlant(int row, int col, JButton cellButton) {
-        if (GameManager.getInstance().placePlant(board.getPlantByName(selectedElement),row,col)) {
-            String gifPath = getGifForPlant(selectedElement);
-            cellButton.setIcon(new ImageIcon(gifPath));
-            cellButton.setDisabledIcon(cellButton.getIcon());
-            cellButton.setEnabled(false);
-        }
-    }
-
-
-    /**
-     * Retrieves the file path to the GIF associated with the given plant name.
-     *
-     * @param plant the name of the plant for which the GIF file path is required
-     * @return the file path to the GIF corresponding to the specified plant name,
-     *         or an empty string if the plant name does not match any known plant
-     */
-    private String getGifForPlant(String plant) {
-        switch (plant) {
-            case "Sunflower":
-                return "presentation/resources/images/Plantas/gif/Sunflower.gif";
-            case "Peashooter":
-                return "presentation/resources/images/Plantas/gif/Peashooter.gif";
-            case "WallNut":
-                return "presentation/resources/images/Plantas/gif/Wall-nut.gif";
-            case "PotatoMine":
-                return "presentation/resources/images/Plantas/gif/PotatoMine.gif";
-            case "ECIPlant":
-                return "presentation/resources/images/Plantas/Targetas/ECIPlant.gif";
-            default:
-                return "";
-        }
+    private void placePlant(int row, int col) {
+        gameManager.placePlant(selectedType.createPlant(), row, col);
     }
 
     /**
      * Places a zombie on the game board at the specified row and column.
-     * The zombie can only be placed in the last column. If placement is successful,
-     * updates the button's icon to represent the zombie.
+     * The zombie can only be placed in the last column.
      *
      * @param row the row position where the zombie will be placed
      * @param col the column position where the zombie will be placed, must be 9
-     * @param cellButton the JButton representing the cell where the zombie will be placed
      */
-    public void placeZombie(int row, int col, JButton cellButton) {
+    public void placeZombie(int row, int col) {
         if (col != 9) {
             JOptionPane.showMessageDialog(this, "Los zombis solo pueden ser colocados en la última columna.");
             return;
         }
-        if (GameManager.getInstance().placeZombie(board.getZombieByName(selectedElement), row, col)) {
-            String gifPath = getGifForZombie(selectedElement);
-            cellButton.setIcon(new ImageIcon(gifPath));
-            cellButton.setDisabledIcon(cellButton.getIcon());
-            cellButton.setEnabled(false);
-        }
+        gameManager.placeZombie(selectedType.createZombie(), row, col);
     }
 
 
-    /**
-     * Determines the file path or identifier for the GIF associated with a specific type of zombie.
-     *
-     * @param zombie the type of zombie for which the GIF or identifier is required. Examples include "Basic", "Conehead", "Buckethead", "Brainstein", and "ECIZombie".
-     * @return the file path or identifier for the associated zombie GIF.
-     *         Returns an empty string if the given zombie type is not recognized.
-     */
-    private String getGifForZombie(String zombie) {
-        switch (zombie) {
-            case "Basic":
-                return "plantado";
-            case "Conehead":
-                return "presentation/resources/images/Zombies/Conehead.gif";
-            case "Buckethead":
-                return "presentation/resources/images/Zombies/Buckethead.gif";
-            case "Brainstein":
-                return "presentation/resources/images/Zombies/Brainstein.gif";
-            case "ECIZombie":
-                return "presentation/resources/images/Zombies/ECIZombie.png";
-            default:
-                return "";
-        }
-    }
-
     /**
      * Initializes and prepares the elements of the menu bar for the application.
      *
@@ -573,6 +597,9 @@ public class Game extends JFrame {
         this.Item5 = new JMenuItem("Exportar como");
         this.menu.add(this.Item5);
         this.menu.addSeparator();
+        this.Item7 = new JMenuItem("Recuperar");
+        this.menu.add(this.Item7);
+        this.menu.addSeparator();
         this.Item6 = new JMenuItem("Salir");
         this.menu.add(this.Item6);
     }
@@ -588,6 +615,7 @@ public class Game extends JFrame {
      * - Item3: Triggers the optionSave() method.
      * - Item4: Triggers the optionImport() method.
      * - Item5: Triggers the optionExport() method.
+     * - Item7: Triggers the optionRecover() method.
      */
     public void prepareActionsMenu() {
         Item1.addActionListener(e -> optionNew());
@@ -595,6 +623,25 @@ public class Game extends JFrame {
         Item3.addActionListener(e -> optionSave());
         Item4.addActionListener(e -> optionImport());
         Item5.addActionListener(e -> optionExport());
+        Item7.addActionListener(e -> optionRecover());
+    }
+
+    /**
+     * Recovers the game of a previous run that ended without closing its window, from its last
+     * autosave followed by the commands of its journal, and displays it in this window.
+     * Displays an error message if there is no game to recover or it cannot be restored.
+     */
+    public void optionRecover() {
+        if (!recoveryFile.exists()) {
+            JOptionPane.showMessageDialog(this, "No hay partida para recuperar.");
+            return;
+        }
+        try {
+            setGameManager(GameManager.recover(recoveryFile, recoveryJournalFile));
+            JOptionPane.showMessageDialog(this, "Partida recuperada correctamente.");
+        } catch (POOBvsZOMBIESException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
     }
 
     /**
@@ -604,7 +651,7 @@ public class Game extends JFrame {
      * dialog to notify the user about the new game setup.
      */
     public void optionNew() {
-        gameManager = new GameManager(sunPoints, brainPoints, gameManager.getGameTime() );
+        setGameManager(new GameManager(sunPoints, brainPoints, gameManager.getGameTime()));
         JOptionPane.showMessageDialog(this, "Nuevo");
     }
 
@@ -641,7 +688,7 @@ public class Game extends JFrame {
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = chooser.getSelectedFile();
             try {
-                gameManager = GameManager.open(selectedFile);
+                setGameManager(GameManager.open(selectedFile));
                 JOptionPane.showMessageDialog(this, "Archivo cargado correctamente.");
             } catch (POOBvsZOMBIESException e) {
                 JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -653,7 +700,8 @@ public class Game extends JFrame {
      * Handles the functionality for saving a game file.
      * Opens a file chooser dialog to allow the user to specify the location and name of the file to save.
      * Ensures the file has a ".dat" extension if not explicitly specified by the user.
-     * Attempts to save the file using the gameManager's save method.
+     * Captures the game on the Event Dispatch Thread, which only takes an immutable image of it,
+     * and writes the image to the file in the background.
      * Displays a success message if the file is saved successfully or an error message if an exception occurs.
      *
      * Behavior:
@@ -675,12 +723,32 @@ public class Game extends JFrame {
             if (!selectedFile.getName().endsWith(".dat")) {
                 selectedFile = new File(selectedFile.getAbsolutePath() + ".dat");
             }
+            GameImage image;
             try {
-                gameManager.save(selectedFile);
-                JOptionPane.showMessageDialog(this, "Archivo guardado correctamente.");
+                image = GameSnapshot.capture(gameManager);
             } catch (POOBvsZOMBIESException e) {
                 JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            File destination = selectedFile;
+            new SwingWorker<Void, Void>() {
+                @Override
+                protected Void doInBackground() {
+                    GameSnapshot.save(image, destination);
+                    return null;
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        get();
+                        JOptionPane.showMessageDialog(Game.this, "Archivo guardado correctamente.");
+                    } catch (Exception e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        JOptionPane.showMessageDialog(Game.this, cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
         }
     }
 
@@ -701,7 +769,7 @@ public class Game extends JFrame {
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = chooser.getSelectedFile();
             try {
-                GameManager.aimport(selectedFile);
+                setGameManager(GameManager.aimport(selectedFile));
             } catch (POOBvsZOMBIESException e) {
                 JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -716,7 +784,8 @@ public class Game extends JFrame {
      *
      * Behavior:
      * - The file chooser restricts selection to files only.
-     * - If the user approves the selection, the game data is exported into the chosen file.
+     * - If the user approves the selection, the game data is exported into the chosen file, in the
+     *   compact binary wave format when the file name ends with ".pvzw" and as text otherwise.
      * - Displays an error dialog if an exception occurs during the export process.
      *
      * Exceptions:
@@ -729,7 +798,7 @@ public class Game extends JFrame {
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = chooser.getSelectedFile();
             try {
-                GameManager.export(selectedFile);
+                gameManager.export(selectedFile, selectedFile.getName().endsWith(".pvzw"));
             } catch (POOBvsZOMBIESException e) {
                 JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -1,7 +1,10 @@
 package presentation;
 
 import domain.Board;
+import domain.EntityRegistry;
+import domain.EntityType;
 import domain.GameManagerPvsMO;
+import domain.GameView;
 import domain.POOBvsZOMBIESException;
 
 import javax.swing.*;
@@ -18,11 +21,13 @@ import static presentation.AudioManager.playBackgroundMusic;
  * GamePvsMO represents the graphical user interface for the Player vs Machine (ZombiesOriginal) game.
  * It manages user interactions, game board setup, timer, and game logic through various components and panels.
  */
-public class GamePvsMO extends JFrame {
-    private JPanel boardG;
+public class GamePvsMO extends JFrame implements GameView {
+    private static final int DEFAULT_GAME_TIME = 300;
+    private static final String IMAGES = "src/presentation/resources/images/";
+    private BoardCanvas boardG;
     private JPanel game;
     private JPanel plants;
-    private String selectedPlant;
+    private EntityType selectedPlant;
     private Board board;
     private GameManagerPvsMO gameManager;
     private JLabel sunPointsLabel;
@@ -44,24 +49,41 @@ public class GamePvsMO extends JFrame {
      * Constructs a GamePvsMO instance and initializes the Player versus Multiplayer Online (PvMO) game mode.
      *
      * This constructor performs the following actions:
-     * - Retrieves or creates a singleton instance of GameManagerPvsMO and associates it with the current game.
-     * - Initializes a new GameManagerPvsMO instance with specific parameters for sun points, brain points,
-     *   and game time based on the retrieved game manager.
+     * - Initializes a new GameManagerPvsMO instance with default parameters for sun points, brain points,
+     *   and game time.
      * - Sets the window title for the game.
      * - Prepares the graphical and interactive components of the game window by invoking methods
      *   to initialize game elements (`prepareElements`) and configure user interactions (`prepareActions`).
+     * - Associates the resulting game manager with the current game.
      * - Creates a new game board associated with the specified sun and brain points.
      */
     public GamePvsMO() {
-        gameManager = GameManagerPvsMO.getInstance();
-        gameManager.setGame(this);
-        gameManager = new GameManagerPvsMO(sunPoints, brainPoints, gameManager.getGameTime() );
+        gameManager = new GameManagerPvsMO(sunPoints, brainPoints, DEFAULT_GAME_TIME);
         setTitle("POOBvsZOMBIES (Game)");
         prepareElements();
         prepareActions();
+        gameManager.setGame(this);
         board = new Board(sunPoints, brainPoints);
     }
 
+    /**
+     * Replaces the game manager displayed by this window. The simulation of the previous manager
+     * is stopped and, if it was running, the one of the new manager is started.
+     *
+     * @param manager the new game manager of this window
+     */
+    private void setGameManager(GameManagerPvsMO manager) {
+        boolean running = gameManager.getGameLoop().isRunning();
+        gameManager.getGameLoop().stop();
+        gameManager.setGame(null);
+        gameManager = manager;
+        gameManager.setGame(this);
+        boardG.setBoard(gameManager.getBoard());
+        if (running) {
+            gameManager.getGameLoop().start();
+        }
+    }
+
     /**
      * Updates the label displaying the current amount of Sun Points in the game.
      * The update is performed on the Event Dispatch Thread to ensure thread safety.
@@ -124,6 +146,7 @@ public class GamePvsMO extends JFrame {
     public void exit() {
         int confirm = JOptionPane.showConfirmDialog(this, "Realmente desea cerrar?", "Confirmar cierre", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
+            boardG.stop();
             dispose();
             System.exit(0);
         }
@@ -166,9 +189,9 @@ public class GamePvsMO extends JFrame {
      * interacting with the game, including:
      *
      * 1. Configuring the main game panel with a `BorderLayout`.
-     * 2. Creating a background panel with a custom image and adding a
-     *    semi-transparent grid to represent board positions.
-     * 3. Populating the board grid with clickable tiles, enabling the placement
+     * 2. Creating a {@link BoardCanvas} that paints the backyard, the grid of board
+     *    positions and every sprite in one pass.
+     * 3. Mapping every click on the canvas to its tile, enabling the placement
      *    of plants based on user actions.
      * 4. Initializing the plant selection panel with a selection of predefined plants.
      *    Each plant option is represented by a button with an associated image and
@@ -185,33 +208,9 @@ public class GamePvsMO extends JFrame {
         game.setLayout(new BorderLayout());
         add(new Button("West"), BorderLayout.WEST);
 
-        JPanel backgroundPanel = new JPanel() {
-            private Image backgroundImage = new ImageIcon("src/presentation/resources/images/Fondos/backyard.jpg").getImage();
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
-        backgroundPanel.setLayout(new BorderLayout());
-
-        boardG = new JPanel();
-        boardG.setLayout(new GridLayout(5, 10));
-        boardG.setOpaque(false);
-
-        for (int i = 0; i < 50; i++) {
-            int row = i / 10;
-            int col = i % 10;
-            JButton tile = new JButton();
-            tile.setOpaque(false);
-            tile.setContentAreaFilled(false);
-            tile.setBorderPainted(true);
-            tile.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1));
-            tile.addActionListener(e -> placePlant(row, col, tile));
-            boardG.add(tile);
-        }
-        backgroundPanel.add(boardG, BorderLayout.CENTER);
-        add(backgroundPanel, BorderLayout.CENTER);
+        boardG = new BoardCanvas(5, 10, IMAGES, this::placePlant);
+        boardG.setBoard(gameManager.getBoard());
+        add(boardG, BorderLayout.CENTER);
 
         plants = new JPanel() {
             @Override
@@ -303,8 +302,9 @@ public class GamePvsMO extends JFrame {
                     timeLabel.setText("Tiempo restante: " + remainingTime + " seg");
                 } else {
                     gameTimer.stop();
+                    gameManager.getGameLoop().stop();
                     JOptionPane.showMessageDialog(GamePvsMO.this, "¡Se acabó el tiempo! El juego ha terminado. En construccion");
-                    if (Board.winner()){
+                    if (gameManager.getBoard().winner()){
                         JOptionPane.showMessageDialog(GamePvsMO.this, "lAS PLANTAS YA HABIAN PERDIDO, GANARON LOS ZOMBIES");
                     }
                     else{
@@ -314,6 +314,7 @@ public class GamePvsMO extends JFrame {
             }
         });
         gameTimer.start();
+        gameManager.getGameLoop().start();
     }
 
 
@@ -336,92 +337,30 @@ public class GamePvsMO extends JFrame {
      * @param plant the name of the plant to be selected
      */
     private void selectPlant(String plant) {
-        selectedPlant = plant;
+        selectedPlant = EntityRegistry.plantByName(plant);
     }
 
     /**
      * Attempts to place a plant at the specified position on the game board.
      * This method checks if a plant has been selected and whether the placement
-     * is valid. If the conditions are met, the plant is placed on the board,
-     * and the corresponding visual updates are applied to the associated button.
+     * is valid. If the conditions are met, the plant is placed on the board and
+     * the board canvas repaints its cell right away.
      *
      * @param row the row index on the game board where the plant is to be placed
      * @param col the column index on the game board where the plant is to be placed
-     * @param cellButton the button representing the cell on the board where the plant will be placed
      */
-    private void placePlant(int row, int col, JButton cellButton) {
+    private void placePlant(int row, int col) {
         if (selectedPlant == null) {
             JOptionPane.showMessageDialog(this, "Por favor, selecciona una planta primero.");
             return;
         }
-        if (GameManagerPvsMO.getInstance().placePlant(board.getPlantByName(selectedPlant),row,col)) {
-            String gifPath = getGifForPlant(selectedPlant);
-            cellButton.setIcon(new ImageIcon(gifPath));
-            cellButton.setDisabledIcon(cellButton.getIcon());
-            cellButton.setEnabled(false);
+        if (gameManager.placePlant(selectedPlant.createPlant(),row,col)) {
+            boardG.refresh();
             selectedPlant = null;
         }
     }
 
 
-    /**
-     * Retrieves the file path of the GIF associated with the given plant.
-     *
-     * This method maps specific plant names to their respective GIF file paths.
-     * If the provided plant name does not match any of the predefined cases,
-     * an empty string is returned.
-     *
-     * @param plant the name of the plant for which the GIF file path is required
-     * @return the file path of the GIF associated with the specified plant;
-     *         returns an empty string if the plant name is not recognized
-     */
-    private String getGifForPlant(String plant) {
-        switch (plant) {
-            case "Sunflower":
-                return "src/presentation/resources/images/Plantas/gif/Sunflower.gif";
-            case "Peashooter":
-                return "src/presentation/resources/images/Plantas/gif/Peashooter.gif";
-            case "WallNut":
-                return "src/presentation/resources/images/Plantas/gif/Wall-nut.gif";
-            case "PotatoMine":
-                return "src/presentation/resources/images/Plantas/gif/PotatoMine.gif";
-            case "ECIPlant":
-                return "src/presentation/resources/images/Plantas/gif/ECIPlant.gif";
-            case "Evolve":
-                return "src/presentation/resources/images/Plantas/gif/Evolve.gif";
-            default:
-                return "";
-        }
-    }
-
-    /**
-     * Retrieves the file path of the GIF associated with the specified zombie type.
-     *
-     * This method evaluates the provided zombie name and returns the corresponding
-     * file path for its associated GIF representation. If the zombie type is not
-     * recognized, it returns an empty string.
-     *
-     * @param zombie the name of the zombie for which the GIF file path is required
-     * @return the file path of the GIF associated with the specified zombie type;
-     *         returns an empty string if the zombie name is not recognized
-     */
-    private String getGifForZombie(String zombie) {
-        switch (zombie) {
-            case "Basic":
-                return "src/presentation/resources/images/Zombies/Basic.gif";
-            case "Conehead":
-                return "src/presentation/resources/images/Zombies/Conehead.gif";
-            case "Buckethead":
-                return "src/presentation/resources/images/Zombies/Buckethead.gif";
-            case "Brainstein":
-                return "src/presentation/resources/images/Zombies/Brainstein.gif";
-            case "ECIZombie":
-                return "src/presentation/resources/images/Zombies/ECIZombie.png";
-            default:
-                return "";
-        }
-    }
-
     /**
      * Initializes and configures the elements of the application's menu.
      * This method creates a menu bar and attaches it to the frame.
@@ -487,7 +426,7 @@ public class GamePvsMO extends JFrame {
      * Displays a dialog box to inform the user that a new game has been created.
      */
     public void optionNew() {
-        gameManager = new GameManagerPvsMO(sunPoints, brainPoints, gameManager.getGameTime());
+        setGameManager(new GameManagerPvsMO(sunPoints, brainPoints, gameManager.getGameTime()));
         JOptionPane.showMessageDialog(this, "Nuevo");
     }
 
@@ -0,0 +1,133 @@
+import domain.BatchEnvironment;
+import domain.EntityRegistry;
+import domain.EntityType;
+import domain.PackedBoard;
+import domain.POOBvsZOMBIESException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchEnvironmentTest verifies the reset and step interface that plays many packed games at
+ * once: the layout of the observations, the end of the games and the independence of the
+ * results from the number of threads stepping the boards.
+ */
+public class BatchEnvironmentTest {
+    private static final int BOARDS = 16;
+    private static final int ROWS = 5;
+    private static final int COLUMNS = 10;
+
+    /**
+     * Tests the observations of a new game and of a plant placed by an action.
+     * Ensures that:
+     * - A new game has every lawn mower and {@code INITIAL_SUN} sun points.
+     * - A placed plant appears in its cell and its cost is taken from the sun points.
+     * - Boards that took no action are not affected.
+     */
+    @Test
+    public void testObservationsFollowActions() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BatchEnvironment environment = new BatchEnvironment(BOARDS, ROWS, COLUMNS, 1, 100, 5L, pool);
+            int size = environment.getObservationSize();
+            int[] observations = environment.reset();
+            assertEquals(ROWS * COLUMNS * PackedBoard.CELL_FEATURES + ROWS + 1, size, "The observation size should match its layout.");
+            assertEquals(BatchEnvironment.INITIAL_SUN, observations[size - 1], "A new game should start with the initial sun points.");
+            for (int i = 0; i < ROWS; i++) {
+                assertEquals(1, observations[size - 1 - ROWS + i], "A new game should have every lawn mower.");
+            }
+
+            EntityType wallNut = EntityRegistry.WALL_NUT;
+            int[] actions = new int[BOARDS];
+            actions[3] = environment.plantAction(wallNut, 2, 0);
+            environment.step(actions);
+
+            int cell = 3 * size + (2 * COLUMNS) * PackedBoard.CELL_FEATURES;
+            assertEquals(wallNut.getId() + 1, observations[cell], "The wall-nut should appear in its cell.");
+            assertEquals(BatchEnvironment.INITIAL_SUN - wallNut.getCost(), observations[4 * size - 1], "The wall-nut should be paid for.");
+            assertEquals(0, observations[4 * size + (2 * COLUMNS) * PackedBoard.CELL_FEATURES], "Other boards should not get the plant.");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests the highest action codes.
+     * Ensures that:
+     * - The last valid code places the last plant type in the last cell.
+     * - Stepping with the last valid code or with the first code past it does not fail, and
+     *   the code past the last one is ignored like {@code NO_ACTION}.
+     */
+    @Test
+    public void testTopActionCodes() {
+        BatchEnvironment environment = new BatchEnvironment(BOARDS, ROWS, COLUMNS, 1, 100, 5L, ForkJoinPool.commonPool());
+        EntityType last = EntityRegistry.plant(EntityRegistry.plantCount() - 1);
+        int top = environment.getActionCount() - 1;
+        assertEquals(environment.plantAction(last, ROWS - 1, COLUMNS - 1), top, "The last code should place the last plant in the last cell.");
+
+        int size = environment.getObservationSize();
+        int[] observations = environment.reset();
+        int[] actions = new int[BOARDS];
+        actions[0] = top;
+        actions[1] = environment.getActionCount();
+        environment.step(actions);
+        assertEquals(BatchEnvironment.INITIAL_SUN, observations[size - 1], "An unaffordable plant should not be paid for.");
+        assertEquals(BatchEnvironment.INITIAL_SUN, observations[2 * size - 1], "A code past the last one should be ignored.");
+        for (int b = 0; b < BOARDS; b++) {
+            assertFalse(environment.getDones()[b], "Every board should have stepped.");
+        }
+    }
+
+    /**
+     * Tests games that run out of steps.
+     * Ensures that:
+     * - Every board is done on its last step and starts a new game in the same step.
+     */
+    @Test
+    public void testGamesEndAfterMaxSteps() {
+        BatchEnvironment environment = new BatchEnvironment(BOARDS, ROWS, COLUMNS, 1, 3, 5L, ForkJoinPool.commonPool());
+        int[] actions = new int[BOARDS];
+        environment.step(actions);
+        environment.step(actions);
+        assertFalse(environment.getDones()[0], "A game should go on before its last step.");
+        environment.step(actions);
+        for (int b = 0; b < BOARDS; b++) {
+            assertTrue(environment.getDones()[b], "Every game should end on its last step.");
+        }
+        int size = environment.getObservationSize();
+        assertEquals(BatchEnvironment.INITIAL_SUN, environment.getObservations()[size - 1], "The observation should belong to the next game.");
+        assertThrows(POOBvsZOMBIESException.class, () -> environment.step(new int[BOARDS - 1]), "One action per board is required.");
+    }
+
+    /**
+     * Tests the same games stepped by pools of different sizes.
+     * Ensures that:
+     * - The observations, rewards and done flags are the same after every step.
+     */
+    @Test
+    public void testResultsDoNotDependOnThreads() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            BatchEnvironment first = new BatchEnvironment(BOARDS, ROWS, COLUMNS, 20, 50, 11L, single);
+            BatchEnvironment second = new BatchEnvironment(BOARDS, ROWS, COLUMNS, 20, 50, 11L, several);
+            int[] actions = new int[BOARDS];
+            for (int step = 0; step < 120; step++) {
+                for (int b = 0; b < BOARDS; b++) {
+                    actions[b] = step % 7 == b % 7 ? first.plantAction(EntityRegistry.PEASHOOTER, (step + b) % ROWS, step % 3) : BatchEnvironment.NO_ACTION;
+                }
+                first.step(actions);
+                second.step(actions);
+                assertArrayEquals(first.getObservations(), second.getObservations(), "The observations diverged at step " + step + ".");
+                assertTrue(Arrays.equals(first.getRewards(), second.getRewards()), "The rewards diverged at step " + step + ".");
+                assertTrue(Arrays.equals(first.getDones(), second.getDones()), "The done flags diverged at step " + step + ".");
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import domain.CommandLog;
+import domain.EntityRegistry;
+import domain.GameLoop;
+import domain.GameManagerPvsMO;
+import domain.MatchResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CommandLogTest verifies that the log of a match is enough to play it again: a replay of the
+ * log, saved to a file and opened again, reaches the same state as the match it was recorded
+ * from, every time it is replayed.
+ */
+public class CommandLogTest {
+    private static final int GAME_TIME = 30;
+    private static final long SEED = 1234L;
+
+    /**
+     * Tests a match of the machine mode replayed twice from its saved log.
+     * Ensures that:
+     * - The opened log holds the configuration and commands of the saved one.
+     * - Both replays give the same result and the same state hash.
+     * - The replays end in the same state as the recorded match.
+     */
+    @Test
+    public void testReplayTwiceGivesSameState() throws IOException {
+        GameManagerPvsMO original = playRecordedMatch();
+        File file = File.createTempFile("command-log-test", ".log");
+        try {
+            original.getCommandLog().save(file);
+            CommandLog log = CommandLog.open(file);
+            assertEquals(original.getCommandLog().size(), log.size(), "The opened log should hold every command.");
+            assertEquals(SEED, log.getSeed(), "The opened log should keep the seed.");
+
+            GameManagerPvsMO first = GameManagerPvsMO.fromLog(log);
+            MatchResult firstResult = log.replay(first);
+            GameManagerPvsMO second = GameManagerPvsMO.fromLog(log);
+            MatchResult secondResult = log.replay(second);
+
+            assertEquals(firstResult.toString(), secondResult.toString(), "Both replays should give the same result.");
+            assertEquals(first.getStateHash(), second.getStateHash(), "Both replays should end in the same state.");
+            assertEquals(original.getStateHash(), first.getStateHash(), "The replay should end in the recorded state.");
+            assertEquals(original.getSunPoints(), first.getSunPoints(), "The replay should end with the recorded sun points.");
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Plays a match of the machine mode with plants placed by hand and zombies placed by the
+     * machine on random columns, until its time is over or a zombie reaches the house.
+     *
+     * @return the game manager of the recorded match.
+     */
+    private static GameManagerPvsMO playRecordedMatch() {
+        GameManagerPvsMO manager = new GameManagerPvsMO(5, 10, 500, 0, GAME_TIME, SEED);
+        GameLoop loop = manager.getGameLoop();
+        long totalTicks = (long) GAME_TIME * GameLoop.TICKS_PER_SECOND;
+        while (loop.getTick() < totalTicks && !manager.getBoard().isHouseReached()) {
+            long tick = loop.getTick();
+            if (tick == 0) {
+                manager.placePlant(EntityRegistry.plantByName("Sunflower").createPlant(), 4, 0);
+                manager.placePlant(EntityRegistry.plantByName("Peashooter").createPlant(), 4, 1);
+            } else if (tick == 60) {
+                manager.placePlant(EntityRegistry.plantByName("WallNut").createPlant(), 4, 3);
+            } else if (tick % 100 == 50) {
+                manager.placeZombie(EntityRegistry.BASIC.createZombie());
+            } else if (tick == 300) {
+                manager.removePlant(4, 0);
+            }
+            loop.tick();
+        }
+        return manager;
+    }
+}
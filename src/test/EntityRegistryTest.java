@@ -0,0 +1,92 @@
+import domain.EntityRegistry;
+import domain.EntityType;
+import domain.Plant;
+import domain.POOBvsZOMBIESException;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EntityRegistryTest verifies the registry of the types of plants and zombies: ids are dense and
+ * never change, since saved games store them, and every type carries the stats its characters
+ * are built with.
+ */
+public class EntityRegistryTest {
+
+    /**
+     * Tests the ids of the registered types.
+     * Ensures that:
+     * - The ids of each kind go from 0 to the number of types minus one, in registration order.
+     * - The ids stored in saved games keep naming the same types.
+     * - Every type is found by its name, and ids and names out of range are rejected.
+     */
+    @Test
+    public void testIdsAreStableAndDense() {
+        for (int i = 0; i < EntityRegistry.plantCount(); i++) {
+            EntityType type = EntityRegistry.plant(i);
+            assertEquals(i, type.getId(), "Plant ids should be dense.");
+            assertTrue(type.isPlant(), "A plant type should be a plant.");
+            assertSame(type, EntityRegistry.plantByName(type.getName()), "A plant should be found by its name.");
+        }
+        for (int i = 0; i < EntityRegistry.zombieCount(); i++) {
+            EntityType type = EntityRegistry.zombie(i);
+            assertEquals(i, type.getId(), "Zombie ids should be dense.");
+            assertFalse(type.isPlant(), "A zombie type should not be a plant.");
+            assertSame(type, EntityRegistry.zombieByName(type.getName()), "A zombie should be found by its name.");
+        }
+
+        EntityType[] plants = {EntityRegistry.SUNFLOWER, EntityRegistry.PEASHOOTER, EntityRegistry.WALL_NUT,
+                EntityRegistry.POTATO_MINE, EntityRegistry.ECI_PLANT, EntityRegistry.EVOLVE};
+        EntityType[] zombies = {EntityRegistry.BASIC, EntityRegistry.CONEHEAD, EntityRegistry.BUCKETHEAD,
+                EntityRegistry.BRAINSTEIN, EntityRegistry.ECI_ZOMBIE};
+        for (int i = 0; i < plants.length; i++) {
+            assertSame(plants[i], EntityRegistry.plant(i), "Saved plant id " + i + " should keep its type.");
+        }
+        for (int i = 0; i < zombies.length; i++) {
+            assertSame(zombies[i], EntityRegistry.zombie(i), "Saved zombie id " + i + " should keep its type.");
+        }
+
+        assertThrows(POOBvsZOMBIESException.class, () -> EntityRegistry.plant(EntityRegistry.plantCount()), "An id past the last plant should be rejected.");
+        assertThrows(POOBvsZOMBIESException.class, () -> EntityRegistry.zombie(-1), "A negative id should be rejected.");
+        assertThrows(POOBvsZOMBIESException.class, () -> EntityRegistry.plantByName("Basic"), "A zombie name should not name a plant.");
+    }
+
+    /**
+     * Tests the characters built from every type.
+     * Ensures that:
+     * - Every character is of the class of its type and refers back to its type.
+     * - Every character starts with the hit points and cost of its type.
+     * - The types keep the stats the characters were built with before the registry.
+     */
+    @Test
+    public void testStatsMatchCharacters() {
+        for (int i = 0; i < EntityRegistry.plantCount(); i++) {
+            EntityType type = EntityRegistry.plant(i);
+            Plant plant = type.createPlant();
+            assertSame(type.getCharacterClass(), plant.getClass(), "The plant should be of the class of its type.");
+            assertSame(type, plant.getType(), "The plant should refer to its type.");
+            assertEquals(type.getHitPoints(), plant.getHitPoints(), "The plant should start with the hit points of its type.");
+            assertEquals(type.getCost(), plant.getSunCost(), "The plant should cost what its type costs.");
+        }
+        for (int i = 0; i < EntityRegistry.zombieCount(); i++) {
+            EntityType type = EntityRegistry.zombie(i);
+            Zombies zombie = type.createZombie();
+            assertSame(type.getCharacterClass(), zombie.getClass(), "The zombie should be of the class of its type.");
+            assertSame(type, zombie.getType(), "The zombie should refer to its type.");
+            assertEquals(type.getHitPoints(), zombie.getHitPoints(), "The zombie should start with the hit points of its type.");
+            assertEquals(type.getCost(), zombie.getCostBrains(), "The zombie should cost what its type costs.");
+        }
+
+        int[][] plantStats = {{300, 50}, {300, 100}, {4000, 50}, {100, 25}, {150, 75}, {500, 200}};
+        for (int i = 0; i < plantStats.length; i++) {
+            assertEquals(plantStats[i][0], EntityRegistry.plant(i).getHitPoints(), "The hit points of plant " + i + " should not change.");
+            assertEquals(plantStats[i][1], EntityRegistry.plant(i).getCost(), "The cost of plant " + i + " should not change.");
+        }
+        int[][] zombieStats = {{100, 100}, {380, 150}, {800, 200}, {300, 25}, {200, 250}};
+        for (int i = 0; i < zombieStats.length; i++) {
+            assertEquals(zombieStats[i][0], EntityRegistry.zombie(i).getHitPoints(), "The hit points of zombie " + i + " should not change.");
+            assertEquals(zombieStats[i][1], EntityRegistry.zombie(i).getCost(), "The cost of zombie " + i + " should not change.");
+        }
+    }
+}
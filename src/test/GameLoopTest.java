@@ -0,0 +1,108 @@
+import domain.EntityRegistry;
+import domain.GameLoop;
+import domain.GameManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameLoopTest verifies the fixed-timestep clock that drives a board: durations are converted to
+ * whole ticks, the same number of ticks always gives the same game however they are advanced, and
+ * the real-time clock can be stopped and started again.
+ */
+public class GameLoopTest {
+
+    /**
+     * Tests the conversion of durations to ticks.
+     * Ensures that:
+     * - A second lasts {@code TICKS_PER_SECOND} ticks and durations are rounded to whole ticks.
+     * - Any positive duration lasts at least one tick.
+     */
+    @Test
+    public void testToTicks() {
+        assertEquals(GameLoop.TICKS_PER_SECOND, GameLoop.toTicks(1), "A second should last TICKS_PER_SECOND ticks.");
+        assertEquals(30, GameLoop.toTicks(1.5), "A second and a half should last 30 ticks.");
+        assertEquals(1, GameLoop.toTicks(0.001), "A short duration should last one tick.");
+        assertEquals(1000 / GameLoop.TICKS_PER_SECOND, GameLoop.TICK_MILLIS, "A tick should last TICK_MILLIS milliseconds.");
+    }
+
+    /**
+     * Tests the same game advanced in steps of different sizes.
+     * Ensures that:
+     * - {@code advance} counts every tick it plays.
+     * - Advancing one tick at a time or many at once gives the same game.
+     */
+    @Test
+    public void testAdvanceAccumulatesTicks() {
+        GameManager single = newGame();
+        GameManager batched = newGame();
+        for (int i = 0; i < 600; i++) {
+            single.getGameLoop().tick();
+        }
+        batched.getGameLoop().advance(250);
+        batched.getGameLoop().advance(0);
+        batched.getGameLoop().advance(350);
+
+        assertEquals(600, single.getGameLoop().getTick(), "Every tick should be counted.");
+        assertEquals(600, batched.getGameLoop().getTick(), "Every advanced tick should be counted.");
+        assertEquals(single.getStateHash(), batched.getStateHash(), "The same ticks should give the same game.");
+        assertEquals(single.getSunPoints(), batched.getSunPoints(), "The same ticks should produce the same sun.");
+    }
+
+    /**
+     * Tests the real-time clock of the loop.
+     * Ensures that:
+     * - A started loop advances on its own and starting it twice has no effect.
+     * - A stopped loop no longer advances.
+     * - A loop started again goes on from its tick.
+     */
+    @Test
+    public void testStopAndStart() throws InterruptedException {
+        GameLoop loop = newGame().getGameLoop();
+        assertFalse(loop.isRunning(), "A new loop should not be running.");
+
+        loop.start();
+        loop.start();
+        assertTrue(loop.isRunning(), "A started loop should be running.");
+        waitForTick(loop, 3);
+        loop.stop();
+        assertFalse(loop.isRunning(), "A stopped loop should not be running.");
+        Thread.sleep(3 * GameLoop.TICK_MILLIS);
+        long stopped = loop.getTick();
+        Thread.sleep(5 * GameLoop.TICK_MILLIS);
+        assertEquals(stopped, loop.getTick(), "A stopped loop should not advance.");
+
+        loop.start();
+        waitForTick(loop, stopped + 3);
+        loop.stop();
+        assertTrue(loop.getTick() >= stopped + 3, "A loop started again should go on from its tick.");
+    }
+
+    /**
+     * Builds a game with plants that produce sun and shoot, and zombies to shoot at.
+     *
+     * @return the game, not advanced yet.
+     */
+    private static GameManager newGame() {
+        GameManager manager = new GameManager(5, 10, 1000, 1000, 300);
+        manager.placePlant(EntityRegistry.SUNFLOWER.createPlant(), 0, 0);
+        manager.placePlant(EntityRegistry.PEASHOOTER.createPlant(), 1, 0);
+        manager.placeZombie(EntityRegistry.CONEHEAD.createZombie(), 1, 9);
+        manager.placeZombie(EntityRegistry.BASIC.createZombie(), 3, 9);
+        return manager;
+    }
+
+    /**
+     * Waits until a running loop reaches a tick.
+     *
+     * @param loop the running loop.
+     * @param tick the tick to reach.
+     */
+    private static void waitForTick(GameLoop loop, long tick) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loop.getTick() < tick && System.currentTimeMillis() < deadline) {
+            Thread.sleep(GameLoop.TICK_MILLIS);
+        }
+        assertTrue(loop.getTick() >= tick, "The loop should reach tick " + tick + ".");
+    }
+}
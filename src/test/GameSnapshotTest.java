@@ -0,0 +1,177 @@
+import domain.EntityRegistry;
+import domain.EntityType;
+import domain.GameManager;
+import domain.GameManagerPvsMO;
+import domain.GameRules;
+import domain.GameSnapshot;
+import domain.POOBvsZOMBIESException;
+import domain.WaveWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameSnapshotTest verifies the binary save format of a game: saving and opening a game restores
+ * a game that goes on exactly like the original, and files that are damaged or written in
+ * another version of the format are rejected.
+ */
+public class GameSnapshotTest {
+
+    /**
+     * Tests a game saved during play and opened again.
+     * Ensures that:
+     * - The file starts with the magic bytes and the current version.
+     * - The opened game has the same state hash and resources as the saved one.
+     * - Both games stay equal while they go on, so pending timers were restored.
+     */
+    @Test
+    public void testSaveOpenRoundTrip() throws IOException {
+        GameManager original = new GameManager(1000, 1000, 300);
+        original.placePlant(EntityRegistry.plantByName("Sunflower").createPlant(), 0, 0);
+        original.placePlant(EntityRegistry.plantByName("Peashooter").createPlant(), 1, 1);
+        original.placePlant(EntityRegistry.plantByName("PotatoMine").createPlant(), 2, 5);
+        original.placeZombie(EntityRegistry.CONEHEAD.createZombie(), 1, 9);
+        advance(original, 137);
+
+        File file = File.createTempFile("snapshot-test", ".dat");
+        try {
+            original.save(file);
+            byte[] data = Files.readAllBytes(file.toPath());
+            assertEquals("PVZS", new String(data, 0, 4, StandardCharsets.US_ASCII), "The file should start with the magic bytes.");
+            assertEquals(GameSnapshot.VERSION, data[4], "The magic bytes should be followed by the version.");
+
+            GameManager opened = GameManager.open(file);
+            assertEquals(original.getStateHash(), opened.getStateHash(), "The opened game should be the saved one.");
+            assertEquals(original.getSunPoints(), opened.getSunPoints(), "The opened game should keep its sun points.");
+            for (int tick = 0; tick < 400; tick++) {
+                original.getGameLoop().tick();
+                opened.getGameLoop().tick();
+                assertEquals(original.getStateHash(), opened.getStateHash(), "The games diverged " + tick + " ticks after opening.");
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Tests a game of the machine mode encoded and decoded in memory.
+     * Ensures that:
+     * - The seed and the random draws of the machine are restored, so its next choices are the same.
+     */
+    @Test
+    public void testMachineModeRoundTrip() {
+        GameManagerPvsMO original = new GameManagerPvsMO(5, 10, 500, 0, 120, 99L);
+        original.placeZombie(EntityRegistry.BASIC.createZombie());
+        advance(original, 50);
+
+        GameManagerPvsMO decoded = (GameManagerPvsMO) GameSnapshot.decode(GameSnapshot.encode(original));
+        assertEquals(original.getStateHash(), decoded.getStateHash(), "The decoded game should be the encoded one.");
+        assertEquals(original.getSeed(), decoded.getSeed(), "The decoded game should keep its seed.");
+        original.placeZombie(EntityRegistry.BASIC.createZombie());
+        decoded.placeZombie(EntityRegistry.BASIC.createZombie());
+        assertEquals(original.getStateHash(), decoded.getStateHash(), "The machine should make the same choice after decoding.");
+    }
+
+    /**
+     * Tests damaged snapshots.
+     * Ensures that:
+     * - A snapshot with a changed byte fails its checksum.
+     * - A truncated snapshot is rejected.
+     */
+    @Test
+    public void testDamagedSnapshotIsRejected() {
+        byte[] data = GameSnapshot.encode(new GameManager(50, 50, 60));
+
+        byte[] flipped = data.clone();
+        flipped[data.length / 2] ^= 0x10;
+        assertCorrupt(flipped, "A changed byte should fail the checksum.");
+        assertCorrupt(Arrays.copyOf(data, data.length - 5), "A truncated snapshot should be rejected.");
+    }
+
+    /**
+     * Tests a snapshot written by the previous version of the format, before peas were saved
+     * with their lanes.
+     * Ensures that:
+     * - A snapshot of version 3 is rejected instead of being read with the layout of version 4,
+     *   even when its checksum is valid.
+     */
+    @Test
+    public void testPreviousVersionIsRejected() {
+        assertEquals(4, GameSnapshot.VERSION, "This test describes the migration to version 4.");
+        byte[] data = GameSnapshot.encode(new GameManager(50, 50, 60));
+        data[4] = 3;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        int value = (int) crc.getValue();
+        for (int i = 0; i < 4; i++) {
+            data[data.length - 4 + i] = (byte) (value >>> (24 - 8 * i));
+        }
+        assertCorrupt(data, "A snapshot of version 3 should be rejected.");
+    }
+
+    /**
+     * Tests a game whose imported wave was only partly read when it was saved.
+     * Ensures that:
+     * - The snapshot lists every zombie of the wave, whether it was already requested or not.
+     * - The snapshot is the same as the one of the game with the whole wave imported at once.
+     */
+    @Test
+    public void testPartlyReadWaveIsSavedWhole() throws IOException {
+        File wave = File.createTempFile("snapshot-test", ".wave");
+        try {
+            WaveWriter writer = new WaveWriter(wave, true, 100, 200, 300);
+            EntityType[] types = {EntityRegistry.BASIC, EntityRegistry.CONEHEAD, EntityRegistry.BUCKETHEAD};
+            for (int i = 0; i < 12; i++) {
+                writer.write(types[i % types.length].createZombie());
+            }
+            writer.close();
+
+            GameManager streamed = GameManager.aimportWave(wave);
+            streamed.nextWaveZombie();
+            streamed.nextWaveZombie();
+            assertTrue(streamed.hasWaveZombies(), "The wave should still have zombies.");
+            byte[] lazy = GameSnapshot.encode(streamed);
+            byte[] eager = GameSnapshot.encode(GameManager.aimport(wave));
+
+            assertArrayEquals(eager, lazy, "Saving should not depend on how much of the wave was read.");
+            int left = 0;
+            while (streamed.hasWaveZombies()) {
+                streamed.nextWaveZombie();
+                left++;
+            }
+            assertEquals(10, left, "Saving should not consume the wave of the game.");
+        } finally {
+            wave.delete();
+        }
+    }
+
+    /**
+     * Decodes a snapshot that must be rejected as corrupt.
+     *
+     * @param data the encoded snapshot.
+     * @param message the message of the failure.
+     */
+    private static void assertCorrupt(byte[] data, String message) {
+        POOBvsZOMBIESException e = assertThrows(POOBvsZOMBIESException.class, () -> GameSnapshot.decode(data), message);
+        assertEquals(POOBvsZOMBIESException.CORRUPT_SAVE, e.getMessage(), message);
+    }
+
+    /**
+     * Advances the game loop of a game.
+     *
+     * @param rules the game manager.
+     * @param ticks the number of ticks.
+     */
+    private static void advance(GameRules rules, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            rules.getGameLoop().tick();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 import org.junit.jupiter.api.Test;
+import presentation.BoardCanvas;
 import presentation.Game;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,23 +29,27 @@ import static org.junit.jupiter.api.Assertions.*;
 public class GameTest {
 
     /**
-     * Tests the initialization of the "boardG" panel in the Game class.
+     * Tests the initialization of the "boardG" canvas in the Game class.
      * Ensures that:
-     * - The "boardG" panel is not null after initialization.
-     * - The "boardG" panel contains exactly 50 components.
-     * - All components within the "boardG" panel are instances of JButton.
+     * - The "boardG" canvas is not null after initialization.
+     * - The "boardG" canvas covers a grid of 5 rows and 10 columns.
+     * - The "boardG" canvas paints its tiles itself, without child components.
+     * - Clicks on the "boardG" canvas are mapped to the tile under them.
      */
     @Test
     public void testPrepareElementsBoardInitializesBoardG() {
-        Game game = new Game();
-
-        JPanel boardG = getPrivateFieldValue(game, "boardG");
-        assertNotNull(boardG, "boardG panel is not initialized.");
-        assertEquals(50, boardG.getComponentCount(), "boardG does not contain the expected 50 components.");
-
-        for (Component component : boardG.getComponents()) {
-            assertTrue(component instanceof JButton, "All boardG components should be instances of JButton.");
-        }
+        Game game = newGame();
+
+        BoardCanvas boardG = getPrivateFieldValue(game, "boardG");
+        assertNotNull(boardG, "boardG canvas is not initialized.");
+        assertEquals(5, boardG.getRows(), "boardG does not have the expected 5 rows.");
+        assertEquals(10, boardG.getColumns(), "boardG does not have the expected 10 columns.");
+        assertEquals(0, boardG.getComponentCount(), "boardG should not contain child components.");
+
+        boardG.setSize(500, 250);
+        assertEquals(2, boardG.getRowAt(120), "A click should be mapped to the row under it.");
+        assertEquals(7, boardG.getColumnAt(360), "A click should be mapped to the column under it.");
+        assertEquals(new Rectangle(350, 100, 50, 50), boardG.getCellBounds(2, 7), "Tiles should split the canvas evenly.");
     }
 
     /**
@@ -56,7 +63,7 @@ public class GameTest {
      */
     @Test
     public void testPrepareElementsBoardInitializesPlantsPanel() {
-        Game game = new Game();
+        Game game = newGame();
 
         JPanel plants = getPrivateFieldValue(game, "plants");
         assertNotNull(plants, "plants panel is not initialized.");
@@ -80,7 +87,7 @@ public class GameTest {
      */
     @Test
     public void testPrepareElementsBoardInitializesZombiesPanel() {
-        Game game = new Game();
+        Game game = newGame();
 
         JPanel zombies = getPrivateFieldValue(game, "zombies");
         assertNotNull(zombies, "zombies panel is not initialized.");
@@ -103,7 +110,7 @@ public class GameTest {
      */
     @Test
     public void testPrepareElementsBoardInitializesPointsPanel() {
-        Game game = new Game();
+        Game game = newGame();
 
         JPanel pointsPanel = getPrivateFieldValue(game, "pointsPanel");
         assertNotNull(pointsPanel, "pointsPanel is not initialized.");
@@ -130,13 +137,28 @@ public class GameTest {
      */
     @Test
     public void testPrepareElementsBoardAddsPanelsToGame() {
-        Game game = new Game();
+        Game game = newGame();
         Component[] components = game.getContentPane().getComponents();
 
         long componentCount = getComponentCountByClass(components, JPanel.class);
         assertTrue(componentCount > 0, "Game should add JPanel components to the frame.");
     }
 
+    /**
+     * Creates a new Game that keeps its autosave and journal in a new temporary directory, so
+     * the tests never touch the saved games of the user.
+     *
+     * @return the new game window.
+     */
+    private Game newGame() {
+        try {
+            return new Game(Files.createTempDirectory("poobvszombies").toFile());
+        } catch (IOException e) {
+            fail("Could not create the save directory: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Utility method to retrieve private field values from an object.
      *
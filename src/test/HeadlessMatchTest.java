@@ -0,0 +1,81 @@
+import domain.Command;
+import domain.EntityRegistry;
+import domain.GameManagerPvsMO;
+import domain.HeadlessMatch;
+import domain.MatchResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HeadlessMatchTest verifies that matches played without a user interface are repeatable and
+ * report the inputs they could not apply.
+ */
+public class HeadlessMatchTest {
+
+    /**
+     * Tests a scripted match played twice.
+     * Ensures that:
+     * - Both runs produce the same result, including the zombies sent to a random row.
+     * - Both runs end with the same state hash.
+     */
+    @Test
+    public void testSameSeedAndScriptGiveSameResult() {
+        HeadlessMatch first = newMatch();
+        HeadlessMatch second = newMatch();
+
+        MatchResult firstResult = first.run();
+        MatchResult secondResult = second.run();
+
+        assertEquals(firstResult.toString(), secondResult.toString(), "The same match should give the same result.");
+        assertEquals(first.getManager().getStateHash(), second.getManager().getStateHash(), "The same match should end in the same state.");
+    }
+
+    /**
+     * Tests a script that sends two zombies to the same cell at the same tick.
+     * Ensures that:
+     * - The second zombie is not placed and is counted as a rejected input.
+     */
+    @Test
+    public void testOccupiedCellIsRejected() {
+        HeadlessMatch match = new HeadlessMatch(1000, 1000, 2, 3L);
+        match.addInput(Command.zombie(0, "Basic", 2, 9));
+        match.addInput(Command.zombie(0, "Basic", 2, 9));
+
+        match.run();
+
+        assertEquals(1, match.getRejectedInputs(), "The zombie sent to an occupied cell should be rejected.");
+    }
+
+    /**
+     * Tests the zombies the machine places on a random column of the bottom row.
+     * Ensures that:
+     * - A zombie is placed while the bottom row has an empty cell.
+     * - The placement fails, instead of being silently dropped, once the bottom row is full.
+     */
+    @Test
+    public void testMachineSpawnReportsFullRow() {
+        GameManagerPvsMO manager = new GameManagerPvsMO(2, 2, 0, 0, 60, 11L);
+
+        assertTrue(manager.placeZombie(EntityRegistry.BASIC.createZombie()), "The first zombie should find an empty column.");
+        int emptyColumn = manager.getBoard().isEmpty(1, 0) ? 0 : 1;
+        assertTrue(manager.placeZombie(EntityRegistry.BASIC.createZombie(), 1, emptyColumn), "The other column should be filled.");
+        assertFalse(manager.placeZombie(EntityRegistry.BASIC.createZombie()), "A full bottom row should reject the zombie.");
+    }
+
+    /**
+     * Builds a match with a fixed seed and a script mixing plants and zombies.
+     *
+     * @return the match, not played yet.
+     */
+    private static HeadlessMatch newMatch() {
+        HeadlessMatch match = new HeadlessMatch(1000, 1000, 40, 42L);
+        match.addInput(Command.plant(0, "Sunflower", 0, 0));
+        match.addInput(Command.plant(0, "Peashooter", 1, 1));
+        match.addInput(Command.plant(20, "WallNut", 2, 4));
+        match.addInput(Command.zombie(40, "Basic", -1));
+        match.addInput(Command.zombie(200, "Conehead", -1));
+        match.addInput(Command.zombie(300, "Buckethead", 2));
+        return match;
+    }
+}
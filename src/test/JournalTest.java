@@ -0,0 +1,122 @@
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.Journal;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JournalTest verifies that a match is restored after a crash from its last snapshot followed
+ * by the commands of its write-ahead journal.
+ */
+public class JournalTest {
+
+    /**
+     * Tests a match that keeps playing after its snapshot is saved.
+     * Ensures that:
+     * - Every journaled command is durable once the journal is synced.
+     * - The recovered match, advanced to the same tick, has the same state hash as the original.
+     */
+    @Test
+    public void testRecoverReplaysCommandsAfterSnapshot() throws IOException {
+        File snapshot = File.createTempFile("journal-test", ".dat");
+        File journalFile = File.createTempFile("journal-test", ".journal");
+        try {
+            GameManager manager = playAfterSnapshot(snapshot, journalFile);
+
+            GameManager recovered = GameManager.recover(snapshot, journalFile);
+            while (recovered.getGameLoop().getTick() < manager.getGameLoop().getTick()) {
+                recovered.getGameLoop().tick();
+            }
+            assertEquals(manager.getStateHash(), recovered.getStateHash(), "The recovered match should match the original.");
+            assertEquals(manager.getSunPoints(), recovered.getSunPoints(), "The recovered match should have the same sun points.");
+        } finally {
+            snapshot.delete();
+            journalFile.delete();
+        }
+    }
+
+    /**
+     * Tests a journal whose last line was torn by the crash.
+     * Ensures that:
+     * - The torn line is ignored and the commands before it are still recovered.
+     */
+    @Test
+    public void testTornLastLineIsIgnored() throws IOException {
+        File snapshot = File.createTempFile("journal-test", ".dat");
+        File journalFile = File.createTempFile("journal-test", ".journal");
+        try {
+            GameManager manager = playAfterSnapshot(snapshot, journalFile);
+            try (FileWriter writer = new FileWriter(journalFile, StandardCharsets.UTF_8, true)) {
+                writer.write("9");
+            }
+
+            GameManager recovered = GameManager.recover(snapshot, journalFile);
+            while (recovered.getGameLoop().getTick() < manager.getGameLoop().getTick()) {
+                recovered.getGameLoop().tick();
+            }
+            assertEquals(manager.getStateHash(), recovered.getStateHash(), "A torn line should not change the recovered match.");
+        } finally {
+            snapshot.delete();
+            journalFile.delete();
+        }
+    }
+
+    /**
+     * Tests a journal closed without any command.
+     * Ensures that:
+     * - The idle journal writes no batch and closes without error.
+     */
+    @Test
+    public void testIdleJournalWritesNothing() throws IOException {
+        File journalFile = File.createTempFile("journal-test", ".journal");
+        try {
+            Journal journal = new Journal(journalFile);
+            journal.sync();
+            journal.close();
+            assertEquals(0, journal.getBatches(), "An idle journal should not sync.");
+            assertEquals(0, journalFile.length(), "An idle journal should stay empty.");
+        } finally {
+            journalFile.delete();
+        }
+    }
+
+    /**
+     * Saves a snapshot of a new match and then plays it with a journal, the way a window
+     * protects its match against crashes.
+     *
+     * @param snapshot the file of the snapshot.
+     * @param journalFile the file of the journal.
+     * @return the game manager of the match, after the journal is closed.
+     */
+    private static GameManager playAfterSnapshot(File snapshot, File journalFile) {
+        GameManager manager = new GameManager(1000, 1000, 300);
+        manager.placePlant(EntityRegistry.plantByName("Sunflower").createPlant(), 0, 0);
+        manager.getGameLoop().tick();
+        manager.save(snapshot);
+
+        Journal journal = new Journal(journalFile);
+        manager.getCommandLog().setJournal(journal);
+        for (int tick = 0; tick < 200; tick++) {
+            manager.getGameLoop().tick();
+        }
+        assertTrue(manager.placePlant(EntityRegistry.plantByName("WallNut").createPlant(), 1, 3), "The wall-nut should be placed.");
+        for (int tick = 0; tick < 100; tick++) {
+            manager.getGameLoop().tick();
+        }
+        assertTrue(manager.placeZombie(EntityRegistry.BASIC.createZombie(), 1, 9), "The zombie should be placed.");
+        assertTrue(manager.removePlant(0, 0), "The sunflower should be removed.");
+        journal.sync();
+        assertEquals(3, journal.getDurable(), "Every command should be durable after a sync.");
+        journal.close();
+        for (int tick = 0; tick < 400; tick++) {
+            manager.getGameLoop().tick();
+        }
+        return manager;
+    }
+}
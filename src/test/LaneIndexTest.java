@@ -0,0 +1,129 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.LaneIndex;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LaneIndexTest verifies that a {@link LaneIndex} keeps the characters of every lane ordered by
+ * column and finds the nearest one to the left of a column. The characters are placed on a
+ * board first, which gives them their position.
+ */
+public class LaneIndexTest {
+
+    /**
+     * Tests a lane filled out of order and beyond its initial capacity.
+     * Ensures that:
+     * - The lane is ordered by ascending column whatever the order of the additions.
+     * - Other lanes are not affected.
+     */
+    @Test
+    public void testLaneIsOrderedByColumn() {
+        Board board = new Board(5, 10, 0, 0, false);
+        LaneIndex<Zombies> lanes = new LaneIndex<>(board.getRows());
+        int[] columns = {7, 2, 9, 0, 5, 3};
+        for (int col : columns) {
+            lanes.add(place(board, 1, col));
+        }
+
+        assertEquals(columns.length, lanes.size(1), "Every zombie should be indexed.");
+        assertEquals(0, lanes.size(0), "Other lanes should stay empty.");
+        int[] expected = {0, 2, 3, 5, 7, 9};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], lanes.get(1, i).getCol(), "The lane should be ordered by column.");
+        }
+    }
+
+    /**
+     * Tests the search of the nearest character to the left of a column.
+     * Ensures that:
+     * - Only characters in strictly smaller columns are found.
+     * - No character is found to the left of the first one.
+     */
+    @Test
+    public void testFirstLeftOf() {
+        Board board = new Board(5, 10, 0, 0, false);
+        LaneIndex<Zombies> lanes = new LaneIndex<>(board.getRows());
+        Zombies two = place(board, 3, 2);
+        Zombies six = place(board, 3, 6);
+        lanes.add(six);
+        lanes.add(two);
+
+        assertSame(six, lanes.firstLeftOf(3, 9), "The nearest zombie to the left of column 9 is in column 6.");
+        assertSame(two, lanes.firstLeftOf(3, 6), "A zombie in the same column should not be found.");
+        assertNull(lanes.firstLeftOf(3, 2), "There is no zombie to the left of column 2.");
+        assertNull(lanes.firstLeftOf(0, 9), "An empty lane has no zombie.");
+    }
+
+    /**
+     * Tests the removal of characters.
+     * Ensures that:
+     * - A removed character leaves the others in order.
+     * - Removing a character that is not indexed fails.
+     * - Clearing a lane empties it.
+     */
+    @Test
+    public void testRemoveAndClear() {
+        Board board = new Board(5, 10, 0, 0, false);
+        LaneIndex<Zombies> lanes = new LaneIndex<>(board.getRows());
+        Zombies first = place(board, 2, 1);
+        Zombies middle = place(board, 2, 4);
+        Zombies last = place(board, 2, 8);
+        lanes.add(first);
+        lanes.add(middle);
+        lanes.add(last);
+
+        assertTrue(lanes.remove(middle), "An indexed zombie should be removed.");
+        assertFalse(lanes.remove(middle), "A zombie should not be removed twice.");
+        assertEquals(2, lanes.size(2), "One zombie should have been removed.");
+        assertSame(first, lanes.get(2, 0), "The first zombie should stay first.");
+        assertSame(last, lanes.get(2, 1), "The last zombie should follow it.");
+
+        lanes.clear(2);
+        assertEquals(0, lanes.size(2), "A cleared lane should be empty.");
+    }
+
+    /**
+     * Tests zombies of a board moved past each other.
+     * Ensures that:
+     * - Zombies that jumped past another one in either direction are removed once defeated.
+     * - Ticks after the removals do not find stale zombies in the lanes.
+     */
+    @Test
+    public void testMovePastAnotherZombie() {
+        Board board = new Board(5, 10, 0, 0, false);
+        Zombies passed = place(board, 2, 5);
+        Zombies jumper = place(board, 2, 8);
+        Zombies walker = place(board, 4, 1);
+        place(board, 4, 3);
+        assertTrue(board.moveZombie(2, 8, 3), "The zombie should jump past the other one.");
+        assertTrue(board.moveZombie(4, 1, 6), "The zombie should move right past the other one.");
+
+        passed.setHitPoints(passed.getHitPoints());
+        board.tick();
+        assertFalse(board.hasZombie(2, 5), "The passed zombie should be removed.");
+        jumper.setHitPoints(jumper.getHitPoints());
+        walker.setHitPoints(walker.getHitPoints());
+        board.tick();
+        board.tick();
+        assertFalse(board.hasZombie(2, 3), "The zombie that jumped should be removed.");
+        assertFalse(board.hasZombie(4, 6), "The zombie that moved right should be removed.");
+        assertTrue(board.hasZombie(4, 3), "The zombie that was passed to the right should stay.");
+    }
+
+    /**
+     * Places a basic zombie on a board.
+     *
+     * @param board the board.
+     * @param row the row index.
+     * @param col the column index.
+     * @return the placed zombie.
+     */
+    private static Zombies place(Board board, int row, int col) {
+        Zombies zombie = EntityRegistry.BASIC.createZombie();
+        assertTrue(board.addZombie(zombie, row, col), "The zombie should be placed.");
+        return zombie;
+    }
+}
@@ -0,0 +1,75 @@
+import domain.Command;
+import domain.HeadlessMatch;
+import domain.MonteCarloReport;
+import domain.MonteCarloRunner;
+import domain.POOBvsZOMBIESException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MonteCarloRunnerTest verifies that a batch of headless matches played in parallel is
+ * reproducible: the report of a run depends only on its scenario and seed.
+ */
+public class MonteCarloRunnerTest {
+    private static final int MATCHES = 24;
+
+    /**
+     * Tests the same seeded batch played several times.
+     * Ensures that:
+     * - Every run plays every match.
+     * - Runs with the same seed give the same report, whatever the number of threads.
+     * - A run with another seed plays other matches.
+     */
+    @Test
+    public void testSeededBatchIsRepeatable() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            MonteCarloReport first = new MonteCarloRunner(MonteCarloRunnerTest::newMatch, MATCHES, 99L, several).run();
+            MonteCarloReport second = new MonteCarloRunner(MonteCarloRunnerTest::newMatch, MATCHES, 99L, several).run();
+            MonteCarloReport sequential = new MonteCarloRunner(MonteCarloRunnerTest::newMatch, MATCHES, 99L, single).run();
+
+            assertEquals(MATCHES, first.getMatches(), "Every match should be played.");
+            assertEquals(first.toString(), second.toString(), "The same run should give the same report.");
+            assertEquals(first.toString(), sequential.toString(), "The report should not depend on the number of threads.");
+
+            MonteCarloRunner other = new MonteCarloRunner(MonteCarloRunnerTest::newMatch, MATCHES, 100L, several);
+            assertNotEquals(new MonteCarloRunner(MonteCarloRunnerTest::newMatch, MATCHES, 99L).seedFor(0), other.seedFor(0), "Another seed should give other matches.");
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    /**
+     * Tests runs without matches.
+     * Ensures that:
+     * - A run of no matches gives an empty report.
+     * - A negative number of matches is rejected.
+     */
+    @Test
+    public void testEmptyAndInvalidRuns() {
+        assertEquals(0, new MonteCarloRunner(MonteCarloRunnerTest::newMatch, 0, 1L).run().getMatches(), "No match should be played.");
+        assertThrows(POOBvsZOMBIESException.class, () -> new MonteCarloRunner(MonteCarloRunnerTest::newMatch, -1, 1L), "A negative number of matches should be rejected.");
+    }
+
+    /**
+     * Builds a short match whose zombies are sent to random rows.
+     *
+     * @param seed the seed of the match.
+     * @return the match, not played yet.
+     */
+    private static HeadlessMatch newMatch(long seed) {
+        HeadlessMatch match = new HeadlessMatch(300, 1000, 15, seed);
+        match.addInput(Command.plant(0, "Peashooter", 0, 0));
+        match.addInput(Command.plant(0, "Peashooter", 2, 0));
+        match.addInput(Command.plant(0, "Sunflower", 4, 0));
+        for (int i = 0; i < 6; i++) {
+            match.addInput(Command.zombie(10 + 20 * i, "Basic", -1));
+        }
+        return match;
+    }
+}
@@ -0,0 +1,83 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.Occupancy;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OccupancyTest verifies the bitboards that record which cells of a board are occupied, on rows
+ * that fit in one word and on rows that need several.
+ */
+public class OccupancyTest {
+
+    /**
+     * Tests setting and clearing cells of a row.
+     * Ensures that:
+     * - Occupied cells are reported and counted per row.
+     * - Clearing a cell or a whole row frees it.
+     */
+    @Test
+    public void testSetClearAndCount() {
+        Occupancy occupancy = new Occupancy(3, 10);
+        occupancy.set(1, 0);
+        occupancy.set(1, 4);
+        occupancy.set(1, 9);
+
+        assertTrue(occupancy.get(1, 4), "The cell should be occupied.");
+        assertFalse(occupancy.get(0, 4), "The same column of another row should be free.");
+        assertEquals(3, occupancy.count(1), "Three cells should be occupied.");
+        assertEquals(0b1000010001L, occupancy.word(1, 0), "The word should hold one bit per occupied column.");
+
+        occupancy.clear(1, 4);
+        assertFalse(occupancy.get(1, 4), "A cleared cell should be free.");
+        assertEquals(2, occupancy.count(1), "Two cells should be left.");
+        occupancy.clearRow(1);
+        assertFalse(occupancy.any(1), "A cleared row should be empty.");
+    }
+
+    /**
+     * Tests the search of the nearest occupied cell to the left of a column.
+     * Ensures that:
+     * - Only strictly smaller columns are considered.
+     * - The search crosses the words of a row wider than 64 columns.
+     */
+    @Test
+    public void testNearestLeftOfAcrossWords() {
+        Occupancy occupancy = new Occupancy(2, 130);
+        occupancy.set(0, 3);
+        occupancy.set(0, 64);
+        occupancy.set(0, 127);
+
+        assertEquals(127, occupancy.nearestLeftOf(0, 130), "The last occupied column should be found from the end.");
+        assertEquals(64, occupancy.nearestLeftOf(0, 127), "The occupied column itself should not be found.");
+        assertEquals(3, occupancy.nearestLeftOf(0, 64), "The search should continue in the previous word.");
+        assertEquals(-1, occupancy.nearestLeftOf(0, 3), "There is nothing to the left of the first occupied column.");
+        assertEquals(-1, occupancy.nearestLeftOf(1, 129), "An empty row has nothing to the left.");
+        assertEquals(3, occupancy.count(0), "The count should add the bits of every word.");
+    }
+
+    /**
+     * Tests the bitboards kept by a board.
+     * Ensures that:
+     * - Placing, moving and removing a defeated zombie keeps the bitboards equal to the cells.
+     */
+    @Test
+    public void testBoardKeepsBitboardsInStep() {
+        Board board = new Board(5, 10, 0, 0, false);
+        board.placePlant(EntityRegistry.plantByName("WallNut").createPlant(), 2, 1);
+        Zombies zombie = EntityRegistry.BASIC.createZombie();
+        board.addZombie(zombie, 2, 8);
+        assertTrue(board.moveZombie(2, 8, 7), "The zombie should move to the empty cell.");
+
+        assertTrue(board.getPlantOccupancy().get(2, 1), "The plant should be recorded.");
+        assertEquals(1, board.getZombieOccupancy().count(2), "Only one zombie should be recorded.");
+        assertTrue(board.getZombieOccupancy().get(2, 7), "The zombie should be recorded in its new cell.");
+        assertEquals(1, board.getPlantOccupancy().nearestLeftOf(2, 7), "The nearest plant to the left of the zombie is in column 1.");
+
+        zombie.setHitPoints(zombie.getHitPoints());
+        board.removeZombie(2, 7);
+        assertFalse(board.getZombieOccupancy().any(2), "A removed zombie should be forgotten.");
+    }
+}
@@ -0,0 +1,119 @@
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.Plant;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PackedBoardTest verifies that the packed storage of the board plays the same match as the
+ * object storage.
+ *
+ * Every test builds two game managers with the same lawn and resources, one keeping its
+ * characters as objects and one keeping them in the packed arrays of a PackedBoard, places the
+ * same characters on both and advances both loops the same number of ticks. The hashes of their
+ * states must never differ. The lawns are built without peashooters, because the packed engine
+ * resolves a shot in the tick it is fired instead of moving a pea across the row.
+ */
+public class PackedBoardTest {
+    private static final int ROWS = 5;
+    private static final int COLUMNS = 10;
+    private static final int RESOURCES = 5000;
+
+    /**
+     * Tests a whole match with producers, walls and three kinds of zombies.
+     * Ensures that:
+     * - Both engines have the same state hash after every tick.
+     * - Both engines end the match with the same sun points.
+     */
+    @Test
+    public void testSameMatchHasSameStateHash() {
+        GameManager objects = newManager(false);
+        GameManager packed = newManager(true);
+        for (GameManager manager : new GameManager[] {objects, packed}) {
+            placePlant(manager, "Sunflower", 0, 0);
+            placePlant(manager, "WallNut", 0, 3);
+            placePlant(manager, "ECIPlant", 1, 0);
+            placePlant(manager, "WallNut", 1, 2);
+            placePlant(manager, "Sunflower", 2, 1);
+            placePlant(manager, "WallNut", 2, 4);
+            placePlant(manager, "ECIPlant", 3, 5);
+            assertTrue(manager.placeZombie(EntityRegistry.CONEHEAD.createZombie(), 0, COLUMNS - 1), "The conehead should be placed.");
+            assertTrue(manager.placeZombie(EntityRegistry.BUCKETHEAD.createZombie(), 1, COLUMNS - 1), "The buckethead should be placed.");
+            assertTrue(manager.placeZombie(EntityRegistry.BASIC.createZombie(), 2, COLUMNS - 1), "The basic zombie should be placed.");
+        }
+        assertEquals(objects.getStateHash(), packed.getStateHash(), "Both engines should start from the same state.");
+
+        for (int tick = 1; tick <= 6000; tick++) {
+            objects.getGameLoop().tick();
+            packed.getGameLoop().tick();
+            assertEquals(objects.getStateHash(), packed.getStateHash(), "The engines diverged at tick " + tick + ".");
+        }
+        assertEquals(objects.getSunPoints(), packed.getSunPoints(), "Both engines should produce the same sun.");
+    }
+
+    /**
+     * Tests an ECI plant left alone on the lawn.
+     * Ensures that:
+     * - Both engines stop producing sun after the third sun of the plant.
+     */
+    @Test
+    public void testEciPlantSunIsCapped() {
+        for (boolean packedStorage : new boolean[] {false, true}) {
+            GameManager manager = newManager(packedStorage);
+            placePlant(manager, "ECIPlant", 2, 2);
+            int afterPlacing = manager.getSunPoints();
+            for (int tick = 0; tick < 20000; tick++) {
+                manager.getGameLoop().tick();
+            }
+            assertEquals(afterPlacing + 3 * 50, manager.getSunPoints(), "An ECI plant should produce three suns only (packed " + packedStorage + ").");
+        }
+    }
+
+    /**
+     * Tests a basic zombie eating a wall-nut.
+     * Ensures that:
+     * - Every bite takes the attack power of the zombie from the wall-nut once, on both engines.
+     */
+    @Test
+    public void testZombieBiteTakesItsAttackPower() {
+        GameManager objects = newManager(false);
+        GameManager packed = newManager(true);
+        for (GameManager manager : new GameManager[] {objects, packed}) {
+            placePlant(manager, "WallNut", 0, 0);
+            assertTrue(manager.placeZombie(EntityRegistry.BASIC.createZombie(), 0, 1), "The zombie should be placed.");
+        }
+        int initial = objects.getBoard().getPlantAt(0, 0).getHitPoints();
+        int bitten = initial;
+        for (int tick = 0; tick < 400 && bitten == initial; tick++) {
+            objects.getGameLoop().tick();
+            packed.getGameLoop().tick();
+            bitten = objects.getBoard().getPlantAt(0, 0).getHitPoints();
+        }
+        assertEquals(initial - EntityRegistry.BASIC.getDamage(), bitten, "A bite should take the attack power of the zombie.");
+        assertEquals(bitten, packed.getBoard().getPlantAt(0, 0).getHitPoints(), "Both engines should take the same bite.");
+    }
+
+    /**
+     * Builds a game manager with the lawn and resources shared by the tests.
+     *
+     * @param packedStorage whether the board keeps its characters in packed arrays.
+     * @return the game manager.
+     */
+    private static GameManager newManager(boolean packedStorage) {
+        return new GameManager(ROWS, COLUMNS, RESOURCES, RESOURCES, 300, packedStorage);
+    }
+
+    /**
+     * Places a plant, failing the test if it cannot be placed.
+     *
+     * @param manager the game manager.
+     * @param name the name of the plant.
+     * @param row the row index.
+     * @param col the column index.
+     */
+    private static void placePlant(GameManager manager, String name, int row, int col) {
+        Plant plant = EntityRegistry.plantByName(name).createPlant();
+        assertTrue(manager.placePlant(plant, row, col), name + " should be placed at " + row + "," + col + ".");
+    }
+}
@@ -0,0 +1,150 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.POOBvsZOMBIESException;
+import domain.PersistentBoard;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PersistentBoardTest verifies that a fork of a board keeps the state the board had when it was
+ * forked, and that changing a fork or the board afterwards never changes another copy.
+ */
+public class PersistentBoardTest {
+
+    /**
+     * Tests forking a board with characters on it.
+     * Ensures that:
+     * - The fork holds the types and hit points of the characters of the board.
+     * - The fork holds the resources of the board.
+     * - A fork taken before a change keeps the old state, and a later fork shows the change.
+     */
+    @Test
+    public void testForkKeepsStateOfBoard() {
+        Board board = new Board(5, 10, 50, 100, false);
+        board.placePlant(EntityRegistry.WALL_NUT.createPlant(), 1, 2);
+        board.addZombie(EntityRegistry.CONEHEAD.createZombie(), 3, 9);
+        Zombies zombie = board.getCell(3, 9).getZombie();
+        zombie.setHitPoints(10);
+
+        PersistentBoard before = board.fork();
+        assertEquals(5, before.getRows(), "The fork should have the rows of the board.");
+        assertEquals(10, before.getColumns(), "The fork should have the columns of the board.");
+        assertEquals(board.getSunPoints(), before.getSunPoints(), "The fork should have the sun of the board.");
+        assertEquals(board.getBrainPoints(), before.getBrainPoints(), "The fork should have the brains of the board.");
+        assertSame(EntityRegistry.WALL_NUT, before.getPlantType(1, 2), "The fork should hold the plant.");
+        assertSame(EntityRegistry.CONEHEAD, before.getZombieType(3, 9), "The fork should hold the zombie.");
+        assertEquals(zombie.getHitPoints(), before.getZombieHitPoints(3, 9), "The fork should keep the hit points of the zombie.");
+
+        assertTrue(board.moveZombie(3, 9, 8), "The zombie should move.");
+        board.removePlantWithShovel(1, 2);
+        assertSame(EntityRegistry.CONEHEAD, before.getZombieType(3, 9), "The earlier fork should keep the zombie where it was.");
+        assertTrue(before.hasPlant(1, 2), "The earlier fork should keep the removed plant.");
+
+        PersistentBoard after = board.fork();
+        assertFalse(after.hasZombie(3, 9), "The later fork should not hold the zombie at its old cell.");
+        assertSame(EntityRegistry.CONEHEAD, after.getZombieType(3, 8), "The later fork should hold the zombie at its new cell.");
+        assertFalse(after.hasPlant(1, 2), "The later fork should not hold the removed plant.");
+    }
+
+    /**
+     * Tests forking the game of a manager.
+     * Ensures that:
+     * - The fork holds the resources of the manager after paying for a plant and collecting sun.
+     * - The fork holds the plant placed through the manager.
+     */
+    @Test
+    public void testForkHoldsResourcesOfManager() {
+        GameManager manager = new GameManager(5, 10, 500, 300, 60);
+        assertTrue(manager.placePlant(EntityRegistry.PEASHOOTER.createPlant(), 0, 0), "The plant should be placed.");
+        manager.collectSun(75);
+
+        PersistentBoard fork = manager.fork();
+        assertEquals(475, manager.getSunPoints(), "The manager should have paid for the plant.");
+        assertEquals(manager.getSunPoints(), fork.getSunPoints(), "The fork should hold the sun of the manager.");
+        assertEquals(manager.getBrainPoints(), fork.getBrainPoints(), "The fork should hold the brains of the manager.");
+        assertSame(EntityRegistry.PEASHOOTER, fork.getPlantType(0, 0), "The fork should hold the plant.");
+    }
+
+    /**
+     * Tests changing a fork.
+     * Ensures that:
+     * - Every change returns a new board and leaves the fork it started from untouched.
+     * - Changing a fork does not change the board it was taken from.
+     * - Changes that cannot be applied return the same board.
+     * - Cells outside the lawn are not empty, as on a board.
+     */
+    @Test
+    public void testChangesLeaveOtherCopiesUntouched() {
+        Board board = new Board(5, 10, 50, 100, false);
+        board.placePlant(EntityRegistry.WALL_NUT.createPlant(), 2, 1);
+        PersistentBoard fork = board.fork();
+
+        PersistentBoard changed = fork.withPlant(EntityRegistry.PEASHOOTER, 0, 0)
+                .withZombie(EntityRegistry.BASIC, 2, 7)
+                .withZombieMoved(2, 7, 5)
+                .withPlantHitPoints(2, 1, 1)
+                .withoutLawnMower(4)
+                .withResources(0, 0);
+        assertNotSame(fork, changed, "Changing a fork should create a new board.");
+        assertSame(EntityRegistry.PEASHOOTER, changed.getPlantType(0, 0), "The change should hold the new plant.");
+        assertSame(EntityRegistry.BASIC, changed.getZombieType(2, 5), "The change should hold the moved zombie.");
+        assertEquals(1, changed.getPlantHitPoints(2, 1), "The change should hold the new hit points.");
+        assertFalse(changed.hasLawnMower(4), "The change should have lost the lawn mower.");
+        assertEquals(0, changed.getSunPoints(), "The change should hold the new sun.");
+
+        assertFalse(fork.hasPlant(0, 0), "The fork should not hold the new plant.");
+        assertFalse(fork.hasZombie(2, 5), "The fork should not hold the new zombie.");
+        assertEquals(EntityRegistry.WALL_NUT.getHitPoints(), fork.getPlantHitPoints(2, 1), "The fork should keep the hit points of its plant.");
+        assertTrue(fork.hasLawnMower(4), "The fork should keep its lawn mower.");
+        assertEquals(50, fork.getSunPoints(), "The fork should keep its sun.");
+        assertFalse(board.hasPlant(0, 0), "The board should not hold the plant of the fork.");
+        assertFalse(board.hasZombie(2, 5), "The board should not hold the zombie of the fork.");
+
+        assertSame(fork, fork.withPlant(EntityRegistry.PEASHOOTER, 2, 1), "Planting on an occupied cell should return the same board.");
+        assertSame(fork, fork.withoutZombie(0, 0), "Removing a missing zombie should return the same board.");
+        assertSame(fork, fork.withPlant(EntityRegistry.PEASHOOTER, 9, 0), "Planting outside the lawn should return the same board.");
+        assertFalse(fork.isEmpty(9, 0), "A cell below the lawn should not be empty, as on the board.");
+        assertFalse(fork.isEmpty(0, -1), "A cell left of the lawn should not be empty, as on the board.");
+        assertThrows(POOBvsZOMBIESException.class, () -> fork.withPlant(EntityRegistry.BASIC, 0, 0), "A zombie type should not be planted.");
+        assertThrows(POOBvsZOMBIESException.class, () -> fork.withZombie(EntityRegistry.WALL_NUT, 0, 0), "A plant type should not be placed as a zombie.");
+    }
+
+    /**
+     * Tests building a playable board from a fork.
+     * Ensures that:
+     * - Both storages of the rebuilt board hold the state of the fork.
+     * - The rebuilt board hashes like the board the fork was taken from.
+     */
+    @Test
+    public void testToBoardRestoresState() {
+        Board board = new Board(5, 10, 75, 150, false);
+        board.placePlant(EntityRegistry.SUNFLOWER.createPlant(), 0, 0);
+        board.placePlant(EntityRegistry.WALL_NUT.createPlant(), 4, 3);
+        board.addZombie(EntityRegistry.BUCKETHEAD.createZombie(), 4, 9);
+        PersistentBoard fork = board.fork();
+
+        for (boolean packed : new boolean[] {false, true}) {
+            Board rebuilt = fork.toBoard(packed);
+            assertEquals(board.getZobristHash().getValue(), rebuilt.getZobristHash().getValue(), "The rebuilt board should hash like the original.");
+            assertEquals(75, rebuilt.getSunPoints(), "The rebuilt board should hold the sun of the fork.");
+            assertEquals(150, rebuilt.getBrainPoints(), "The rebuilt board should hold the brains of the fork.");
+            assertSame(EntityRegistry.SUNFLOWER, rebuilt.getPlantAt(0, 0).getType(), "The rebuilt board should hold the sunflower.");
+            assertSame(EntityRegistry.BUCKETHEAD, rebuilt.getCell(4, 9).getZombie().getType(), "The rebuilt board should hold the zombie.");
+            assertEquals(fork.getPlantType(4, 3), rebuilt.fork().getPlantType(4, 3), "Forking the rebuilt board should give the same plant.");
+        }
+    }
+
+    /**
+     * Tests creating a persistent board with invalid dimensions.
+     * Ensures that:
+     * - A board without rows or columns is rejected.
+     */
+    @Test
+    public void testInvalidDimensions() {
+        assertThrows(POOBvsZOMBIESException.class, () -> new PersistentBoard(0, 10, 0, 0), "A board without rows should be rejected.");
+        assertThrows(POOBvsZOMBIESException.class, () -> new PersistentBoard(5, 0, 0, 0), "A board without columns should be rejected.");
+    }
+}
@@ -0,0 +1,101 @@
+import domain.Command;
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.PlantSearch;
+import domain.POOBvsZOMBIESException;
+import domain.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PlantSearchTest verifies the alpha-beta search of the moves of the plants and the
+ * transposition table it shares between positions.
+ */
+public class PlantSearchTest {
+    private static final long ENOUGH_MILLIS = 60_000;
+
+    /**
+     * Tests storing and finding entries of the table.
+     * Ensures that:
+     * - A stored entry is found with its value, depth, bound and move.
+     * - A position that was never stored is not found.
+     * - A shallower result of another position does not replace a deeper one of the same search,
+     *   but may replace it in a later search.
+     */
+    @Test
+    public void testTableKeepsDeeperEntries() {
+        TranspositionTable table = new TranspositionTable(16);
+        long key = 0x1234_5678_9ABCL << 4;
+        long rival = key + table.getCapacity();
+        table.store(key, 3, 42.5, TranspositionTable.LOWER, 7);
+
+        int slot = table.find(key);
+        assertTrue(slot >= 0, "The stored position should be found.");
+        assertEquals(42.5, table.getValue(slot), 0, "The value should be kept.");
+        assertEquals(3, table.getDepth(slot), "The depth should be kept.");
+        assertEquals(TranspositionTable.LOWER, table.getBound(slot), "The bound should be kept.");
+        assertEquals(7, table.getMove(slot), "The move should be kept.");
+        assertEquals(-1, table.find(rival), "A position that shares the slot should not be found.");
+
+        table.store(rival, 1, 0, TranspositionTable.EXACT, -1);
+        assertTrue(table.find(key) >= 0, "A shallower result should not replace a deeper one.");
+        table.newSearch();
+        table.store(rival, 1, 0, TranspositionTable.EXACT, -1);
+        assertTrue(table.find(rival) >= 0, "A new search may replace the entries of an earlier one.");
+        assertThrows(POOBvsZOMBIESException.class, () -> new TranspositionTable(0), "A table without entries should be rejected.");
+    }
+
+    /**
+     * Tests a search given all the time it needs.
+     * Ensures that:
+     * - It reaches its maximum depth and reuses positions through the table.
+     * - It does not change the game it searched.
+     * - Two searches of the same position choose the same move.
+     */
+    @Test
+    public void testSearchIsRepeatableAndLeavesGameIntact() {
+        GameManager game = threatenedGame(150);
+        long before = game.getStateHash();
+
+        PlantSearch search = new PlantSearch(2, 1 << 12);
+        Command move = search.search(game, ENOUGH_MILLIS);
+        assertEquals(2, search.getLastDepth(), "The search should finish both rounds.");
+        assertTrue(search.getTable().getHitRate() > 0, "Positions reached twice should be found in the table.");
+        assertEquals(before, game.getStateHash(), "The search should not change the game.");
+
+        Command again = new PlantSearch(2, 1 << 12).search(game, ENOUGH_MILLIS);
+        assertEquals(String.valueOf(move), String.valueOf(again), "The same position should give the same move.");
+        search.shutdown();
+    }
+
+    /**
+     * Tests a search for plants without sun points nor plants.
+     * Ensures that:
+     * - The only move is to wait, so nothing is played.
+     */
+    @Test
+    public void testWaitsWithoutSun() {
+        GameManager game = threatenedGame(0);
+        PlantSearch search = new PlantSearch(1, 1 << 8);
+
+        assertNull(search.search(game, ENOUGH_MILLIS), "Without sun points the plants can only wait.");
+        assertFalse(search.play(game, ENOUGH_MILLIS), "Waiting should not change the game.");
+        search.shutdown();
+    }
+
+    /**
+     * Builds a game where a zombie walks down the middle row.
+     *
+     * @param sunPoints the sun points of the plants.
+     * @return the game manager of the game.
+     */
+    private static GameManager threatenedGame(int sunPoints) {
+        GameManager game = new GameManager(5, 10, sunPoints, 1000, 300);
+        assertTrue(game.placeZombie(EntityRegistry.BASIC.createZombie(), 2, 6), "The zombie should be placed.");
+        for (int tick = 0; tick < 10; tick++) {
+            game.getGameLoop().tick();
+        }
+        return game;
+    }
+}
@@ -0,0 +1,143 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.GameRules;
+import domain.GameSnapshot;
+import domain.ProjectileLanes;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProjectileLanesTest verifies the flight of the peas over a board: a pea hits the first living
+ * zombie of its row, flies off the board when nothing is left in front of it, and is saved apart
+ * from the rows of the board.
+ */
+public class ProjectileLanesTest {
+    private static final int DAMAGE = 20;
+
+    /**
+     * Tests a pea fired at a row with two zombies.
+     * Ensures that:
+     * - The pea hits the first zombie ahead of it and disappears.
+     * - The zombie further away is not damaged.
+     */
+    @Test
+    public void testPeaHitsFirstZombie() {
+        Board board = new Board(5, 10, 0, 0, false);
+        Zombies first = place(board, 2, 4);
+        Zombies second = place(board, 2, 7);
+        int firstHitPoints = first.getHitPoints();
+        int secondHitPoints = second.getHitPoints();
+        ProjectileLanes projectiles = board.getProjectiles();
+
+        assertTrue(projectiles.fire(2, 0, DAMAGE), "A zombie ahead should be shot at.");
+        assertEquals(1, projectiles.size(2), "The pea should fly over its row.");
+        flyUntilEmpty(board, 2);
+
+        assertEquals(1, projectiles.getHits(), "The pea should hit once.");
+        assertEquals(firstHitPoints - DAMAGE, first.getHitPoints(), "The first zombie should take the damage.");
+        assertEquals(secondHitPoints, second.getHitPoints(), "The zombie behind it should not be hit.");
+    }
+
+    /**
+     * Tests peas with no zombie in front of them.
+     * Ensures that:
+     * - No pea is fired at an empty row or at a row whose zombies are all behind the plant.
+     * - A pea whose target was removed flies off the end of the row without hitting.
+     */
+    @Test
+    public void testPeaPassesEmptyLane() {
+        Board board = new Board(5, 10, 0, 0, false);
+        ProjectileLanes projectiles = board.getProjectiles();
+        assertFalse(projectiles.fire(0, 0, DAMAGE), "No pea should be fired at an empty row.");
+        place(board, 1, 2);
+        assertFalse(projectiles.fire(1, 5, DAMAGE), "No pea should be fired at a zombie behind the plant.");
+
+        Zombies target = place(board, 3, 9);
+        assertTrue(projectiles.fire(3, 0, DAMAGE), "A zombie ahead should be shot at.");
+        target.setHitPoints(target.getHitPoints());
+        flyUntilEmpty(board, 3);
+
+        assertFalse(board.hasZombie(3, 9), "The defeated zombie should be removed.");
+        assertEquals(0, projectiles.getHits(), "The pea should leave the board without hitting.");
+        assertEquals(0, projectiles.size(), "No pea should be left on the board.");
+    }
+
+    /**
+     * Tests several peas fired at the same row.
+     * Ensures that:
+     * - The damage of successive peas adds up on the zombie they hit.
+     * - A pea does not hit a zombie defeated by the pea before it, and goes on to the next one.
+     */
+    @Test
+    public void testDamageCarriesOver() {
+        Board board = new Board(5, 10, 0, 0, false);
+        Zombies front = place(board, 0, 3);
+        Zombies back = place(board, 0, 8);
+        front.setHitPoints(front.getHitPoints() - DAMAGE);
+        int backHitPoints = back.getHitPoints();
+        ProjectileLanes projectiles = board.getProjectiles();
+
+        assertTrue(projectiles.fire(0, 0, DAMAGE), "The first pea should be fired.");
+        board.tick();
+        assertTrue(projectiles.fire(0, 0, DAMAGE), "The second pea should be fired.");
+        assertTrue(projectiles.fire(0, 1, DAMAGE), "The third pea should be fired.");
+        flyUntilEmpty(board, 0);
+
+        assertFalse(front.isAlive(), "The first pea should defeat the front zombie.");
+        assertEquals(3, projectiles.getHits(), "Every pea should hit a zombie.");
+        assertEquals(backHitPoints - 2 * DAMAGE, back.getHitPoints(), "The other peas should both hit the back zombie.");
+    }
+
+    /**
+     * Tests a game saved while peas are flying.
+     * Ensures that:
+     * - The opened game has the same peas at the same positions.
+     * - A game saved again after the peas moved, with no other change, saves the new positions.
+     */
+    @Test
+    public void testFlyingPeasAreSaved() {
+        GameManager manager = new GameManager(5, 10, 1000, 1000, 300);
+        assertTrue(manager.placeZombie(EntityRegistry.BUCKETHEAD.createZombie(), 4, 9), "The zombie should be placed.");
+        ProjectileLanes projectiles = manager.getBoard().getProjectiles();
+        assertTrue(projectiles.fire(4, 0, DAMAGE), "A zombie ahead should be shot at.");
+
+        for (int save = 0; save < 2; save++) {
+            manager.getGameLoop().tick();
+            GameRules opened = GameSnapshot.decode(GameSnapshot.encode(manager));
+            ProjectileLanes restored = opened.getBoard().getProjectiles();
+            assertEquals(1, restored.size(4), "The opened game should have the flying pea.");
+            assertEquals(projectiles.get(4, 0).getPosition(), restored.get(4, 0).getPosition(), "The pea should be where it was saved.");
+            assertEquals(DAMAGE, restored.get(4, 0).getDamage(), "The pea should keep its damage.");
+        }
+    }
+
+    /**
+     * Ticks a board until no pea is left over a row.
+     *
+     * @param board the board.
+     * @param row the row index.
+     */
+    private static void flyUntilEmpty(Board board, int row) {
+        for (int tick = 0; tick < 100 && board.getProjectiles().size(row) > 0; tick++) {
+            board.tick();
+        }
+        assertEquals(0, board.getProjectiles().size(row), "Every pea should be gone.");
+    }
+
+    /**
+     * Places a basic zombie on a board.
+     *
+     * @param board the board.
+     * @param row the row index.
+     * @param col the column index.
+     * @return the placed zombie.
+     */
+    private static Zombies place(Board board, int row, int col) {
+        Zombies zombie = EntityRegistry.BASIC.createZombie();
+        assertTrue(board.addZombie(zombie, row, col), "The zombie should be placed.");
+        return zombie;
+    }
+}
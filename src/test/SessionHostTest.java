@@ -0,0 +1,95 @@
+import domain.Command;
+import domain.GameManager;
+import domain.GameSession;
+import domain.POOBvsZOMBIESException;
+import domain.SessionHost;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SessionHostTest verifies that a host advances its sessions on its carrier threads, removes them
+ * once they are over and keeps them running when they receive commands that cannot be applied.
+ */
+public class SessionHostTest {
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Tests several sessions running on fewer carrier threads.
+     * Ensures that:
+     * - Every session advances.
+     * - Every session finishes when its time is over and is then removed from the host.
+     */
+    @Test
+    public void testSessionsAdvanceAndAreRemoved() throws InterruptedException {
+        SessionHost host = new SessionHost(2);
+        try {
+            GameSession[] sessions = new GameSession[4];
+            for (int i = 0; i < sessions.length; i++) {
+                sessions[i] = host.open(new GameManager(5, 10, 100, 100, 1), 1, i);
+            }
+            assertEquals(sessions.length, host.size(), "Every open session should be in the host.");
+
+            waitUntilEmpty(host);
+            for (GameSession session : sessions) {
+                assertTrue(session.isFinished(), "The session should have finished.");
+                assertTrue(session.getSteps() > 0, "The session should have advanced.");
+                assertNull(host.getSession(session.getId()), "A finished session should be removed from the host.");
+                assertFalse(host.submit(session.getId(), Command.sun(0, 25)), "A removed session should reject commands.");
+            }
+        } finally {
+            host.shutdown();
+        }
+    }
+
+    /**
+     * Tests commands that cannot be applied to the match of a session.
+     * Ensures that:
+     * - Commands naming a cell outside the board or an unknown character are discarded.
+     * - The session keeps advancing until its time is over, without a failure.
+     * - A valid command submitted with them is still applied.
+     */
+    @Test
+    public void testInvalidCommandsAreDiscarded() throws InterruptedException {
+        SessionHost host = new SessionHost(1);
+        try {
+            GameManager manager = new GameManager(5, 10, 100, 100, 1);
+            GameSession session = host.open(manager, 1, 7L);
+            assertTrue(host.submit(session.getId(), Command.shovel(0, 9, 9)), "The inbox should accept the command.");
+            assertTrue(host.submit(session.getId(), Command.plant(0, "Sunflower", -1, 0)), "The inbox should accept the command.");
+            assertTrue(host.submit(session.getId(), Command.zombie(0, "Basic", 7)), "The inbox should accept the command.");
+            assertTrue(host.submit(session.getId(), Command.plant(0, "NoSuchPlant", 0, 0)), "The inbox should accept the command.");
+            assertTrue(host.submit(session.getId(), Command.plant(0, "WallNut", 1, 1)), "The inbox should accept the command.");
+
+            waitUntilEmpty(host);
+            assertNull(session.getFailure(), "Invalid commands should not make the session fail.");
+            assertEquals(20, session.getSteps(), "The session should play every tick of its time.");
+            assertTrue(manager.getBoard().hasPlant(1, 1), "The valid command should be applied.");
+        } finally {
+            host.shutdown();
+        }
+    }
+
+    /**
+     * Tests creating a host without carrier threads.
+     * Ensures that:
+     * - The host is rejected.
+     */
+    @Test
+    public void testInvalidCarrierCount() {
+        assertThrows(POOBvsZOMBIESException.class, () -> new SessionHost(0), "A host without threads should be rejected.");
+    }
+
+    /**
+     * Waits until every session of a host is over.
+     *
+     * @param host the host.
+     */
+    private static void waitUntilEmpty(SessionHost host) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (host.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, host.size(), "Every session should be over before the timeout.");
+    }
+}
@@ -0,0 +1,131 @@
+import domain.POOBvsZOMBIESException;
+import domain.TimingWheel;
+import domain.WheelTimer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimingWheelTest verifies the scheduling of the timers of a board on its {@link TimingWheel}:
+ * one-shot and periodic timers, delays longer than a revolution of the wheel, cancellation and
+ * the order in which timers sharing a tick fire.
+ */
+public class TimingWheelTest {
+
+    /**
+     * Tests a one-shot timer.
+     * Ensures that:
+     * - The timer fires exactly at its deadline and only once.
+     * - The timer is no longer scheduled after it fired.
+     */
+    @Test
+    public void testOneShotFiresOnceAtDeadline() {
+        TimingWheel wheel = new TimingWheel(8);
+        List<Long> fired = new ArrayList<>();
+        WheelTimer timer = new WheelTimer(() -> fired.add(wheel.getTick()));
+
+        wheel.schedule(timer, 3);
+        assertTrue(timer.isScheduled(), "A scheduled timer should be waiting.");
+        assertEquals(3, timer.getDeadline(), "The deadline should be the current tick plus the delay.");
+        advance(wheel, 10);
+
+        assertEquals(List.of(3L), fired, "The timer should fire once at its deadline.");
+        assertFalse(timer.isScheduled(), "A one-shot timer should not be waiting after it fired.");
+        assertEquals(0, wheel.size(), "The wheel should be empty.");
+    }
+
+    /**
+     * Tests a timer whose delay spans several revolutions of a small wheel.
+     * Ensures that:
+     * - The timer does not fire on the earlier passes over its slot.
+     */
+    @Test
+    public void testDelayLongerThanRevolution() {
+        TimingWheel wheel = new TimingWheel(4);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(new WheelTimer(() -> fired.add(wheel.getTick())), 13);
+
+        advance(wheel, 20);
+
+        assertEquals(List.of(13L), fired, "The timer should fire after three revolutions and one tick.");
+    }
+
+    /**
+     * Tests a periodic timer that is cancelled from its own action.
+     * Ensures that:
+     * - The timer fires every period after its first delay.
+     * - Cancelling it while it fires stops it for good.
+     */
+    @Test
+    public void testPeriodicTimerUntilCancelled() {
+        TimingWheel wheel = new TimingWheel(8);
+        List<Long> fired = new ArrayList<>();
+        WheelTimer[] timer = new WheelTimer[1];
+        timer[0] = new WheelTimer(() -> {
+            fired.add(wheel.getTick());
+            if (fired.size() == 4) {
+                timer[0].cancel();
+            }
+        });
+
+        wheel.scheduleAtFixedRate(timer[0], 2, 5);
+        advance(wheel, 40);
+
+        assertEquals(List.of(2L, 7L, 12L, 17L), fired, "The timer should fire every five ticks until cancelled.");
+        assertFalse(timer[0].isScheduled(), "A cancelled timer should not be waiting.");
+    }
+
+    /**
+     * Tests several timers sharing a deadline, one of which is cancelled by another.
+     * Ensures that:
+     * - Timers fire in the order in which they were scheduled.
+     * - A timer cancelled during the tick does not fire.
+     * - Rescheduling a timer replaces its previous deadline.
+     */
+    @Test
+    public void testOrderAndCancellationWithinTick() {
+        TimingWheel wheel = new TimingWheel(8);
+        List<String> fired = new ArrayList<>();
+        WheelTimer third = new WheelTimer(() -> fired.add("third"));
+        WheelTimer first = new WheelTimer(() -> fired.add("first"));
+        WheelTimer second = new WheelTimer(() -> {
+            fired.add("second");
+            third.cancel();
+        });
+
+        wheel.schedule(third, 1);
+        wheel.schedule(first, 4);
+        wheel.schedule(second, 4);
+        wheel.schedule(third, 4);
+        assertEquals(3, wheel.size(), "Rescheduling should not add a second entry.");
+        advance(wheel, 4);
+
+        assertEquals(List.of("first", "second"), fired, "Timers should fire in scheduling order.");
+        assertEquals(0, wheel.size(), "No timer should be left waiting.");
+    }
+
+    /**
+     * Tests the construction of a wheel.
+     * Ensures that:
+     * - A wheel without slots is rejected.
+     */
+    @Test
+    public void testWheelNeedsSlots() {
+        assertThrows(POOBvsZOMBIESException.class, () -> new TimingWheel(0), "A wheel without slots should be rejected.");
+    }
+
+    /**
+     * Advances a wheel by the given number of ticks.
+     *
+     * @param wheel the wheel.
+     * @param ticks the number of ticks.
+     */
+    private static void advance(TimingWheel wheel, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import domain.POOBvsZOMBIESException;
+import domain.WaveReader;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WaveReaderTest verifies that wave files written as text are parsed in place, one zombie at a
+ * time, both when they are read at once and when they are memory-mapped.
+ */
+public class WaveReaderTest {
+
+    /**
+     * Tests a small text wave with blank lines, spaces and Windows line ends.
+     * Ensures that:
+     * - The header and every zombie are read with their fields.
+     * - Names are interned, so every entry of a type shares the same name.
+     * - Zombies are created with the fields of their entry.
+     */
+    @Test
+    public void testReadsTextWave() throws IOException {
+        File file = write("100\r\n200\r\n300\r\n\r\n Basic , 181, 100\r\n   \r\nConehead,381,150\r\nBasic,90,100");
+        try {
+            WaveReader reader = new WaveReader(file);
+            assertEquals(100, reader.getSunPoints(), "The sun points of the header should be read.");
+            assertEquals(200, reader.getBrainPoints(), "The brain points of the header should be read.");
+            assertEquals(300, reader.getGameTime(), "The game time of the header should be read.");
+
+            assertTrue(reader.next(), "The first zombie should be read.");
+            String basic = reader.getName();
+            assertEquals("Basic", basic, "Spaces around the name should be ignored.");
+            assertEquals(181, reader.getHitPoints(), "The hit points should be read.");
+            assertTrue(reader.next(), "The second zombie should be read.");
+            assertEquals("Conehead", reader.getName(), "The name of the second zombie should be read.");
+            Zombies zombie = reader.create();
+            assertEquals(381, zombie.getHitPoints(), "The zombie should have the hit points of its entry.");
+            assertEquals(150, zombie.getCostBrains(), "The zombie should have the cost of its entry.");
+            assertTrue(reader.next(), "The last line needs no line end.");
+            assertSame(basic, reader.getName(), "Names should be interned.");
+            assertFalse(reader.next(), "There should be no more zombies.");
+            assertEquals(3, reader.getEntries(), "Three entries should have been read.");
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Tests a text wave with a line that is not valid.
+     * Ensures that:
+     * - The entries before the line are read, and the line is reported when it is reached.
+     */
+    @Test
+    public void testInvalidLineIsReportedWhenRead() throws IOException {
+        File file = write("1\n2\n3\nBasic,10,5\nConehead,ten,5\n");
+        try {
+            WaveReader reader = new WaveReader(file);
+            assertTrue(reader.next(), "The valid entry should be read.");
+            assertThrows(POOBvsZOMBIESException.class, reader::next, "The invalid entry should be reported.");
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Tests a wave large enough to be memory-mapped.
+     * Ensures that:
+     * - Every zombie of the mapped file is read, with the fields of its line.
+     */
+    @Test
+    public void testReadsMappedWave() throws IOException {
+        StringBuilder text = new StringBuilder("5\n6\n7\n");
+        int count = 0;
+        while (text.length() < WaveReader.MAP_THRESHOLD) {
+            text.append("Buckethead,").append(count).append(",125\n");
+            count++;
+        }
+        File file = write(text.toString());
+        try {
+            WaveReader reader = new WaveReader(file);
+            long hitPoints = 0;
+            int read = 0;
+            while (reader.next()) {
+                hitPoints += reader.getHitPoints();
+                read++;
+            }
+            assertEquals(count, read, "Every zombie of the mapped file should be read.");
+            assertEquals((long) count * (count - 1) / 2, hitPoints, "Every line should be read with its own fields.");
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Writes a wave file in a temporary file.
+     *
+     * @param text the content of the file.
+     * @return the file.
+     * @throws IOException if the file cannot be written.
+     */
+    private static File write(String text) throws IOException {
+        File file = File.createTempFile("wave-reader-test", ".txt");
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,102 @@
+import domain.EntityRegistry;
+import domain.EntityType;
+import domain.WaveReader;
+import domain.WaveWriter;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WaveWriterTest verifies that waves exported as text or in the compact binary format are read
+ * back by {@link WaveReader} with the same header and zombies.
+ */
+public class WaveWriterTest {
+    private static final EntityType[] TYPES = {EntityRegistry.BASIC, EntityRegistry.CONEHEAD, EntityRegistry.BUCKETHEAD};
+    private static final int ZOMBIES = 1000;
+
+    /**
+     * Tests a wave written as text and read back.
+     * Ensures that:
+     * - The header and every zombie are read as they were written.
+     */
+    @Test
+    public void testTextRoundTrip() throws IOException {
+        assertRoundTrip(false);
+    }
+
+    /**
+     * Tests a wave written in the binary format and read back.
+     * Ensures that:
+     * - The header and every zombie are read as they were written, with the name of each type
+     *   declared only once.
+     */
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        assertRoundTrip(true);
+    }
+
+    /**
+     * Tests the size of both formats for the same wave.
+     * Ensures that:
+     * - The binary file is smaller than the text file.
+     */
+    @Test
+    public void testBinaryIsSmallerThanText() throws IOException {
+        File text = writeWave(false);
+        File binary = writeWave(true);
+        try {
+            assertTrue(binary.length() < text.length(), "The binary format should be more compact than text.");
+        } finally {
+            text.delete();
+            binary.delete();
+        }
+    }
+
+    /**
+     * Writes a wave in one format, reads it back and compares every entry.
+     *
+     * @param binary true to write the binary format, false to write text.
+     * @throws IOException if the temporary file cannot be created.
+     */
+    private static void assertRoundTrip(boolean binary) throws IOException {
+        File file = writeWave(binary);
+        try {
+            WaveReader reader = new WaveReader(file);
+            assertEquals(-25, reader.getSunPoints(), "Negative numbers should be kept.");
+            assertEquals(300, reader.getBrainPoints(), "The brain points should be kept.");
+            assertEquals(600, reader.getGameTime(), "The game time should be kept.");
+            for (int i = 0; i < ZOMBIES; i++) {
+                Zombies written = TYPES[i % TYPES.length].createZombie();
+                assertTrue(reader.next(), "Zombie " + i + " should be read.");
+                assertEquals(written.getClass().getSimpleName(), reader.getName(), "Zombie " + i + " should keep its name.");
+                assertEquals(written.getHitPoints(), reader.getHitPoints(), "Zombie " + i + " should keep its hit points.");
+                assertEquals(written.getCostBrains(), reader.getCostBrains(), "Zombie " + i + " should keep its cost.");
+            }
+            assertFalse(reader.next(), "No zombie should follow the written ones.");
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Writes a wave cycling through the basic, conehead and buckethead zombies.
+     *
+     * @param binary true to write the binary format, false to write text.
+     * @return the written file.
+     * @throws IOException if the temporary file cannot be created.
+     */
+    private static File writeWave(boolean binary) throws IOException {
+        File file = File.createTempFile("wave-writer-test", binary ? ".bin" : ".txt");
+        WaveWriter writer = new WaveWriter(file, binary, -25, 300, 600);
+        for (int i = 0; i < ZOMBIES; i++) {
+            writer.write(TYPES[i % TYPES.length].createZombie());
+        }
+        writer.close();
+        assertEquals(ZOMBIES, writer.getEntries(), "Every zombie should be written.");
+        return file;
+    }
+}
@@ -0,0 +1,83 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.Zombies;
+import domain.ZobristHash;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ZobristHashTest verifies that the hash kept by a board depends only on what is on the board,
+ * not on the order of the changes that led there.
+ */
+public class ZobristHashTest {
+
+    /**
+     * Tests boards reaching the same state through different changes.
+     * Ensures that:
+     * - The order in which characters are placed does not change the hash.
+     * - A zombie that walked to a cell hashes like a zombie placed there.
+     * - Removing what was placed restores the hash of the empty board.
+     */
+    @Test
+    public void testHashDependsOnlyOnState() {
+        Board first = new Board(5, 10, 0, 0, false);
+        Board second = new Board(5, 10, 0, 0, false);
+        long empty = first.getZobristHash().getValue();
+        assertEquals(empty, second.getZobristHash().getValue(), "Empty boards should have the same hash.");
+
+        first.placePlant(EntityRegistry.plantByName("WallNut").createPlant(), 1, 2);
+        first.addZombie(EntityRegistry.BASIC.createZombie(), 3, 9);
+        assertTrue(first.moveZombie(3, 9, 6), "The zombie should move.");
+        second.addZombie(EntityRegistry.BASIC.createZombie(), 3, 6);
+        second.placePlant(EntityRegistry.plantByName("WallNut").createPlant(), 1, 2);
+        assertEquals(first.getZobristHash().getValue(), second.getZobristHash().getValue(), "The same state should have the same hash.");
+        assertNotEquals(empty, first.getZobristHash().getValue(), "Characters should change the hash.");
+
+        first.removePlantWithShovel(1, 2);
+        Zombies zombie = first.getCell(3, 6).getZombie();
+        zombie.setHitPoints(zombie.getHitPoints());
+        first.removeZombie(3, 6);
+        assertEquals(empty, first.getZobristHash().getValue(), "An emptied board should hash like an empty board.");
+    }
+
+    /**
+     * Tests damage to a character on the board.
+     * Ensures that:
+     * - Damage that keeps the hit points in their bucket leaves the hash unchanged.
+     * - Damage that moves them to another bucket changes it, like placing a hurt character.
+     */
+    @Test
+    public void testHitPointsAreHashedByBucket() {
+        Board board = new Board(5, 10, 0, 0, false);
+        Zombies zombie = EntityRegistry.BUCKETHEAD.createZombie();
+        board.addZombie(zombie, 0, 5);
+        long fresh = board.getZobristHash().getValue();
+
+        zombie.setHitPoints(1);
+        assertEquals(fresh, board.getZobristHash().getValue(), "A scratch should not change the hash.");
+        zombie.setHitPoints(zombie.getHitPoints() / 2);
+        assertNotEquals(fresh, board.getZobristHash().getValue(), "Losing half the hit points should change the hash.");
+
+        Board other = new Board(5, 10, 0, 0, false);
+        Zombies hurt = EntityRegistry.BUCKETHEAD.createZombie();
+        hurt.setHitPoints(EntityRegistry.BUCKETHEAD.getHitPoints() - zombie.getHitPoints());
+        other.addZombie(hurt, 0, 5);
+        assertEquals(board.getZobristHash().getValue(), other.getZobristHash().getValue(), "Equally hurt zombies should hash alike.");
+    }
+
+    /**
+     * Tests the hash of the whole game state.
+     * Ensures that:
+     * - The resources and the tick are folded into the hash of the board.
+     */
+    @Test
+    public void testResourcesAreFoldedIn() {
+        ZobristHash hash = new Board(5, 10, 0, 0, false).getZobristHash();
+        long base = hash.withResources(50, 50, 10);
+        assertEquals(base, hash.withResources(50, 50, 10), "The same resources should give the same hash.");
+        assertNotEquals(base, hash.withResources(75, 50, 10), "The sun points should change the hash.");
+        assertNotEquals(base, hash.withResources(50, 75, 10), "The brain points should change the hash.");
+        assertNotEquals(base, hash.withResources(50, 50, 11), "The tick should change the hash.");
+    }
+}
@@ -0,0 +1,72 @@
+import domain.Command;
+import domain.EntityRegistry;
+import domain.GameManager;
+import domain.POOBvsZOMBIESException;
+import domain.ZombiePlanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ZombiePlannerTest verifies the decisions of the Monte Carlo tree search of the zombies. The
+ * chosen move depends on the rollouts played within the time budget, so the tests check what
+ * every decision must satisfy rather than a particular move.
+ */
+public class ZombiePlannerTest {
+
+    /**
+     * Tests a decision for zombies without brain points.
+     * Ensures that:
+     * - Waiting is the only move, so no rollout is played and nothing is placed.
+     */
+    @Test
+    public void testWaitsWithoutBrains() {
+        GameManager game = new GameManager(5, 10, 0, 0, 300);
+        ZombiePlanner planner = new ZombiePlanner(50, 5, ForkJoinPool.commonPool(), 7L);
+
+        assertNull(planner.decide(game), "Without brain points the zombies can only wait.");
+        assertEquals(0, planner.getLastRollouts(), "A single move needs no rollout.");
+        assertFalse(planner.play(game), "Waiting should not change the game.");
+    }
+
+    /**
+     * Tests a decision for zombies that can afford every type on an undefended lawn.
+     * Ensures that:
+     * - Rollouts are played on copies of the game, which is left unchanged.
+     * - The zombies attack rather than wait, since a zombie reaches the house within the horizon.
+     * - The chosen zombie enters at the right end of a row and is paid with brain points.
+     */
+    @Test
+    public void testDecisionPlaysOnCopies() {
+        GameManager game = new GameManager(5, 10, 0, 1000, 300);
+        long before = game.getStateHash();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ZombiePlanner planner = new ZombiePlanner(200, ZombiePlanner.DEFAULT_HORIZON, pool, 7L);
+            Command move = planner.decide(game);
+            assertTrue(planner.getLastRollouts() > 0, "The planner should play rollouts.");
+            assertEquals(planner.getLastRollouts(), planner.getRollouts(), "The total should count the only decision.");
+            assertEquals(before, game.getStateHash(), "The rollouts should not change the game.");
+
+            assertNotNull(move, "The zombies should attack an undefended lawn.");
+            assertEquals(9, move.getCol(), "The zombie should enter at the right end of its row.");
+            assertTrue(move.applyTo(game, null), "The chosen zombie should be placed.");
+            assertTrue(game.getBrainPoints() < 1000, "The zombie should be paid with brain points.");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests the configuration of a planner.
+     * Ensures that:
+     * - A budget or a horizon that is not positive is rejected.
+     */
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        assertThrows(POOBvsZOMBIESException.class, () -> new ZombiePlanner(0, 5, ForkJoinPool.commonPool(), 1L), "A budget of zero should be rejected.");
+        assertThrows(POOBvsZOMBIESException.class, () -> new ZombiePlanner(10, 0, ForkJoinPool.commonPool(), 1L), "A horizon of zero should be rejected.");
+    }
+}
@@ -0,0 +1,84 @@
+import domain.Board;
+import domain.EntityRegistry;
+import domain.POOBvsZOMBIESException;
+import domain.ZombiePool;
+import domain.Zombies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ZombiePoolTest verifies that the zombies removed from a board are reused by later spawns of
+ * their type, as if they had just been created.
+ */
+public class ZombiePoolTest {
+
+    /**
+     * Tests a zombie given back to the pool after it was hurt.
+     * Ensures that:
+     * - The next zombie of its type is the same object, with its hit points restored.
+     * - The pool counts one miss, one recycled zombie and one hit.
+     */
+    @Test
+    public void testReleasedZombieIsReused() {
+        ZombiePool pool = new ZombiePool();
+        Zombies zombie = pool.acquire(EntityRegistry.CONEHEAD);
+        zombie.setHitPoints(100);
+        pool.release(zombie);
+        assertEquals(1, pool.getIdle(EntityRegistry.CONEHEAD), "The released zombie should be idle.");
+
+        Zombies reused = pool.acquire(EntityRegistry.CONEHEAD);
+        assertSame(zombie, reused, "The idle zombie should be reused.");
+        assertEquals(EntityRegistry.CONEHEAD.getHitPoints(), reused.getHitPoints(), "A reused zombie should have its hit points restored.");
+        assertEquals(1, pool.getMisses(), "Only the first zombie should be created.");
+        assertEquals(1, pool.getRecycled(), "One zombie should be recycled.");
+        assertEquals(1, pool.getHits(), "The second zombie should be a hit.");
+        assertNotSame(reused, pool.acquire(EntityRegistry.BASIC), "Types should not share idle zombies.");
+    }
+
+    /**
+     * Tests zombies that must not be kept by the pool.
+     * Ensures that:
+     * - Zombies not handed out by the pool are ignored.
+     * - Zombies beyond the capacity of their type are discarded.
+     * - Plants cannot be acquired.
+     */
+    @Test
+    public void testForeignZombiesAndCapacity() {
+        ZombiePool pool = new ZombiePool(1);
+        pool.release(EntityRegistry.BASIC.createZombie());
+        assertEquals(0, pool.getIdle(EntityRegistry.BASIC), "A zombie created elsewhere should not be kept.");
+
+        Zombies first = pool.acquire(EntityRegistry.BASIC);
+        Zombies second = pool.acquire(EntityRegistry.BASIC);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.getIdle(EntityRegistry.BASIC), "Only one zombie of the type should be kept.");
+        assertEquals(1, pool.getDiscarded(), "The other zombie should be discarded.");
+
+        assertThrows(POOBvsZOMBIESException.class, () -> pool.acquire(EntityRegistry.plantByName("WallNut")), "A plant should not be acquired.");
+    }
+
+    /**
+     * Tests the zombies spawned on a board.
+     * Ensures that:
+     * - A defeated zombie goes back to the pool of the board and the next spawn reuses it.
+     * - A spawn on an occupied cell fails and takes no zombie from the pool.
+     */
+    @Test
+    public void testBoardSpawnsFromItsPool() {
+        Board board = new Board(5, 10, 0, 0, false);
+        ZombiePool pool = board.getZombiePool();
+        assertTrue(board.addZombie(EntityRegistry.BASIC, 2, 9), "The zombie should be spawned.");
+        Zombies zombie = board.getCell(2, 9).getZombie();
+        zombie.setHitPoints(zombie.getHitPoints());
+        board.removeZombie(2, 9);
+        assertEquals(1, pool.getIdle(EntityRegistry.BASIC), "The defeated zombie should go back to the pool.");
+
+        assertTrue(board.addZombie(EntityRegistry.BASIC, 3, 9), "The zombie should be spawned again.");
+        assertSame(zombie, board.getCell(3, 9).getZombie(), "The spawn should reuse the defeated zombie.");
+        assertFalse(board.addZombie(EntityRegistry.BASIC, 3, 9), "A spawn on an occupied cell should fail.");
+        assertEquals(1, pool.getMisses(), "A failed spawn should not create a zombie.");
+        assertEquals(0, pool.getIdle(EntityRegistry.BASIC), "A failed spawn should leave the pool as it was.");
+    }
+}